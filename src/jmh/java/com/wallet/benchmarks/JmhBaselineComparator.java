@@ -0,0 +1,130 @@
+package com.wallet.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compara o resultado JSON de uma execução JMH com a baseline versionada e
+ * termina com status 1 quando algum benchmark piora além do limite.
+ * Para o modo thrpt maior é melhor; para avgt, sample e ss, menor é melhor.
+ * Quando o profiler gc foi usado, gc.alloc.rate.norm (bytes/op) também é
+ * comparado. Benchmarks sem baseline são listados, mas não reprovam; a
+ * ausência do arquivo de baseline, sim.
+ * Uso: JmhBaselineComparator resultado.json baseline.json limite-percentual
+ * Executado pelo perfil jmh na fase verify (mvn -Pjmh verify).
+ */
+public final class JmhBaselineComparator {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private JmhBaselineComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: JmhBaselineComparator <result.json> <baseline.json> <threshold-percent>");
+            System.exit(2);
+        }
+        Path resultPath = Path.of(args[0]);
+        Path baselinePath = Path.of(args[1]);
+        double threshold = Double.parseDouble(args[2]) / 100.0;
+
+        if (!Files.exists(baselinePath)) {
+            // Sem baseline nada seria comparado e o build passaria em silêncio
+            System.err.println("No JMH baseline at " + baselinePath + "; record one with: cp " + resultPath + " " + baselinePath);
+            System.exit(1);
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, JsonNode> current = index(objectMapper.readTree(resultPath.toFile()));
+        Map<String, JsonNode> baseline = index(objectMapper.readTree(baselinePath.toFile()));
+
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.println("NEW        " + entry.getKey());
+                continue;
+            }
+            JsonNode after = entry.getValue();
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            compare(entry.getKey(), after.path("primaryMetric"), before.path("primaryMetric"),
+                    higherIsBetter, threshold, regressions);
+
+            JsonNode allocationAfter = allocation(after);
+            JsonNode allocationBefore = allocation(before);
+            if (allocationAfter != null && allocationBefore != null) {
+                compare(entry.getKey() + " [" + ALLOCATION_METRIC + "]", allocationAfter, allocationBefore,
+                        false, threshold, regressions);
+            }
+        }
+
+        if (!regressions.isEmpty()) {
+            System.out.println(regressions.size() + " benchmark(s) regressed more than " + args[2] + "% against " + baselinePath);
+            System.exit(1);
+        }
+        System.out.println("No regressions above " + args[2] + "% against " + baselinePath);
+    }
+
+    private static void compare(String name, JsonNode after, JsonNode before, boolean higherIsBetter,
+                                double threshold, List<String> regressions) {
+        double scoreAfter = after.path("score").asDouble();
+        double scoreBefore = before.path("score").asDouble();
+        String unit = after.path("scoreUnit").asText();
+        if (scoreBefore == 0) {
+            // Alocação zero na baseline: qualquer byte a mais é regressão
+            boolean regressed = !higherIsBetter && scoreAfter > 0.5;
+            report(name, scoreBefore, scoreAfter, unit, Double.NaN, regressed, regressions);
+            return;
+        }
+        double change = (scoreAfter - scoreBefore) / scoreBefore;
+        boolean regressed = higherIsBetter ? change < -threshold : change > threshold;
+        report(name, scoreBefore, scoreAfter, unit, change, regressed, regressions);
+    }
+
+    private static void report(String name, double before, double after, String unit, double change,
+                               boolean regressed, List<String> regressions) {
+        String status = regressed ? "REGRESSION" : "ok        ";
+        String delta = Double.isNaN(change) ? "n/a" : String.format("%+.1f%%", change * 100);
+        System.out.printf("%s %s: %.3f -> %.3f %s (%s)%n", status, name, before, after, unit, delta);
+        if (regressed) {
+            regressions.add(name);
+        }
+    }
+
+    private static JsonNode allocation(JsonNode run) {
+        Iterator<Map.Entry<String, JsonNode>> metrics = run.path("secondaryMetrics").fields();
+        while (metrics.hasNext()) {
+            Map.Entry<String, JsonNode> metric = metrics.next();
+            // O prefixo do nome mudou entre versões do JMH
+            if (metric.getKey().endsWith(ALLOCATION_METRIC)) {
+                return metric.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, JsonNode> index(JsonNode runs) {
+        Map<String, JsonNode> byName = new LinkedHashMap<>();
+        for (JsonNode run : runs) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText())
+                    .append(' ').append(run.path("mode").asText());
+            Iterator<Map.Entry<String, JsonNode>> params = run.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            byName.put(key.toString(), run);
+        }
+        return byName;
+    }
+}
@@ -0,0 +1,61 @@
+package com.wallet.domain.aggregates;
+
+import com.wallet.domain.entities.Wallet;
+import com.wallet.domain.valueobjects.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH do acúmulo de eventos no WalletAggregate: cada invocação
+ * parte de um agregado novo, aplica operations depósitos e saques alternados
+ * (dois eventos e uma transação por operação) e limpa os eventos, como o
+ * serviço faz depois de enviá-los ao outbox.
+ * Executar com: mvn -Pjmh verify -Djmh.include=WalletAggregateBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WalletAggregateBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int operations;
+
+    private Money initialBalance;
+    private Money amount;
+
+    @Setup
+    public void setUp() {
+        initialBalance = new Money(new BigDecimal("1000000.00"), "BRL");
+        amount = new Money(new BigDecimal("150.25"), "BRL");
+    }
+
+    @Benchmark
+    public int accumulateEvents() {
+        WalletAggregate aggregate = new WalletAggregate(new Wallet("aggregate-user", initialBalance));
+        for (int i = 0; i < operations; i++) {
+            if ((i & 1) == 0) {
+                aggregate.deposit(amount, "Depósito");
+            } else {
+                aggregate.withdraw(amount, "Saque");
+            }
+        }
+        int events = aggregate.getDomainEvents().size();
+        aggregate.clearDomainEvents();
+        return events;
+    }
+}
@@ -0,0 +1,61 @@
+package com.wallet.domain.entities;
+
+import com.wallet.domain.valueobjects.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH das regras de saldo da entidade Wallet. Cada operação é
+ * desfeita na mesma invocação (depósito seguido de saque, transferência de
+ * ida e volta) para que o saldo não cresça ao longo da medição.
+ * Executar com: mvn -Pjmh verify -Djmh.include=WalletBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WalletBenchmark {
+
+    private Wallet source;
+    private Wallet target;
+    private Money amount;
+
+    @Setup
+    public void setUp() {
+        source = new Wallet("source-user", new Money(new BigDecimal("1000000.00"), "BRL"));
+        target = new Wallet("target-user", new Money(new BigDecimal("1000000.00"), "BRL"));
+        amount = new Money(new BigDecimal("150.25"), "BRL");
+    }
+
+    @Benchmark
+    public Money depositAndWithdraw() {
+        source.deposit(amount);
+        source.withdraw(amount);
+        return source.getBalance();
+    }
+
+    @Benchmark
+    public Money transferRoundTrip() {
+        source.transferTo(target, amount);
+        target.transferTo(source, amount);
+        return source.getBalance();
+    }
+
+    @Benchmark
+    public boolean hasSufficientFunds() {
+        return source.hasSufficientFunds(amount);
+    }
+}
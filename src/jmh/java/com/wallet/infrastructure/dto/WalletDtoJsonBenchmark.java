@@ -0,0 +1,83 @@
+package com.wallet.infrastructure.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH da (de)serialização JSON dos DTOs de carteira nas rotas de
+ * depósito, transferência e consulta, com readers e writers pré-construídos
+ * como o Jackson do Spring MVC reaproveita entre requisições.
+ * Executar com: mvn -Pjmh verify -Djmh.include=WalletDtoJsonBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WalletDtoJsonBenchmark {
+
+    private ObjectReader depositRequestReader;
+    private ObjectReader transferRequestReader;
+    private ObjectWriter depositResponseWriter;
+    private ObjectWriter walletResponseWriter;
+    private byte[] depositRequest;
+    private byte[] transferRequest;
+    private WalletDTOs.DepositResponse depositResponse;
+    private WalletDTOs.WalletResponse walletResponse;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        depositRequestReader = objectMapper.readerFor(WalletDTOs.DepositRequest.class);
+        transferRequestReader = objectMapper.readerFor(WalletDTOs.TransferRequest.class);
+        depositResponseWriter = objectMapper.writerFor(WalletDTOs.DepositResponse.class);
+        walletResponseWriter = objectMapper.writerFor(WalletDTOs.WalletResponse.class);
+
+        depositRequest = objectMapper.writeValueAsBytes(
+                new WalletDTOs.DepositRequest(new BigDecimal("150.25"), "BRL", "Recarga via PIX"));
+        transferRequest = objectMapper.writeValueAsBytes(
+                new WalletDTOs.TransferRequest("merchant-settlement-0001", new BigDecimal("150.25"), "BRL", "Pagamento"));
+        depositResponse = new WalletDTOs.DepositResponse("Depósito realizado com sucesso",
+                new BigDecimal("150.25"), "BRL", new BigDecimal("1234567.89"), "0190f5a2-7c3e-7a1b-9f00-0123456789ab");
+        walletResponse = new WalletDTOs.WalletResponse(1_024L, "merchant-settlement-0001",
+                new BigDecimal("1234567.89"), "BRL", "ACTIVE",
+                LocalDateTime.of(2024, 1, 15, 10, 30), LocalDateTime.of(2024, 3, 1, 8, 0));
+    }
+
+    @Benchmark
+    public WalletDTOs.DepositRequest readDepositRequest() throws IOException {
+        return depositRequestReader.readValue(depositRequest);
+    }
+
+    @Benchmark
+    public WalletDTOs.TransferRequest readTransferRequest() throws IOException {
+        return transferRequestReader.readValue(transferRequest);
+    }
+
+    @Benchmark
+    public byte[] writeDepositResponse() throws IOException {
+        return depositResponseWriter.writeValueAsBytes(depositResponse);
+    }
+
+    @Benchmark
+    public byte[] writeWalletResponse() throws IOException {
+        return walletResponseWriter.writeValueAsBytes(walletResponse);
+    }
+}
@@ -32,4 +32,13 @@ public interface BalanceHistoryRepositoryImpl extends CrudRepository<BalanceHist
     @Query("SELECT * FROM balance_history WHERE wallet_id = :walletId AND recorded_at <= :date ORDER BY recorded_at DESC LIMIT 1")
     Optional<BalanceHistory> findByWalletIdAndRecordedAtBeforeOrderByRecordedAtDesc(@Param("walletId") Long walletId,
                                                                                    @Param("date") LocalDateTime date);
+    
+    @Override
+    @Query("SELECT * FROM balance_history WHERE wallet_id = :walletId AND recorded_at >= :startDate " +
+           "AND (recorded_at, id) < (:beforeRecordedAt, :beforeId) ORDER BY recorded_at DESC, id DESC LIMIT :limit")
+    List<BalanceHistory> findPageByWalletId(@Param("walletId") Long walletId,
+                                            @Param("startDate") LocalDateTime startDate,
+                                            @Param("beforeRecordedAt") LocalDateTime beforeRecordedAt,
+                                            @Param("beforeId") Long beforeId,
+                                            @Param("limit") int limit);
 } 
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.wallet.adapters.infrastructure.repositories;
+
+import com.wallet.application.ports.AuditSink;
+import com.wallet.domain.valueobjects.Money;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Adaptador JDBC da trilha de auditoria: cada lote do escritor é enviado em
+ * um único batch JDBC (reescrito em um INSERT multi-linha pelo driver), em
+ * transação própria, fora das transações de saldo.
+ */
+@Repository
+public class JdbcAuditSink implements AuditSink {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO audit_log (kind, action, user_id, details, currency, amount,
+                                   old_balance, new_balance, correlation_id, transaction_id, occurred_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Type getType() {
+        return Type.JDBC;
+    }
+
+    @Override
+    public void write(List<AuditRecord> records) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, records, records.size(), this::bind);
+    }
+
+    private void bind(PreparedStatement ps, AuditRecord record) throws SQLException {
+        Money currencySource = record.getAmount() != null ? record.getAmount() : record.getNewBalance();
+        ps.setString(1, record.getKind().name());
+        ps.setString(2, record.getAction());
+        ps.setString(3, record.getUserId());
+        ps.setString(4, record.getDetails());
+        ps.setString(5, currencySource != null ? currencySource.getCurrency() : null);
+        ps.setBigDecimal(6, amountOf(record.getAmount()));
+        ps.setBigDecimal(7, amountOf(record.getOldBalance()));
+        ps.setBigDecimal(8, amountOf(record.getNewBalance()));
+        ps.setString(9, record.getCorrelationId());
+        ps.setString(10, record.getTransactionId());
+        ps.setTimestamp(11, Timestamp.valueOf(record.getOccurredAt()));
+    }
+
+    private static BigDecimal amountOf(Money money) {
+        return money != null ? money.getAmount() : null;
+    }
+}
@@ -0,0 +1,66 @@
+package com.wallet.adapters.infrastructure.repositories;
+
+import com.wallet.application.ports.BalanceHistoryStream;
+import com.wallet.domain.entities.BalanceHistory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Adaptador JDBC que lê o histórico com um cursor de servidor.
+ * O driver do Postgres só respeita o fetch size com autocommit desligado,
+ * por isso a leitura roda em uma transação somente leitura própria.
+ */
+@Repository
+public class JdbcBalanceHistoryStream implements BalanceHistoryStream {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public JdbcBalanceHistoryStream(DataSource dataSource,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${wallet.balance-history.stream-fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void forEach(Long walletId, LocalDateTime startDate, LocalDateTime endDate, Consumer<BalanceHistory> action) {
+        StringBuilder sql = new StringBuilder("SELECT id, wallet_id, balance_amount, balance_currency, description, recorded_at " +
+                "FROM balance_history WHERE wallet_id = ?");
+        List<Object> args = new ArrayList<>(3);
+        args.add(walletId);
+        if (startDate != null) {
+            sql.append(" AND recorded_at >= ?");
+            args.add(Timestamp.valueOf(startDate));
+        }
+        if (endDate != null) {
+            sql.append(" AND recorded_at <= ?");
+            args.add(Timestamp.valueOf(endDate));
+        }
+        sql.append(" ORDER BY recorded_at DESC, id DESC");
+
+        readOnlyTransaction.executeWithoutResult(status ->
+                jdbcTemplate.query(sql.toString(), rs -> {
+                    action.accept(new BalanceHistory(
+                            rs.getLong("id"),
+                            rs.getLong("wallet_id"),
+                            rs.getBigDecimal("balance_amount"),
+                            rs.getString("balance_currency"),
+                            rs.getString("description"),
+                            rs.getTimestamp("recorded_at").toLocalDateTime()
+                    ));
+                }, args.toArray()));
+    }
+}
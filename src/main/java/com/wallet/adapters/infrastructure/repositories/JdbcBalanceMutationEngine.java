@@ -0,0 +1,244 @@
+package com.wallet.adapters.infrastructure.repositories;
+
+import com.wallet.application.ports.BalanceMutationEngine;
+import com.wallet.domain.entities.Wallet;
+import com.wallet.domain.enums.TransactionType;
+import com.wallet.domain.valueobjects.BalanceMutation;
+import com.wallet.domain.valueobjects.Money;
+import com.wallet.infrastructure.ids.TimeOrderedIdGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Adaptador JDBC da mutação atômica de saldo.
+ * O UPDATE condicional e o INSERT em balance_history são enviados como uma
+ * única CTE; a carteira só é carregada quando a guarda rejeita a operação,
+ * para reproduzir a exceção de domínio correspondente.
+ * As variantes AndRecord acrescentam o INSERT em transactions como mais um
+ * ramo da CTE, de modo que o livro-razão de um depósito ou saque isolado não
+ * custa uma ida extra ao banco; com wallet.ledger.enabled=false elas usam a
+ * CTE sem esse ramo.
+ * Com wallet.ids.primary-key=TIME_ORDERED os ids do histórico e do
+ * livro-razão vêm do TimeOrderedIdGenerator; caso contrário, da sequência da
+ * tabela.
+ */
+@Repository
+@Slf4j
+public class JdbcBalanceMutationEngine implements BalanceMutationEngine {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final String UPDATED_CTE = """
+            WITH updated AS (
+                UPDATE wallets
+                   SET balance_amount = balance_amount + :delta,
+                       version = version + 1
+                 WHERE user_id = :userId
+                   AND status = 'ACTIVE'
+                   AND balance_currency = :currency
+                   AND balance_amount + :delta >= 0
+             RETURNING id, balance_amount, balance_currency
+            ), history AS (
+                INSERT INTO balance_history (id, wallet_id, balance_amount, balance_currency, description)
+                SELECT COALESCE(:historyId, nextval('balance_history_id_seq')),
+                       id, balance_amount, balance_currency, :description FROM updated
+             RETURNING id
+            )
+            """;
+
+    private static final String LEDGER_CTE = """
+            , ledger AS (
+                INSERT INTO transactions (id, wallet_id, transaction_type, amount, currency, description,
+                                          transaction_date, status, created_at, reference_id)
+                SELECT COALESCE(:transactionId, nextval('transactions_id_seq')),
+                       id, :transactionType, :amount, balance_currency, :description, :at, 'COMPLETED', :at,
+                       :referenceId
+                  FROM updated
+            )
+            """;
+
+    private static final String RESULT_SELECT = """
+            SELECT u.id AS wallet_id, u.balance_amount, u.balance_currency, h.id AS history_id
+              FROM updated u CROSS JOIN history h
+            """;
+
+    private static final String MUTATE_BALANCE_SQL = UPDATED_CTE + RESULT_SELECT;
+
+    // O Postgres executa toda CTE de escrita, mesmo sem referência no SELECT final
+    private static final String MUTATE_AND_RECORD_SQL = UPDATED_CTE + LEDGER_CTE + RESULT_SELECT;
+
+    private static final String CREDIT_BATCH_SQL = """
+            UPDATE wallets
+               SET balance_amount = balance_amount + :total,
+                   version = version + 1
+             WHERE user_id = :userId
+               AND status = 'ACTIVE'
+               AND balance_currency = :currency
+         RETURNING id, balance_amount, balance_currency
+            """;
+
+    @Value("${wallet.ledger.enabled:true}")
+    private boolean ledgerEnabled;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private WalletRepositoryImpl walletRepository;
+
+    @Autowired
+    private TimeOrderedIdGenerator idGenerator;
+
+    @Override
+    public Optional<BalanceMutation> deposit(String userId, Money amount, String description) {
+        return mutate(MUTATE_BALANCE_SQL, params(userId, amount, amount.getAmount(), description), userId, amount, false);
+    }
+
+    @Override
+    public Optional<BalanceMutation> withdraw(String userId, Money amount, String description) {
+        return mutate(MUTATE_BALANCE_SQL, params(userId, amount, amount.getAmount().negate(), description), userId, amount, true);
+    }
+
+    @Override
+    public Optional<BalanceMutation> depositAndRecord(String userId, Money amount, String description,
+                                                      String referenceId, LocalDateTime at) {
+        if (!ledgerEnabled) {
+            return deposit(userId, amount, description);
+        }
+        MapSqlParameterSource params = params(userId, amount, amount.getAmount(), description);
+        return mutate(MUTATE_AND_RECORD_SQL, ledgerParams(params, TransactionType.DEPOSIT, amount, referenceId, at),
+                userId, amount, false);
+    }
+
+    @Override
+    public Optional<BalanceMutation> withdrawAndRecord(String userId, Money amount, String description,
+                                                       String referenceId, LocalDateTime at) {
+        if (!ledgerEnabled) {
+            return withdraw(userId, amount, description);
+        }
+        MapSqlParameterSource params = params(userId, amount, amount.getAmount().negate(), description);
+        return mutate(MUTATE_AND_RECORD_SQL, ledgerParams(params, TransactionType.WITHDRAW, amount, referenceId, at),
+                userId, amount, true);
+    }
+
+    @Override
+    public Optional<List<BalanceMutation>> depositAll(String userId, List<Money> amounts, List<String> descriptions) {
+        if (amounts.isEmpty()) {
+            return Optional.of(List.of());
+        }
+        String currency = amounts.get(0).getCurrency();
+        Money totalMoney = Money.zero(currency);
+        for (Money amount : amounts) {
+            if (!totalMoney.hasSameCurrency(amount)) {
+                throw new IllegalArgumentException("Currency mismatch");
+            }
+            totalMoney = totalMoney.add(amount);
+        }
+        BigDecimal total = totalMoney.getAmount();
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("total", total)
+                .addValue("currency", currency);
+        List<Money> updated = new ArrayList<>(1);
+        List<Long> walletIds = new ArrayList<>(1);
+        jdbcTemplate.query(CREDIT_BATCH_SQL, params, rs -> {
+            walletIds.add(rs.getLong("id"));
+            updated.add(new Money(rs.getBigDecimal("balance_amount"), rs.getString("balance_currency")));
+        });
+
+        if (updated.isEmpty()) {
+            Optional<Wallet> wallet = walletRepository.findByUserId(userId);
+            if (wallet.isEmpty()) {
+                return Optional.empty();
+            }
+            wallet.get().deposit(totalMoney);
+            throw new OptimisticLockingFailureException("Concurrent balance change, please retry");
+        }
+
+        Long walletId = walletIds.get(0);
+        Money running = updated.get(0).subtract(totalMoney);
+        List<BalanceMutation> mutations = new ArrayList<>(amounts.size());
+        StringBuilder insert = new StringBuilder(
+                "INSERT INTO balance_history (wallet_id, balance_amount, balance_currency, description) VALUES ");
+        MapSqlParameterSource historyParams = new MapSqlParameterSource()
+                .addValue("walletId", walletId)
+                .addValue("currency", currency);
+        for (int i = 0; i < amounts.size(); i++) {
+            Money oldBalance = running;
+            running = running.add(amounts.get(i));
+            Money newBalance = running;
+            mutations.add(new BalanceMutation(walletId, userId, oldBalance, newBalance, null));
+
+            if (i > 0) {
+                insert.append(", ");
+            }
+            insert.append("(:walletId, :amount").append(i).append(", :currency, :description").append(i).append(')');
+            historyParams.addValue("amount" + i, running.getAmount());
+            historyParams.addValue("description" + i, descriptions.get(i));
+        }
+        jdbcTemplate.update(insert.toString(), historyParams);
+        return Optional.of(mutations);
+    }
+
+    private MapSqlParameterSource params(String userId, Money amount, BigDecimal delta, String description) {
+        return new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("delta", delta)
+                .addValue("currency", amount.getCurrency())
+                .addValue("description", description)
+                .addValue("historyId", idGenerator.nextPrimaryKey(), Types.BIGINT);
+    }
+
+    private MapSqlParameterSource ledgerParams(MapSqlParameterSource params, TransactionType type, Money amount,
+                                               String referenceId, LocalDateTime at) {
+        return params
+                .addValue("transactionId", idGenerator.nextPrimaryKey(), Types.BIGINT)
+                .addValue("transactionType", type.name())
+                .addValue("amount", amount.getAmount())
+                .addValue("referenceId", referenceId, Types.VARCHAR)
+                .addValue("at", Timestamp.valueOf(at));
+    }
+
+    private Optional<BalanceMutation> mutate(String sql, MapSqlParameterSource params, String userId, Money amount,
+                                             boolean withdrawal) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            List<BalanceMutation> rows = jdbcTemplate.query(sql, params, (rs, rowNum) -> {
+                Money newBalance = new Money(rs.getBigDecimal("balance_amount"), rs.getString("balance_currency"));
+                Money oldBalance = withdrawal ? newBalance.add(amount) : newBalance.subtract(amount);
+                return new BalanceMutation(rs.getLong("wallet_id"), userId, oldBalance, newBalance, rs.getLong("history_id"));
+            });
+            if (!rows.isEmpty()) {
+                return Optional.of(rows.get(0));
+            }
+
+            Optional<Wallet> wallet = walletRepository.findByUserId(userId);
+            if (wallet.isEmpty()) {
+                return Optional.empty();
+            }
+            // A guarda SQL rejeitou a operação: aplica a regra de domínio em
+            // memória para lançar a mesma exceção que Wallet lançaria.
+            if (withdrawal) {
+                wallet.get().withdraw(amount);
+            } else {
+                wallet.get().deposit(amount);
+            }
+            log.debug("Balance guard rejected mutation for user {} but wallet state allows it, retrying (attempt {})",
+                    userId, attempt);
+        }
+        throw new OptimisticLockingFailureException("Concurrent balance change, please retry");
+    }
+}
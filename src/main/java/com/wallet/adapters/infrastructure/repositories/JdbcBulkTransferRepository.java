@@ -0,0 +1,139 @@
+package com.wallet.adapters.infrastructure.repositories;
+
+import com.wallet.application.ports.BulkTransferRepository;
+import com.wallet.domain.entities.BalanceHistory;
+import com.wallet.domain.entities.Wallet;
+import com.wallet.domain.enums.WalletStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.support.AbstractSqlTypeValue;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adaptador JDBC das transferências em lote.
+ * Os parâmetros são enviados como arrays Postgres e expandidos com unnest,
+ * o que mantém um único comando por etapa mesmo para lotes maiores que o
+ * limite de parâmetros de um VALUES multi-linha.
+ * As linhas são travadas antes do UPDATE, em ordem de id e junto com a
+ * origem, a mesma ordem do modo PESSIMISTIC; o UPDATE com unnest só
+ * reescreve linhas já travadas, então a ordem do plano não importa.
+ */
+@Repository
+public class JdbcBulkTransferRepository implements BulkTransferRepository {
+
+    private static final String LOCK_BY_USER_IDS_SQL =
+            "SELECT * FROM wallets WHERE user_id = ANY(:userIds) ORDER BY id FOR UPDATE";
+
+    private static final String CREDIT_ALL_SQL = """
+            UPDATE wallets w
+               SET balance_amount = w.balance_amount + v.amount,
+                   version = w.version + 1
+              FROM unnest(:walletIds, :amounts) AS v(id, amount)
+             WHERE w.id = v.id
+               AND w.status = 'ACTIVE'
+               AND w.balance_currency = :currency
+         RETURNING w.id, w.balance_amount
+            """;
+
+    private static final String INSERT_HISTORY_SQL = """
+            INSERT INTO balance_history (wallet_id, balance_amount, balance_currency, description, recorded_at)
+            SELECT * FROM unnest(:walletIds, :amounts, :currencies, :descriptions, :recordedAt)
+            """;
+
+    private static final RowMapper<Wallet> WALLET_ROW_MAPPER = (rs, rowNum) -> new Wallet(
+            rs.getLong("id"),
+            rs.getString("user_id"),
+            rs.getBigDecimal("balance_amount"),
+            rs.getString("balance_currency"),
+            WalletStatus.valueOf(rs.getString("status")),
+            rs.getTimestamp("created_at").toLocalDateTime(),
+            rs.getTimestamp("updated_at").toLocalDateTime(),
+            rs.getLong("version")
+    );
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Wallet> lockAllByUserIds(Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userIds", array("varchar", userIds.toArray()), Types.ARRAY);
+        return jdbcTemplate.query(LOCK_BY_USER_IDS_SQL, params, WALLET_ROW_MAPPER);
+    }
+
+    @Override
+    public Map<Long, BigDecimal> creditAll(Map<Long, BigDecimal> amountsByWalletId, String currency) {
+        Long[] walletIds = new Long[amountsByWalletId.size()];
+        BigDecimal[] amounts = new BigDecimal[amountsByWalletId.size()];
+        int i = 0;
+        for (Map.Entry<Long, BigDecimal> entry : amountsByWalletId.entrySet()) {
+            walletIds[i] = entry.getKey();
+            amounts[i] = entry.getValue();
+            i++;
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("walletIds", array("bigint", walletIds), Types.ARRAY)
+                .addValue("amounts", array("numeric", amounts), Types.ARRAY)
+                .addValue("currency", currency);
+        Map<Long, BigDecimal> balances = new HashMap<>(amountsByWalletId.size() * 2);
+        jdbcTemplate.query(CREDIT_ALL_SQL, params, rs -> {
+            balances.put(rs.getLong("id"), rs.getBigDecimal("balance_amount"));
+        });
+        return balances;
+    }
+
+    @Override
+    public void insertHistory(List<BalanceHistory> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        int size = entries.size();
+        Long[] walletIds = new Long[size];
+        BigDecimal[] amounts = new BigDecimal[size];
+        String[] currencies = new String[size];
+        String[] descriptions = new String[size];
+        Timestamp[] recordedAt = new Timestamp[size];
+        for (int i = 0; i < size; i++) {
+            BalanceHistory entry = entries.get(i);
+            walletIds[i] = entry.getWalletId();
+            amounts[i] = entry.getBalanceAmount();
+            currencies[i] = entry.getBalanceCurrency();
+            descriptions[i] = entry.getDescription();
+            recordedAt[i] = Timestamp.valueOf(entry.getRecordedAt());
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("walletIds", array("bigint", walletIds), Types.ARRAY)
+                .addValue("amounts", array("numeric", amounts), Types.ARRAY)
+                .addValue("currencies", array("varchar", currencies), Types.ARRAY)
+                .addValue("descriptions", array("text", descriptions), Types.ARRAY)
+                .addValue("recordedAt", array("timestamp", recordedAt), Types.ARRAY);
+        jdbcTemplate.update(INSERT_HISTORY_SQL, params);
+    }
+
+    private static SqlTypeValue array(String typeName, Object[] values) {
+        return new AbstractSqlTypeValue() {
+            @Override
+            protected Object createTypeValue(Connection con, int sqlType, String type) throws SQLException {
+                return con.createArrayOf(typeName, values);
+            }
+        };
+    }
+}
@@ -0,0 +1,115 @@
+package com.wallet.adapters.infrastructure.repositories;
+
+import com.wallet.application.ports.EventOutbox;
+import com.wallet.domain.events.DomainEvent;
+import com.wallet.infrastructure.outbox.OutboxEventSerializer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adaptador JDBC do outbox com group commit por transação, como o
+ * JdbcLedgerWriter: os eventos são acumulados em um buffer ligado à transação
+ * corrente e gravados em um único batch no beforeCommit. Nesse ponto a
+ * transação ainda mantém o lock das carteiras alteradas, então os ids de uma
+ * mesma carteira seguem a ordem de commit.
+ */
+@Repository
+public class JdbcEventOutbox implements EventOutbox {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO event_outbox (aggregate_id, partition_id, event_type, payload, payload_binary, occurred_at, created_at)
+            VALUES (?, ?, ?, CAST(? AS jsonb), ?, ?, ?)
+            """;
+
+    @Value("${wallet.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OutboxEventSerializer serializer;
+
+    @Override
+    public void append(String aggregateId, DomainEvent event) {
+        if (!enabled) {
+            return;
+        }
+        boolean binary = serializer.isBinary(event);
+        PendingEvent pending = new PendingEvent(aggregateId, event.getEventType(),
+                binary ? null : serializer.toJson(event), binary ? serializer.toBinary(event) : null,
+                event.getOccurredAt());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            writeBatch(List.of(pending));
+            return;
+        }
+
+        OutboxBuffer buffer = (OutboxBuffer) TransactionSynchronizationManager.getResource(this);
+        if (buffer == null) {
+            buffer = new OutboxBuffer();
+            TransactionSynchronizationManager.bindResource(this, buffer);
+            TransactionSynchronizationManager.registerSynchronization(buffer);
+        }
+        buffer.pending.add(pending);
+    }
+
+    private void writeBatch(List<PendingEvent> events) {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> bind(ps, event, createdAt));
+    }
+
+    private void bind(PreparedStatement ps, PendingEvent event, Timestamp createdAt) throws SQLException {
+        ps.setString(1, event.aggregateId);
+        ps.setInt(2, serializer.partitionOf(event.aggregateId));
+        ps.setString(3, event.eventType);
+        ps.setString(4, event.payload);
+        ps.setBytes(5, event.binaryPayload);
+        ps.setTimestamp(6, Timestamp.valueOf(event.occurredAt));
+        ps.setTimestamp(7, createdAt);
+    }
+
+    private static final class PendingEvent {
+        private final String aggregateId;
+        private final String eventType;
+        private final String payload;
+        private final byte[] binaryPayload;
+        private final LocalDateTime occurredAt;
+
+        private PendingEvent(String aggregateId, String eventType, String payload, byte[] binaryPayload,
+                             LocalDateTime occurredAt) {
+            this.aggregateId = aggregateId;
+            this.eventType = eventType;
+            this.payload = payload;
+            this.binaryPayload = binaryPayload;
+            this.occurredAt = occurredAt;
+        }
+    }
+
+    private final class OutboxBuffer implements TransactionSynchronization {
+        private final List<PendingEvent> pending = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!pending.isEmpty()) {
+                writeBatch(pending);
+                pending.clear();
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(JdbcEventOutbox.this);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.wallet.adapters.infrastructure.repositories;
+
+import com.wallet.application.ports.LedgerWriter;
+import com.wallet.domain.entities.Transaction;
+import com.wallet.infrastructure.ids.TimeOrderedIdGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adaptador JDBC do livro-razão com group commit por transação.
+ * As linhas anexadas são acumuladas em um buffer ligado à transação corrente
+ * e enviadas em um único batch JDBC no beforeCommit, dentro da mesma
+ * transação da alteração de saldo. Fluxos que já agrupam operações (carteiras
+ * quentes, transferências em lote) gravam todo o lote em um único batch.
+ * O id vem do TimeOrderedIdGenerator com wallet.ids.primary-key=TIME_ORDERED
+ * e da sequência da tabela no modo padrão.
+ */
+@Repository
+public class JdbcLedgerWriter implements LedgerWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO transactions (id, wallet_id, transaction_type, amount, currency, description,
+                                      source_wallet_id, target_wallet_id, transaction_date, status, created_at,
+                                      reference_id)
+            VALUES (COALESCE(?, nextval('transactions_id_seq')), ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    @Value("${wallet.ledger.enabled:true}")
+    private boolean enabled;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TimeOrderedIdGenerator idGenerator;
+
+    @Override
+    public void append(Transaction transaction) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            writeBatch(List.of(transaction));
+            return;
+        }
+
+        LedgerBuffer buffer = (LedgerBuffer) TransactionSynchronizationManager.getResource(this);
+        if (buffer == null) {
+            buffer = new LedgerBuffer();
+            TransactionSynchronizationManager.bindResource(this, buffer);
+            TransactionSynchronizationManager.registerSynchronization(buffer);
+        }
+        buffer.pending.add(transaction);
+    }
+
+    private void writeBatch(List<Transaction> transactions) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, transactions, transactions.size(), this::bind);
+    }
+
+    private void bind(PreparedStatement ps, Transaction transaction) throws SQLException {
+        setNullableLong(ps, 1, transaction.getId() != null ? transaction.getId() : idGenerator.nextPrimaryKey());
+        ps.setLong(2, transaction.getWalletId());
+        ps.setString(3, transaction.getTransactionType().name());
+        ps.setBigDecimal(4, transaction.getAmount().getAmount());
+        ps.setString(5, transaction.getAmount().getCurrency());
+        ps.setString(6, transaction.getDescription());
+        setNullableLong(ps, 7, transaction.getSourceWalletId());
+        setNullableLong(ps, 8, transaction.getTargetWalletId());
+        ps.setTimestamp(9, Timestamp.valueOf(transaction.getTransactionDate()));
+        ps.setString(10, transaction.getStatus());
+        ps.setTimestamp(11, Timestamp.valueOf(transaction.getCreatedAt()));
+        ps.setString(12, transaction.getReferenceId());
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+
+    private final class LedgerBuffer implements TransactionSynchronization {
+        private final List<Transaction> pending = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!pending.isEmpty()) {
+                writeBatch(pending);
+                pending.clear();
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(JdbcLedgerWriter.this);
+        }
+    }
+}
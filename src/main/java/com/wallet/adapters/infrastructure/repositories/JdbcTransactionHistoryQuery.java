@@ -0,0 +1,93 @@
+package com.wallet.adapters.infrastructure.repositories;
+
+import com.wallet.application.ports.TransactionHistoryQuery;
+import com.wallet.domain.entities.Transaction;
+import com.wallet.domain.enums.TransactionType;
+import com.wallet.domain.valueobjects.Money;
+import com.wallet.domain.valueobjects.PageCursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Adaptador JDBC da listagem de transações.
+ * Em vez de "wallet_id = ? OR target_wallet_id = ?", que não usa bem nenhum
+ * índice, cada lado é um ramo de UNION ALL com seu próprio índice ordenado e
+ * LIMIT; o SELECT externo apenas intercala as duas páginas já ordenadas.
+ */
+@Repository
+public class JdbcTransactionHistoryQuery implements TransactionHistoryQuery {
+
+    private static final String COLUMNS = "id, wallet_id, transaction_type, amount, currency, description, " +
+            "source_wallet_id, target_wallet_id, transaction_date, status, created_at, reference_id";
+
+    private static final RowMapper<Transaction> TRANSACTION_ROW_MAPPER = (rs, rowNum) -> new Transaction(
+            rs.getLong("id"),
+            rs.getLong("wallet_id"),
+            TransactionType.valueOf(rs.getString("transaction_type")),
+            new Money(rs.getBigDecimal("amount"), rs.getString("currency")),
+            rs.getString("description"),
+            rs.getObject("source_wallet_id", Long.class),
+            rs.getObject("target_wallet_id", Long.class),
+            rs.getTimestamp("transaction_date").toLocalDateTime(),
+            rs.getString("status"),
+            rs.getTimestamp("created_at").toLocalDateTime(),
+            rs.getString("reference_id")
+    );
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Transaction> findPage(Long walletId, Filter filter, PageCursor before, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("walletId", walletId)
+                .addValue("limit", limit);
+        String filters = filterClause(filter, before, params);
+
+        String posted = "SELECT " + COLUMNS + " FROM transactions WHERE wallet_id = :walletId" + filters +
+                " ORDER BY transaction_date DESC, id DESC LIMIT :limit";
+        if (!filter.includes(TransactionType.TRANSFER)) {
+            // Só transferências têm carteira de destino
+            return jdbcTemplate.query(posted, params, TRANSACTION_ROW_MAPPER);
+        }
+
+        String received = "SELECT " + COLUMNS + " FROM transactions WHERE target_wallet_id = :walletId" +
+                " AND wallet_id <> :walletId" + filters +
+                " ORDER BY transaction_date DESC, id DESC LIMIT :limit";
+        String sql = "SELECT * FROM ((" + posted + ") UNION ALL (" + received + ")) t" +
+                " ORDER BY transaction_date DESC, id DESC LIMIT :limit";
+        return jdbcTemplate.query(sql, params, TRANSACTION_ROW_MAPPER);
+    }
+
+    private static String filterClause(Filter filter, PageCursor before, MapSqlParameterSource params) {
+        StringBuilder clause = new StringBuilder();
+        if (!filter.getTypes().isEmpty()) {
+            clause.append(" AND transaction_type IN (:types)");
+            params.addValue("types", filter.getTypes().stream().map(Enum::name).toList());
+        }
+        if (!filter.getStatuses().isEmpty()) {
+            clause.append(" AND status IN (:statuses)");
+            params.addValue("statuses", List.copyOf(filter.getStatuses()));
+        }
+        if (filter.getStartDate() != null) {
+            clause.append(" AND transaction_date >= :startDate");
+            params.addValue("startDate", Timestamp.valueOf(filter.getStartDate()));
+        }
+        if (filter.getEndDate() != null) {
+            clause.append(" AND transaction_date <= :endDate");
+            params.addValue("endDate", Timestamp.valueOf(filter.getEndDate()));
+        }
+        if (before != null) {
+            clause.append(" AND (transaction_date, id) < (:beforeDate, :beforeId)");
+            params.addValue("beforeDate", Timestamp.valueOf(before.getTimestamp()));
+            params.addValue("beforeId", before.getId());
+        }
+        return clause.toString();
+    }
+}
@@ -0,0 +1,208 @@
+package com.wallet.adapters.infrastructure.repositories;
+
+import com.wallet.application.ports.WalletEventStore;
+import com.wallet.domain.aggregates.WalletAggregate;
+import com.wallet.domain.entities.Wallet;
+import com.wallet.domain.enums.WalletStatus;
+import com.wallet.domain.events.DomainEvent;
+import com.wallet.infrastructure.events.BinaryEventCodecRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.support.AbstractSqlTypeValue;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Adaptador JDBC do armazenamento de carteiras por eventos.
+ * Os eventos pendentes de um agregado são gravados com um único INSERT
+ * (arrays expandidos com unnest), sem UPDATE em nenhuma linha existente.
+ * A cada wallet.event-store.snapshot-interval eventos o estado da carteira é
+ * gravado em wallet_snapshots na mesma transação, então a reidratação lê no
+ * máximo um snapshot e menos que um intervalo de eventos.
+ */
+@Repository
+public class JdbcWalletEventStore implements WalletEventStore {
+
+    private static final String APPEND_SQL = """
+            INSERT INTO wallet_events (user_id, sequence, event_type, payload)
+            SELECT :userId, e.sequence, e.event_type, e.payload
+              FROM unnest(:sequences, :eventTypes, :payloads) AS e(sequence, event_type, payload)
+         RETURNING id, sequence
+            """;
+
+    private static final String FIND_SNAPSHOT_SQL = "SELECT * FROM wallet_snapshots WHERE user_id = :userId";
+
+    private static final String FIND_EVENTS_SQL = """
+            SELECT id, sequence, payload
+              FROM wallet_events
+             WHERE user_id = :userId AND sequence > :after
+             ORDER BY sequence
+            """;
+
+    private static final String UPSERT_SNAPSHOT_SQL = """
+            INSERT INTO wallet_snapshots (user_id, wallet_id, sequence, balance_amount, balance_currency,
+                                          status, created_at, updated_at)
+            VALUES (:userId, :walletId, :sequence, :balanceAmount, :balanceCurrency, :status, :createdAt, :updatedAt)
+            ON CONFLICT (user_id) DO UPDATE
+               SET wallet_id = EXCLUDED.wallet_id,
+                   sequence = EXCLUDED.sequence,
+                   balance_amount = EXCLUDED.balance_amount,
+                   balance_currency = EXCLUDED.balance_currency,
+                   status = EXCLUDED.status,
+                   created_at = EXCLUDED.created_at,
+                   updated_at = EXCLUDED.updated_at
+             WHERE wallet_snapshots.sequence < EXCLUDED.sequence
+            """;
+
+    // A versão do snapshot é a sequência do último evento incluído nele
+    private static final RowMapper<Wallet> SNAPSHOT_ROW_MAPPER = (rs, rowNum) -> new Wallet(
+            rs.getLong("wallet_id"),
+            rs.getString("user_id"),
+            rs.getBigDecimal("balance_amount"),
+            rs.getString("balance_currency"),
+            WalletStatus.valueOf(rs.getString("status")),
+            rs.getTimestamp("created_at").toLocalDateTime(),
+            rs.getTimestamp("updated_at").toLocalDateTime(),
+            rs.getLong("sequence")
+    );
+
+    @Value("${wallet.event-store.snapshot-interval:100}")
+    private int snapshotInterval;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BinaryEventCodecRegistry codecRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private DistributionSummary replayedEvents;
+    private Counter snapshots;
+
+    @PostConstruct
+    public void init() {
+        if (snapshotInterval < 1) {
+            throw new IllegalStateException("wallet.event-store.snapshot-interval must be positive");
+        }
+        replayedEvents = DistributionSummary.builder("wallet.event-store.replayed.events")
+                .description("Eventos aplicados após o snapshot na reidratação de uma carteira")
+                .baseUnit("events")
+                .register(meterRegistry);
+        snapshots = Counter.builder("wallet.event-store.snapshots")
+                .description("Snapshots de carteira gravados")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<WalletAggregate> load(String userId) {
+        List<Wallet> snapshot = jdbcTemplate.query(FIND_SNAPSHOT_SQL,
+                new MapSqlParameterSource("userId", userId), SNAPSHOT_ROW_MAPPER);
+        Wallet state = snapshot.isEmpty() ? null : snapshot.get(0);
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("after", state != null ? state.getVersion() : 0L);
+        List<DomainEvent> tail = new ArrayList<>();
+        Long[] firstEventId = new Long[1];
+        jdbcTemplate.query(FIND_EVENTS_SQL, params, rs -> {
+            if (firstEventId[0] == null) {
+                firstEventId[0] = rs.getLong("id");
+            }
+            tail.add(codecRegistry.decode(rs.getBytes("payload")));
+        });
+        if (state == null && tail.isEmpty()) {
+            return Optional.empty();
+        }
+
+        replayedEvents.record(tail.size());
+        WalletAggregate aggregate = WalletAggregate.rehydrate(state, tail);
+        if (state == null) {
+            aggregate.getWallet().setId(firstEventId[0]);
+        }
+        return Optional.of(aggregate);
+    }
+
+    @Override
+    public void append(WalletAggregate aggregate) {
+        List<DomainEvent> events = aggregate.getDomainEvents();
+        if (events.isEmpty()) {
+            return;
+        }
+        Wallet wallet = aggregate.getWallet();
+        long version = wallet.getVersion();
+        int size = events.size();
+        Long[] sequences = new Long[size];
+        String[] eventTypes = new String[size];
+        byte[][] payloads = new byte[size][];
+        for (int i = 0; i < size; i++) {
+            sequences[i] = version + i + 1;
+            eventTypes[i] = events.get(i).getEventType();
+            payloads[i] = codecRegistry.encode(events.get(i));
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", wallet.getUserId())
+                .addValue("sequences", array("bigint", sequences), Types.ARRAY)
+                .addValue("eventTypes", array("varchar", eventTypes), Types.ARRAY)
+                .addValue("payloads", array("bytea", payloads), Types.ARRAY);
+        try {
+            jdbcTemplate.query(APPEND_SQL, params, rs -> {
+                // O id do evento WalletCreated (sequência 1) identifica a carteira
+                if (rs.getLong("sequence") == 1L) {
+                    wallet.setId(rs.getLong("id"));
+                }
+            });
+        } catch (DuplicateKeyException e) {
+            throw new OptimisticLockingFailureException(
+                    "Wallet " + wallet.getUserId() + " changed after version " + version, e);
+        }
+
+        long newVersion = version + size;
+        wallet.setVersion(newVersion);
+        if (newVersion / snapshotInterval > version / snapshotInterval) {
+            saveSnapshot(wallet);
+        }
+    }
+
+    private void saveSnapshot(Wallet wallet) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", wallet.getUserId())
+                .addValue("walletId", wallet.getId())
+                .addValue("sequence", wallet.getVersion())
+                .addValue("balanceAmount", wallet.getBalanceAmount())
+                .addValue("balanceCurrency", wallet.getBalanceCurrency())
+                .addValue("status", wallet.getStatus().name())
+                .addValue("createdAt", Timestamp.valueOf(wallet.getCreatedAt()))
+                .addValue("updatedAt", Timestamp.valueOf(wallet.getUpdatedAt()));
+        jdbcTemplate.update(UPSERT_SNAPSHOT_SQL, params);
+        snapshots.increment();
+    }
+
+    private static SqlTypeValue array(String typeName, Object[] values) {
+        return new AbstractSqlTypeValue() {
+            @Override
+            protected Object createTypeValue(Connection con, int sqlType, String type) throws SQLException {
+                return con.createArrayOf(typeName, values);
+            }
+        };
+    }
+}
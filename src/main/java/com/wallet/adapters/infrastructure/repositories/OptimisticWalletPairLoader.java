@@ -0,0 +1,30 @@
+package com.wallet.adapters.infrastructure.repositories;
+
+import com.wallet.application.ports.WalletPairLoader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Carrega as carteiras sem bloqueio; conflitos são detectados no save pela
+ * coluna version da Wallet.
+ */
+@Repository
+public class OptimisticWalletPairLoader implements WalletPairLoader {
+
+    @Autowired
+    private WalletRepositoryImpl walletRepository;
+
+    @Override
+    public Mode getMode() {
+        return Mode.OPTIMISTIC;
+    }
+
+    @Override
+    public Optional<WalletPair> load(String sourceUserId, String targetUserId) {
+        return walletRepository.findByUserId(sourceUserId)
+                .flatMap(source -> walletRepository.findByUserId(targetUserId)
+                        .map(target -> new WalletPair(source, target)));
+    }
+}
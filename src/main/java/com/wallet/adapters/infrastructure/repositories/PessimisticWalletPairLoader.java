@@ -0,0 +1,45 @@
+package com.wallet.adapters.infrastructure.repositories;
+
+import com.wallet.application.ports.WalletPairLoader;
+import com.wallet.domain.entities.Wallet;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Bloqueia as duas carteiras com um único SELECT ... FOR UPDATE ordenado por
+ * id. Como toda transferência adquire os bloqueios na mesma ordem canônica,
+ * transferências opostas (A→B e B→A) se serializam sem deadlock e sem
+ * falhas de lock otimista. Deve ser chamado dentro de uma transação.
+ */
+@Repository
+public class PessimisticWalletPairLoader implements WalletPairLoader {
+
+    @Autowired
+    private WalletRepositoryImpl walletRepository;
+
+    @Override
+    public Mode getMode() {
+        return Mode.PESSIMISTIC;
+    }
+
+    @Override
+    public Optional<WalletPair> load(String sourceUserId, String targetUserId) {
+        List<Wallet> locked = walletRepository.lockByUserIdsOrderedById(sourceUserId, targetUserId);
+        Wallet source = null;
+        Wallet target = null;
+        for (Wallet wallet : locked) {
+            if (wallet.getUserId().equals(sourceUserId)) {
+                source = wallet;
+            } else if (wallet.getUserId().equals(targetUserId)) {
+                target = wallet;
+            }
+        }
+        if (source == null || target == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new WalletPair(source, target));
+    }
+}
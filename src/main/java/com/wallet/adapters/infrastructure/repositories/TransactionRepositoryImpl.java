@@ -32,7 +32,10 @@ public interface TransactionRepositoryImpl extends CrudRepository<Transaction, L
                                                              @Param("endDate") LocalDateTime endDate);
     
     @Override
-    @Query("SELECT * FROM transactions WHERE source_wallet_id = :sourceWalletId OR target_wallet_id = :targetWalletId")
+    @Query("SELECT * FROM transactions WHERE source_wallet_id = :sourceWalletId " +
+           "UNION ALL " +
+           "SELECT * FROM transactions WHERE target_wallet_id = :targetWalletId " +
+           "AND source_wallet_id IS DISTINCT FROM :sourceWalletId")
     List<Transaction> findBySourceWalletIdOrTargetWalletId(@Param("sourceWalletId") Long sourceWalletId,
                                                           @Param("targetWalletId") Long targetWalletId);
     
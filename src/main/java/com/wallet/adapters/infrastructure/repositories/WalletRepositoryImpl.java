@@ -6,6 +6,8 @@ import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -19,4 +21,14 @@ public interface WalletRepositoryImpl extends CrudRepository<Wallet, Long> {
     
     @Query("SELECT * FROM wallets WHERE user_id = :userId")
     Optional<Wallet> findWalletByUserId(@Param("userId") String userId);
+    
+    @Query("SELECT * FROM wallets WHERE user_id = :userId FOR UPDATE")
+    Optional<Wallet> lockByUserId(@Param("userId") String userId);
+    
+    @Query("SELECT * FROM wallets WHERE user_id IN (:sourceUserId, :targetUserId) ORDER BY id FOR UPDATE")
+    List<Wallet> lockByUserIdsOrderedById(@Param("sourceUserId") String sourceUserId,
+                                          @Param("targetUserId") String targetUserId);
+    
+    @Query("SELECT * FROM wallets WHERE user_id IN (:userIds) ORDER BY id FOR UPDATE")
+    List<Wallet> lockAllByUserIdsOrderedById(@Param("userIds") Collection<String> userIds);
 } 
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.wallet.application.ports;
+
+import com.wallet.domain.valueobjects.Money;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Porta de saída para onde o escritor de auditoria grava os registros,
+ * sempre em lotes e fora da thread da requisição.
+ */
+public interface AuditSink {
+
+    /**
+     * Destino dos registros, selecionado por deployment em wallet.audit.sink.type
+     */
+    enum Type {
+        JDBC,
+        LOG
+    }
+
+    Type getType();
+
+    /**
+     * Recebe os registros na ordem em que foram enfileirados
+     */
+    void write(List<AuditRecord> records);
+
+    /**
+     * Registro de auditoria tipado. Os campos monetários só estão presentes
+     * nos tipos que os usam: amount em TRANSACTION, oldBalance e newBalance
+     * em BALANCE_CHANGE. transactionId é o id devolvido ao cliente, presente
+     * nos registros de operações que movimentam saldo.
+     */
+    class AuditRecord {
+
+        public enum Kind {
+            OPERATION,
+            TRANSACTION,
+            BALANCE_CHANGE,
+            SECURITY,
+            ERROR
+        }
+
+        private final Kind kind;
+        private final String action;
+        private final String userId;
+        private final String details;
+        private final Money amount;
+        private final Money oldBalance;
+        private final Money newBalance;
+        private final String correlationId;
+        private final String transactionId;
+        private final LocalDateTime occurredAt;
+
+        public AuditRecord(Kind kind, String action, String userId, String details, Money amount,
+                           Money oldBalance, Money newBalance, String correlationId, LocalDateTime occurredAt) {
+            this(kind, action, userId, details, amount, oldBalance, newBalance, correlationId, null, occurredAt);
+        }
+
+        public AuditRecord(Kind kind, String action, String userId, String details, Money amount,
+                           Money oldBalance, Money newBalance, String correlationId, String transactionId,
+                           LocalDateTime occurredAt) {
+            this.kind = kind;
+            this.action = action;
+            this.userId = userId;
+            this.details = details;
+            this.amount = amount;
+            this.oldBalance = oldBalance;
+            this.newBalance = newBalance;
+            this.correlationId = correlationId;
+            this.transactionId = transactionId;
+            this.occurredAt = occurredAt;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public String getAction() {
+            return action;
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        public String getDetails() {
+            return details;
+        }
+
+        public Money getAmount() {
+            return amount;
+        }
+
+        public Money getOldBalance() {
+            return oldBalance;
+        }
+
+        public Money getNewBalance() {
+            return newBalance;
+        }
+
+        public String getCorrelationId() {
+            return correlationId;
+        }
+
+        public String getTransactionId() {
+            return transactionId;
+        }
+
+        public LocalDateTime getOccurredAt() {
+            return occurredAt;
+        }
+    }
+}
@@ -18,4 +18,12 @@ public interface BalanceHistoryRepository {
     Optional<BalanceHistory> findTopByWalletIdOrderByRecordedAtDesc(Long walletId);
     
     Optional<BalanceHistory> findByWalletIdAndRecordedAtBeforeOrderByRecordedAtDesc(Long walletId, LocalDateTime date);
+    
+    /**
+     * Página keyset: registros com recorded_at >= startDate e estritamente
+     * anteriores a (beforeRecordedAt, beforeId), em ordem decrescente.
+     * O fim do intervalo de datas é expresso pelo próprio cursor inicial.
+     */
+    List<BalanceHistory> findPageByWalletId(Long walletId, LocalDateTime startDate,
+                                            LocalDateTime beforeRecordedAt, Long beforeId, int limit);
 } 
\ No newline at end of file
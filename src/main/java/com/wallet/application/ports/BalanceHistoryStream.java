@@ -0,0 +1,19 @@
+package com.wallet.application.ports;
+
+import com.wallet.domain.entities.BalanceHistory;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Porta de saída para leitura em streaming do histórico de saldos, sem
+ * materializar todos os registros em memória
+ */
+public interface BalanceHistoryStream {
+
+    /**
+     * Percorre os registros da carteira em ordem decrescente de (recorded_at, id).
+     * As datas são opcionais e inclusivas.
+     */
+    void forEach(Long walletId, LocalDateTime startDate, LocalDateTime endDate, Consumer<BalanceHistory> action);
+}
@@ -0,0 +1,42 @@
+package com.wallet.application.ports;
+
+import com.wallet.domain.valueobjects.BalanceMutation;
+import com.wallet.domain.valueobjects.Money;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Porta de saída para mutação atômica de saldo.
+ * Aplica o delta e grava o histórico de saldo em uma única ida ao banco,
+ * preservando as regras de domínio da Wallet (carteira ativa, mesma moeda e
+ * saldo suficiente). Retorna vazio quando a carteira não existe.
+ */
+public interface BalanceMutationEngine {
+
+    Optional<BalanceMutation> deposit(String userId, Money amount, String description);
+
+    Optional<BalanceMutation> withdraw(String userId, Money amount, String description);
+
+    /**
+     * Como deposit, gravando também a linha DEPOSIT do livro-razão na mesma
+     * ida ao banco, com a data e o id de transação informados
+     */
+    Optional<BalanceMutation> depositAndRecord(String userId, Money amount, String description, String referenceId,
+                                               LocalDateTime at);
+
+    /**
+     * Como withdraw, gravando também a linha WITHDRAW do livro-razão na mesma
+     * ida ao banco, com a data e o id de transação informados
+     */
+    Optional<BalanceMutation> withdrawAndRecord(String userId, Money amount, String description, String referenceId,
+                                                LocalDateTime at);
+
+    /**
+     * Aplica vários créditos na mesma carteira com um único UPDATE e um único
+     * INSERT multi-linha no histórico. O resultado segue a ordem de entrada,
+     * com o saldo acumulado após cada crédito.
+     */
+    Optional<List<BalanceMutation>> depositAll(String userId, List<Money> amounts, List<String> descriptions);
+}
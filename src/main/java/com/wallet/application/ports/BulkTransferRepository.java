@@ -0,0 +1,30 @@
+package com.wallet.application.ports;
+
+import com.wallet.domain.entities.BalanceHistory;
+import com.wallet.domain.entities.Wallet;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Porta de saída para transferências em lote executadas de forma set-based:
+ * cada operação é um único comando SQL, independente do tamanho do lote
+ */
+public interface BulkTransferRepository {
+
+    /**
+     * Trava as carteiras informadas com um único SELECT ... FOR UPDATE, em
+     * ordem de id, e as retorna nessa ordem
+     */
+    List<Wallet> lockAllByUserIds(Collection<String> userIds);
+
+    /**
+     * Credita todas as carteiras com um único UPDATE e retorna o saldo final
+     * de cada carteira efetivamente creditada (ativa e na moeda informada)
+     */
+    Map<Long, BigDecimal> creditAll(Map<Long, BigDecimal> amountsByWalletId, String currency);
+
+    void insertHistory(List<BalanceHistory> entries);
+}
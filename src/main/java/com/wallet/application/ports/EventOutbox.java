@@ -0,0 +1,22 @@
+package com.wallet.application.ports;
+
+import com.wallet.domain.aggregates.WalletAggregate;
+import com.wallet.domain.events.DomainEvent;
+
+/**
+ * Porta de saída para o outbox de eventos de domínio.
+ * Os eventos anexados dentro de uma transação de banco são gravados no commit
+ * dessa mesma transação, junto com a alteração de saldo, e publicados depois
+ * pelo relay. O aggregateId é o userId da carteira e define a ordem de entrega.
+ */
+public interface EventOutbox {
+
+    void append(String aggregateId, DomainEvent event);
+
+    default void appendAll(WalletAggregate aggregate) {
+        for (DomainEvent event : aggregate.getDomainEvents()) {
+            append(aggregate.getUserId(), event);
+        }
+        aggregate.clearDomainEvents();
+    }
+}
@@ -0,0 +1,73 @@
+package com.wallet.application.ports;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Porta de saída para onde o relay do outbox publica os eventos.
+ * Um lote só é removido do outbox após publish retornar; uma exceção faz o
+ * lote inteiro ser reentregue, portanto a entrega é "pelo menos uma vez" e o
+ * id do evento serve de chave de deduplicação para os consumidores.
+ */
+public interface EventSink {
+
+    /**
+     * Destino dos eventos, selecionado por deployment em wallet.outbox.sink.type
+     */
+    enum Type {
+        FILE,
+        MEMORY
+    }
+
+    Type getType();
+
+    /**
+     * Recebe os eventos de uma única partição, em ordem de id
+     */
+    void publish(List<OutboxEvent> events);
+
+    /**
+     * Exatamente um dos payloads está presente: o JSON ou o binário do
+     * BinaryEventCodecRegistry
+     */
+    class OutboxEvent {
+        private final long id;
+        private final String aggregateId;
+        private final String eventType;
+        private final String payload;
+        private final byte[] binaryPayload;
+        private final LocalDateTime occurredAt;
+        private final LocalDateTime createdAt;
+        public OutboxEvent(long id, String aggregateId, String eventType, String payload, byte[] binaryPayload,
+                           LocalDateTime occurredAt, LocalDateTime createdAt) {
+            this.id = id;
+            this.aggregateId = aggregateId;
+            this.eventType = eventType;
+            this.payload = payload;
+            this.binaryPayload = binaryPayload;
+            this.occurredAt = occurredAt;
+            this.createdAt = createdAt;
+        }
+        public long getId() {
+            return id;
+        }
+        public String getAggregateId() {
+            return aggregateId;
+        }
+        public String getEventType() {
+            return eventType;
+        }
+        public String getPayload() {
+            return payload;
+        }
+        public byte[] getBinaryPayload() {
+            return binaryPayload;
+        }
+        public LocalDateTime getOccurredAt() {
+            return occurredAt;
+        }
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.wallet.application.ports;
+
+import com.wallet.domain.entities.Transaction;
+
+/**
+ * Porta de saída para o livro-razão de transações.
+ * As transações anexadas dentro de uma transação de banco são gravadas no
+ * commit dessa mesma transação, junto com a alteração de saldo.
+ */
+public interface LedgerWriter {
+
+    void append(Transaction transaction);
+}
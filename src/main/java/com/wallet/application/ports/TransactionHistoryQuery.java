@@ -0,0 +1,57 @@
+package com.wallet.application.ports;
+
+import com.wallet.domain.entities.Transaction;
+import com.wallet.domain.enums.TransactionType;
+import com.wallet.domain.valueobjects.PageCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Porta de saída para consulta paginada do livro-razão de uma carteira.
+ * Inclui as transações lançadas na carteira e as transferências recebidas.
+ */
+public interface TransactionHistoryQuery {
+
+    /**
+     * Página keyset em ordem decrescente de (transaction_date, id), com as
+     * transações estritamente anteriores ao cursor (ou a partir do início
+     * quando o cursor é nulo)
+     */
+    List<Transaction> findPage(Long walletId, Filter filter, PageCursor before, int limit);
+
+    class Filter {
+        private final Set<TransactionType> types;
+        private final Set<String> statuses;
+        private final LocalDateTime startDate;
+        private final LocalDateTime endDate;
+        public Filter(Set<TransactionType> types, Set<String> statuses, LocalDateTime startDate, LocalDateTime endDate) {
+            this.types = types != null ? Set.copyOf(types) : Set.of();
+            this.statuses = statuses != null ? Set.copyOf(statuses) : Set.of();
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+        /**
+         * Tipos aceitos; vazio significa todos
+         */
+        public Set<TransactionType> getTypes() {
+            return types;
+        }
+        /**
+         * Status aceitos; vazio significa todos
+         */
+        public Set<String> getStatuses() {
+            return statuses;
+        }
+        public LocalDateTime getStartDate() {
+            return startDate;
+        }
+        public LocalDateTime getEndDate() {
+            return endDate;
+        }
+        public boolean includes(TransactionType type) {
+            return types.isEmpty() || types.contains(type);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.wallet.application.ports;
+
+import com.wallet.domain.aggregates.WalletAggregate;
+
+import java.util.Optional;
+
+/**
+ * Porta de saída para o armazenamento das carteiras como fluxo de eventos.
+ * O agregado é reconstruído a partir do último snapshot e dos eventos
+ * posteriores; a versão da carteira é a sequência do último evento do fluxo.
+ */
+public interface WalletEventStore {
+
+    /**
+     * Retorna vazio quando a carteira não tem eventos
+     */
+    Optional<WalletAggregate> load(String userId);
+
+    /**
+     * Anexa os eventos pendentes do agregado ao fluxo, com as sequências
+     * seguintes à versão carregada, e avança a versão. Lança
+     * OptimisticLockingFailureException quando outra escrita anexou eventos
+     * depois do carregamento (ou, na criação, quando a carteira já existe).
+     * Os eventos pendentes continuam no agregado para o outbox.
+     */
+    void append(WalletAggregate aggregate);
+}
@@ -0,0 +1,41 @@
+package com.wallet.application.ports;
+
+import com.wallet.domain.entities.Wallet;
+
+import java.util.Optional;
+
+/**
+ * Porta de saída para carregar as carteiras de origem e destino de uma
+ * transferência. Cada implementação define como a concorrência entre
+ * transferências na mesma carteira é tratada.
+ */
+public interface WalletPairLoader {
+
+    /**
+     * Modo de execução das transferências, selecionado por deployment em
+     * wallet.transfer.mode
+     */
+    enum Mode {
+        OPTIMISTIC,
+        PESSIMISTIC
+    }
+
+    Mode getMode();
+
+    Optional<WalletPair> load(String sourceUserId, String targetUserId);
+
+    class WalletPair {
+        private final Wallet source;
+        private final Wallet target;
+        public WalletPair(Wallet source, Wallet target) {
+            this.source = source;
+            this.target = target;
+        }
+        public Wallet getSource() {
+            return source;
+        }
+        public Wallet getTarget() {
+            return target;
+        }
+    }
+}
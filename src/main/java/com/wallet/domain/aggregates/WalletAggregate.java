@@ -36,12 +36,55 @@ public class WalletAggregate {
         return aggregate;
     }
     
+    /**
+     * Reconstrói o agregado a partir de um snapshot (null quando não há) e dos
+     * eventos gravados depois dele, em ordem. Sem snapshot o primeiro evento
+     * deve ser WalletCreated. A versão da carteira passa a ser a sequência do
+     * último evento aplicado.
+     */
+    public static WalletAggregate rehydrate(Wallet snapshot, List<DomainEvent> history) {
+        WalletAggregate aggregate = new WalletAggregate(snapshot);
+        long version = snapshot != null ? snapshot.getVersion() : 0L;
+        for (DomainEvent event : history) {
+            aggregate.apply(event);
+            version++;
+        }
+        if (aggregate.wallet == null) {
+            throw new IllegalStateException("Wallet stream has no WalletCreated event");
+        }
+        aggregate.wallet.setVersion(version);
+        return aggregate;
+    }
+    
+    private void apply(DomainEvent event) {
+        if (event instanceof WalletCreatedEvent created) {
+            wallet = Wallet.create(created.getUserId(), created.getCurrency());
+            wallet.setCreatedAt(created.getOccurredAt());
+        } else if (wallet == null) {
+            throw new IllegalStateException("Wallet stream must start with WalletCreated, got " + event.getEventType());
+        } else if (event instanceof MoneyDepositedEvent deposited) {
+            wallet.setBalance(deposited.getNewBalance());
+        } else if (event instanceof MoneyWithdrawnEvent withdrawn) {
+            wallet.setBalance(withdrawn.getNewBalance());
+        } else if (event instanceof MoneyTransferredEvent transferred) {
+            // Cada lado da transferência recebe o evento com o próprio saldo
+            wallet.setBalance(transferred.getNewBalance());
+        } else if (event instanceof WalletSuspendedEvent) {
+            wallet.suspend();
+        } else if (event instanceof WalletActivatedEvent) {
+            wallet.activate();
+        } else if (event instanceof WalletClosedEvent) {
+            wallet.close();
+        }
+        wallet.setUpdatedAt(event.getOccurredAt());
+    }
+    
     public void deposit(Money amount, String description) {
         if (!wallet.isActive()) {
             throw new IllegalStateException("Wallet is not active");
         }
         
-        if (!wallet.getBalance().getCurrency().equals(amount.getCurrency())) {
+        if (!wallet.getBalance().hasSameCurrency(amount)) {
             throw new IllegalArgumentException("Currency mismatch");
         }
         
@@ -72,7 +115,7 @@ public class WalletAggregate {
             throw new IllegalStateException("Wallet is not active");
         }
         
-        if (!wallet.getBalance().getCurrency().equals(amount.getCurrency())) {
+        if (!wallet.getBalance().hasSameCurrency(amount)) {
             throw new IllegalArgumentException("Currency mismatch");
         }
         
@@ -111,8 +154,8 @@ public class WalletAggregate {
             throw new IllegalStateException("Target wallet is not active");
         }
         
-        if (!wallet.getBalance().getCurrency().equals(amount.getCurrency()) ||
-            !targetAggregate.getWallet().getBalance().getCurrency().equals(amount.getCurrency())) {
+        if (!wallet.getBalance().hasSameCurrency(amount) ||
+            !targetAggregate.getWallet().getBalance().hasSameCurrency(amount)) {
             throw new IllegalArgumentException("Currency mismatch between wallets");
         }
         
@@ -177,7 +220,7 @@ public class WalletAggregate {
     }
     
     public void close() {
-        if (wallet.getBalance().getAmount().compareTo(java.math.BigDecimal.ZERO) > 0) {
+        if (wallet.getBalance().isPositive()) {
             throw new IllegalStateException("Cannot close wallet with positive balance");
         }
         
@@ -26,14 +26,26 @@ public class Transaction {
     private LocalDateTime transactionDate;
     private String status;
     private LocalDateTime createdAt;
+    /**
+     * Id de transação devolvido ao cliente, compartilhado pelas linhas de uma
+     * mesma operação
+     */
+    private String referenceId;
     public Transaction(Long walletId, TransactionType transactionType, Money amount, String description) {
+        this(walletId, transactionType, amount, description, LocalDateTime.now());
+    }
+    /**
+     * Usa o mesmo instante para a data da transação e a criação do registro,
+     * permitindo que o chamador compartilhe o relógio com os eventos da operação
+     */
+    public Transaction(Long walletId, TransactionType transactionType, Money amount, String description, LocalDateTime at) {
         this.walletId = walletId;
         this.transactionType = transactionType;
         this.amount = amount;
         this.description = description;
-        this.transactionDate = LocalDateTime.now();
+        this.transactionDate = at;
         this.status = "COMPLETED";
-        this.createdAt = LocalDateTime.now();
+        this.createdAt = at;
     }
     public static Transaction createDeposit(Wallet wallet, Money amount, String description) {
         return new Transaction(wallet.getId(), TransactionType.DEPOSIT, amount, description);
@@ -42,9 +54,12 @@ public class Transaction {
         return new Transaction(wallet.getId(), TransactionType.WITHDRAW, amount, description);
     }
     public static Transaction createTransfer(Wallet sourceWallet, Wallet targetWallet, Money amount, String description) {
-        Transaction transaction = new Transaction(sourceWallet.getId(), TransactionType.TRANSFER, amount, description);
-        transaction.setSourceWalletId(sourceWallet.getId());
-        transaction.setTargetWalletId(targetWallet.getId());
+        return createTransfer(sourceWallet.getId(), targetWallet.getId(), amount, description);
+    }
+    public static Transaction createTransfer(Long sourceWalletId, Long targetWalletId, Money amount, String description) {
+        Transaction transaction = new Transaction(sourceWalletId, TransactionType.TRANSFER, amount, description);
+        transaction.setSourceWalletId(sourceWalletId);
+        transaction.setTargetWalletId(targetWalletId);
         return transaction;
     }
     public boolean isCompleted() {
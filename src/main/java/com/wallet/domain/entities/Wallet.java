@@ -1,11 +1,18 @@
 package com.wallet.domain.entities;
 
 import com.wallet.domain.enums.WalletStatus;
+import com.wallet.domain.exceptions.InsufficientFundsException;
 import com.wallet.domain.valueobjects.Money;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.annotation.AccessType;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
@@ -13,18 +20,35 @@ import org.springframework.data.relational.core.mapping.Table;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+/**
+ * Carteira do usuário. Não é thread-safe: cada requisição opera sobre a
+ * própria instância carregada do banco, e a concorrência entre requisições
+ * é controlada pelo @Version ou pelo lock da linha, não por monitores
+ * (que também prenderiam virtual threads à thread portadora).
+ * O saldo é mantido em Money (ponto fixo); balanceAmount e balanceCurrency são
+ * o espelho das colunas, lido pelo Spring Data por getter/setter: o
+ * BigDecimal só é montado quando a carteira é gravada ou serializada, e as
+ * operações de saldo não alocam BigDecimal.
+ */
 @Table("wallets")
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class Wallet {
     @Id
     private Long id;
     private String userId;
     @Column("balance_amount")
+    @AccessType(AccessType.Type.PROPERTY)
     private BigDecimal balanceAmount;
     @Column("balance_currency")
+    @AccessType(AccessType.Type.PROPERTY)
     private String balanceCurrency;
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Money balance;
     private WalletStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -32,13 +56,24 @@ public class Wallet {
     @Version
     private Long version;
     
+    public Wallet(Long id, String userId, BigDecimal balanceAmount, String balanceCurrency, WalletStatus status,
+                  LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+        this.id = id;
+        this.userId = userId;
+        this.balanceAmount = balanceAmount;
+        this.balanceCurrency = balanceCurrency;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
+    
     public Wallet(String userId, Money balance) {
         this.userId = userId;
-        this.balanceAmount = balance.getAmount();
-        this.balanceCurrency = balance.getCurrency();
+        setBalance(balance);
         this.status = WalletStatus.ACTIVE;
         this.createdAt = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
         this.version = 0L;
     }
     
@@ -47,52 +82,75 @@ public class Wallet {
     }
     
     public Money getBalance() {
-        return new Money(balanceAmount, balanceCurrency);
+        if (balance == null) {
+            balance = new Money(balanceAmount, balanceCurrency);
+        }
+        return balance;
     }
     
     public void setBalance(Money balance) {
-        this.balanceAmount = balance.getAmount();
+        this.balance = balance;
+        this.balanceAmount = null;
         this.balanceCurrency = balance.getCurrency();
     }
     
-    public synchronized void deposit(Money amount) {
+    // balanceAmount fica nulo enquanto o saldo em Money não é lido na fronteira
+    public BigDecimal getBalanceAmount() {
+        if (balanceAmount == null && balance != null) {
+            balanceAmount = balance.getAmount();
+        }
+        return balanceAmount;
+    }
+    
+    public void setBalanceAmount(BigDecimal balanceAmount) {
+        this.balanceAmount = balanceAmount;
+        this.balance = null;
+    }
+    
+    public void setBalanceCurrency(String balanceCurrency) {
+        getBalanceAmount();
+        this.balanceCurrency = balanceCurrency;
+        this.balance = null;
+    }
+    
+    public void deposit(Money amount) {
         if (status != WalletStatus.ACTIVE) {
             throw new IllegalStateException("Wallet is not active");
         }
-        if (!this.balanceCurrency.equals(amount.getCurrency())) {
+        if (!getBalance().hasSameCurrency(amount)) {
             throw new IllegalArgumentException("Currency mismatch");
         }
-        this.balanceAmount = this.balanceAmount.add(amount.getAmount());
+        setBalance(getBalance().add(amount));
         this.updatedAt = LocalDateTime.now();
     }
     
-    public synchronized void withdraw(Money amount) {
+    public void withdraw(Money amount) {
         if (status != WalletStatus.ACTIVE) {
             throw new IllegalStateException("Wallet is not active");
         }
-        if (!this.balanceCurrency.equals(amount.getCurrency())) {
+        if (!getBalance().hasSameCurrency(amount)) {
             throw new IllegalArgumentException("Currency mismatch");
         }
         if (!hasSufficientFunds(amount)) {
-            throw new IllegalStateException("Insufficient funds");
+            throw new InsufficientFundsException("Insufficient funds");
         }
-        this.balanceAmount = this.balanceAmount.subtract(amount.getAmount());
+        setBalance(getBalance().subtract(amount));
         this.updatedAt = LocalDateTime.now();
     }
     
-    public synchronized void transferTo(Wallet targetWallet, Money amount) {
+    public void transferTo(Wallet targetWallet, Money amount) {
         if (status != WalletStatus.ACTIVE) {
             throw new IllegalStateException("Source wallet is not active");
         }
         if (targetWallet.status != WalletStatus.ACTIVE) {
             throw new IllegalStateException("Target wallet is not active");
         }
-        if (!this.balanceCurrency.equals(amount.getCurrency()) || 
-            !targetWallet.balanceCurrency.equals(amount.getCurrency())) {
+        if (!getBalance().hasSameCurrency(amount) || 
+            !targetWallet.getBalance().hasSameCurrency(amount)) {
             throw new IllegalArgumentException("Currency mismatch");
         }
         if (!hasSufficientFunds(amount)) {
-            throw new IllegalStateException("Insufficient funds for transfer");
+            throw new InsufficientFundsException("Insufficient funds for transfer");
         }
         
         this.withdraw(amount);
@@ -100,7 +158,7 @@ public class Wallet {
     }
     
     public boolean hasSufficientFunds(Money amount) {
-        return this.balanceAmount.compareTo(amount.getAmount()) >= 0;
+        return getBalance().compareTo(amount) >= 0;
     }
     
     public boolean isActive() {
@@ -0,0 +1,11 @@
+package com.wallet.domain.exceptions;
+
+/**
+ * Exceção de domínio lançada quando a carteira não possui saldo suficiente
+ */
+public class InsufficientFundsException extends IllegalStateException {
+
+    public InsufficientFundsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,35 @@
+package com.wallet.domain.valueobjects;
+
+/**
+ * Resultado de uma mutação atômica de saldo: saldo anterior, saldo novo e o
+ * registro de histórico gravado na mesma operação
+ */
+public class BalanceMutation {
+    private final Long walletId;
+    private final String userId;
+    private final Money oldBalance;
+    private final Money newBalance;
+    private final Long balanceHistoryId;
+    public BalanceMutation(Long walletId, String userId, Money oldBalance, Money newBalance, Long balanceHistoryId) {
+        this.walletId = walletId;
+        this.userId = userId;
+        this.oldBalance = oldBalance;
+        this.newBalance = newBalance;
+        this.balanceHistoryId = balanceHistoryId;
+    }
+    public Long getWalletId() {
+        return walletId;
+    }
+    public String getUserId() {
+        return userId;
+    }
+    public Money getOldBalance() {
+        return oldBalance;
+    }
+    public Money getNewBalance() {
+        return newBalance;
+    }
+    public Long getBalanceHistoryId() {
+        return balanceHistoryId;
+    }
+}
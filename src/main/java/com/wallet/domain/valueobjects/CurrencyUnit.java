@@ -0,0 +1,62 @@
+package com.wallet.domain.valueobjects;
+
+import java.util.Currency;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Moeda ISO-4217 com a sua escala (casas decimais da unidade menor).
+ * As instâncias são internadas: existe uma única por código, então moedas
+ * são comparadas por identidade e a escala não é recalculada a cada Money.
+ */
+public final class CurrencyUnit {
+
+    // Escala das colunas DECIMAL(15,2) de saldos, transações e histórico
+    static final int MAX_SCALE = 2;
+
+    private static final ConcurrentMap<String, CurrencyUnit> UNITS = new ConcurrentHashMap<>();
+
+    private final String code;
+    private final int scale;
+
+    private CurrencyUnit(String code, int scale) {
+        this.code = code;
+        this.scale = scale;
+    }
+
+    /**
+     * Lança IllegalArgumentException para códigos fora da ISO-4217 e para
+     * moedas com mais casas decimais do que o banco armazena (KWD, BHD...)
+     */
+    public static CurrencyUnit of(String code) {
+        CurrencyUnit unit = UNITS.get(code);
+        if (unit != null) {
+            return unit;
+        }
+        return UNITS.computeIfAbsent(code, CurrencyUnit::lookup);
+    }
+
+    private static CurrencyUnit lookup(String code) {
+        Currency currency = Currency.getInstance(code);
+        // Códigos sem unidade menor definida (XAU, XXX...) retornam -1
+        int scale = Math.max(currency.getDefaultFractionDigits(), 0);
+        if (scale > MAX_SCALE) {
+            throw new IllegalArgumentException("Currency " + code + " uses " + scale
+                    + " decimal places, at most " + MAX_SCALE + " are supported");
+        }
+        return new CurrencyUnit(currency.getCurrencyCode(), scale);
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
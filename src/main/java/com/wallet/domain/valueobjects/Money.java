@@ -1,65 +1,107 @@
 package com.wallet.domain.valueobjects;
 
 import java.math.BigDecimal;
-import java.util.Objects;
+import java.math.RoundingMode;
 
-public class Money {
-    private final BigDecimal amount;
-    private final String currency;
-    public Money(BigDecimal amount, String currency) {
-        this.amount = amount;
+/**
+ * Valor monetário em ponto fixo: a quantia é guardada em unidades menores da
+ * moeda (centavos para BRL, ienes para JPY) em um long, e as operações são
+ * aritmética inteira com verificação de overflow. BigDecimal só aparece na
+ * fronteira (REST e banco), no construtor e em getAmount.
+ */
+public class Money implements Comparable<Money> {
+    private final long minorUnits;
+    private final CurrencyUnit currency;
+    private Money(long minorUnits, CurrencyUnit currency) {
+        this.minorUnits = minorUnits;
         this.currency = currency;
     }
+    /**
+     * Lança IllegalArgumentException quando a quantia tem mais casas
+     * decimais que a moeda admite ou não cabe em um long de unidades menores
+     */
+    public Money(BigDecimal amount, String currency) {
+        this.currency = CurrencyUnit.of(currency);
+        this.minorUnits = toMinorUnits(amount, this.currency);
+    }
     public Money(double amount, String currency) {
-        this.amount = BigDecimal.valueOf(amount);
-        this.currency = currency;
+        this(BigDecimal.valueOf(amount), currency);
+    }
+    public static Money ofMinor(long minorUnits, CurrencyUnit currency) {
+        return new Money(minorUnits, currency);
     }
     public static Money zero(String currency) {
-        return new Money(BigDecimal.ZERO, currency);
+        return new Money(0L, CurrencyUnit.of(currency));
+    }
+    private static long toMinorUnits(BigDecimal amount, CurrencyUnit currency) {
+        try {
+            return amount.setScale(currency.getScale(), RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid amount " + amount + " for currency " + currency, e);
+        }
     }
     public BigDecimal getAmount() {
-        return amount;
+        return BigDecimal.valueOf(minorUnits, currency.getScale());
     }
     public String getCurrency() {
+        return currency.getCode();
+    }
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+    public CurrencyUnit getCurrencyUnit() {
         return currency;
     }
+    public boolean hasSameCurrency(Money other) {
+        return this.currency == other.currency;
+    }
     public Money add(Money other) {
-        if (!this.currency.equals(other.currency)) {
+        if (this.currency != other.currency) {
             throw new IllegalArgumentException("Cannot add money with different currencies");
         }
-        return new Money(this.amount.add(other.amount), this.currency);
+        return new Money(Math.addExact(this.minorUnits, other.minorUnits), this.currency);
     }
     public Money subtract(Money other) {
-        if (!this.currency.equals(other.currency)) {
+        if (this.currency != other.currency) {
             throw new IllegalArgumentException("Cannot subtract money with different currencies");
         }
-        return new Money(this.amount.subtract(other.amount), this.currency);
+        return new Money(Math.subtractExact(this.minorUnits, other.minorUnits), this.currency);
+    }
+    public Money negate() {
+        return new Money(Math.negateExact(minorUnits), currency);
+    }
+    @Override
+    public int compareTo(Money other) {
+        if (this.currency != other.currency) {
+            throw new IllegalArgumentException("Cannot compare money with different currencies");
+        }
+        return Long.compare(this.minorUnits, other.minorUnits);
     }
     public boolean isPositive() {
-        return this.amount.compareTo(BigDecimal.ZERO) > 0;
+        return this.minorUnits > 0;
     }
     public boolean isNegative() {
-        return this.amount.compareTo(BigDecimal.ZERO) < 0;
+        return this.minorUnits < 0;
     }
     public boolean isZero() {
-        return this.amount.compareTo(BigDecimal.ZERO) == 0;
+        return this.minorUnits == 0;
     }
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
         if (obj == null || getClass() != obj.getClass()) return false;
         Money money = (Money) obj;
-        return Objects.equals(amount, money.amount) && Objects.equals(currency, money.currency);
+        return minorUnits == money.minorUnits && currency == money.currency;
     }
     @Override
     public int hashCode() {
-        return Objects.hash(amount, currency);
+        return 31 * Long.hashCode(minorUnits) + currency.hashCode();
     }
     @Override
     public String toString() {
         return "Money{" +
-                "amount=" + amount +
-                ", currency='" + currency + '\'' +
+                "amount=" + getAmount() +
+                ", currency='" + currency.getCode() + '\'' +
                 '}';
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,75 @@
+package com.wallet.domain.valueobjects;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Cursor de paginação keyset sobre (timestamp, id).
+ * É exposto aos clientes como um token opaco; a página seguinte contém os
+ * registros estritamente anteriores ao cursor na ordem (timestamp DESC, id DESC).
+ */
+public final class PageCursor {
+    private static final String VERSION = "v1";
+    private final LocalDateTime timestamp;
+    private final long id;
+    public PageCursor(LocalDateTime timestamp, long id) {
+        this.timestamp = Objects.requireNonNull(timestamp, "timestamp");
+        this.id = id;
+    }
+    /**
+     * Cursor posicionado logo após o instante informado, incluindo-o na página
+     */
+    public static PageCursor endingAt(LocalDateTime timestamp) {
+        return new PageCursor(timestamp, Long.MAX_VALUE);
+    }
+    public static PageCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            String[] parts = decoded.split(":");
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            long epochMicros = Long.parseLong(parts[1]);
+            Instant instant = Instant.ofEpochSecond(Math.floorDiv(epochMicros, 1_000_000L),
+                    Math.floorMod(epochMicros, 1_000_000L) * 1_000L);
+            return new PageCursor(LocalDateTime.ofInstant(instant, ZoneOffset.UTC), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            // Base64 e NumberFormatException também são IllegalArgumentException
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+    public String encode() {
+        Instant instant = timestamp.toInstant(ZoneOffset.UTC);
+        long epochMicros = instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000L;
+        String raw = VERSION + ":" + epochMicros + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+    public long getId() {
+        return id;
+    }
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        PageCursor cursor = (PageCursor) obj;
+        return id == cursor.id && timestamp.equals(cursor.timestamp);
+    }
+    @Override
+    public int hashCode() {
+        return Objects.hash(timestamp, id);
+    }
+    @Override
+    public String toString() {
+        return "PageCursor{" +
+                "timestamp=" + timestamp +
+                ", id=" + id +
+                '}';
+    }
+}
@@ -0,0 +1,19 @@
+package com.wallet.domain.valueobjects;
+
+/**
+ * Resultado de uma transferência aplicada: mutação da origem e do destino
+ */
+public class TransferMutation {
+    private final BalanceMutation source;
+    private final BalanceMutation target;
+    public TransferMutation(BalanceMutation source, BalanceMutation target) {
+        this.source = source;
+        this.target = target;
+    }
+    public BalanceMutation getSource() {
+        return source;
+    }
+    public BalanceMutation getTarget() {
+        return target;
+    }
+}
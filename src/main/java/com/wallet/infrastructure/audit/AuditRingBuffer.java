@@ -0,0 +1,96 @@
+package com.wallet.infrastructure.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fila circular limitada, sem locks, com vários produtores e um único
+ * consumidor (o escritor de auditoria).
+ * Cada posição tem um número de sequência: igual à posição do produtor
+ * quando está livre e à posição + 1 quando está preenchida. O produtor
+ * reserva a posição com um CAS no tail e publica o elemento avançando a
+ * sequência; o consumidor libera a posição para a próxima volta somando a
+ * capacidade. Uma fila cheia não bloqueia: offer retorna false.
+ */
+public final class AuditRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * A capacidade é arredondada para a próxima potência de dois
+     */
+    public AuditRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2 || requestedCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity must be between 2 and 2^30");
+        }
+        capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        mask = capacity - 1;
+        elements = new AtomicReferenceArray<>(capacity);
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.set(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // A posição ainda guarda o elemento de uma volta anterior
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Move até max elementos publicados para out e retorna quantos foram
+     * movidos. Só pode ser chamado pela thread consumidora.
+     */
+    public int drainTo(List<E> out, int max) {
+        long position = head.get();
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            out.add(elements.get(index));
+            elements.set(index, null);
+            sequences.set(index, position + capacity);
+            position++;
+            drained++;
+        }
+        head.set(position);
+        return drained;
+    }
+
+    /**
+     * Ocupação aproximada, para métricas e para acordar o consumidor
+     */
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
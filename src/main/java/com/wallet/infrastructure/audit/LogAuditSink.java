@@ -0,0 +1,43 @@
+package com.wallet.infrastructure.audit;
+
+import com.wallet.application.ports.AuditSink;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Sink que grava os registros no log da aplicação, no mesmo formato das
+ * linhas AUDIT_* que o AuditService gravava na thread da requisição. A
+ * rotação do arquivo fica a cargo da configuração de logging.
+ */
+@Component
+@Slf4j
+public class LogAuditSink implements AuditSink {
+
+    @Override
+    public Type getType() {
+        return Type.LOG;
+    }
+
+    @Override
+    public void write(List<AuditRecord> records) {
+        for (AuditRecord record : records) {
+            switch (record.getKind()) {
+                case OPERATION -> log.info("AUDIT_OPERATION - operation: {}, userId: {}, details: {}, correlationId: {}, timestamp: {}",
+                        record.getAction(), record.getUserId(), record.getDetails(), record.getCorrelationId(), record.getOccurredAt());
+                case TRANSACTION -> log.info("AUDIT_TRANSACTION - type: {}, userId: {}, amount: {} {}, description: {}, correlationId: {}, transactionId: {}, timestamp: {}",
+                        record.getAction(), record.getUserId(), record.getAmount().getAmount(), record.getAmount().getCurrency(),
+                        record.getDetails(), record.getCorrelationId(), record.getTransactionId(), record.getOccurredAt());
+                case BALANCE_CHANGE -> log.info("AUDIT_BALANCE_CHANGE - action: {}, userId: {}, oldBalance: {} {}, newBalance: {} {}, reason: {}, correlationId: {}, transactionId: {}, timestamp: {}",
+                        record.getAction(), record.getUserId(), record.getOldBalance().getAmount(), record.getOldBalance().getCurrency(),
+                        record.getNewBalance().getAmount(), record.getNewBalance().getCurrency(),
+                        record.getDetails(), record.getCorrelationId(), record.getTransactionId(), record.getOccurredAt());
+                case SECURITY -> log.warn("AUDIT_SECURITY - event: {}, userId: {}, details: {}, correlationId: {}, timestamp: {}",
+                        record.getAction(), record.getUserId(), record.getDetails(), record.getCorrelationId(), record.getOccurredAt());
+                case ERROR -> log.error("AUDIT_ERROR - operation: {}, userId: {}, error: {}, correlationId: {}, timestamp: {}",
+                        record.getAction(), record.getUserId(), record.getDetails(), record.getCorrelationId(), record.getOccurredAt());
+            }
+        }
+    }
+}
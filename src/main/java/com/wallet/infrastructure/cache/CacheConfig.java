@@ -3,12 +3,17 @@ package com.wallet.infrastructure.cache;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -21,20 +26,70 @@ import java.time.Duration;
 @EnableCaching
 public class CacheConfig {
 
+    /**
+     * Formato dos valores do cache de carteiras, selecionado em
+     * wallet.cache.serializer
+     */
+    public enum SerializerFormat {
+        BINARY,
+        JSON
+    }
+
     @Bean
-    public RedisCacheManagerBuilderCustomizer redisCacheManagerBuilderCustomizer(ObjectMapper objectMapper) {
+    public RedisCacheManagerBuilderCustomizer redisCacheManagerBuilderCustomizer(
+            ObjectMapper objectMapper,
+            @Value("${wallet.cache.serializer:BINARY}") SerializerFormat walletSerializerFormat,
+            @Value("${wallet.cache.tombstone-ttl:2s}") Duration tombstoneTtl) {
         return builder -> {
             RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(30))
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(createJsonSerializer(objectMapper)));
             
-            builder.withCacheConfiguration("wallets", defaultConfig.entryTtl(Duration.ofMinutes(15)));
+            RedisCacheConfiguration walletConfig = defaultConfig.entryTtl(walletTtl(Duration.ofMinutes(15), tombstoneTtl));
+            if (walletSerializerFormat == SerializerFormat.BINARY) {
+                walletConfig = walletConfig
+                    .disableCachingNullValues()
+                    .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new WalletBinaryRedisSerializer()));
+            }
+            builder.withCacheConfiguration(WalletCache.CACHE_NAME, walletConfig);
             builder.withCacheConfiguration("transactions", defaultConfig.entryTtl(Duration.ofMinutes(10)));
         };
     }
 
-    private GenericJackson2JsonRedisSerializer createJsonSerializer(ObjectMapper objectMapper) {
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    /**
+     * TTL por entrada do cache de carteiras: as lápides gravadas na
+     * invalidação expiram em tombstoneTtl, as cópias em entryTtl
+     */
+    static RedisCacheWriter.TtlFunction walletTtl(Duration entryTtl, Duration tombstoneTtl) {
+        return (key, value) -> value instanceof WalletCache.CachedWallet wallet && wallet.isTombstone()
+                ? tombstoneTtl : entryTtl;
+    }
+
+    /**
+     * Serializador dos valores do cache de carteiras no formato configurado,
+     * também usado por quem grava lápides fora do RedisCacheManager
+     */
+    public static RedisSerializer<? super WalletCache.CachedWallet> walletValueSerializer(SerializerFormat format,
+                                                                                          ObjectMapper objectMapper) {
+        if (format == SerializerFormat.BINARY) {
+            return new WalletBinaryRedisSerializer();
+        }
+        return createJsonSerializer(objectMapper);
+    }
+
+    /**
+     * Serializador JSON com tipagem padrão sobre uma cópia do ObjectMapper da
+     * aplicação
+     */
+    static GenericJackson2JsonRedisSerializer createJsonSerializer(ObjectMapper objectMapper) {
         ObjectMapper cacheObjectMapper = objectMapper.copy();
         cacheObjectMapper.activateDefaultTyping(
             LaissezFaireSubTypeValidator.instance,
@@ -0,0 +1,203 @@
+package com.wallet.infrastructure.cache;
+
+import com.wallet.domain.enums.WalletStatus;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Serializador binário compacto das carteiras em cache.
+ * Layout v1 (big-endian):
+ * <pre>
+ * formato:u8 flags:u8 [id:i64] userIdLen:u16 userId:utf8
+ * [saldo: unscaled:i64 scale:i8 | scale:i32 len:u16 unscaled:bytes] moeda:3 bytes ASCII
+ * [status:u8] [createdAt:i64 micros] [updatedAt:i64 micros] version:i64
+ * </pre>
+ * Campos entre colchetes só existem quando o bit correspondente de flags
+ * está ligado. Uma lápide (flag TOMBSTONE) grava só formato, flags, userId e
+ * version. O status é gravado pelo ordinal: alterar a ordem de
+ * WalletStatus exige um novo número de formato. Entradas de outro formato
+ * (inclusive o JSON anterior) são tratadas como ausentes.
+ */
+public class WalletBinaryRedisSerializer implements RedisSerializer<WalletCache.CachedWallet> {
+
+    static final byte FORMAT_V1 = 1;
+
+    private static final int HAS_ID = 1;
+    private static final int HAS_BALANCE = 1 << 1;
+    private static final int WIDE_BALANCE = 1 << 2;
+    private static final int HAS_STATUS = 1 << 3;
+    private static final int HAS_CREATED_AT = 1 << 4;
+    private static final int HAS_UPDATED_AT = 1 << 5;
+    private static final int TOMBSTONE = 1 << 6;
+
+    private static final int CURRENCY_LENGTH = 3;
+
+    @Override
+    public byte[] serialize(WalletCache.CachedWallet wallet) throws SerializationException {
+        if (wallet == null) {
+            return new byte[0];
+        }
+        byte[] userId = wallet.getUserId().getBytes(StandardCharsets.UTF_8);
+        if (userId.length > 0xFFFF) {
+            throw new SerializationException("userId too long: " + userId.length + " bytes");
+        }
+        if (wallet.isTombstone()) {
+            return ByteBuffer.allocate(2 + 2 + userId.length + Long.BYTES)
+                    .put(FORMAT_V1)
+                    .put((byte) TOMBSTONE)
+                    .putShort((short) userId.length)
+                    .put(userId)
+                    .putLong(wallet.getVersion())
+                    .array();
+        }
+        byte[] currency = currency(wallet.getBalanceCurrency());
+
+        BigDecimal balance = wallet.getBalanceAmount();
+        boolean wide = balance != null && !fitsCompact(balance);
+        byte[] wideUnscaled = wide ? balance.unscaledValue().toByteArray() : null;
+
+        int flags = 0;
+        int size = 2 + 2 + userId.length + CURRENCY_LENGTH + Long.BYTES;
+        if (wallet.getId() != null) {
+            flags |= HAS_ID;
+            size += Long.BYTES;
+        }
+        if (balance != null) {
+            flags |= HAS_BALANCE;
+            if (wide) {
+                flags |= WIDE_BALANCE;
+                size += Integer.BYTES + 2 + wideUnscaled.length;
+            } else {
+                size += Long.BYTES + 1;
+            }
+        }
+        if (wallet.getStatus() != null) {
+            flags |= HAS_STATUS;
+            size += 1;
+        }
+        if (wallet.getCreatedAt() != null) {
+            flags |= HAS_CREATED_AT;
+            size += Long.BYTES;
+        }
+        if (wallet.getUpdatedAt() != null) {
+            flags |= HAS_UPDATED_AT;
+            size += Long.BYTES;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(FORMAT_V1);
+        buffer.put((byte) flags);
+        if (wallet.getId() != null) {
+            buffer.putLong(wallet.getId());
+        }
+        buffer.putShort((short) userId.length);
+        buffer.put(userId);
+        if (balance != null) {
+            if (wide) {
+                buffer.putInt(balance.scale());
+                buffer.putShort((short) wideUnscaled.length);
+                buffer.put(wideUnscaled);
+            } else {
+                buffer.putLong(balance.unscaledValue().longValue());
+                buffer.put((byte) balance.scale());
+            }
+        }
+        buffer.put(currency);
+        if (wallet.getStatus() != null) {
+            buffer.put((byte) wallet.getStatus().ordinal());
+        }
+        if (wallet.getCreatedAt() != null) {
+            buffer.putLong(toEpochMicros(wallet.getCreatedAt()));
+        }
+        if (wallet.getUpdatedAt() != null) {
+            buffer.putLong(toEpochMicros(wallet.getUpdatedAt()));
+        }
+        buffer.putLong(wallet.getVersion());
+        return buffer.array();
+    }
+
+    @Override
+    public WalletCache.CachedWallet deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0 || bytes[0] != FORMAT_V1) {
+            return null;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+            int flags = buffer.get();
+            WalletCache.CachedWallet wallet = new WalletCache.CachedWallet();
+            if ((flags & HAS_ID) != 0) {
+                wallet.setId(buffer.getLong());
+            }
+            byte[] userId = new byte[Short.toUnsignedInt(buffer.getShort())];
+            buffer.get(userId);
+            wallet.setUserId(new String(userId, StandardCharsets.UTF_8));
+            if ((flags & TOMBSTONE) != 0) {
+                wallet.setVersion(buffer.getLong());
+                return wallet;
+            }
+            if ((flags & HAS_BALANCE) != 0) {
+                if ((flags & WIDE_BALANCE) != 0) {
+                    int scale = buffer.getInt();
+                    byte[] unscaled = new byte[Short.toUnsignedInt(buffer.getShort())];
+                    buffer.get(unscaled);
+                    wallet.setBalanceAmount(new BigDecimal(new BigInteger(unscaled), scale));
+                } else {
+                    long unscaled = buffer.getLong();
+                    wallet.setBalanceAmount(BigDecimal.valueOf(unscaled, buffer.get()));
+                }
+            }
+            byte[] currency = new byte[CURRENCY_LENGTH];
+            buffer.get(currency);
+            wallet.setBalanceCurrency(new String(currency, StandardCharsets.US_ASCII));
+            if ((flags & HAS_STATUS) != 0) {
+                wallet.setStatus(WalletStatus.values()[buffer.get()]);
+            }
+            if ((flags & HAS_CREATED_AT) != 0) {
+                wallet.setCreatedAt(fromEpochMicros(buffer.getLong()));
+            }
+            if ((flags & HAS_UPDATED_AT) != 0) {
+                wallet.setUpdatedAt(fromEpochMicros(buffer.getLong()));
+            }
+            wallet.setVersion(buffer.getLong());
+            return wallet;
+        } catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+            throw new SerializationException("Malformed cached wallet", e);
+        }
+    }
+
+    private static boolean fitsCompact(BigDecimal amount) {
+        return amount.scale() >= Byte.MIN_VALUE && amount.scale() <= Byte.MAX_VALUE
+                && amount.unscaledValue().bitLength() < Long.SIZE;
+    }
+
+    private static byte[] currency(String currency) {
+        if (currency == null || currency.length() != CURRENCY_LENGTH) {
+            throw new SerializationException("Currency must be a 3-letter code: " + currency);
+        }
+        for (int i = 0; i < CURRENCY_LENGTH; i++) {
+            if (currency.charAt(i) > 0x7F) {
+                throw new SerializationException("Currency must be ASCII: " + currency);
+            }
+        }
+        return currency.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static long toEpochMicros(LocalDateTime timestamp) {
+        Instant instant = timestamp.toInstant(ZoneOffset.UTC);
+        return instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000L;
+    }
+
+    private static LocalDateTime fromEpochMicros(long epochMicros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMicros, 1_000_000L),
+                (int) (Math.floorMod(epochMicros, 1_000_000L) * 1_000L), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,317 @@
+package com.wallet.infrastructure.cache;
+
+import com.wallet.adapters.infrastructure.repositories.WalletRepositoryImpl;
+import com.wallet.domain.entities.Wallet;
+import com.wallet.domain.enums.WalletStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Cache read-through das carteiras por userId em dois níveis: um near cache
+ * em memória (Caffeine, W-TinyLFU) à frente do cache Redis "wallets".
+ * Serve apenas consultas: os fluxos que alteram saldo continuam carregando a
+ * carteira do banco (com lock ou @Version), então uma cópia em cache nunca é
+ * gravada de volta. Alterações invalidam os dois níveis somente após o
+ * commit e publicam os userIds no canal de invalidação, para que as demais
+ * instâncias descartem suas cópias locais; o TTL curto do near cache limita
+ * a janela caso uma mensagem se perca.
+ * A invalidação grava uma lápide (tombstone) com TTL de tombstone-ttl em vez
+ * de apagar a entrada. O preenchimento usa putIfAbsent e só acontece quando a
+ * leitura levou menos da metade desse TTL: um leitor que carregou a linha
+ * antes do commit encontra a lápide ainda viva e não consegue gravar a cópia
+ * antiga, e um leitor lento demais para essa garantia simplesmente não
+ * preenche o cache.
+ * Falhas do Redis caem para o banco sem interromper a requisição.
+ */
+@Component
+@Slf4j
+public class WalletCache {
+
+    public static final String CACHE_NAME = "wallets";
+    public static final String NEAR_CACHE_NAME = "wallets-near";
+
+    @Value("${wallet.cache.near.enabled:true}")
+    private boolean nearEnabled;
+
+    @Value("${wallet.cache.near.max-size:10000}")
+    private long nearMaxSize;
+
+    @Value("${wallet.cache.near.ttl:30s}")
+    private Duration nearTtl;
+
+    @Value("${wallet.cache.invalidation-channel:wallet-cache-invalidation}")
+    private String invalidationChannel;
+
+    @Value("${wallet.cache.tombstone-ttl:2s}")
+    private Duration tombstoneTtl;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private WalletRepositoryImpl walletRepository;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private com.github.benmanes.caffeine.cache.Cache<String, CachedWallet> nearCache;
+
+    @PostConstruct
+    public void init() {
+        if (!nearEnabled) {
+            return;
+        }
+        nearCache = Caffeine.newBuilder()
+                .maximumSize(nearMaxSize)
+                .expireAfter(new Expiry<String, CachedWallet>() {
+                    @Override
+                    public long expireAfterCreate(String userId, CachedWallet wallet, long currentTime) {
+                        return (wallet.isTombstone() ? tombstoneTtl : nearTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String userId, CachedWallet wallet, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(userId, wallet, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String userId, CachedWallet wallet, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, nearCache, NEAR_CACHE_NAME);
+        listenerContainer.addMessageListener(
+                (message, pattern) -> onInvalidation(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(invalidationChannel));
+        log.info("Wallet near cache enabled (maxSize={}, ttl={}, channel={})", nearMaxSize, nearTtl, invalidationChannel);
+    }
+
+    public Optional<Wallet> findByUserId(String userId) {
+        long started = System.nanoTime();
+        if (nearCache != null) {
+            CachedWallet near = nearCache.getIfPresent(userId);
+            if (near != null && !near.isTombstone()) {
+                return Optional.of(near.toWallet());
+            }
+        }
+
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            try {
+                CachedWallet cached = cache.get(userId, CachedWallet.class);
+                if (cached != null && !cached.isTombstone()) {
+                    if (canFill(started)) {
+                        fillNear(cached);
+                    }
+                    return Optional.of(cached.toWallet());
+                }
+            } catch (RuntimeException e) {
+                log.warn("Wallet cache read failed for user {}: {}", userId, e.getMessage());
+                cache = null;
+            }
+        }
+
+        Optional<Wallet> wallet = walletRepository.findByUserId(userId);
+        if (wallet.isPresent() && canFill(started)) {
+            CachedWallet loaded = CachedWallet.from(wallet.get());
+            if (cache != null) {
+                fill(cache, loaded);
+            }
+            fillNear(loaded);
+        }
+        return wallet;
+    }
+
+    /**
+     * Invalida as carteiras após o commit da transação corrente, ou
+     * imediatamente quando não há transação ativa
+     */
+    public void evictAfterCommit(String... userIds) {
+        evictAfterCommit(List.of(userIds));
+    }
+
+    /**
+     * Variante de uma carteira, sem o array de varargs nem a lista
+     * intermediária, usada no caminho de depósito e saque
+     */
+    public void evictAfterCommit(String userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(List.of(userId));
+            return;
+        }
+        pendingEvictions().userIds.add(userId);
+    }
+
+    public void evictAfterCommit(Collection<String> userIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(userIds);
+            return;
+        }
+        pendingEvictions().userIds.addAll(userIds);
+    }
+
+    private PendingEvictions pendingEvictions() {
+        PendingEvictions pending = (PendingEvictions) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingEvictions();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    void onInvalidation(String payload) {
+        if (nearCache != null && !payload.isEmpty()) {
+            tombstoneNear(Arrays.asList(payload.split("\n")));
+        }
+    }
+
+    // Metade do TTL da lápide: folga para a latência entre medir aqui e o
+    // Redis receber o comando
+    private boolean canFill(long started) {
+        return System.nanoTime() - started < tombstoneTtl.toNanos() / 2;
+    }
+
+    // Só putIfAbsent: lápide ou cópia presente nunca são sobrescritas por um preenchimento
+    private void fill(Cache cache, CachedWallet loaded) {
+        try {
+            cache.putIfAbsent(loaded.getUserId(), loaded);
+        } catch (RuntimeException e) {
+            log.warn("Wallet cache fill failed for user {}: {}", loaded.getUserId(), e.getMessage());
+        }
+    }
+
+    private void fillNear(CachedWallet loaded) {
+        if (nearCache != null) {
+            nearCache.asMap().merge(loaded.getUserId(), loaded,
+                    (current, candidate) -> !current.isTombstone() && candidate.getVersion() >= current.getVersion()
+                            ? candidate : current);
+        }
+    }
+
+    private void tombstoneNear(Collection<String> userIds) {
+        for (String userId : userIds) {
+            nearCache.put(userId, CachedWallet.tombstone(userId));
+        }
+    }
+
+    private void evict(Collection<String> userIds) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            for (String userId : userIds) {
+                try {
+                    cache.put(userId, CachedWallet.tombstone(userId));
+                } catch (RuntimeException e) {
+                    log.warn("Wallet cache eviction failed for user {}: {}", userId, e.getMessage());
+                }
+            }
+        }
+        if (nearCache != null) {
+            tombstoneNear(userIds);
+            try {
+                redisTemplate.convertAndSend(invalidationChannel, String.join("\n", userIds));
+            } catch (RuntimeException e) {
+                log.warn("Wallet cache invalidation publish failed for {} users: {}", userIds.size(), e.getMessage());
+            }
+        }
+    }
+
+    private final class PendingEvictions implements TransactionSynchronization {
+        private final Set<String> userIds = new LinkedHashSet<>();
+
+        @Override
+        public void afterCommit() {
+            evict(userIds);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(WalletCache.this);
+        }
+    }
+
+    /**
+     * Cópia serializável da carteira guardada no Redis. Uma lápide marca a
+     * carteira como recém-alterada: só userId e version (TOMBSTONE_VERSION)
+     * são preenchidos
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CachedWallet {
+        public static final long TOMBSTONE_VERSION = -1L;
+
+        private Long id;
+        private String userId;
+        private BigDecimal balanceAmount;
+        private String balanceCurrency;
+        private WalletStatus status;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+        private long version;
+        public static CachedWallet from(Wallet wallet) {
+            return new CachedWallet(
+                wallet.getId(),
+                wallet.getUserId(),
+                wallet.getBalanceAmount(),
+                wallet.getBalanceCurrency(),
+                wallet.getStatus(),
+                wallet.getCreatedAt(),
+                wallet.getUpdatedAt(),
+                wallet.getVersion() != null ? wallet.getVersion() : 0L
+            );
+        }
+        public static CachedWallet tombstone(String userId) {
+            CachedWallet tombstone = new CachedWallet();
+            tombstone.setUserId(userId);
+            tombstone.setVersion(TOMBSTONE_VERSION);
+            return tombstone;
+        }
+        @JsonIgnore
+        public boolean isTombstone() {
+            return version == TOMBSTONE_VERSION;
+        }
+        public Wallet toWallet() {
+            return new Wallet(id, userId, balanceAmount, balanceCurrency, status, createdAt, updatedAt, version);
+        }
+    }
+}
@@ -1,70 +1,98 @@
 package com.wallet.infrastructure.controllers;
 
 import com.wallet.infrastructure.dto.AuthDTOs;
+import com.wallet.infrastructure.security.CustomUserDetailsService;
+import com.wallet.infrastructure.security.LoginAuthenticator;
 import com.wallet.infrastructure.security.jwt.JwtService;
+import com.wallet.infrastructure.security.jwt.TokenDenyList;
+import io.jsonwebtoken.Claims;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
     @Autowired
-    private AuthenticationManager authenticationManager;
+    private LoginAuthenticator loginAuthenticator;
 
     @Autowired
     private JwtService jwtService;
 
-    @PostMapping("/login")
-    public ResponseEntity<AuthDTOs.LoginResponse> login(@Valid @RequestBody AuthDTOs.LoginRequest request) {
-        try {
-            Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-            );
+    @Autowired
+    private TokenDenyList tokenDenyList;
 
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-
-            String accessToken = jwtService.generateToken(userDetails);
-            String refreshToken = jwtService.generateRefreshToken(userDetails);
-            AuthDTOs.LoginResponse response = new AuthDTOs.LoginResponse(
-                "Login realizado com sucesso",
-                accessToken,
-                refreshToken,
-                "Bearer",
-                userDetails.getUsername(),
-                userDetails.getAuthorities().stream().findFirst().map(Object::toString).orElse("USER")
-            );
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
 
-            return ResponseEntity.ok(response);
+    /**
+     * A verificação da senha roda no pool de hashing; a thread da requisição
+     * é liberada até o resultado. Com o pool saturado responde 503
+     */
+    @PostMapping("/login")
+    public CompletableFuture<ResponseEntity<AuthDTOs.LoginResponse>> login(@Valid @RequestBody AuthDTOs.LoginRequest request) {
+        return loginAuthenticator.authenticate(
+                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword()))
+            .thenApply(authentication -> {
+                UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+
+                String sessionId = jwtService.newSessionId();
+                String accessToken = jwtService.generateToken(userDetails, sessionId);
+                String refreshToken = jwtService.generateRefreshToken(userDetails, sessionId);
+                AuthDTOs.LoginResponse response = new AuthDTOs.LoginResponse(
+                    "Login realizado com sucesso",
+                    accessToken,
+                    refreshToken,
+                    "Bearer",
+                    userDetails.getUsername(),
+                    userDetails.getAuthorities().stream().findFirst().map(Object::toString).orElse("USER")
+                );
 
-        } catch (Exception e) {
-            return ResponseEntity.status(401).body(
-                new AuthDTOs.LoginResponse(
-                    "Credenciais inválidas",
-                    null,
-                    null,
-                    null,
-                    null,
-                    null
-                )
-            );
-        }
+                return ResponseEntity.ok(response);
+            })
+            .exceptionally(e -> {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof RejectedExecutionException || cause instanceof TimeoutException) {
+                    return ResponseEntity.status(503).body(
+                        new AuthDTOs.LoginResponse(
+                            "Serviço de autenticação sobrecarregado, tente novamente",
+                            null,
+                            null,
+                            null,
+                            null,
+                            null
+                        )
+                    );
+                }
+                return ResponseEntity.status(401).body(
+                    new AuthDTOs.LoginResponse(
+                        "Credenciais inválidas",
+                        null,
+                        null,
+                        null,
+                        null,
+                        null
+                    )
+                );
+            });
     }
 
     @PostMapping("/refresh")
     public ResponseEntity<AuthDTOs.RefreshResponse> refresh(@Valid @RequestBody AuthDTOs.RefreshRequest request) {
         try {
-            String username = jwtService.extractUsername(request.getRefreshToken());
+            Claims claims = jwtService.extractAllClaims(request.getRefreshToken());
+            String username = claims.getSubject();
             
             if (jwtService.isTokenExpired(request.getRefreshToken())) {
                 return ResponseEntity.status(401).body(
@@ -72,12 +100,21 @@ public class AuthController {
                 );
             }
 
-            UserDetails userDetails = org.springframework.security.core.userdetails.User.builder()
-                .username(username)
-                .password("")
-                .authorities(Collections.singletonList(new org.springframework.security.core.authority.SimpleGrantedAuthority("ROLE_USER")))
-                .build();
-            String newAccessToken = jwtService.generateToken(userDetails);
+            if (tokenDenyList.isRevoked(claims)) {
+                return ResponseEntity.status(401).body(
+                    new AuthDTOs.RefreshResponse("Refresh token revogado", null, null)
+                );
+            }
+
+            // Status e papéis atuais vêm do cache de usuários, não das claims do refresh token
+            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (!userDetails.isEnabled()) {
+                return ResponseEntity.status(401).body(
+                    new AuthDTOs.RefreshResponse("Usuário desabilitado", null, null)
+                );
+            }
+            String newAccessToken = jwtService.generateToken(userDetails,
+                claims.get(JwtService.SESSION_CLAIM, String.class));
 
             AuthDTOs.RefreshResponse response = new AuthDTOs.RefreshResponse(
                 "Token renovado com sucesso",
@@ -104,7 +141,8 @@ public class AuthController {
             }
 
             String token = authHeader.substring(7);
-            String username = jwtService.extractUsername(token);
+            Claims claims = jwtService.extractAllClaims(token);
+            String username = claims.getSubject();
 
             if (jwtService.isTokenExpired(token)) {
                 return ResponseEntity.status(401).body(
@@ -112,6 +150,12 @@ public class AuthController {
                 );
             }
 
+            if (tokenDenyList.isRevoked(claims)) {
+                return ResponseEntity.status(401).body(
+                    new AuthDTOs.ValidateResponse("Token revogado", false, null)
+                );
+            }
+
             AuthDTOs.ValidateResponse response = new AuthDTOs.ValidateResponse(
                 "Token válido",
                 true,
@@ -127,6 +171,38 @@ public class AuthController {
         }
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<AuthDTOs.LogoutResponse> logout(@RequestHeader("Authorization") String authHeader) {
+        try {
+            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+                return ResponseEntity.status(401).body(
+                    new AuthDTOs.LogoutResponse("Token não fornecido")
+                );
+            }
+
+            Claims claims = jwtService.extractAllClaims(authHeader.substring(7));
+
+            if (!tokenDenyList.revoke(claims)) {
+                return ResponseEntity.badRequest().body(
+                    new AuthDTOs.LogoutResponse("Token não pode ser revogado")
+                );
+            }
+
+            // Revoga também o refresh token e os demais access tokens do mesmo login
+            String sessionId = claims.get(JwtService.SESSION_CLAIM, String.class);
+            if (sessionId != null) {
+                tokenDenyList.revokeSession(sessionId, jwtService.sessionExpiration(claims));
+            }
+
+            return ResponseEntity.ok(new AuthDTOs.LogoutResponse("Logout realizado com sucesso"));
+
+        } catch (Exception e) {
+            return ResponseEntity.status(401).body(
+                new AuthDTOs.LogoutResponse("Token inválido")
+            );
+        }
+    }
+
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> health() {
         Map<String, Object> response = new HashMap<>();
@@ -1,40 +1,147 @@
 package com.wallet.infrastructure.controllers;
 
+import com.wallet.application.ports.BalanceHistoryStream;
+import com.wallet.application.ports.EventOutbox;
+import com.wallet.application.ports.LedgerWriter;
+import com.wallet.application.ports.TransactionHistoryQuery;
+import com.wallet.application.ports.WalletPairLoader;
 import com.wallet.domain.aggregates.WalletAggregate;
 import com.wallet.domain.entities.BalanceHistory;
+import com.wallet.domain.entities.Transaction;
 import com.wallet.domain.entities.Wallet;
+import com.wallet.domain.enums.TransactionType;
+import com.wallet.domain.events.MoneyTransferredEvent;
+import com.wallet.domain.exceptions.InsufficientFundsException;
 import com.wallet.domain.valueobjects.Money;
+import com.wallet.domain.valueobjects.PageCursor;
+import com.wallet.domain.valueobjects.TransferMutation;
+import com.wallet.infrastructure.cache.WalletCache;
 import com.wallet.infrastructure.dto.WalletDTOs;
-import com.wallet.infrastructure.repositories.BalanceHistoryRepositoryImpl;
-import com.wallet.infrastructure.repositories.WalletRepositoryImpl;
+import com.wallet.infrastructure.ids.TimeOrderedIdGenerator;
+import com.wallet.adapters.infrastructure.repositories.BalanceHistoryRepositoryImpl;
+import com.wallet.adapters.infrastructure.repositories.WalletRepositoryImpl;
 import com.wallet.infrastructure.services.AuditService;
+import com.wallet.infrastructure.services.BulkTransferService;
+import com.wallet.infrastructure.services.EventSourcedWalletService;
+import com.wallet.infrastructure.services.HotWalletCreditCombiner;
+import com.wallet.infrastructure.services.MoneyOperationService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PostConstruct;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/wallets")
 @Slf4j
 public class WalletController {
 
+    // Limites usados quando o filtro de datas não é informado; cabem no tipo timestamp do Postgres
+    private static final LocalDateTime HISTORY_LOWER_BOUND = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime HISTORY_UPPER_BOUND = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
     @Autowired
     private WalletRepositoryImpl walletRepository;
 
+    @Autowired
+    private WalletCache walletCache;
+
     @Autowired
     private BalanceHistoryRepositoryImpl balanceHistoryRepository;
 
+    @Autowired
+    private LedgerWriter ledgerWriter;
+
+    @Autowired
+    private EventOutbox eventOutbox;
+
+    @Autowired
+    private HotWalletCreditCombiner hotWalletCreditCombiner;
+
+    @Autowired
+    private EventSourcedWalletService eventSourcedWalletService;
+
+    @Autowired
+    private MoneyOperationService moneyOperationService;
+
+    @Autowired
+    private List<WalletPairLoader> walletPairLoaders;
+
+    @Value("${wallet.transfer.mode:OPTIMISTIC}")
+    private WalletPairLoader.Mode transferMode;
+
+    private WalletPairLoader walletPairLoader;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BulkTransferService bulkTransferService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Autowired
     private AuditService auditService;
 
+    @Autowired
+    private TimeOrderedIdGenerator idGenerator;
+
+    @Autowired
+    private BalanceHistoryStream balanceHistoryStream;
+
+    @Value("${wallet.balance-history.default-page-size:50}")
+    private int historyDefaultPageSize;
+
+    @Value("${wallet.balance-history.max-page-size:500}")
+    private int historyMaxPageSize;
+
+    @Autowired
+    private TransactionHistoryQuery transactionHistoryQuery;
+
+    @Value("${wallet.transactions.default-page-size:20}")
+    private int transactionsDefaultPageSize;
+
+    @Value("${wallet.transactions.max-page-size:100}")
+    private int transactionsMaxPageSize;
+
+    @PostConstruct
+    public void init() {
+        walletPairLoader = walletPairLoaders.stream()
+                .filter(loader -> loader.getMode() == transferMode)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No wallet pair loader for transfer mode " + transferMode));
+        log.info("Transfer mode: {}", transferMode);
+    }
+
     @PostMapping
     @Transactional
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
@@ -46,15 +153,22 @@ public class WalletController {
         auditService.logOperation("CREATE_WALLET", request.getUserId(), 
                 "Creating wallet with currency: " + request.getCurrency(), correlationId);
         
-        if (walletRepository.findByUserId(request.getUserId()).isPresent()) {
+        Optional<Wallet> created;
+        if (eventSourcedWalletService.isEnabled()) {
+            created = eventSourcedWalletService.create(request.getUserId(), request.getCurrency());
+        } else if (walletCache.findByUserId(request.getUserId()).isPresent()) {
+            created = Optional.empty();
+        } else {
+            WalletAggregate aggregate = WalletAggregate.create(request.getUserId(), request.getCurrency());
+            created = Optional.of(walletRepository.save(aggregate.getWallet()));
+            eventOutbox.appendAll(aggregate);
+        }
+        if (created.isEmpty()) {
             auditService.logError("CREATE_WALLET", request.getUserId(), 
                     "Wallet already exists", correlationId);
             throw new RuntimeException("Carteira já existe para este usuário");
         }
-
-        WalletAggregate aggregate = new WalletAggregate();
-        Wallet wallet = aggregate.createWallet(request.getUserId(), request.getCurrency());
-        Wallet savedWallet = walletRepository.save(wallet);
+        Wallet savedWallet = created.get();
 
         WalletDTOs.CreateWalletResponse response = new WalletDTOs.CreateWalletResponse(
             savedWallet.getId(),
@@ -80,7 +194,10 @@ public class WalletController {
         log.info("Consulting wallet for user: {}", userId);
         auditService.logOperation("CONSULT_WALLET", userId, "Consulting wallet balance", correlationId);
         
-        return walletRepository.findByUserId(userId)
+        Optional<Wallet> found = eventSourcedWalletService.isEnabled()
+                ? eventSourcedWalletService.findByUserId(userId)
+                : walletCache.findByUserId(userId);
+        return found
                 .map(wallet -> {
                     WalletDTOs.WalletResponse response = new WalletDTOs.WalletResponse(
                         wallet.getId(),
@@ -100,222 +217,366 @@ public class WalletController {
     }
 
     @PostMapping("/{userId}/deposit")
-    @Transactional
     @PreAuthorize("hasRole('USER') and #userId == authentication.principal.username or hasRole('ADMIN')")
     public ResponseEntity<WalletDTOs.DepositResponse> deposit(
             @PathVariable String userId,
             @Valid @RequestBody WalletDTOs.DepositRequest request) {
         
         String correlationId = auditService.generateCorrelationId();
-        log.info("Processing deposit for user: {}, amount: {} {}", userId, request.getAmount(), request.getCurrency());
+        String transactionId = nextTransactionId();
         
-        return walletRepository.findByUserId(userId)
-                .map(wallet -> {
-                    try {
-                        Money oldBalance = wallet.getBalance();
-                        Money money = new Money(request.getAmount(), request.getCurrency());
-                        
-                        auditService.logTransaction("DEPOSIT", userId, money, 
-                                request.getDescription(), correlationId);
-                        
-                        wallet.deposit(money);
-                        Wallet savedWallet = walletRepository.save(wallet);
-                        
-                        String description = request.getDescription() != null ? 
-                            request.getDescription() : 
-                            String.format("Depósito de %s %s", request.getAmount(), request.getCurrency());
-                        
-                        BalanceHistory depositHistory = BalanceHistory.create(savedWallet.getId(), savedWallet.getBalance(), description);
-                        balanceHistoryRepository.save(depositHistory);
-                        
-                        WalletDTOs.DepositResponse response = new WalletDTOs.DepositResponse(
+        try {
+            Money money = new Money(request.getAmount(), request.getCurrency());
+            return moneyOperationService.deposit(userId, money, request.getDescription(), correlationId, transactionId)
+                    .map(mutation -> ResponseEntity.ok(new WalletDTOs.DepositResponse(
                             "Depósito realizado com sucesso",
                             request.getAmount(),
                             request.getCurrency(),
-                            savedWallet.getBalance().getAmount(),
-                            correlationId
-                        );
-                        
-                        auditService.logBalanceChange(userId, oldBalance, savedWallet.getBalance(), 
-                                "Deposit: " + description, correlationId);
-                        
-                        log.info("Deposit completed successfully: {}, new balance: {}", 
-                                response.getTransactionId(), savedWallet.getBalance().getAmount());
-                        return ResponseEntity.ok(response);
-                    } catch (Exception e) {
-                        auditService.logError("DEPOSIT", userId, e.getMessage(), correlationId);
-                        log.error("Error processing deposit for user {}: {}", userId, e.getMessage());
-                        throw new RuntimeException("Erro ao realizar depósito: " + e.getMessage());
-                    }
-                })
-                .orElse(ResponseEntity.notFound().build());
+                            mutation.getNewBalance().getAmount(),
+                            transactionId
+                    )))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (ConcurrencyFailureException e) {
+            // Conflito de versão após as tentativas: 409 para o cliente repetir
+            auditService.logError("DEPOSIT", userId, e.getMessage(), correlationId);
+            throw e;
+        } catch (IllegalArgumentException e) {
+            // Quantia com mais casas que a moeda admite ou moeda desconhecida: 400
+            auditService.logError("DEPOSIT", userId, e.getMessage(), correlationId);
+            throw e;
+        } catch (Exception e) {
+            auditService.logError("DEPOSIT", userId, e.getMessage(), correlationId);
+            log.error("Error processing deposit for user {}: {}", userId, e.getMessage());
+            throw new RuntimeException("Erro ao realizar depósito: " + e.getMessage());
+        }
     }
 
     @PostMapping("/{userId}/withdraw")
-    @Transactional
     @PreAuthorize("hasRole('USER') and #userId == authentication.principal.username or hasRole('ADMIN')")
     public ResponseEntity<WalletDTOs.WithdrawResponse> withdraw(
             @PathVariable String userId,
             @Valid @RequestBody WalletDTOs.WithdrawRequest request) {
         
         String correlationId = auditService.generateCorrelationId();
-        log.info("Processing withdrawal for user: {}, amount: {} {}", userId, request.getAmount(), request.getCurrency());
+        String transactionId = nextTransactionId();
         
-        return walletRepository.findByUserId(userId)
-                .map(wallet -> {
+        try {
+            Money money = new Money(request.getAmount(), request.getCurrency());
+            return moneyOperationService.withdraw(userId, money, request.getDescription(), correlationId, transactionId)
+                    .map(mutation -> ResponseEntity.ok(new WalletDTOs.WithdrawResponse(
+                            "Saque realizado com sucesso",
+                            request.getAmount(),
+                            request.getCurrency(),
+                            mutation.getNewBalance().getAmount(),
+                            transactionId
+                    )))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (InsufficientFundsException e) {
+            auditService.logSecurityEvent("INSUFFICIENT_FUNDS", userId, 
+                    "Attempted withdrawal: " + request.getAmount() + " " + request.getCurrency(), correlationId);
+            log.warn("Insufficient funds for withdrawal: user {}, requested: {}", userId, request.getAmount());
+            auditService.logError("WITHDRAW", userId, "Saldo insuficiente", correlationId);
+            throw new RuntimeException("Erro ao realizar saque: Saldo insuficiente");
+        } catch (ConcurrencyFailureException e) {
+            auditService.logError("WITHDRAW", userId, e.getMessage(), correlationId);
+            throw e;
+        } catch (IllegalArgumentException e) {
+            auditService.logError("WITHDRAW", userId, e.getMessage(), correlationId);
+            throw e;
+        } catch (Exception e) {
+            auditService.logError("WITHDRAW", userId, e.getMessage(), correlationId);
+            log.error("Error processing withdrawal for user {}: {}", userId, e.getMessage());
+            throw new RuntimeException("Erro ao realizar saque: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/{userId}/transfer")
+    @PreAuthorize("hasRole('USER') and #userId == authentication.principal.username or hasRole('ADMIN')")
+    public ResponseEntity<WalletDTOs.TransferResponse> transfer(
+            @PathVariable String userId,
+            @Valid @RequestBody WalletDTOs.TransferRequest request) {
+        
+        String correlationId = auditService.generateCorrelationId();
+        String transactionId = nextTransactionId();
+        log.info("Processing transfer from user: {} to user: {}, amount: {} {}", 
+                userId, request.getTargetUserId(), request.getAmount(), request.getCurrency());
+        
+        if (userId.equals(request.getTargetUserId())) {
+            auditService.logSecurityEvent("SELF_TRANSFER_ATTEMPT", userId, 
+                    "Attempted self-transfer", correlationId);
+            log.warn("Attempted self-transfer: user {}", userId);
+            throw new RuntimeException("Não é possível transferir para a mesma carteira");
+        }
+        
+        if (eventSourcedWalletService.isEnabled()) {
+            // O fluxo de eventos não grava o livro-razão: o id fica só na auditoria
+            return transferWith((sourceUserId, targetUserId, amount, sourceDescription, targetDescription, referenceId) ->
+                            eventSourcedWalletService.transfer(sourceUserId, targetUserId, amount, sourceDescription, targetDescription),
+                    "Event-sourced", userId, request, correlationId, transactionId);
+        }
+        
+        if (hotWalletCreditCombiner.isHot(request.getTargetUserId())) {
+            return transferWith(hotWalletCreditCombiner::transfer, "Hot wallet", userId, request, correlationId, transactionId);
+        }
+        
+        return transactionTemplate.execute(status -> walletPairLoader.load(userId, request.getTargetUserId())
+                .map(pair -> {
+                    Wallet sourceWallet = pair.getSource();
+                    Wallet targetWallet = pair.getTarget();
                     try {
-                        Money oldBalance = wallet.getBalance();
+                        Money oldSourceBalance = sourceWallet.getBalance();
+                        Money oldTargetBalance = targetWallet.getBalance();
                         Money money = new Money(request.getAmount(), request.getCurrency());
                         
-                        if (!wallet.hasSufficientFunds(money)) {
-                            auditService.logSecurityEvent("INSUFFICIENT_FUNDS", userId, 
-                                    "Attempted withdrawal: " + request.getAmount() + " " + request.getCurrency(), correlationId);
-                            log.warn("Insufficient funds for withdrawal: user {}, requested: {}, available: {}", 
-                                    userId, request.getAmount(), wallet.getBalance().getAmount());
+                        if (!sourceWallet.hasSufficientFunds(money)) {
+                            auditService.logSecurityEvent("INSUFFICIENT_FUNDS_TRANSFER", userId, 
+                                    "Attempted transfer: " + request.getAmount() + " " + request.getCurrency(), correlationId);
+                            log.warn("Insufficient funds for transfer: user {}, requested: {}, available: {}", 
+                                    userId, request.getAmount(), sourceWallet.getBalance().getAmount());
                             throw new RuntimeException("Saldo insuficiente");
                         }
                         
-                        auditService.logTransaction("WITHDRAW", userId, money, 
-                                request.getDescription(), correlationId);
+                        auditService.logTransaction("TRANSFER", userId, money, 
+                                "Transfer to " + request.getTargetUserId() + ": " + request.getDescription(), correlationId, transactionId);
                         
-                        wallet.withdraw(money);
-                        Wallet savedWallet = walletRepository.save(wallet);
+                        sourceWallet.transferTo(targetWallet, money);
                         
-                        String description = request.getDescription() != null ? 
+                        // Grava em ordem de id, a mesma em que o modo PESSIMISTIC
+                        // e os lotes de carteira quente travam as linhas
+                        Wallet savedSourceWallet;
+                        Wallet savedTargetWallet;
+                        if (sourceWallet.getId() < targetWallet.getId()) {
+                            savedSourceWallet = walletRepository.save(sourceWallet);
+                            savedTargetWallet = walletRepository.save(targetWallet);
+                        } else {
+                            savedTargetWallet = walletRepository.save(targetWallet);
+                            savedSourceWallet = walletRepository.save(sourceWallet);
+                        }
+                        String sourceDescription = request.getDescription() != null ? 
                             request.getDescription() : 
-                            String.format("Saque de %s %s", request.getAmount(), request.getCurrency());
+                            String.format("Transferência enviada de %s %s para %s", request.getAmount(), request.getCurrency(), request.getTargetUserId());
                         
-                        BalanceHistory withdrawHistory = BalanceHistory.create(savedWallet.getId(), savedWallet.getBalance(), description);
-                        balanceHistoryRepository.save(withdrawHistory);
+                        BalanceHistory sourceHistory = BalanceHistory.create(savedSourceWallet.getId(), savedSourceWallet.getBalance(), sourceDescription);
+                        balanceHistoryRepository.save(sourceHistory);
                         
-                        WalletDTOs.WithdrawResponse response = new WalletDTOs.WithdrawResponse(
-                            "Saque realizado com sucesso",
+                        String targetDescription = String.format("Transferência recebida de %s %s de %s", request.getAmount(), request.getCurrency(), userId);
+                        BalanceHistory targetHistory = BalanceHistory.create(savedTargetWallet.getId(), savedTargetWallet.getBalance(), targetDescription);
+                        balanceHistoryRepository.save(targetHistory);
+                        
+                        Transaction ledger = Transaction.createTransfer(savedSourceWallet, savedTargetWallet, money, sourceDescription);
+                        ledger.setReferenceId(transactionId);
+                        ledgerWriter.append(ledger);
+                        LocalDateTime occurredAt = LocalDateTime.now();
+                        eventOutbox.append(userId, new MoneyTransferredEvent(userId, request.getTargetUserId(), money,
+                            oldSourceBalance, savedSourceWallet.getBalance(), occurredAt));
+                        eventOutbox.append(request.getTargetUserId(), new MoneyTransferredEvent(userId, request.getTargetUserId(), money,
+                            oldTargetBalance, savedTargetWallet.getBalance(), occurredAt));
+                        walletCache.evictAfterCommit(userId, request.getTargetUserId());
+                        
+                        WalletDTOs.TransferResponse response = new WalletDTOs.TransferResponse(
+                            "Transferência realizada com sucesso",
                             request.getAmount(),
                             request.getCurrency(),
-                            savedWallet.getBalance().getAmount(),
-                            correlationId
+                            userId,
+                            request.getTargetUserId(),
+                            savedSourceWallet.getBalance().getAmount(),
+                            savedTargetWallet.getBalance().getAmount(),
+                            transactionId
                         );
                         
-                        auditService.logBalanceChange(userId, oldBalance, savedWallet.getBalance(), 
-                                "Withdrawal: " + description, correlationId);
+                        auditService.logBalanceChange(userId, oldSourceBalance, savedSourceWallet.getBalance(), 
+                                "Transfer sent: " + sourceDescription, correlationId, transactionId);
+                        auditService.logBalanceChange(request.getTargetUserId(), oldTargetBalance, savedTargetWallet.getBalance(), 
+                                "Transfer received: " + targetDescription, correlationId, transactionId);
                         
-                        log.info("Withdrawal completed successfully: {}, new balance: {}", 
-                                response.getTransactionId(), savedWallet.getBalance().getAmount());
+                        log.info("Transfer completed successfully: {}, source balance: {}, target balance: {}", 
+                                response.getTransactionId(), savedSourceWallet.getBalance().getAmount(), savedTargetWallet.getBalance().getAmount());
                         return ResponseEntity.ok(response);
+                    } catch (ConcurrencyFailureException e) {
+                        auditService.logError("TRANSFER", userId, e.getMessage(), correlationId);
+                        throw e;
+                    } catch (IllegalArgumentException e) {
+                        auditService.logError("TRANSFER", userId, e.getMessage(), correlationId);
+                        throw e;
                     } catch (Exception e) {
-                        auditService.logError("WITHDRAW", userId, e.getMessage(), correlationId);
-                        log.error("Error processing withdrawal for user {}: {}", userId, e.getMessage());
-                        throw new RuntimeException("Erro ao realizar saque: " + e.getMessage());
+                        auditService.logError("TRANSFER", userId, e.getMessage(), correlationId);
+                        log.error("Error processing transfer from user {} to user {}: {}", userId, request.getTargetUserId(), e.getMessage());
+                        throw new RuntimeException("Erro ao realizar transferência: " + e.getMessage());
                     }
                 })
-                .orElse(ResponseEntity.notFound().build());
+                .orElse(ResponseEntity.notFound().build()));
     }
 
-    @PostMapping("/{userId}/transfer")
-    @Transactional
+    /**
+     * Transferência por um caminho que devolve os saldos já aplicados
+     * (combinador da carteira quente ou fluxo de eventos), sem carregar o par
+     * de carteiras no controller
+     */
+    private ResponseEntity<WalletDTOs.TransferResponse> transferWith(
+            TransferOperation operation, String label, String userId,
+            WalletDTOs.TransferRequest request, String correlationId, String transactionId) {
+        
+        try {
+            Money money = new Money(request.getAmount(), request.getCurrency());
+            
+            auditService.logTransaction("TRANSFER", userId, money, 
+                    "Transfer to " + request.getTargetUserId() + ": " + request.getDescription(), correlationId, transactionId);
+            
+            String sourceDescription = request.getDescription() != null ? 
+                request.getDescription() : 
+                String.format("Transferência enviada de %s %s para %s", request.getAmount(), request.getCurrency(), request.getTargetUserId());
+            String targetDescription = String.format("Transferência recebida de %s %s de %s", request.getAmount(), request.getCurrency(), userId);
+            
+            return operation.transfer(userId, request.getTargetUserId(), money, sourceDescription, targetDescription, transactionId)
+                    .map(transfer -> {
+                        WalletDTOs.TransferResponse response = new WalletDTOs.TransferResponse(
+                            "Transferência realizada com sucesso",
+                            request.getAmount(),
+                            request.getCurrency(),
+                            userId,
+                            request.getTargetUserId(),
+                            transfer.getSource().getNewBalance().getAmount(),
+                            transfer.getTarget().getNewBalance().getAmount(),
+                            transactionId
+                        );
+                        
+                        auditService.logBalanceChange(userId, transfer.getSource().getOldBalance(), transfer.getSource().getNewBalance(), 
+                                "Transfer sent: " + sourceDescription, correlationId, transactionId);
+                        auditService.logBalanceChange(request.getTargetUserId(), transfer.getTarget().getOldBalance(), transfer.getTarget().getNewBalance(), 
+                                "Transfer received: " + targetDescription, correlationId, transactionId);
+                        
+                        log.info("{} transfer completed successfully: {}, source balance: {}, target balance: {}", 
+                                label, response.getTransactionId(), transfer.getSource().getNewBalance().getAmount(), transfer.getTarget().getNewBalance().getAmount());
+                        return ResponseEntity.ok(response);
+                    })
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (InsufficientFundsException e) {
+            auditService.logSecurityEvent("INSUFFICIENT_FUNDS_TRANSFER", userId, 
+                    "Attempted transfer: " + request.getAmount() + " " + request.getCurrency(), correlationId);
+            log.warn("Insufficient funds for transfer: user {}, requested: {}", userId, request.getAmount());
+            auditService.logError("TRANSFER", userId, "Saldo insuficiente", correlationId);
+            throw new RuntimeException("Erro ao realizar transferência: Saldo insuficiente");
+        } catch (ConcurrencyFailureException e) {
+            auditService.logError("TRANSFER", userId, e.getMessage(), correlationId);
+            throw e;
+        } catch (IllegalArgumentException e) {
+            auditService.logError("TRANSFER", userId, e.getMessage(), correlationId);
+            throw e;
+        } catch (Exception e) {
+            auditService.logError("TRANSFER", userId, e.getMessage(), correlationId);
+            log.error("Error processing transfer from user {} to user {}: {}", userId, request.getTargetUserId(), e.getMessage());
+            throw new RuntimeException("Erro ao realizar transferência: " + e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface TransferOperation {
+        Optional<TransferMutation> transfer(String sourceUserId, String targetUserId, Money amount,
+                                            String sourceDescription, String targetDescription, String referenceId);
+    }
+
+    @PostMapping(value = "/{userId}/transfers/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
     @PreAuthorize("hasRole('USER') and #userId == authentication.principal.username or hasRole('ADMIN')")
-    public ResponseEntity<WalletDTOs.TransferResponse> transfer(
+    public ResponseEntity<WalletDTOs.BulkTransferResponse> bulkTransfer(
             @PathVariable String userId,
-            @Valid @RequestBody WalletDTOs.TransferRequest request) {
+            @RequestBody List<WalletDTOs.BulkTransferItem> items) {
         
-        String correlationId = auditService.generateCorrelationId();
-        log.info("Processing transfer from user: {} to user: {}, amount: {} {}", 
-                userId, request.getTargetUserId(), request.getAmount(), request.getCurrency());
+        return executeBulkTransfer(userId, items);
+    }
+
+    @PostMapping(value = "/{userId}/transfers/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('USER') and #userId == authentication.principal.username or hasRole('ADMIN')")
+    public ResponseEntity<WalletDTOs.BulkTransferResponse> bulkTransferNdjson(
+            @PathVariable String userId,
+            InputStream body) throws IOException {
         
-        if (userId.equals(request.getTargetUserId())) {
-            auditService.logSecurityEvent("SELF_TRANSFER_ATTEMPT", userId, 
-                    "Attempted self-transfer", correlationId);
-            log.warn("Attempted self-transfer: user {}", userId);
-            throw new RuntimeException("Não é possível transferir para a mesma carteira");
+        List<WalletDTOs.BulkTransferItem> items;
+        try (MappingIterator<WalletDTOs.BulkTransferItem> iterator = objectMapper
+                .readerFor(WalletDTOs.BulkTransferItem.class)
+                .readValues(body)) {
+            items = iterator.readAll();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("NDJSON inválido: " + e.getOriginalMessage());
         }
+        return executeBulkTransfer(userId, items);
+    }
+
+    private ResponseEntity<WalletDTOs.BulkTransferResponse> executeBulkTransfer(
+            String userId, List<WalletDTOs.BulkTransferItem> items) {
         
-        return walletRepository.findByUserId(userId)
-                .flatMap(sourceWallet -> walletRepository.findByUserId(request.getTargetUserId())
-                        .map(targetWallet -> {
-                            try {
-                                Money oldSourceBalance = sourceWallet.getBalance();
-                                Money oldTargetBalance = targetWallet.getBalance();
-                                Money money = new Money(request.getAmount(), request.getCurrency());
-                                
-                                if (!sourceWallet.hasSufficientFunds(money)) {
-                                    auditService.logSecurityEvent("INSUFFICIENT_FUNDS_TRANSFER", userId, 
-                                            "Attempted transfer: " + request.getAmount() + " " + request.getCurrency(), correlationId);
-                                    log.warn("Insufficient funds for transfer: user {}, requested: {}, available: {}", 
-                                            userId, request.getAmount(), sourceWallet.getBalance().getAmount());
-                                    throw new RuntimeException("Saldo insuficiente");
-                                }
-                                
-                                auditService.logTransaction("TRANSFER", userId, money, 
-                                        "Transfer to " + request.getTargetUserId() + ": " + request.getDescription(), correlationId);
-                                
-                                sourceWallet.transferTo(targetWallet, money);
-                                
-                                Wallet savedSourceWallet = walletRepository.save(sourceWallet);
-                                Wallet savedTargetWallet = walletRepository.save(targetWallet);
-                                String sourceDescription = request.getDescription() != null ? 
-                                    request.getDescription() : 
-                                    String.format("Transferência enviada de %s %s para %s", request.getAmount(), request.getCurrency(), request.getTargetUserId());
-                                
-                                BalanceHistory sourceHistory = BalanceHistory.create(savedSourceWallet.getId(), savedSourceWallet.getBalance(), sourceDescription);
-                                balanceHistoryRepository.save(sourceHistory);
-                                
-                                String targetDescription = String.format("Transferência recebida de %s %s de %s", request.getAmount(), request.getCurrency(), userId);
-                                BalanceHistory targetHistory = BalanceHistory.create(savedTargetWallet.getId(), savedTargetWallet.getBalance(), targetDescription);
-                                balanceHistoryRepository.save(targetHistory);
-                                
-                                WalletDTOs.TransferResponse response = new WalletDTOs.TransferResponse(
-                                    "Transferência realizada com sucesso",
-                                    request.getAmount(),
-                                    request.getCurrency(),
-                                    userId,
-                                    request.getTargetUserId(),
-                                    savedSourceWallet.getBalance().getAmount(),
-                                    savedTargetWallet.getBalance().getAmount(),
-                                    correlationId
-                                );
-                                
-                                auditService.logBalanceChange(userId, oldSourceBalance, savedSourceWallet.getBalance(), 
-                                        "Transfer sent: " + sourceDescription, correlationId);
-                                auditService.logBalanceChange(request.getTargetUserId(), oldTargetBalance, savedTargetWallet.getBalance(), 
-                                        "Transfer received: " + targetDescription, correlationId);
-                                
-                                log.info("Transfer completed successfully: {}, source balance: {}, target balance: {}", 
-                                        response.getTransactionId(), savedSourceWallet.getBalance().getAmount(), savedTargetWallet.getBalance().getAmount());
-                                return ResponseEntity.ok(response);
-                            } catch (Exception e) {
-                                auditService.logError("TRANSFER", userId, e.getMessage(), correlationId);
-                                log.error("Error processing transfer from user {} to user {}: {}", userId, request.getTargetUserId(), e.getMessage());
-                                throw new RuntimeException("Erro ao realizar transferência: " + e.getMessage());
-                            }
-                        }))
+        rejectInEventSourcedMode("Transferência em lote");
+        
+        String correlationId = auditService.generateCorrelationId();
+        String transactionId = nextTransactionId();
+        log.info("Processing bulk transfer from user: {}, items: {}", userId, items.size());
+        auditService.logOperation("BULK_TRANSFER", userId, 
+                "Bulk transfer with " + items.size() + " items", correlationId);
+        
+        return bulkTransferService.execute(userId, items, transactionId)
+                .map(response -> {
+                    auditService.logOperation("BULK_TRANSFER_COMPLETED", userId, 
+                            "Bulk transfer: " + response.getSucceeded() + " succeeded, " + response.getFailed() + " rejected, total " + response.getTotalDebited(), 
+                            correlationId);
+                    return ResponseEntity.ok(response);
+                })
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/{userId}/balance-history")
     @PreAuthorize("hasRole('USER') and #userId == authentication.principal.username or hasRole('ADMIN')")
-    public ResponseEntity<WalletDTOs.BalanceHistoryResponse> getBalanceHistory(@PathVariable String userId) {
+    public ResponseEntity<WalletDTOs.BalanceHistoryResponse> getBalanceHistory(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        
+        rejectInEventSourcedMode("Histórico de saldo");
         
         String correlationId = auditService.generateCorrelationId();
         log.info("Consulting balance history for user: {}", userId);
         auditService.logOperation("CONSULT_BALANCE_HISTORY", userId, "Consulting balance history", correlationId);
         
-        return walletRepository.findByUserId(userId)
+        int pageSize = limit != null ? limit : historyDefaultPageSize;
+        if (pageSize < 1 || pageSize > historyMaxPageSize) {
+            throw new IllegalArgumentException("limit deve estar entre 1 e " + historyMaxPageSize);
+        }
+        validateHistoryRange(startDate, endDate);
+        
+        PageCursor before = cursor != null ? PageCursor.decode(cursor)
+                : PageCursor.endingAt(endDate != null ? endDate : HISTORY_UPPER_BOUND);
+        if (endDate != null && before.getTimestamp().isAfter(endDate)) {
+            before = PageCursor.endingAt(endDate);
+        }
+        PageCursor from = before;
+        
+        return walletCache.findByUserId(userId)
                 .map(wallet -> {
-                    List<WalletDTOs.BalanceHistoryEntry> history = balanceHistoryRepository.findByWalletId(wallet.getId())
-                            .stream()
-                            .map(record -> new WalletDTOs.BalanceHistoryEntry(
-                                record.getBalance().getAmount(),
-                                record.getBalance().getCurrency(),
-                                record.getDescription(),
-                                record.getRecordedAt()
-                            ))
+                    // Busca um registro a mais para saber se existe próxima página
+                    List<BalanceHistory> records = balanceHistoryRepository.findPageByWalletId(
+                            wallet.getId(),
+                            startDate != null ? startDate : HISTORY_LOWER_BOUND,
+                            from.getTimestamp(),
+                            from.getId(),
+                            pageSize + 1);
+                    
+                    String nextCursor = null;
+                    if (records.size() > pageSize) {
+                        records = records.subList(0, pageSize);
+                        BalanceHistory last = records.get(pageSize - 1);
+                        nextCursor = new PageCursor(last.getRecordedAt(), last.getId()).encode();
+                    }
+                    
+                    List<WalletDTOs.BalanceHistoryEntry> history = records.stream()
+                            .map(this::toHistoryEntry)
                             .toList();
                     
                     WalletDTOs.BalanceHistoryResponse response = new WalletDTOs.BalanceHistoryResponse(
                         userId,
                         wallet.getBalance().getAmount(),
                         wallet.getBalance().getCurrency(),
-                        history
+                        history,
+                        nextCursor
                     );
                     
                     auditService.logOperation("BALANCE_HISTORY_CONSULTED", userId, 
@@ -326,6 +587,150 @@ public class WalletController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping(value = "/{userId}/balance-history", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('USER') and #userId == authentication.principal.username or hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamBalanceHistory(
+            @PathVariable String userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        
+        rejectInEventSourcedMode("Histórico de saldo");
+        
+        String correlationId = auditService.generateCorrelationId();
+        log.info("Streaming balance history for user: {}", userId);
+        auditService.logOperation("STREAM_BALANCE_HISTORY", userId, "Streaming balance history", correlationId);
+        
+        validateHistoryRange(startDate, endDate);
+        
+        ObjectWriter entryWriter = objectMapper.writerFor(WalletDTOs.BalanceHistoryEntry.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+        
+        return walletCache.findByUserId(userId)
+                .map(wallet -> {
+                    StreamingResponseBody body = out -> {
+                        long[] count = {0};
+                        try (SequenceWriter sequence = entryWriter.writeValues(out)) {
+                            balanceHistoryStream.forEach(wallet.getId(), startDate, endDate, record -> {
+                                try {
+                                    sequence.write(toHistoryEntry(record));
+                                    count[0]++;
+                                } catch (IOException e) {
+                                    throw new UncheckedIOException(e);
+                                }
+                            });
+                        }
+                        auditService.logOperation("BALANCE_HISTORY_STREAMED", userId, 
+                                "Balance history streamed: " + count[0] + " records", correlationId);
+                        log.info("Balance history streamed successfully: {} records", count[0]);
+                    };
+                    return ResponseEntity.ok()
+                            .contentType(MediaType.APPLICATION_NDJSON)
+                            .body(body);
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{userId}/transactions")
+    @PreAuthorize("hasRole('USER') and #userId == authentication.principal.username or hasRole('ADMIN')")
+    public ResponseEntity<WalletDTOs.TransactionListResponse> getTransactions(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Set<TransactionType> type,
+            @RequestParam(required = false) Set<String> status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        
+        rejectInEventSourcedMode("Listagem de transações");
+        
+        String correlationId = auditService.generateCorrelationId();
+        log.info("Listing transactions for user: {}", userId);
+        auditService.logOperation("LIST_TRANSACTIONS", userId, "Listing transactions", correlationId);
+        
+        int pageSize = limit != null ? limit : transactionsDefaultPageSize;
+        if (pageSize < 1 || pageSize > transactionsMaxPageSize) {
+            throw new IllegalArgumentException("limit deve estar entre 1 e " + transactionsMaxPageSize);
+        }
+        validateHistoryRange(startDate, endDate);
+        
+        PageCursor before = cursor != null ? PageCursor.decode(cursor) : null;
+        Set<String> statuses = status != null
+                ? status.stream().map(value -> value.toUpperCase(Locale.ROOT)).collect(Collectors.toSet())
+                : null;
+        TransactionHistoryQuery.Filter filter = new TransactionHistoryQuery.Filter(type, statuses, startDate, endDate);
+        
+        return walletCache.findByUserId(userId)
+                .map(wallet -> {
+                    // Busca um registro a mais para saber se existe próxima página
+                    List<Transaction> records = transactionHistoryQuery.findPage(wallet.getId(), filter, before, pageSize + 1);
+                    
+                    String nextCursor = null;
+                    if (records.size() > pageSize) {
+                        records = records.subList(0, pageSize);
+                        Transaction last = records.get(pageSize - 1);
+                        nextCursor = new PageCursor(last.getTransactionDate(), last.getId()).encode();
+                    }
+                    
+                    List<WalletDTOs.TransactionEntry> transactions = records.stream()
+                            .map(record -> new WalletDTOs.TransactionEntry(
+                                record.getId(),
+                                record.getTransactionType().name(),
+                                record.getTransactionType() == TransactionType.DEPOSIT
+                                        || !wallet.getId().equals(record.getWalletId()) ? "CREDIT" : "DEBIT",
+                                record.getAmount().getAmount(),
+                                record.getAmount().getCurrency(),
+                                record.getDescription(),
+                                record.getStatus(),
+                                record.getTransactionDate()
+                            ))
+                            .toList();
+                    
+                    auditService.logOperation("TRANSACTIONS_LISTED", userId, 
+                            "Transactions listed: " + transactions.size() + " records", correlationId);
+                    log.info("Transactions listed successfully: {} records found", transactions.size());
+                    return ResponseEntity.ok(new WalletDTOs.TransactionListResponse(userId, transactions, nextCursor));
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * No modo de persistência por eventos o estado fica só em wallet_events e
+     * wallet_snapshots: balance_history e transactions não são projetados, então
+     * as leituras e o lote que dependem dessas tabelas são recusados em vez de
+     * responder vazio ou 404
+     */
+    private void rejectInEventSourcedMode(String feature) {
+        if (eventSourcedWalletService.isEnabled()) {
+            throw new IllegalArgumentException(feature + " não disponível no modo de persistência por eventos");
+        }
+    }
+
+    /**
+     * Id da operação devolvido ao cliente, distinto do correlation id (que
+     * pode vir do próprio cliente em X-Correlation-Id e se repetir). Gerado
+     * antes da operação e gravado em transactions.reference_id e em
+     * audit_log.transaction_id, para que o id recebido localize a operação.
+     */
+    private String nextTransactionId() {
+        return idGenerator.nextUuid().toString();
+    }
+
+    private void validateHistoryRange(LocalDateTime startDate, LocalDateTime endDate) {
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("startDate deve ser anterior a endDate");
+        }
+    }
+
+    private WalletDTOs.BalanceHistoryEntry toHistoryEntry(BalanceHistory record) {
+        return new WalletDTOs.BalanceHistoryEntry(
+            record.getBalance().getAmount(),
+            record.getBalance().getCurrency(),
+            record.getDescription(),
+            record.getRecordedAt()
+        );
+    }
+
     @GetMapping("/health")
     public ResponseEntity<WalletDTOs.HealthResponse> health() {
         WalletDTOs.HealthResponse response = new WalletDTOs.HealthResponse(
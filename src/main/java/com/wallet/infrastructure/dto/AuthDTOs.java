@@ -56,6 +56,13 @@ public class AuthDTOs {
         private String username;
     }
 
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LogoutResponse {
+        private String message;
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
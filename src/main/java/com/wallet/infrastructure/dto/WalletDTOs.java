@@ -140,6 +140,53 @@ public class WalletDTOs {
         private String transactionId;
     }
 
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BulkTransferItem {
+        @NotBlank(message = "targetUserId é obrigatório")
+        @Pattern(regexp = "^[a-zA-Z0-9_-]+$", message = "targetUserId deve conter apenas letras, números, hífen e underscore")
+        @Size(min = 3, max = 50, message = "targetUserId deve ter entre 3 e 50 caracteres")
+        private String targetUserId;
+        
+        @NotNull(message = "amount é obrigatório")
+        @DecimalMin(value = "0.01", message = "amount deve ser maior que zero")
+        @Digits(integer = 15, fraction = 2, message = "amount deve ter no máximo 15 dígitos inteiros e 2 decimais")
+        private BigDecimal amount;
+        
+        @Pattern(regexp = "^[A-Z]{3}$", message = "currency deve ser um código de moeda válido")
+        private String currency = "BRL";
+        
+        private String description;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BulkTransferItemResult {
+        private int index;
+        private String targetUserId;
+        private BigDecimal amount;
+        private String status;
+        private String error;
+        private BigDecimal targetNewBalance;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BulkTransferResponse {
+        private String message;
+        private String sourceUserId;
+        private int requested;
+        private int succeeded;
+        private int failed;
+        private BigDecimal totalDebited;
+        private BigDecimal sourceNewBalance;
+        private String transactionId;
+        private List<BulkTransferItemResult> results;
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -148,6 +195,7 @@ public class WalletDTOs {
         private BigDecimal currentBalance;
         private String currency;
         private List<BalanceHistoryEntry> history;
+        private String nextCursor;
     }
 
     @Data
@@ -161,6 +209,30 @@ public class WalletDTOs {
         private LocalDateTime recordedAt;
     }
 
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TransactionListResponse {
+        private String userId;
+        private List<TransactionEntry> transactions;
+        private String nextCursor;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TransactionEntry {
+        private Long id;
+        private String type;
+        private String direction;
+        private BigDecimal amount;
+        private String currency;
+        private String description;
+        private String status;
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        private LocalDateTime transactionDate;
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
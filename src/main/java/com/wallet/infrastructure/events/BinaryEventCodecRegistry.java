@@ -0,0 +1,97 @@
+package com.wallet.infrastructure.events;
+
+import com.wallet.domain.events.DomainEvent;
+import org.springframework.stereotype.Component;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Registro dos codecs binários de eventos de domínio, indexado pelo
+ * eventType na codificação e pelo typeId na decodificação.
+ * Layout (big-endian):
+ * <pre>
+ * formato:u8 typeId:u8 versão:u8 occurredAt:i64 micros corpo
+ * </pre>
+ * O corpo de cada tipo está descrito em DomainEventCodecs. Um typeId ou
+ * versão desconhecidos são rejeitados em vez de lidos pela metade.
+ */
+@Component
+public class BinaryEventCodecRegistry {
+
+    static final byte FORMAT_V1 = 1;
+
+    private static final int HEADER_SIZE = 3 + Long.BYTES;
+    private static final int INITIAL_CAPACITY = 128;
+
+    private final Map<String, EventCodec<? extends DomainEvent>> byEventType = new HashMap<>();
+    private final EventCodec<?>[] byTypeId = new EventCodec<?>[256];
+
+    public BinaryEventCodecRegistry() {
+        DomainEventCodecs.all().forEach(this::register);
+    }
+
+    public void register(EventCodec<? extends DomainEvent> codec) {
+        if (codec.getTypeId() < 1 || codec.getTypeId() > 255) {
+            throw new IllegalArgumentException("Event type id must be between 1 and 255: " + codec.getTypeId());
+        }
+        if (byTypeId[codec.getTypeId()] != null || byEventType.containsKey(codec.getEventType())) {
+            throw new IllegalStateException("Codec already registered for " + codec.getEventType()
+                    + " (type id " + codec.getTypeId() + ")");
+        }
+        byEventType.put(codec.getEventType(), codec);
+        byTypeId[codec.getTypeId()] = codec;
+    }
+
+    public Set<String> getEventTypes() {
+        return byEventType.keySet();
+    }
+
+    public boolean supports(String eventType) {
+        return byEventType.containsKey(eventType);
+    }
+
+    @SuppressWarnings("unchecked")
+    public byte[] encode(DomainEvent event) {
+        EventCodec<DomainEvent> codec = (EventCodec<DomainEvent>) byEventType.get(event.getEventType());
+        if (codec == null || !codec.getEventClass().isInstance(event)) {
+            throw new IllegalArgumentException("No binary codec for event " + event.getEventType());
+        }
+        EventBinaryWriter out = new EventBinaryWriter(INITIAL_CAPACITY);
+        out.putByte(FORMAT_V1)
+                .putByte(codec.getTypeId())
+                .putByte(codec.getVersion())
+                .putTimestamp(event.getOccurredAt());
+        codec.encode(event, out);
+        return out.toByteArray();
+    }
+
+    public DomainEvent decode(byte[] bytes) {
+        if (bytes == null || bytes.length < HEADER_SIZE || bytes[0] != FORMAT_V1) {
+            throw new IllegalArgumentException("Not a binary domain event payload");
+        }
+        EventCodec<?> codec = byTypeId[Byte.toUnsignedInt(bytes[1])];
+        if (codec == null) {
+            throw new IllegalArgumentException("Unknown event type id " + Byte.toUnsignedInt(bytes[1]));
+        }
+        int version = Byte.toUnsignedInt(bytes[2]);
+        if (version < 1 || version > codec.getVersion()) {
+            throw new IllegalArgumentException("Unsupported " + codec.getEventType() + " version " + version);
+        }
+        try {
+            EventBinaryReader in = new EventBinaryReader(ByteBuffer.wrap(bytes, 3, bytes.length - 3));
+            LocalDateTime occurredAt = in.getTimestamp();
+            DomainEvent event = codec.decode(version, occurredAt, in);
+            if (in.remaining() != 0) {
+                throw new IllegalArgumentException("Trailing bytes after " + codec.getEventType() + " event");
+            }
+            return event;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Malformed " + codec.getEventType() + " event", e);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.wallet.infrastructure.events;
+
+import com.wallet.domain.enums.TransactionType;
+import com.wallet.domain.events.DomainEvent;
+import com.wallet.domain.events.MoneyDepositedEvent;
+import com.wallet.domain.events.MoneyTransferredEvent;
+import com.wallet.domain.events.MoneyWithdrawnEvent;
+import com.wallet.domain.events.TransactionCreatedEvent;
+import com.wallet.domain.events.WalletActivatedEvent;
+import com.wallet.domain.events.WalletClosedEvent;
+import com.wallet.domain.events.WalletCreatedEvent;
+import com.wallet.domain.events.WalletSuspendedEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Codecs v1 de todos os eventos de com.wallet.domain.events.
+ * Corpos (após o cabeçalho do registro):
+ * <pre>
+ * WalletCreated(1)        userId:str currency:3 ASCII
+ * WalletActivated(2)      userId:str
+ * WalletSuspended(3)      userId:str
+ * WalletClosed(4)         userId:str
+ * MoneyDeposited(5)       userId:str amount:money oldBalance:money newBalance:money
+ * MoneyWithdrawn(6)       userId:str amount:money oldBalance:money newBalance:money
+ * MoneyTransferred(7)     sourceUserId:str targetUserId:str amount:money oldBalance:money newBalance:money
+ * TransactionCreated(8)   transactionType:u8 userId:str amount:money description:str
+ * </pre>
+ * O tipo da transação é gravado pelo ordinal: alterar a ordem de
+ * TransactionType exige uma nova versão do codec.
+ */
+public final class DomainEventCodecs {
+
+    private DomainEventCodecs() {
+    }
+
+    public static List<EventCodec<? extends DomainEvent>> all() {
+        return List.of(
+                new WalletCreatedCodec(),
+                new UserIdCodec<>(2, "WalletActivated", WalletActivatedEvent.class, WalletActivatedEvent::getUserId, WalletActivatedEvent::new),
+                new UserIdCodec<>(3, "WalletSuspended", WalletSuspendedEvent.class, WalletSuspendedEvent::getUserId, WalletSuspendedEvent::new),
+                new UserIdCodec<>(4, "WalletClosed", WalletClosedEvent.class, WalletClosedEvent::getUserId, WalletClosedEvent::new),
+                new MoneyDepositedCodec(),
+                new MoneyWithdrawnCodec(),
+                new MoneyTransferredCodec(),
+                new TransactionCreatedCodec());
+    }
+
+    private static final class WalletCreatedCodec implements EventCodec<WalletCreatedEvent> {
+        @Override
+        public int getTypeId() {
+            return 1;
+        }
+        @Override
+        public String getEventType() {
+            return "WalletCreated";
+        }
+        @Override
+        public Class<WalletCreatedEvent> getEventClass() {
+            return WalletCreatedEvent.class;
+        }
+        @Override
+        public int getVersion() {
+            return 1;
+        }
+        @Override
+        public void encode(WalletCreatedEvent event, EventBinaryWriter out) {
+            out.putString(event.getUserId()).putCurrency(event.getCurrency());
+        }
+        @Override
+        public WalletCreatedEvent decode(int version, LocalDateTime occurredAt, EventBinaryReader in) {
+            return new WalletCreatedEvent(in.getString(), in.getCurrency(), occurredAt);
+        }
+    }
+
+    /**
+     * Eventos de status da carteira, que só carregam o userId
+     */
+    private static final class UserIdCodec<E extends DomainEvent> implements EventCodec<E> {
+        private final int typeId;
+        private final String eventType;
+        private final Class<E> eventClass;
+        private final Function<E, String> userId;
+        private final BiFunction<String, LocalDateTime, E> factory;
+
+        private UserIdCodec(int typeId, String eventType, Class<E> eventClass,
+                            Function<E, String> userId,
+                            BiFunction<String, LocalDateTime, E> factory) {
+            this.typeId = typeId;
+            this.eventType = eventType;
+            this.eventClass = eventClass;
+            this.userId = userId;
+            this.factory = factory;
+        }
+        @Override
+        public int getTypeId() {
+            return typeId;
+        }
+        @Override
+        public String getEventType() {
+            return eventType;
+        }
+        @Override
+        public Class<E> getEventClass() {
+            return eventClass;
+        }
+        @Override
+        public int getVersion() {
+            return 1;
+        }
+        @Override
+        public void encode(E event, EventBinaryWriter out) {
+            out.putString(userId.apply(event));
+        }
+        @Override
+        public E decode(int version, LocalDateTime occurredAt, EventBinaryReader in) {
+            return factory.apply(in.getString(), occurredAt);
+        }
+    }
+
+    private static final class MoneyDepositedCodec implements EventCodec<MoneyDepositedEvent> {
+        @Override
+        public int getTypeId() {
+            return 5;
+        }
+        @Override
+        public String getEventType() {
+            return "MoneyDeposited";
+        }
+        @Override
+        public Class<MoneyDepositedEvent> getEventClass() {
+            return MoneyDepositedEvent.class;
+        }
+        @Override
+        public int getVersion() {
+            return 1;
+        }
+        @Override
+        public void encode(MoneyDepositedEvent event, EventBinaryWriter out) {
+            out.putString(event.getUserId())
+                    .putMoney(event.getAmount())
+                    .putMoney(event.getOldBalance())
+                    .putMoney(event.getNewBalance());
+        }
+        @Override
+        public MoneyDepositedEvent decode(int version, LocalDateTime occurredAt, EventBinaryReader in) {
+            return new MoneyDepositedEvent(in.getString(), in.getMoney(), in.getMoney(), in.getMoney(), occurredAt);
+        }
+    }
+
+    private static final class MoneyWithdrawnCodec implements EventCodec<MoneyWithdrawnEvent> {
+        @Override
+        public int getTypeId() {
+            return 6;
+        }
+        @Override
+        public String getEventType() {
+            return "MoneyWithdrawn";
+        }
+        @Override
+        public Class<MoneyWithdrawnEvent> getEventClass() {
+            return MoneyWithdrawnEvent.class;
+        }
+        @Override
+        public int getVersion() {
+            return 1;
+        }
+        @Override
+        public void encode(MoneyWithdrawnEvent event, EventBinaryWriter out) {
+            out.putString(event.getUserId())
+                    .putMoney(event.getAmount())
+                    .putMoney(event.getOldBalance())
+                    .putMoney(event.getNewBalance());
+        }
+        @Override
+        public MoneyWithdrawnEvent decode(int version, LocalDateTime occurredAt, EventBinaryReader in) {
+            return new MoneyWithdrawnEvent(in.getString(), in.getMoney(), in.getMoney(), in.getMoney(), occurredAt);
+        }
+    }
+
+    private static final class MoneyTransferredCodec implements EventCodec<MoneyTransferredEvent> {
+        @Override
+        public int getTypeId() {
+            return 7;
+        }
+        @Override
+        public String getEventType() {
+            return "MoneyTransferred";
+        }
+        @Override
+        public Class<MoneyTransferredEvent> getEventClass() {
+            return MoneyTransferredEvent.class;
+        }
+        @Override
+        public int getVersion() {
+            return 1;
+        }
+        @Override
+        public void encode(MoneyTransferredEvent event, EventBinaryWriter out) {
+            out.putString(event.getSourceUserId())
+                    .putString(event.getTargetUserId())
+                    .putMoney(event.getAmount())
+                    .putMoney(event.getOldBalance())
+                    .putMoney(event.getNewBalance());
+        }
+        @Override
+        public MoneyTransferredEvent decode(int version, LocalDateTime occurredAt, EventBinaryReader in) {
+            return new MoneyTransferredEvent(in.getString(), in.getString(), in.getMoney(), in.getMoney(), in.getMoney(), occurredAt);
+        }
+    }
+
+    private static final class TransactionCreatedCodec implements EventCodec<TransactionCreatedEvent> {
+        private static final TransactionType[] TYPES = TransactionType.values();
+
+        @Override
+        public int getTypeId() {
+            return 8;
+        }
+        @Override
+        public String getEventType() {
+            return "TransactionCreated";
+        }
+        @Override
+        public Class<TransactionCreatedEvent> getEventClass() {
+            return TransactionCreatedEvent.class;
+        }
+        @Override
+        public int getVersion() {
+            return 1;
+        }
+        @Override
+        public void encode(TransactionCreatedEvent event, EventBinaryWriter out) {
+            out.putByte(event.getTransactionType().ordinal())
+                    .putString(event.getUserId())
+                    .putMoney(event.getAmount())
+                    .putString(event.getDescription());
+        }
+        @Override
+        public TransactionCreatedEvent decode(int version, LocalDateTime occurredAt, EventBinaryReader in) {
+            TransactionType type = TYPES[in.getByte()];
+            return new TransactionCreatedEvent(type, in.getString(), in.getMoney(), in.getString(), occurredAt);
+        }
+    }
+}
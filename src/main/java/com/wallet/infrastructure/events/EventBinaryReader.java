@@ -0,0 +1,92 @@
+package com.wallet.infrastructure.events;
+
+import com.wallet.domain.valueobjects.CurrencyUnit;
+import com.wallet.domain.valueobjects.Money;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Leitura dos tipos gravados pelo EventBinaryWriter
+ */
+public final class EventBinaryReader {
+
+    private final ByteBuffer buffer;
+
+    EventBinaryReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    public int getByte() {
+        return Byte.toUnsignedInt(buffer.get());
+    }
+
+    public int getShort() {
+        return Short.toUnsignedInt(buffer.getShort());
+    }
+
+    public int getInt() {
+        return buffer.getInt();
+    }
+
+    public long getLong() {
+        return buffer.getLong();
+    }
+
+    public String getString() {
+        int length = getShort();
+        if (length == EventBinaryWriter.NULL_STRING) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    public Money getMoney() {
+        int kind = getByte();
+        BigDecimal amount;
+        switch (kind) {
+            case EventBinaryWriter.MONEY_NULL:
+                return null;
+            case EventBinaryWriter.MONEY_COMPACT:
+                long unscaled = buffer.getLong();
+                int compactScale = buffer.get();
+                CurrencyUnit currency = CurrencyUnit.of(getCurrency());
+                if (compactScale == currency.getScale()) {
+                    return Money.ofMinor(unscaled, currency);
+                }
+                return new Money(BigDecimal.valueOf(unscaled, compactScale), currency.getCode());
+            case EventBinaryWriter.MONEY_WIDE:
+                int scale = buffer.getInt();
+                byte[] bytes = new byte[getShort()];
+                buffer.get(bytes);
+                amount = new BigDecimal(new BigInteger(bytes), scale);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown money encoding: " + kind);
+        }
+        return new Money(amount, getCurrency());
+    }
+
+    public String getCurrency() {
+        String currency = new String(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                EventBinaryWriter.CURRENCY_LENGTH, StandardCharsets.US_ASCII);
+        buffer.position(buffer.position() + EventBinaryWriter.CURRENCY_LENGTH);
+        return currency;
+    }
+
+    public LocalDateTime getTimestamp() {
+        long epochMicros = buffer.getLong();
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMicros, 1_000_000L),
+                (int) (Math.floorMod(epochMicros, 1_000_000L) * 1_000L), ZoneOffset.UTC);
+    }
+
+    int remaining() {
+        return buffer.remaining();
+    }
+}
@@ -0,0 +1,126 @@
+package com.wallet.infrastructure.events;
+
+import com.wallet.domain.valueobjects.Money;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Buffer de escrita big-endian dos eventos, com os mesmos tipos do
+ * WalletBinaryRedisSerializer: Money como unscaled:i64 scale:i8 e moeda em
+ * 3 bytes ASCII (a forma larga só existe em payloads anteriores ao Money em
+ * ponto fixo) e timestamps em micros desde a época em UTC.
+ */
+public final class EventBinaryWriter {
+
+    static final int NULL_STRING = 0xFFFF;
+
+    static final int MONEY_NULL = 0;
+    static final int MONEY_COMPACT = 1;
+    static final int MONEY_WIDE = 2;
+
+    static final int CURRENCY_LENGTH = 3;
+
+    private byte[] buffer;
+    private int position;
+
+    public EventBinaryWriter(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    public EventBinaryWriter putByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+        return this;
+    }
+
+    public EventBinaryWriter putShort(int value) {
+        ensureCapacity(2);
+        buffer[position++] = (byte) (value >>> 8);
+        buffer[position++] = (byte) value;
+        return this;
+    }
+
+    public EventBinaryWriter putInt(int value) {
+        ensureCapacity(4);
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+        return this;
+    }
+
+    public EventBinaryWriter putLong(long value) {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+        return this;
+    }
+
+    /**
+     * u16 com o tamanho em bytes seguido do UTF-8; null é gravado como 0xFFFF
+     */
+    public EventBinaryWriter putString(String value) {
+        if (value == null) {
+            return putShort(NULL_STRING);
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= NULL_STRING) {
+            throw new IllegalArgumentException("String too long for event encoding: " + bytes.length + " bytes");
+        }
+        putShort(bytes.length);
+        return putBytes(bytes);
+    }
+
+    public EventBinaryWriter putMoney(Money money) {
+        if (money == null) {
+            return putByte(MONEY_NULL);
+        }
+        // Money em ponto fixo sempre cabe na forma compacta: unidades menores
+        // e a escala da moeda. A forma larga continua válida na leitura
+        putByte(MONEY_COMPACT);
+        putLong(money.getMinorUnits());
+        putByte(money.getCurrencyUnit().getScale());
+        return putCurrency(money.getCurrency());
+    }
+
+    public EventBinaryWriter putCurrency(String currency) {
+        if (currency == null || currency.length() != CURRENCY_LENGTH) {
+            throw new IllegalArgumentException("Currency must be a 3-letter code: " + currency);
+        }
+        ensureCapacity(CURRENCY_LENGTH);
+        for (int i = 0; i < CURRENCY_LENGTH; i++) {
+            char c = currency.charAt(i);
+            if (c > 0x7F) {
+                throw new IllegalArgumentException("Currency must be ASCII: " + currency);
+            }
+            buffer[position++] = (byte) c;
+        }
+        return this;
+    }
+
+    public EventBinaryWriter putTimestamp(LocalDateTime timestamp) {
+        Instant instant = timestamp.toInstant(ZoneOffset.UTC);
+        return putLong(instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000L);
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private EventBinaryWriter putBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+        return this;
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (position + bytes > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + bytes));
+        }
+    }
+}
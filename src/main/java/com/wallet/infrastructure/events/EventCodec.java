@@ -0,0 +1,27 @@
+package com.wallet.infrastructure.events;
+
+import com.wallet.domain.events.DomainEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Codec binário de um tipo de evento de domínio.
+ * O typeId identifica o evento no fio e nunca é reaproveitado; a versão muda
+ * sempre que o corpo muda, e decode recebe a versão gravada para continuar
+ * lendo payloads antigos. O cabeçalho (tipo, versão, occurredAt) é escrito
+ * pelo BinaryEventCodecRegistry.
+ */
+public interface EventCodec<E extends DomainEvent> {
+
+    int getTypeId();
+
+    String getEventType();
+
+    Class<E> getEventClass();
+
+    int getVersion();
+
+    void encode(E event, EventBinaryWriter out);
+
+    E decode(int version, LocalDateTime occurredAt, EventBinaryReader in);
+}
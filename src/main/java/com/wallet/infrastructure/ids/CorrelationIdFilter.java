@@ -0,0 +1,68 @@
+package com.wallet.infrastructure.ids;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Define o correlation id da requisição antes de qualquer outro filtro.
+ * Um X-Correlation-Id recebido é reaproveitado quando cabe na coluna de
+ * auditoria (até 36 caracteres entre letras, dígitos, '-', '_' e '.');
+ * caso contrário um UUIDv7 é gerado. O id fica no MDC durante a requisição,
+ * onde o AuditService e o padrão de log o encontram, e volta no cabeçalho
+ * da resposta.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Correlation-Id";
+    public static final String MDC_KEY = "correlationId";
+
+    private static final int MAX_LENGTH = 36;
+
+    @Autowired
+    private TimeOrderedIdGenerator idGenerator;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String inbound = request.getHeader(HEADER);
+        String correlationId = isAcceptable(inbound) ? inbound : idGenerator.nextCorrelationId();
+        MDC.put(MDC_KEY, correlationId);
+        response.setHeader(HEADER, correlationId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+
+    static boolean isAcceptable(String value) {
+        if (value == null || value.isEmpty() || value.length() > MAX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean allowed = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.';
+            if (!allowed) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,103 @@
+package com.wallet.infrastructure.ids;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gerador de ids ordenados pelo tempo, sem lock e sem SecureRandom.
+ * Um único AtomicLong guarda o último tick (milissegundo << 12 | sequência):
+ * cada id avança o tick com um CAS para max(agora, último + 1), então os ids
+ * são estritamente crescentes no processo mesmo com várias threads no mesmo
+ * milissegundo. Mais de 4096 ids em um milissegundo adiantam o tick além do
+ * relógio, que o alcança em seguida; o mesmo vale para um relógio que volta.
+ * Dois formatos saem do mesmo tick:
+ * - nextUuid: UUID versão 7 (RFC 9562) com a sequência em rand_a e 62 bits
+ *   de ThreadLocalRandom, usado como correlation id;
+ * - nextLong: id de 64 bits estilo Snowflake (41 bits de milissegundos desde
+ *   2024-01-01, 10 bits de nó, 12 de sequência), usado como chave primária
+ *   de transactions e balance_history quando wallet.ids.primary-key=TIME_ORDERED.
+ * O nó (wallet.ids.node-id) precisa ser distinto por instância para que os
+ * ids de 64 bits não colidam entre instâncias; com TIME_ORDERED ele é
+ * obrigatório e a aplicação não sobe sem ele.
+ */
+@Component
+@Slf4j
+public class TimeOrderedIdGenerator {
+
+    public enum PrimaryKeyStrategy {
+        SEQUENCE,
+        TIME_ORDERED
+    }
+
+    static final int SEQUENCE_BITS = 12;
+    static final int NODE_BITS = 10;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    // 2024-01-01T00:00:00Z
+    static final long EPOCH_MILLIS = 1_704_067_200_000L;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // Sem valor padrão: com TIME_ORDERED o nó precisa ser configurado
+    @Value("${wallet.ids.node-id:#{null}}")
+    private Long nodeId;
+
+    @Value("${wallet.ids.primary-key:SEQUENCE}")
+    private PrimaryKeyStrategy primaryKeyStrategy;
+
+    private long node;
+
+    private final AtomicLong lastTick = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        if (nodeId == null) {
+            // Duas instâncias com o nó padrão gerariam as mesmas chaves primárias
+            if (primaryKeyStrategy == PrimaryKeyStrategy.TIME_ORDERED) {
+                throw new IllegalStateException("wallet.ids.node-id must be set explicitly when wallet.ids.primary-key=TIME_ORDERED");
+            }
+            nodeId = 0L;
+        }
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalStateException("wallet.ids.node-id must be between 0 and " + MAX_NODE_ID + ", got " + nodeId);
+        }
+        node = nodeId;
+        log.info("Id generator started (nodeId={}, primaryKey={})", nodeId, primaryKeyStrategy);
+    }
+
+    public UUID nextUuid() {
+        long tick = nextTick();
+        long millis = tick >>> SEQUENCE_BITS;
+        long mostSigBits = (millis << 16) | 0x7000L | (tick & SEQUENCE_MASK);
+        long leastSigBits = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    public String nextCorrelationId() {
+        return nextUuid().toString();
+    }
+
+    public long nextLong() {
+        long tick = nextTick();
+        long millis = (tick >>> SEQUENCE_BITS) - EPOCH_MILLIS;
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | (tick & SEQUENCE_MASK);
+    }
+
+    /**
+     * Id para uma nova linha de transactions ou balance_history; null quando a
+     * chave fica a cargo da sequência do banco
+     */
+    public Long nextPrimaryKey() {
+        return primaryKeyStrategy == PrimaryKeyStrategy.TIME_ORDERED ? nextLong() : null;
+    }
+
+    private long nextTick() {
+        long now = System.currentTimeMillis() << SEQUENCE_BITS;
+        return lastTick.accumulateAndGet(now, (last, current) -> Math.max(current, last + 1));
+    }
+}
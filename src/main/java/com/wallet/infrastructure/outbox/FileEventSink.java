@@ -0,0 +1,100 @@
+package com.wallet.infrastructure.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.wallet.application.ports.EventSink;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sink local que anexa os eventos a um arquivo NDJSON, um evento por linha.
+ * Payloads binários são gravados em base64 no campo payloadBinary.
+ * Cada lote é gravado e descarregado (flush) antes de ser removido do outbox.
+ * O arquivo só é aberto no primeiro lote publicado.
+ */
+@Component
+@Slf4j
+public class FileEventSink implements EventSink {
+
+    @Value("${wallet.outbox.sink.file:logs/wallet-events.ndjson}")
+    private Path file;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private BufferedWriter writer;
+
+    @Override
+    public Type getType() {
+        return Type.FILE;
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        lock.lock();
+        try {
+            if (writer == null) {
+                open();
+            }
+            for (OutboxEvent event : events) {
+                ObjectNode line = objectMapper.createObjectNode();
+                line.put("id", event.getId());
+                line.put("aggregateId", event.getAggregateId());
+                line.put("eventType", event.getEventType());
+                line.put("occurredAt", event.getOccurredAt().toString());
+                if (event.getPayload() != null) {
+                    line.putRawValue("payload", new RawValue(event.getPayload()));
+                } else {
+                    line.put("payloadBinary", event.getBinaryPayload());
+                }
+                writer.write(objectMapper.writeValueAsString(line));
+                writer.newLine();
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write outbox events to " + file, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void open() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        log.info("Publishing outbox events to {}", file.toAbsolutePath());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lock.lock();
+        try {
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+        } catch (IOException e) {
+            log.warn("Failed to close outbox event file {}: {}", file, e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.wallet.infrastructure.outbox;
+
+import com.wallet.application.ports.EventSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sink em memória para testes e desenvolvimento local. Guarda os últimos
+ * eventos publicados, na ordem de publicação, até wallet.outbox.sink.memory-max-size.
+ */
+@Component
+public class InMemoryEventSink implements EventSink {
+
+    @Value("${wallet.outbox.sink.memory-max-size:100000}")
+    private int maxSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<OutboxEvent> events = new ArrayDeque<>();
+
+    @Override
+    public Type getType() {
+        return Type.MEMORY;
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> batch) {
+        lock.lock();
+        try {
+            for (OutboxEvent event : batch) {
+                if (events.size() >= maxSize) {
+                    events.removeFirst();
+                }
+                events.addLast(event);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<OutboxEvent> getEvents() {
+        lock.lock();
+        try {
+            return new ArrayList<>(events);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            events.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
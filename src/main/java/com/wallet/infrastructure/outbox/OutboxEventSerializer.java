@@ -0,0 +1,84 @@
+package com.wallet.infrastructure.outbox;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.domain.events.DomainEvent;
+import com.wallet.domain.valueobjects.Money;
+import com.wallet.infrastructure.events.BinaryEventCodecRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Payload e partição dos eventos gravados no outbox, compartilhados pelo
+ * servlet stack e pela edição reativa para que ambos particionem as
+ * carteiras da mesma forma. O payload é JSON ou, com
+ * wallet.outbox.payload-format=BINARY, o formato do BinaryEventCodecRegistry;
+ * eventos sem codec binário continuam em JSON.
+ */
+@Component
+public class OutboxEventSerializer {
+
+    /**
+     * Formato do payload gravado no outbox, selecionado em
+     * wallet.outbox.payload-format
+     */
+    public enum PayloadFormat {
+        JSON,
+        BINARY
+    }
+
+    @Value("${wallet.outbox.payload-format:JSON}")
+    private PayloadFormat payloadFormat;
+
+    @Value("${wallet.outbox.partitions:16}")
+    private int partitions;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BinaryEventCodecRegistry codecRegistry;
+
+    private ObjectMapper eventMapper;
+
+    @PostConstruct
+    public void init() {
+        if (partitions < 1) {
+            throw new IllegalStateException("wallet.outbox.partitions must be positive");
+        }
+        // Money expõe isPositive/isNegative/isZero e a representação em ponto
+        // fixo, que não fazem parte do evento: o JSON mantém amount e currency
+        eventMapper = objectMapper.copy().addMixIn(Money.class, MoneyMixin.class);
+    }
+
+    public String toJson(DomainEvent event) {
+        try {
+            return eventMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + event.getEventType() + " event", e);
+        }
+    }
+
+    public boolean isBinary(DomainEvent event) {
+        return payloadFormat == PayloadFormat.BINARY && codecRegistry.supports(event.getEventType());
+    }
+
+    public byte[] toBinary(DomainEvent event) {
+        return codecRegistry.encode(event);
+    }
+
+    public int partitionOf(String aggregateId) {
+        return Math.floorMod(aggregateId.hashCode(), partitions);
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    @JsonIgnoreProperties({"positive", "negative", "zero", "minorUnits", "currencyUnit"})
+    private abstract static class MoneyMixin {
+    }
+}
@@ -0,0 +1,226 @@
+package com.wallet.infrastructure.outbox;
+
+import com.wallet.application.ports.EventSink;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drena o outbox de eventos para o EventSink configurado.
+ * Cada worker, em uma transação, reivindica a partição com eventos pendentes
+ * há mais tempo sem leitura (FOR UPDATE SKIP LOCKED na linha da partição),
+ * lê um lote em ordem de id, publica e remove o lote. Como uma partição só
+ * tem um leitor por vez e cada carteira pertence a uma única partição, os
+ * eventos de uma carteira são publicados em ordem; partições diferentes são
+ * drenadas em paralelo pelos workers desta e das demais instâncias.
+ * Se a publicação falhar o lote volta ao outbox e é reentregue.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private static final String SEED_PARTITIONS_SQL = """
+            INSERT INTO event_outbox_partitions (partition_id)
+            SELECT generate_series(0, CAST(? AS INT) - 1)
+            ON CONFLICT (partition_id) DO NOTHING
+            """;
+
+    private static final String CLAIM_PARTITION_SQL = """
+            UPDATE event_outbox_partitions
+               SET claimed_at = now()
+             WHERE partition_id = (
+                   SELECT p.partition_id
+                     FROM event_outbox_partitions p
+                    WHERE EXISTS (SELECT 1 FROM event_outbox o WHERE o.partition_id = p.partition_id)
+                    ORDER BY p.claimed_at
+                    LIMIT 1
+                      FOR UPDATE SKIP LOCKED)
+            RETURNING partition_id
+            """;
+
+    private static final String SELECT_BATCH_SQL = """
+            SELECT id, aggregate_id, event_type, payload::text AS payload, payload_binary, occurred_at, created_at
+              FROM event_outbox
+             WHERE partition_id = ?
+             ORDER BY id
+             LIMIT ?
+            """;
+
+    private static final String DELETE_BATCH_SQL = "DELETE FROM event_outbox WHERE id = ANY(?)";
+
+    @Value("${wallet.outbox.relay.enabled:true}")
+    private boolean enabled;
+
+    @Value("${wallet.outbox.relay.workers:2}")
+    private int workers;
+
+    @Value("${wallet.outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${wallet.outbox.relay.poll-interval:200ms}")
+    private Duration pollInterval;
+
+    @Value("${wallet.outbox.sink.type:FILE}")
+    private EventSink.Type sinkType;
+
+    @Autowired
+    private List<EventSink> sinks;
+
+    @Autowired
+    private OutboxEventSerializer serializer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running = true;
+    private EventSink sink;
+    private Counter published;
+    private Counter relayErrors;
+    private Timer lag;
+    private Timer batchLatency;
+    private DistributionSummary batchFill;
+
+    @PostConstruct
+    public void init() {
+        sink = sinks.stream()
+                .filter(candidate -> candidate.getType() == sinkType)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No event sink for type " + sinkType));
+        published = Counter.builder("wallet.outbox.published")
+                .description("Eventos publicados pelo relay do outbox")
+                .baseUnit("events")
+                .register(meterRegistry);
+        relayErrors = Counter.builder("wallet.outbox.relay.errors")
+                .description("Lotes do outbox que falharam e serão reentregues")
+                .register(meterRegistry);
+        lag = Timer.builder("wallet.outbox.lag")
+                .description("Tempo entre a gravação do evento no outbox e a sua publicação")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        batchLatency = Timer.builder("wallet.outbox.batch.latency")
+                .description("Tempo para reivindicar, publicar e remover um lote do outbox")
+                .register(meterRegistry);
+        batchFill = DistributionSummary.builder("wallet.outbox.batch.fill")
+                .description("Eventos publicados por lote do outbox")
+                .baseUnit("events")
+                .register(meterRegistry);
+
+        if (!enabled) {
+            return;
+        }
+        jdbcTemplate.update(SEED_PARTITIONS_SQL, serializer.getPartitions());
+        for (int i = 0; i < workers; i++) {
+            Thread thread = new Thread(this::runWorker, "outbox-relay-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+        log.info("Outbox relay started with {} workers (sink={}, batchSize={}, partitions={})",
+                workers, sinkType, batchSize, serializer.getPartitions());
+    }
+
+    /**
+     * Publica no máximo um lote de uma partição e retorna quantos eventos
+     * foram publicados; zero quando não há partição com eventos disponível.
+     */
+    public int drainOnce() {
+        long start = System.nanoTime();
+        List<EventSink.OutboxEvent> batch = transactionTemplate.execute(status -> {
+            List<Integer> claimed = jdbcTemplate.queryForList(CLAIM_PARTITION_SQL, Integer.class);
+            if (claimed.isEmpty()) {
+                return List.of();
+            }
+            List<EventSink.OutboxEvent> events = jdbcTemplate.query(SELECT_BATCH_SQL, OutboxRelay::mapEvent,
+                    claimed.get(0), batchSize);
+            if (events.isEmpty()) {
+                return events;
+            }
+            sink.publish(events);
+            Long[] ids = events.stream().map(EventSink.OutboxEvent::getId).toArray(Long[]::new);
+            jdbcTemplate.update(DELETE_BATCH_SQL, ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids)));
+            return events;
+        });
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (EventSink.OutboxEvent event : batch) {
+            lag.record(Duration.between(event.getCreatedAt(), now));
+        }
+        published.increment(batch.size());
+        batchFill.record(batch.size());
+        batchLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return batch.size();
+    }
+
+    private void runWorker() {
+        while (running) {
+            try {
+                if (drainOnce() == 0) {
+                    Thread.sleep(pollInterval.toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                relayErrors.increment();
+                log.error("Outbox relay batch failed: {}", e.getMessage());
+                try {
+                    Thread.sleep(pollInterval.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static EventSink.OutboxEvent mapEvent(ResultSet rs, int rowNum) throws SQLException {
+        return new EventSink.OutboxEvent(
+                rs.getLong("id"),
+                rs.getString("aggregate_id"),
+                rs.getString("event_type"),
+                rs.getString("payload"),
+                rs.getBytes("payload_binary"),
+                rs.getTimestamp("occurred_at").toLocalDateTime(),
+                rs.getTimestamp("created_at").toLocalDateTime());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        for (Thread thread : threads) {
+            try {
+                thread.join(pollInterval.toMillis() + 5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
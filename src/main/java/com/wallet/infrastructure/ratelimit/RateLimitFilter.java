@@ -0,0 +1,118 @@
+package com.wallet.infrastructure.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aplica o rate limit por (usuário ou IP, classe de rota). Roda depois do
+ * filtro JWT para identificar o usuário autenticado. Requisições acima do
+ * limite recebem 429 com Retry-After; se o Redis estiver indisponível a
+ * requisição segue (fail open) e a falha é contada em métrica.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<RateLimitRoute, Counter> rejected = new EnumMap<>(RateLimitRoute.class);
+    private Counter errors;
+
+    @PostConstruct
+    public void init() {
+        for (RateLimitRoute route : RateLimitRoute.values()) {
+            rejected.put(route, Counter.builder("wallet.ratelimit.rejected")
+                    .tag("route", route.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        errors = Counter.builder("wallet.ratelimit.errors").register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        Optional<RateLimitRoute> route = enabled ? RateLimitRoute.classify(request) : Optional.empty();
+        if (route.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ConsumptionProbe probe;
+        try {
+            probe = rateLimiter.tryConsume(route.get(), identity(route.get(), request));
+        } catch (RuntimeException e) {
+            errors.increment();
+            log.debug("Rate limit check failed, letting request through: {}", e.getMessage());
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (probe.isConsumed()) {
+            response.setHeader("X-Rate-Limit-Remaining", Long.toString(probe.getRemainingTokens()));
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rejected.get(route.get()).increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill() + 999_999_999L));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("error", "Too Many Requests");
+        body.put("message", "Limite de requisições excedido. Tente novamente em " + retryAfterSeconds + "s.");
+        body.put("path", request.getServletPath());
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private static String identity(RateLimitRoute route, HttpServletRequest request) {
+        if (route != RateLimitRoute.AUTH) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated()
+                    && !(authentication instanceof AnonymousAuthenticationToken)) {
+                return "user:" + authentication.getName();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,32 @@
+package com.wallet.infrastructure.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Optional;
+
+/**
+ * Classes de rota com limites próprios. Autenticação é limitada por IP;
+ * as demais por usuário autenticado (ou IP, sem autenticação)
+ */
+public enum RateLimitRoute {
+    AUTH,
+    TRANSACTIONS,
+    DEFAULT;
+
+    /**
+     * Retorna vazio para rotas sem limite (health checks e actuator)
+     */
+    public static Optional<RateLimitRoute> classify(HttpServletRequest request) {
+        String path = request.getServletPath();
+        if (path.startsWith("/actuator/") || path.endsWith("/health")) {
+            return Optional.empty();
+        }
+        if (path.startsWith("/api/auth/")) {
+            return Optional.of(AUTH);
+        }
+        if ("POST".equals(request.getMethod()) && path.startsWith("/api/wallets/")) {
+            return Optional.of(TRANSACTIONS);
+        }
+        return Optional.of(DEFAULT);
+    }
+}
@@ -0,0 +1,159 @@
+package com.wallet.infrastructure.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.Refill;
+import io.github.bucket4j.distributed.ExpirationAfterWriteStrategy;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.distributed.proxy.RemoteBucketBuilder;
+import io.github.bucket4j.distributed.proxy.optimization.DelayParameters;
+import io.github.bucket4j.distributed.proxy.optimization.Optimizations;
+import io.github.bucket4j.redis.lettuce.cas.LettuceBasedProxyManager;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.ByteArrayCodec;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buckets de rate limit por (classe de rota, identidade) guardados no Redis
+ * via bucket4j, para que o limite valha para todas as instâncias.
+ * Cada instância mantém o proxy do bucket em um cache local; com a
+ * otimização de atraso do bucket4j os tokens são consumidos localmente e o
+ * estado só é sincronizado com o Redis a cada N tokens (ou após o timeout).
+ * N é limitado a um décimo da capacidade da rota, então rotas com poucos
+ * tokens (login) sincronizam a cada requisição e o excesso admitido entre
+ * instâncias fica pequeno nas demais.
+ */
+@Component
+public class RateLimiter {
+
+    static final String KEY_PREFIX = "rate-limit:";
+
+    @Value("${rate-limit.auth.capacity:5}")
+    private long authCapacity;
+
+    @Value("${rate-limit.auth.period:1m}")
+    private Duration authPeriod;
+
+    @Value("${rate-limit.transactions.capacity:10}")
+    private long transactionsCapacity;
+
+    @Value("${rate-limit.transactions.period:1m}")
+    private Duration transactionsPeriod;
+
+    @Value("${rate-limit.default.capacity:100}")
+    private long defaultCapacity;
+
+    @Value("${rate-limit.default.period:1m}")
+    private Duration defaultPeriod;
+
+    @Value("${rate-limit.sync.max-unsynchronized-tokens:10}")
+    private long maxUnsynchronizedTokens;
+
+    @Value("${rate-limit.sync.max-unsynchronized-timeout:1s}")
+    private Duration maxUnsynchronizedTimeout;
+
+    @Value("${rate-limit.local-buckets.max-size:100000}")
+    private long localBucketsMaxSize;
+
+    @Autowired
+    private LettuceConnectionFactory connectionFactory;
+
+    private final Map<RateLimitRoute, BucketConfiguration> configurations = new EnumMap<>(RateLimitRoute.class);
+    private final Map<RateLimitRoute, Long> syncThresholds = new EnumMap<>(RateLimitRoute.class);
+    private Cache<String, Bucket> buckets;
+    // ReentrantLock em vez de synchronized: a conexão ao Redis é aberta com o lock e não deve prender virtual threads
+    private final ReentrantLock initLock = new ReentrantLock();
+    private volatile ProxyManager<byte[]> proxyManager;
+    private StatefulRedisConnection<byte[], byte[]> connection;
+
+    @PostConstruct
+    public void init() {
+        configure(RateLimitRoute.AUTH, authCapacity, authPeriod);
+        configure(RateLimitRoute.TRANSACTIONS, transactionsCapacity, transactionsPeriod);
+        configure(RateLimitRoute.DEFAULT, defaultCapacity, defaultPeriod);
+
+        Duration longestPeriod = authPeriod;
+        for (Duration period : new Duration[] {transactionsPeriod, defaultPeriod}) {
+            if (period.compareTo(longestPeriod) > 0) {
+                longestPeriod = period;
+            }
+        }
+        buckets = Caffeine.newBuilder()
+                .maximumSize(localBucketsMaxSize)
+                .expireAfterAccess(longestPeriod)
+                .build();
+    }
+
+    /**
+     * Consome um token do bucket da identidade na classe de rota. Lança a
+     * exceção do cliente Redis quando o estado remoto não pode ser lido
+     */
+    public ConsumptionProbe tryConsume(RateLimitRoute route, String identity) {
+        String key = KEY_PREFIX + route.name().toLowerCase() + ":" + identity;
+        return buckets.get(key, k -> newBucket(route, k)).tryConsumeAndReturnRemaining(1);
+    }
+
+    private Bucket newBucket(RateLimitRoute route, String key) {
+        RemoteBucketBuilder<byte[]> builder = proxyManager().builder();
+        long syncThreshold = syncThresholds.get(route);
+        if (syncThreshold > 1) {
+            builder = builder.withOptimization(
+                    Optimizations.delaying(new DelayParameters(syncThreshold, maxUnsynchronizedTimeout)));
+        }
+        return builder.build(key.getBytes(StandardCharsets.UTF_8), configurations.get(route));
+    }
+
+    private void configure(RateLimitRoute route, long capacity, Duration period) {
+        configurations.put(route, BucketConfiguration.builder()
+                .addLimit(Bandwidth.classic(capacity, Refill.greedy(capacity, period)))
+                .build());
+        syncThresholds.put(route, Math.min(maxUnsynchronizedTokens, capacity / 10));
+    }
+
+    private ProxyManager<byte[]> proxyManager() {
+        ProxyManager<byte[]> current = proxyManager;
+        if (current != null) {
+            return current;
+        }
+        initLock.lock();
+        try {
+            if (proxyManager == null) {
+                RedisClient client = (RedisClient) connectionFactory.getNativeClient();
+                if (client == null) {
+                    throw new IllegalStateException("Redis client not started");
+                }
+                connection = client.connect(ByteArrayCodec.INSTANCE);
+                proxyManager = LettuceBasedProxyManager.builderFor(connection)
+                        .withExpirationStrategy(ExpirationAfterWriteStrategy
+                                .basedOnTimeForRefillingBucketUpToMax(Duration.ofSeconds(10)))
+                        .build();
+            }
+            return proxyManager;
+        } finally {
+            initLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+}
@@ -1,64 +1,96 @@
 package com.wallet.infrastructure.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 
+/**
+ * UserDetailsService sobre a tabela users, com cache local limitado e com
+ * TTL. O cache guarda o usuário carregado e devolve sempre uma cópia, pois o
+ * ProviderManager apaga a senha do principal autenticado. Alterações feitas
+ * por outra instância são vistas após o TTL.
+ */
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
-    private final Map<String, UserDetails> users = new HashMap<>();
+    public static final String CACHE_NAME = "users";
+
+    private static final String SELECT_SQL =
+            "SELECT username, password, role, enabled FROM users WHERE username = ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO users (username, password, role) VALUES (?, ?, ?)";
+
+    @Value("${auth.users.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${auth.users.cache.ttl:5m}")
+    private Duration cacheTtl;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, UserDetails> users;
 
     @PostConstruct
     public void init() {
-        try {
-            BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
-            
-            createUser("admin", passwordEncoder.encode("admin123"), "ADMIN");
-            createUser("user1", passwordEncoder.encode("user123"), "USER");
-            createUser("user2", passwordEncoder.encode("user456"), "USER");
-            
-            System.out.println("CustomUserDetailsService inicializado com sucesso");
-        } catch (Exception e) {
-            System.err.println("Erro ao inicializar CustomUserDetailsService: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
-
-    private void createUser(String username, String encodedPassword, String role) {
-        UserDetails user = User.builder()
-                .username(username)
-                .password(encodedPassword)
-                .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)))
-                .accountExpired(false)
-                .accountLocked(false)
-                .credentialsExpired(false)
-                .disabled(false)
+        users = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
                 .build();
-        
-        users.put(username, user);
+        CaffeineCacheMetrics.monitor(meterRegistry, users, CACHE_NAME);
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        UserDetails user = users.get(username);
+        UserDetails user = users.get(username, this::findUser);
         if (user == null) {
             throw new UsernameNotFoundException("Usuário não encontrado: " + username);
         }
-        return user;
+        return User.withUserDetails(user).build();
     }
 
     public void createNewUser(String username, String password, String role) {
-        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
-        createUser(username, passwordEncoder.encode(password), role);
+        jdbcTemplate.update(INSERT_SQL, username, passwordEncoder.encode(password), role);
+        users.invalidate(username);
+    }
+
+    private UserDetails findUser(String username) {
+        return jdbcTemplate.query(SELECT_SQL, rs -> {
+            if (!rs.next()) {
+                return null;
+            }
+            return User.builder()
+                    .username(rs.getString("username"))
+                    .password(rs.getString("password"))
+                    .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + rs.getString("role"))))
+                    .accountExpired(false)
+                    .accountLocked(false)
+                    .credentialsExpired(false)
+                    .disabled(!rs.getBoolean("enabled"))
+                    .build();
+        }, username);
     }
-} 
\ No newline at end of file
+}
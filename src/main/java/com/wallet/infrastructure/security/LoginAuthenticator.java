@@ -0,0 +1,108 @@
+package com.wallet.infrastructure.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Executa a autenticação por senha (e, portanto, o BCrypt) em um pool
+ * próprio de tamanho fixo e fila limitada, liberando a thread do Tomcat
+ * enquanto o hash é verificado. Em uma rajada de logins a fila enche e as
+ * novas tentativas são recusadas imediatamente, sem consumir as threads que
+ * atendem os endpoints de carteira.
+ * O pool não é registrado como bean para não substituir o executor padrão
+ * do Spring usado pelas respostas assíncronas do MVC. As tarefas vão direto
+ * ao ThreadPoolExecutor, sem o wrapper de ExecutorServiceMetrics.monitor,
+ * para que uma tentativa expirada possa ser retirada da fila; as métricas do
+ * pool (ativas, enfileiradas, concluídas) continuam registradas pelo binder.
+ */
+@Component
+@Slf4j
+public class LoginAuthenticator {
+
+    public static final String EXECUTOR_NAME = "password-hashing";
+
+    @Value("${auth.password-hashing.threads:4}")
+    private int threads;
+
+    @Value("${auth.password-hashing.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${auth.password-hashing.timeout:5s}")
+    private Duration timeout;
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory(EXECUTOR_NAME + "-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, EXECUTOR_NAME, Tags.empty()).bindTo(meterRegistry);
+        log.info("Password hashing pool started (threads={}, queueCapacity={})", threads, queueCapacity);
+    }
+
+    /**
+     * Autentica no pool de hashing. O futuro falha com
+     * RejectedExecutionException quando a fila está cheia e com
+     * TimeoutException quando a verificação não termina no prazo.
+     * No timeout a tarefa é cancelada: se ainda estava na fila, sai dela sem
+     * calcular o hash e libera a vaga; se já rodava, a thread é interrompida,
+     * o que aborta a busca do usuário, mas não as rodadas do BCrypt já
+     * iniciadas.
+     */
+    public CompletableFuture<Authentication> authenticate(Authentication request) {
+        CompletableFuture<Authentication> result = new CompletableFuture<>();
+        FutureTask<Void> task = new FutureTask<>(() -> {
+            try {
+                result.complete(authenticationManager.authenticate(request));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }, null);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return result
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((authentication, error) -> {
+                    if (error instanceof TimeoutException) {
+                        task.cancel(true);
+                        executor.remove(task);
+                    }
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
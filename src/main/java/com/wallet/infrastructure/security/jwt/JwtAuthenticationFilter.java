@@ -1,10 +1,12 @@
 package com.wallet.infrastructure.security.jwt;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,16 +16,29 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
+/**
+ * Autentica as requisições pelo token Bearer. Com jwt.stateless-principal
+ * ligado o principal é montado a partir das authorities gravadas no token,
+ * sem consultar o UserDetailsService; tokens sem o claim "roles" continuam
+ * carregando o usuário. Tokens revogados são ignorados.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    @Value("${jwt.stateless-principal:true}")
+    private boolean statelessPrincipal;
+
     @Autowired
     private JwtService jwtService;
 
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private TokenDenyList tokenDenyList;
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
@@ -33,6 +48,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
+        final Claims claims;
         final String username;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -43,13 +59,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             jwt = authHeader.substring(7);
             
-            username = jwtService.extractUsername(jwt);
+            claims = jwtService.extractAllClaims(jwt);
+            username = claims.getSubject();
 
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null
+                    && !tokenDenyList.isRevoked(claims)) {
                 
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+                UserDetails userDetails = loadUserDetails(claims, username);
                 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (jwtService.isTokenValid(claims, userDetails)) {
                     
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
@@ -68,4 +86,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails loadUserDetails(Claims claims, String username) {
+        if (statelessPrincipal) {
+            Optional<UserDetails> fromToken = jwtService.toUserDetails(claims);
+            if (fromToken.isPresent()) {
+                return fromToken.get();
+            }
+        }
+        return this.userDetailsService.loadUserByUsername(username);
+    }
 } 
\ No newline at end of file
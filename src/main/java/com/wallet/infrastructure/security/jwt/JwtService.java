@@ -1,20 +1,54 @@
 package com.wallet.infrastructure.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+/**
+ * Emissão e validação de tokens JWT.
+ * A chave e o parser são construídos uma única vez. Tokens verificados ficam
+ * em um cache limitado, indexado pelo SHA-256 do token e expirando no "exp"
+ * do próprio token, de modo que requisições seguintes com o mesmo token não
+ * repetem o parse nem a verificação HMAC. Um token alterado tem outro hash e
+ * passa sempre pela verificação completa.
+ * Os tokens levam um "jti" para revogação e as authorities do usuário no
+ * claim "roles", permitindo montar o principal sem consultar o
+ * UserDetailsService. Os tokens de um mesmo login compartilham o claim
+ * "sid", o que permite revogar a sessão inteira no logout.
+ */
 @Service
 public class JwtService {
 
+    public static final String CLAIMS_CACHE_NAME = "jwt-claims";
+    public static final String ROLES_CLAIM = "roles";
+    public static final String SESSION_CLAIM = "sid";
+
     @Value("${jwt.secret:defaultSecretKeyForDevelopmentOnly}")
     private String secret;
 
@@ -24,6 +58,30 @@ public class JwtService {
     @Value("${jwt.refresh-expiration:604800000}")
     private long refreshExpiration;
 
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private long claimsCacheMaxSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private Cache<String, Claims> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(new UntilTokenExpiration())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, CLAIMS_CACHE_NAME);
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -37,17 +95,23 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
+    /**
+     * Retorna as claims de um token com assinatura válida e não expirado,
+     * verificando a assinatura apenas na primeira vez que o token é visto.
+     * Lança JwtException quando o token é inválido.
+     */
+    public Claims extractAllClaims(String token) {
+        String key = hash(token);
+        Claims cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(key, claims);
+        }
+        return claims;
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -62,19 +126,77 @@ public class JwtService {
         return buildToken(new HashMap<>(), userDetails, refreshExpiration);
     }
 
+    public String newSessionId() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Access token da sessão informada; sem sessão quando sessionId é nulo
+     * (refresh tokens emitidos antes do claim "sid")
+     */
+    public String generateToken(UserDetails userDetails, String sessionId) {
+        return buildToken(sessionClaims(sessionId), userDetails, jwtExpiration);
+    }
+
+    public String generateRefreshToken(UserDetails userDetails, String sessionId) {
+        return buildToken(sessionClaims(sessionId), userDetails, refreshExpiration);
+    }
+
+    /**
+     * Limite superior do fim da sessão de um token: nenhum token da sessão
+     * vive além da emissão mais a validade do refresh token
+     */
+    public Date sessionExpiration(Claims claims) {
+        return new Date(claims.getIssuedAt().getTime() + refreshExpiration);
+    }
+
+    private static Map<String, Object> sessionClaims(String sessionId) {
+        Map<String, Object> claims = new HashMap<>();
+        if (sessionId != null) {
+            claims.put(SESSION_CLAIM, sessionId);
+        }
+        return claims;
+    }
+
     private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails, long expiration) {
+        Map<String, Object> claims = new HashMap<>(extraClaims);
+        claims.putIfAbsent(ROLES_CLAIM, userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
         return Jwts.builder()
-                .setClaims(extraClaims)
+                .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(extractAllClaims(token), userDetails);
+    }
+
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername())
+                && (claims.getExpiration() == null || !claims.getExpiration().before(new Date()));
+    }
+
+    /**
+     * Monta o principal a partir das claims de um token já verificado.
+     * Retorna vazio para tokens emitidos sem o claim "roles"
+     */
+    public Optional<UserDetails> toUserDetails(Claims claims) {
+        if (!(claims.get(ROLES_CLAIM) instanceof List<?> roles)) {
+            return Optional.empty();
+        }
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString()))
+                .toList();
+        return Optional.of(User.withUsername(claims.getSubject())
+                .password("")
+                .authorities(authorities)
+                .build());
     }
 
     public boolean isTokenExpired(String token) {
@@ -84,4 +206,31 @@ public class JwtService {
             return true;
         }
     }
-} 
\ No newline at end of file
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class UntilTokenExpiration implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
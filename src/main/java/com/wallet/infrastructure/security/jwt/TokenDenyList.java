@@ -0,0 +1,158 @@
+package com.wallet.infrastructure.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lista de tokens revogados (pelo "jti") consultada em memória a cada
+ * requisição. A revogação é gravada no Redis com TTL até o "exp" do token e
+ * publicada no canal de revogação para que as demais instâncias a registrem
+ * localmente; na inicialização a instância carrega as revogações ainda
+ * vigentes. Cada entrada expira junto com o token, então a lista fica
+ * limitada aos tokens revogados e ainda não expirados.
+ * Sessões (claim "sid") são revogadas pelo mesmo mecanismo, o que derruba
+ * de uma vez o refresh token e os access tokens emitidos a partir dele.
+ */
+@Component
+@Slf4j
+public class TokenDenyList {
+
+    static final String KEY_PREFIX = "jwt:revoked:";
+
+    @Value("${jwt.revocation.channel:jwt-revocation}")
+    private String revocationChannel;
+
+    @Value("${jwt.revocation.max-size:100000}")
+    private long maxSize;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+
+    private Cache<String, Long> revoked;
+
+    @PostConstruct
+    public void init() {
+        revoked = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilExpiration())
+                .build();
+        listenerContainer.addMessageListener(
+                (message, pattern) -> onRevocation(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(revocationChannel));
+        loadActiveRevocations();
+    }
+
+    public boolean isRevoked(Claims claims) {
+        if (claims.getId() != null && revoked.getIfPresent(claims.getId()) != null) {
+            return true;
+        }
+        String sessionId = claims.get(JwtService.SESSION_CLAIM, String.class);
+        return sessionId != null && revoked.getIfPresent(sessionId) != null;
+    }
+
+    /**
+     * Revoga o token até o seu "exp". Tokens sem "jti" ou "exp" não podem
+     * ser revogados individualmente
+     */
+    public boolean revoke(Claims claims) {
+        if (claims.getId() == null || claims.getExpiration() == null) {
+            return false;
+        }
+        revokeId(claims.getId(), claims.getExpiration().getTime());
+        return true;
+    }
+
+    /**
+     * Revoga todos os tokens da sessão até expiresAt
+     */
+    public void revokeSession(String sessionId, Date expiresAt) {
+        revokeId(sessionId, expiresAt.getTime());
+    }
+
+    private void revokeId(String id, long expiresAt) {
+        revokeLocally(id, expiresAt);
+
+        long ttlMillis = expiresAt - System.currentTimeMillis();
+        if (ttlMillis > 0) {
+            try {
+                redisTemplate.opsForValue().set(KEY_PREFIX + id, Long.toString(expiresAt), Duration.ofMillis(ttlMillis));
+                redisTemplate.convertAndSend(revocationChannel, id + ":" + expiresAt);
+            } catch (RuntimeException e) {
+                log.warn("Token revocation could not be shared with other instances: {}", e.getMessage());
+            }
+        }
+    }
+
+    void onRevocation(String payload) {
+        int separator = payload.lastIndexOf(':');
+        if (separator <= 0) {
+            return;
+        }
+        try {
+            revokeLocally(payload.substring(0, separator), Long.parseLong(payload.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed token revocation message: {}", payload);
+        }
+    }
+
+    private void revokeLocally(String tokenId, long expiresAt) {
+        if (expiresAt > System.currentTimeMillis()) {
+            revoked.put(tokenId, expiresAt);
+        }
+    }
+
+    private void loadActiveRevocations() {
+        ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1_000).build();
+        int loaded = 0;
+        try (Cursor<String> keys = redisTemplate.scan(options)) {
+            while (keys.hasNext()) {
+                String key = keys.next();
+                String expiresAt = redisTemplate.opsForValue().get(key);
+                if (expiresAt != null) {
+                    revokeLocally(key.substring(KEY_PREFIX.length()), Long.parseLong(expiresAt));
+                    loaded++;
+                }
+            }
+            log.info("Loaded {} active token revocations", loaded);
+        } catch (RuntimeException e) {
+            log.warn("Could not load token revocations from Redis: {}", e.getMessage());
+        }
+    }
+
+    private static final class UntilExpiration implements Expiry<String, Long> {
+        @Override
+        public long expireAfterCreate(String key, Long expiresAt, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(expiresAt - System.currentTimeMillis(), 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Long expiresAt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, expiresAt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Long expiresAt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
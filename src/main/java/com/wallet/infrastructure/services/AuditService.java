@@ -1,42 +1,251 @@
 package com.wallet.infrastructure.services;
 
+import com.wallet.application.ports.AuditSink;
+import com.wallet.application.ports.AuditSink.AuditRecord;
 import com.wallet.domain.valueobjects.Money;
+import com.wallet.infrastructure.audit.AuditRingBuffer;
+import com.wallet.infrastructure.ids.CorrelationIdFilter;
+import com.wallet.infrastructure.ids.TimeOrderedIdGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
 
+/**
+ * Auditoria das operações de carteira.
+ * Os métodos log* apenas montam um AuditRecord e o enfileiram em um
+ * AuditRingBuffer; uma thread de fundo drena a fila em lotes para o AuditSink
+ * configurado. Com a fila cheia o chamador espera até
+ * wallet.audit.offer-timeout por espaço e, esgotado o prazo, o registro é
+ * descartado e contado em wallet.audit.dropped, para que a auditoria nunca
+ * segure uma requisição por mais que esse prazo.
+ * No encerramento a thread drena tudo o que ainda está na fila; registros
+ * enfileirados depois disso são gravados na própria thread do chamador.
+ */
 @Service
 @Slf4j
 public class AuditService {
 
+    @Value("${wallet.audit.sink.type:JDBC}")
+    private AuditSink.Type sinkType;
+
+    @Value("${wallet.audit.buffer-size:65536}")
+    private int bufferSize;
+
+    @Value("${wallet.audit.batch-size:500}")
+    private int batchSize;
+
+    @Value("${wallet.audit.flush-interval:100ms}")
+    private Duration flushInterval;
+
+    @Value("${wallet.audit.offer-timeout:5ms}")
+    private Duration offerTimeout;
+
+    @Value("${wallet.audit.shutdown-timeout:10s}")
+    private Duration shutdownTimeout;
+
+    @Autowired
+    private List<AuditSink> sinks;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TimeOrderedIdGenerator idGenerator;
+
+    private AuditSink sink;
+    private AuditRingBuffer<AuditRecord> buffer;
+    private Thread writer;
+    private volatile boolean running;
+    private Counter written;
+    private Counter droppedFull;
+    private Counter droppedFailed;
+    private DistributionSummary batchFill;
+
+    @PostConstruct
+    public void init() {
+        sink = sinks.stream()
+                .filter(candidate -> candidate.getType() == sinkType)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No audit sink for type " + sinkType));
+        buffer = new AuditRingBuffer<>(bufferSize);
+
+        Gauge.builder("wallet.audit.buffer.occupancy", buffer, AuditRingBuffer::size)
+                .description("Registros de auditoria aguardando o escritor")
+                .register(meterRegistry);
+        Gauge.builder("wallet.audit.buffer.capacity", buffer, AuditRingBuffer::capacity)
+                .description("Capacidade da fila de auditoria")
+                .register(meterRegistry);
+        written = Counter.builder("wallet.audit.written")
+                .description("Registros de auditoria gravados no sink")
+                .baseUnit("records")
+                .register(meterRegistry);
+        droppedFull = Counter.builder("wallet.audit.dropped")
+                .description("Registros de auditoria descartados")
+                .tag("reason", "buffer_full")
+                .register(meterRegistry);
+        droppedFailed = Counter.builder("wallet.audit.dropped")
+                .description("Registros de auditoria descartados")
+                .tag("reason", "sink_error")
+                .register(meterRegistry);
+        batchFill = DistributionSummary.builder("wallet.audit.batch.fill")
+                .description("Registros gravados por lote de auditoria")
+                .baseUnit("records")
+                .register(meterRegistry);
+
+        running = true;
+        writer = new Thread(this::runWriter, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Audit writer started (sink={}, bufferSize={}, batchSize={})", sinkType, buffer.capacity(), batchSize);
+    }
+
     public void logOperation(String operation, String userId, String details, String correlationId) {
-        log.info("AUDIT_OPERATION - operation: {}, userId: {}, details: {}, correlationId: {}, timestamp: {}", 
-                operation, userId, details, correlationId, LocalDateTime.now());
+        submit(new AuditRecord(AuditRecord.Kind.OPERATION, operation, userId, details,
+                null, null, null, correlationId, LocalDateTime.now()));
     }
 
     public void logTransaction(String transactionType, String userId, Money amount, String description, String correlationId) {
-        log.info("AUDIT_TRANSACTION - type: {}, userId: {}, amount: {} {}, description: {}, correlationId: {}, timestamp: {}", 
-                transactionType, userId, amount.getAmount(), amount.getCurrency(), description, correlationId, LocalDateTime.now());
+        logTransaction(transactionType, userId, amount, description, correlationId, null, LocalDateTime.now());
+    }
+
+    public void logTransaction(String transactionType, String userId, Money amount, String description,
+                               String correlationId, String transactionId) {
+        logTransaction(transactionType, userId, amount, description, correlationId, transactionId, LocalDateTime.now());
+    }
+
+    /**
+     * Variante com o id de transação devolvido ao cliente e o instante da
+     * operação, para quem já leu o relógio
+     */
+    public void logTransaction(String transactionType, String userId, Money amount, String description,
+                               String correlationId, String transactionId, LocalDateTime occurredAt) {
+        submit(new AuditRecord(AuditRecord.Kind.TRANSACTION, transactionType, userId, description,
+                amount, null, null, correlationId, transactionId, occurredAt));
     }
 
     public void logBalanceChange(String userId, Money oldBalance, Money newBalance, String reason, String correlationId) {
-        log.info("AUDIT_BALANCE_CHANGE - userId: {}, oldBalance: {} {}, newBalance: {} {}, reason: {}, correlationId: {}, timestamp: {}", 
-                userId, oldBalance.getAmount(), oldBalance.getCurrency(), newBalance.getAmount(), newBalance.getCurrency(), reason, correlationId, LocalDateTime.now());
+        logBalanceChange(userId, oldBalance, newBalance, reason, correlationId, null);
+    }
+
+    public void logBalanceChange(String userId, Money oldBalance, Money newBalance, String reason,
+                                 String correlationId, String transactionId) {
+        logBalanceChange(userId, "BALANCE_CHANGE", oldBalance, newBalance, reason, correlationId, transactionId,
+                LocalDateTime.now());
+    }
+
+    /**
+     * Registra a alteração de saldo com a operação que a causou em action,
+     * em vez de concatená-la ao motivo e o id de transação devolvido ao cliente
+     */
+    public void logBalanceChange(String userId, String action, Money oldBalance, Money newBalance, String reason,
+                                 String correlationId, String transactionId, LocalDateTime occurredAt) {
+        submit(new AuditRecord(AuditRecord.Kind.BALANCE_CHANGE, action, userId, reason,
+                null, oldBalance, newBalance, correlationId, transactionId, occurredAt));
     }
 
     public void logSecurityEvent(String event, String userId, String details, String correlationId) {
-        log.warn("AUDIT_SECURITY - event: {}, userId: {}, details: {}, correlationId: {}, timestamp: {}", 
-                event, userId, details, correlationId, LocalDateTime.now());
+        submit(new AuditRecord(AuditRecord.Kind.SECURITY, event, userId, details,
+                null, null, null, correlationId, LocalDateTime.now()));
     }
 
     public void logError(String operation, String userId, String error, String correlationId) {
-        log.error("AUDIT_ERROR - operation: {}, userId: {}, error: {}, correlationId: {}, timestamp: {}", 
-                operation, userId, error, correlationId, LocalDateTime.now());
+        submit(new AuditRecord(AuditRecord.Kind.ERROR, operation, userId, error,
+                null, null, null, correlationId, LocalDateTime.now()));
     }
 
+    /**
+     * Correlation id da requisição corrente, definido pelo CorrelationIdFilter
+     * (recebido em X-Correlation-Id ou gerado); fora de uma requisição, um
+     * UUIDv7 novo do TimeOrderedIdGenerator
+     */
     public String generateCorrelationId() {
-        return UUID.randomUUID().toString();
+        String current = MDC.get(CorrelationIdFilter.MDC_KEY);
+        return current != null ? current : idGenerator.nextCorrelationId();
+    }
+
+    private void submit(AuditRecord record) {
+        if (!running) {
+            write(List.of(record));
+            return;
+        }
+        if (buffer.offer(record)) {
+            // Um lote completo não espera o flush-interval
+            if (buffer.size() >= batchSize) {
+                LockSupport.unpark(writer);
+            }
+            return;
+        }
+
+        // Fila cheia: acorda o escritor e espera por espaço até o prazo
+        long deadline = System.nanoTime() + offerTimeout.toNanos();
+        while (System.nanoTime() - deadline < 0) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(50_000);
+            if (buffer.offer(record)) {
+                return;
+            }
+        }
+        droppedFull.increment();
+    }
+
+    private void runWriter() {
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        while (true) {
+            batch.clear();
+            if (buffer.drainTo(batch, batchSize) > 0) {
+                write(batch);
+            } else if (running) {
+                LockSupport.parkNanos(flushInterval.toNanos());
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void write(List<AuditRecord> records) {
+        try {
+            sink.write(records);
+            written.increment(records.size());
+            batchFill.record(records.size());
+        } catch (RuntimeException e) {
+            droppedFailed.increment(records.size());
+            log.error("Failed to write {} audit records: {}", records.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.warn("Audit writer did not drain {} records within {}", buffer.size(), shutdownTimeout);
+            return;
+        }
+        // Registros enfileirados entre a última leitura do escritor e o fim
+        // dele; com o escritor encerrado esta thread é a única consumidora
+        List<AuditRecord> remaining = new ArrayList<>(batchSize);
+        while (buffer.drainTo(remaining, batchSize) > 0) {
+            write(remaining);
+            remaining.clear();
+        }
     }
-} 
\ No newline at end of file
+}
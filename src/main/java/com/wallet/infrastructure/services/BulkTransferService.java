@@ -0,0 +1,252 @@
+package com.wallet.infrastructure.services;
+
+import com.wallet.adapters.infrastructure.repositories.WalletRepositoryImpl;
+import com.wallet.application.ports.BulkTransferRepository;
+import com.wallet.application.ports.EventOutbox;
+import com.wallet.application.ports.LedgerWriter;
+import com.wallet.domain.aggregates.WalletAggregate;
+import com.wallet.domain.entities.BalanceHistory;
+import com.wallet.domain.entities.Transaction;
+import com.wallet.domain.entities.Wallet;
+import com.wallet.domain.events.MoneyTransferredEvent;
+import com.wallet.domain.valueobjects.Money;
+import com.wallet.infrastructure.cache.WalletCache;
+import com.wallet.infrastructure.dto.WalletDTOs;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Executa transferências em lote (pagamentos em massa) a partir de uma única
+ * carteira de origem.
+ * Cada item é validado pelas regras do WalletAggregate em memória; os itens
+ * aceitos são aplicados com um débito da origem, um UPDATE para todos os
+ * créditos e um INSERT para todo o histórico. Itens rejeitados não impedem
+ * os demais e são reportados individualmente.
+ * A origem e todos os destinos são travados juntos, em ordem de id, antes
+ * de qualquer escrita.
+ */
+@Service
+@Slf4j
+public class BulkTransferService {
+
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_REJECTED = "REJECTED";
+
+    @Value("${wallet.bulk-transfer.max-items:50000}")
+    private int maxItems;
+
+    @Autowired
+    private WalletRepositoryImpl walletRepository;
+
+    @Autowired
+    private BulkTransferRepository bulkTransferRepository;
+
+    @Autowired
+    private LedgerWriter ledgerWriter;
+
+    @Autowired
+    private EventOutbox eventOutbox;
+
+    @Autowired
+    private WalletCache walletCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    /**
+     * Retorna vazio quando a carteira de origem não existe. O transactionId
+     * devolvido na resposta vai para todas as linhas do lote no livro-razão.
+     */
+    public Optional<WalletDTOs.BulkTransferResponse> execute(String sourceUserId,
+                                                             List<WalletDTOs.BulkTransferItem> items,
+                                                             String transactionId) {
+        if (items.isEmpty()) {
+            throw new IllegalArgumentException("O lote de transferências está vazio");
+        }
+        if (items.size() > maxItems) {
+            throw new IllegalArgumentException("O lote excede o limite de " + maxItems + " transferências");
+        }
+
+        WalletDTOs.BulkTransferItemResult[] results = new WalletDTOs.BulkTransferItemResult[items.size()];
+        Set<String> targetUserIds = new LinkedHashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            WalletDTOs.BulkTransferItem item = items.get(i);
+            String error = validate(sourceUserId, item);
+            if (error != null) {
+                results[i] = rejected(i, item, error);
+            } else {
+                targetUserIds.add(item.getTargetUserId());
+            }
+        }
+
+        Set<String> userIds = new LinkedHashSet<>(targetUserIds.size() + 1);
+        userIds.add(sourceUserId);
+        userIds.addAll(targetUserIds);
+        return Optional.ofNullable(transactionTemplate.execute(status -> {
+            Wallet source = null;
+            Map<String, WalletAggregate> targets = new HashMap<>(targetUserIds.size() * 2);
+            for (Wallet wallet : bulkTransferRepository.lockAllByUserIds(userIds)) {
+                if (wallet.getUserId().equals(sourceUserId)) {
+                    source = wallet;
+                } else {
+                    targets.put(wallet.getUserId(), new WalletAggregate(wallet));
+                }
+            }
+            return source != null ? apply(source, items, results, targets, transactionId) : null;
+        }));
+    }
+
+    private WalletDTOs.BulkTransferResponse apply(Wallet source, List<WalletDTOs.BulkTransferItem> items,
+                                                  WalletDTOs.BulkTransferItemResult[] results,
+                                                  Map<String, WalletAggregate> targets, String transactionId) {
+
+        WalletAggregate sourceAggregate = new WalletAggregate(source);
+        Money sourceOldBalance = source.getBalance();
+        List<Integer> accepted = new ArrayList<>(items.size());
+        Map<Long, BigDecimal> credits = new LinkedHashMap<>();
+        BigDecimal totalDebited = BigDecimal.ZERO;
+
+        for (int i = 0; i < items.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            WalletDTOs.BulkTransferItem item = items.get(i);
+            WalletAggregate target = targets.get(item.getTargetUserId());
+            if (target == null) {
+                results[i] = rejected(i, item, "Carteira de destino não encontrada");
+                continue;
+            }
+            try {
+                Money money = new Money(item.getAmount(), item.getCurrency());
+                sourceAggregate.transferTo(target, money, sourceDescription(item));
+                accepted.add(i);
+                credits.merge(target.getWallet().getId(), item.getAmount(), BigDecimal::add);
+                totalDebited = totalDebited.add(item.getAmount());
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                results[i] = rejected(i, item, e.getMessage());
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            walletRepository.save(source);
+
+            Map<Long, BigDecimal> finalBalances = bulkTransferRepository.creditAll(credits, source.getBalanceCurrency());
+            if (finalBalances.size() != credits.size()) {
+                throw new IllegalStateException("Carteira de destino alterada durante a transferência em lote");
+            }
+
+            // Saldo de cada destino antes do lote, derivado do saldo final retornado pelo UPDATE
+            Map<Long, BigDecimal> runningTargets = new HashMap<>(finalBalances.size() * 2);
+            for (Map.Entry<Long, BigDecimal> credit : credits.entrySet()) {
+                runningTargets.put(credit.getKey(), finalBalances.get(credit.getKey()).subtract(credit.getValue()));
+            }
+
+            LocalDateTime recordedAt = LocalDateTime.now();
+            String currency = source.getBalanceCurrency();
+            BigDecimal runningSource = sourceOldBalance.getAmount();
+            List<BalanceHistory> history = new ArrayList<>(accepted.size() * 2);
+            for (int i : accepted) {
+                WalletDTOs.BulkTransferItem item = items.get(i);
+                Long targetWalletId = targets.get(item.getTargetUserId()).getWallet().getId();
+                runningSource = runningSource.subtract(item.getAmount());
+                BigDecimal targetBalance = runningTargets.merge(targetWalletId, item.getAmount(), BigDecimal::add);
+
+                // Os saldos dos destinos em memória podem estar defasados; o evento usa o saldo derivado do UPDATE
+                Money amount = new Money(item.getAmount(), currency);
+                eventOutbox.append(item.getTargetUserId(), new MoneyTransferredEvent(
+                    source.getUserId(), item.getTargetUserId(), amount,
+                    new Money(targetBalance.subtract(item.getAmount()), currency), new Money(targetBalance, currency), recordedAt));
+
+                history.add(historyEntry(source.getId(), runningSource, currency, sourceDescription(item), recordedAt));
+                history.add(historyEntry(targetWalletId, targetBalance, currency,
+                        String.format("Transferência recebida de %s %s de %s", item.getAmount(), item.getCurrency(), source.getUserId()),
+                        recordedAt));
+                results[i] = new WalletDTOs.BulkTransferItemResult(
+                    i, item.getTargetUserId(), item.getAmount(), STATUS_COMPLETED, null, targetBalance);
+            }
+            bulkTransferRepository.insertHistory(history);
+            Set<String> mutatedUserIds = new LinkedHashSet<>(accepted.size() + 1);
+            mutatedUserIds.add(source.getUserId());
+            for (int i : accepted) {
+                mutatedUserIds.add(items.get(i).getTargetUserId());
+            }
+            walletCache.evictAfterCommit(mutatedUserIds);
+            for (Transaction transaction : sourceAggregate.getTransactions()) {
+                transaction.setReferenceId(transactionId);
+                ledgerWriter.append(transaction);
+            }
+            eventOutbox.appendAll(sourceAggregate);
+        }
+
+        log.info("Bulk transfer from {} applied: {} of {} items, total {}",
+                source.getUserId(), accepted.size(), items.size(), totalDebited);
+        return new WalletDTOs.BulkTransferResponse(
+            accepted.size() == items.size() ? "Transferências realizadas com sucesso" : "Transferências processadas com rejeições",
+            source.getUserId(),
+            items.size(),
+            accepted.size(),
+            items.size() - accepted.size(),
+            totalDebited,
+            source.getBalanceAmount(),
+            transactionId,
+            List.of(results)
+        );
+    }
+
+    private String validate(String sourceUserId, WalletDTOs.BulkTransferItem item) {
+        if (item == null) {
+            return "Item vazio";
+        }
+        Set<ConstraintViolation<WalletDTOs.BulkTransferItem>> violations = validator.validate(item);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+        if (sourceUserId.equals(item.getTargetUserId())) {
+            return "Não é possível transferir para a mesma carteira";
+        }
+        return null;
+    }
+
+    private static String sourceDescription(WalletDTOs.BulkTransferItem item) {
+        return item.getDescription() != null ?
+            item.getDescription() :
+            String.format("Transferência enviada de %s %s para %s", item.getAmount(), item.getCurrency(), item.getTargetUserId());
+    }
+
+    private static BalanceHistory historyEntry(Long walletId, BigDecimal balance, String currency,
+                                               String description, LocalDateTime recordedAt) {
+        BalanceHistory entry = BalanceHistory.create(walletId, new Money(balance, currency), description);
+        entry.setRecordedAt(recordedAt);
+        return entry;
+    }
+
+    private static WalletDTOs.BulkTransferItemResult rejected(int index, WalletDTOs.BulkTransferItem item, String error) {
+        return new WalletDTOs.BulkTransferItemResult(
+            index,
+            item != null ? item.getTargetUserId() : null,
+            item != null ? item.getAmount() : null,
+            STATUS_REJECTED,
+            error,
+            null
+        );
+    }
+}
@@ -0,0 +1,170 @@
+package com.wallet.infrastructure.services;
+
+import com.wallet.application.ports.EventOutbox;
+import com.wallet.application.ports.WalletEventStore;
+import com.wallet.domain.aggregates.WalletAggregate;
+import com.wallet.domain.entities.Wallet;
+import com.wallet.domain.exceptions.InsufficientFundsException;
+import com.wallet.domain.valueobjects.BalanceMutation;
+import com.wallet.domain.valueobjects.Money;
+import com.wallet.domain.valueobjects.TransferMutation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+/**
+ * Operações de carteira no modo de persistência por eventos
+ * (wallet.persistence.mode=EVENT_SOURCED): cada operação reidrata o
+ * WalletAggregate do WalletEventStore, aplica a regra de domínio e anexa os
+ * eventos resultantes, que também seguem para o outbox.
+ * Um conflito de versão refaz a operação sobre o fluxo atualizado. Cada
+ * tentativa roda em uma transação aninhada (savepoint), pois a chave
+ * duplicada aborta a transação do Postgres e os métodos do controller podem
+ * já estar dentro de uma transação.
+ */
+@Service
+@Slf4j
+public class EventSourcedWalletService {
+
+    /**
+     * Modo de persistência das carteiras, selecionado por deployment em
+     * wallet.persistence.mode
+     */
+    public enum PersistenceMode {
+        STATE,
+        EVENT_SOURCED
+    }
+
+    @Value("${wallet.persistence.mode:STATE}")
+    private PersistenceMode persistenceMode;
+
+    @Value("${wallet.event-store.max-attempts:5}")
+    private int maxAttempts;
+
+    @Autowired
+    private WalletEventStore eventStore;
+
+    @Autowired
+    private EventOutbox eventOutbox;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TransactionTemplate transactionTemplate;
+    private Counter conflicts;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        conflicts = Counter.builder("wallet.event-store.conflicts")
+                .description("Operações refeitas por conflito de versão no fluxo de eventos")
+                .register(meterRegistry);
+        log.info("Wallet persistence mode: {}", persistenceMode);
+    }
+
+    public boolean isEnabled() {
+        return persistenceMode == PersistenceMode.EVENT_SOURCED;
+    }
+
+    public Optional<Wallet> findByUserId(String userId) {
+        return eventStore.load(userId).map(WalletAggregate::getWallet);
+    }
+
+    /**
+     * Retorna vazio quando a carteira já existe
+     */
+    public Optional<Wallet> create(String userId, String currency) {
+        try {
+            return Optional.of(transactionTemplate.execute(status -> {
+                WalletAggregate aggregate = WalletAggregate.create(userId, currency);
+                commit(aggregate);
+                return aggregate.getWallet();
+            }));
+        } catch (OptimisticLockingFailureException e) {
+            return Optional.empty();
+        }
+    }
+
+    public Optional<BalanceMutation> deposit(String userId, Money amount, String description) {
+        return withRetry(status -> eventStore.load(userId).map(aggregate -> {
+            Money oldBalance = aggregate.getBalance();
+            aggregate.deposit(amount, description);
+            commit(aggregate);
+            return new BalanceMutation(aggregate.getWallet().getId(), userId, oldBalance, aggregate.getBalance(), null);
+        }));
+    }
+
+    public Optional<BalanceMutation> withdraw(String userId, Money amount, String description) {
+        return withRetry(status -> eventStore.load(userId).map(aggregate -> {
+            Money oldBalance = aggregate.getBalance();
+            requireFunds(aggregate, amount);
+            aggregate.withdraw(amount, description);
+            commit(aggregate);
+            return new BalanceMutation(aggregate.getWallet().getId(), userId, oldBalance, aggregate.getBalance(), null);
+        }));
+    }
+
+    /**
+     * Retorna vazio quando a origem ou o destino não existem
+     */
+    public Optional<TransferMutation> transfer(String sourceUserId, String targetUserId, Money amount,
+                                               String sourceDescription, String targetDescription) {
+        return withRetry(status -> eventStore.load(sourceUserId)
+                .flatMap(source -> eventStore.load(targetUserId).map(target -> {
+                    Money oldSourceBalance = source.getBalance();
+                    Money oldTargetBalance = target.getBalance();
+                    requireFunds(source, amount);
+                    source.transferTo(target, amount, sourceDescription);
+                    // Anexa na ordem dos userIds: duas transferências opostas
+                    // disputando as mesmas sequências esperam uma pela outra
+                    // no índice único em vez de entrar em deadlock
+                    boolean sourceFirst = sourceUserId.compareTo(targetUserId) < 0;
+                    commit(sourceFirst ? source : target);
+                    commit(sourceFirst ? target : source);
+                    return new TransferMutation(
+                        new BalanceMutation(source.getWallet().getId(), sourceUserId, oldSourceBalance, source.getBalance(), null),
+                        new BalanceMutation(target.getWallet().getId(), targetUserId, oldTargetBalance, target.getBalance(), null));
+                })));
+    }
+
+    private void commit(WalletAggregate aggregate) {
+        eventStore.append(aggregate);
+        eventOutbox.appendAll(aggregate);
+    }
+
+    // O agregado sinaliza saldo insuficiente com IllegalArgumentException; o
+    // controller responde ao saldo insuficiente pela exceção de domínio
+    private static void requireFunds(WalletAggregate aggregate, Money amount) {
+        if (aggregate.isActive() && !aggregate.getWallet().hasSufficientFunds(amount)) {
+            throw new InsufficientFundsException("Insufficient funds");
+        }
+    }
+
+    private <T> T withRetry(TransactionCallback<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(action);
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                conflicts.increment();
+            }
+        }
+    }
+}
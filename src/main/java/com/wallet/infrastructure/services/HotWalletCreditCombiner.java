@@ -0,0 +1,375 @@
+package com.wallet.infrastructure.services;
+
+import com.wallet.adapters.infrastructure.repositories.WalletRepositoryImpl;
+import com.wallet.application.ports.BalanceMutationEngine;
+import com.wallet.application.ports.EventOutbox;
+import com.wallet.application.ports.LedgerWriter;
+import com.wallet.domain.entities.Transaction;
+import com.wallet.domain.entities.Wallet;
+import com.wallet.domain.events.MoneyTransferredEvent;
+import com.wallet.domain.valueobjects.BalanceMutation;
+import com.wallet.domain.valueobjects.Money;
+import com.wallet.domain.valueobjects.TransferMutation;
+import com.wallet.infrastructure.cache.WalletCache;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Combina créditos destinados a carteiras "quentes" (ex.: contas de
+ * liquidação de lojistas) em micro-lotes.
+ * Cada carteira sinalizada possui uma fila própria drenada por uma única
+ * thread; um lote debita cada origem e credita o destino com um único UPDATE
+ * e um único INSERT multi-linha, tudo na mesma transação. O chamador só
+ * recebe a resposta após o commit do lote que contém sua transferência.
+ * O lote começa travando o destino e todas as origens em ordem de id, a
+ * mesma ordem do modo PESSIMISTIC, e valida cada crédito contra o destino
+ * travado antes do débito: moeda diferente ou destino inativo rejeitam só
+ * aquele chamador. Cada débito roda em um savepoint, de modo que um erro de
+ * banco em uma origem (que abortaria a transação do Postgres) também rejeita
+ * só aquele crédito, não o lote inteiro.
+ */
+@Service
+@Slf4j
+public class HotWalletCreditCombiner {
+
+    @Value("${wallet.hot-wallets.enabled:false}")
+    private boolean enabled;
+
+    @Value("${wallet.hot-wallets.user-ids:}")
+    private Set<String> hotUserIds;
+
+    @Value("${wallet.hot-wallets.batch-size:100}")
+    private int batchSize;
+
+    @Value("${wallet.hot-wallets.linger:5ms}")
+    private Duration linger;
+
+    @Value("${wallet.hot-wallets.ack-timeout:5s}")
+    private Duration ackTimeout;
+
+    @Autowired
+    private BalanceMutationEngine balanceMutationEngine;
+
+    @Autowired
+    private WalletRepositoryImpl walletRepository;
+
+    @Autowired
+    private LedgerWriter ledgerWriter;
+
+    @Autowired
+    private EventOutbox eventOutbox;
+
+    @Autowired
+    private WalletCache walletCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, HotWalletWorker> workers = new ConcurrentHashMap<>();
+    private volatile boolean running = true;
+    private TransactionTemplate savepointTemplate;
+    private DistributionSummary batchFill;
+    private Timer batchLatency;
+
+    @PostConstruct
+    public void init() {
+        savepointTemplate = new TransactionTemplate(transactionManager);
+        savepointTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        batchFill = DistributionSummary.builder("wallet.hot.batch.fill")
+                .description("Créditos aplicados por lote em carteiras quentes")
+                .baseUnit("credits")
+                .register(meterRegistry);
+        batchLatency = Timer.builder("wallet.hot.batch.latency")
+                .description("Tempo de aplicação de um lote em carteira quente")
+                .register(meterRegistry);
+        if (enabled) {
+            log.info("Hot wallet mode enabled for {} wallets (batchSize={}, linger={})",
+                    hotUserIds.size(), batchSize, linger);
+        }
+    }
+
+    public boolean isHot(String userId) {
+        return enabled && running && hotUserIds.contains(userId);
+    }
+
+    /**
+     * Enfileira a transferência para a carteira quente de destino e aguarda o
+     * commit do lote. Retorna vazio quando a origem ou o destino não existem.
+     * O referenceId vai para a linha da transferência no livro-razão.
+     */
+    public Optional<TransferMutation> transfer(String sourceUserId, String targetUserId, Money amount,
+                                               String sourceDescription, String targetDescription, String referenceId) {
+        PendingCredit credit = new PendingCredit(sourceUserId, amount, sourceDescription, targetDescription, referenceId);
+        workers.computeIfAbsent(targetUserId, this::startWorker).queue.add(credit);
+        return await(credit);
+    }
+
+    private Optional<TransferMutation> await(PendingCredit credit) {
+        try {
+            try {
+                return credit.result.get(ackTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Só desiste se o lote ainda não assumiu o crédito; caso
+                // contrário aguarda o resultado para não responder de forma ambígua.
+                if (credit.claim()) {
+                    throw new IllegalStateException("Hot wallet queue timeout, transfer not applied");
+                }
+                return credit.result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for hot wallet batch", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private HotWalletWorker startWorker(String targetUserId) {
+        HotWalletWorker worker = new HotWalletWorker(targetUserId);
+        Gauge.builder("wallet.hot.queue.depth", worker.queue, BlockingQueue::size)
+                .description("Créditos aguardando lote na carteira quente")
+                .tag("wallet", targetUserId)
+                .register(meterRegistry);
+        Thread thread = new Thread(worker, "hot-wallet-" + targetUserId);
+        thread.setDaemon(true);
+        worker.thread = thread;
+        thread.start();
+        return worker;
+    }
+
+    private void flush(String targetUserId, List<PendingCredit> batch) {
+        List<PendingCredit> claimed = new ArrayList<>(batch.size());
+        for (PendingCredit credit : batch) {
+            if (credit.claim()) {
+                claimed.add(credit);
+            }
+        }
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        List<PendingCredit> accepted = new ArrayList<>(claimed.size());
+        try {
+            List<TransferMutation> applied = transactionTemplate.execute(status -> {
+                Wallet target = lockParticipants(targetUserId, claimed);
+                if (target == null) {
+                    for (PendingCredit credit : claimed) {
+                        credit.result.complete(Optional.empty());
+                    }
+                    return List.of();
+                }
+
+                List<BalanceMutation> debits = new ArrayList<>(claimed.size());
+                for (PendingCredit credit : claimed) {
+                    try {
+                        checkCredit(target, credit.amount);
+                        Optional<BalanceMutation> debit = savepointTemplate.execute(savepoint ->
+                                balanceMutationEngine.withdraw(credit.sourceUserId, credit.amount, credit.sourceDescription));
+                        if (debit.isPresent()) {
+                            debits.add(debit.get());
+                            accepted.add(credit);
+                        } else {
+                            credit.result.complete(Optional.empty());
+                        }
+                    } catch (IllegalStateException | IllegalArgumentException | DataAccessException e) {
+                        // O savepoint já foi desfeito: rejeita só esta origem
+                        // e o lote segue com as demais
+                        credit.result.completeExceptionally(e);
+                    }
+                }
+                if (accepted.isEmpty()) {
+                    return List.of();
+                }
+
+                List<Money> amounts = new ArrayList<>(accepted.size());
+                List<String> descriptions = new ArrayList<>(accepted.size());
+                for (PendingCredit credit : accepted) {
+                    amounts.add(credit.amount);
+                    descriptions.add(credit.targetDescription);
+                }
+                // O destino está travado e já foi validado: um resultado vazio
+                // aqui é falha de infraestrutura e derruba só os aceitos
+                List<BalanceMutation> credits = balanceMutationEngine.depositAll(targetUserId, amounts, descriptions)
+                        .orElseThrow(() -> new IllegalStateException("Hot wallet " + targetUserId + " vanished while locked"));
+
+                List<String> mutatedUserIds = new ArrayList<>(accepted.size() + 1);
+                mutatedUserIds.add(targetUserId);
+                List<TransferMutation> result = new ArrayList<>(accepted.size());
+                LocalDateTime occurredAt = LocalDateTime.now();
+                for (int i = 0; i < accepted.size(); i++) {
+                    BalanceMutation debit = debits.get(i);
+                    BalanceMutation credit = credits.get(i);
+                    PendingCredit pending = accepted.get(i);
+                    result.add(new TransferMutation(debit, credit));
+                    Transaction ledger = Transaction.createTransfer(debit.getWalletId(), credit.getWalletId(),
+                            pending.amount, pending.sourceDescription);
+                    ledger.setReferenceId(pending.referenceId);
+                    ledgerWriter.append(ledger);
+                    eventOutbox.append(pending.sourceUserId, new MoneyTransferredEvent(pending.sourceUserId, targetUserId,
+                            pending.amount, debit.getOldBalance(), debit.getNewBalance(), occurredAt));
+                    eventOutbox.append(targetUserId, new MoneyTransferredEvent(pending.sourceUserId, targetUserId,
+                            pending.amount, credit.getOldBalance(), credit.getNewBalance(), occurredAt));
+                    mutatedUserIds.add(pending.sourceUserId);
+                }
+                walletCache.evictAfterCommit(mutatedUserIds);
+                return result;
+            });
+
+            for (int i = 0; i < accepted.size(); i++) {
+                accepted.get(i).result.complete(Optional.of(applied.get(i)));
+            }
+            batchFill.record(accepted.size());
+        } catch (RuntimeException e) {
+            log.error("Hot wallet batch for {} failed ({} credits): {}", targetUserId, accepted.size(), e.getMessage());
+            // Créditos já rejeitados individualmente mantêm a própria resposta
+            for (PendingCredit credit : claimed) {
+                credit.result.completeExceptionally(e);
+            }
+        } finally {
+            batchLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Trava o destino e as origens do lote em ordem de id e devolve o destino,
+     * ou null quando ele não existe.
+     */
+    private Wallet lockParticipants(String targetUserId, List<PendingCredit> claimed) {
+        Set<String> userIds = new LinkedHashSet<>(claimed.size() + 1);
+        userIds.add(targetUserId);
+        for (PendingCredit credit : claimed) {
+            userIds.add(credit.sourceUserId);
+        }
+        Wallet target = null;
+        for (Wallet wallet : walletRepository.lockAllByUserIdsOrderedById(userIds)) {
+            if (wallet.getUserId().equals(targetUserId)) {
+                target = wallet;
+            }
+        }
+        return target;
+    }
+
+    // Mesmas regras de destino de Wallet.transferTo
+    private static void checkCredit(Wallet target, Money amount) {
+        if (!target.isActive()) {
+            throw new IllegalStateException("Target wallet is not active");
+        }
+        if (!target.getBalance().hasSameCurrency(amount)) {
+            throw new IllegalArgumentException("Currency mismatch");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        for (HotWalletWorker worker : workers.values()) {
+            try {
+                worker.thread.join(ackTimeout.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private final class HotWalletWorker implements Runnable {
+        private final String targetUserId;
+        private final BlockingQueue<PendingCredit> queue = new LinkedBlockingQueue<>();
+        private Thread thread;
+
+        private HotWalletWorker(String targetUserId) {
+            this.targetUserId = targetUserId;
+        }
+
+        @Override
+        public void run() {
+            while (running || !queue.isEmpty()) {
+                try {
+                    PendingCredit first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    List<PendingCredit> batch = new ArrayList<>(batchSize);
+                    batch.add(first);
+                    long deadline = System.nanoTime() + linger.toNanos();
+                    while (batch.size() < batchSize) {
+                        long remaining = deadline - System.nanoTime();
+                        PendingCredit next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                    flush(targetUserId, batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (RuntimeException e) {
+                    log.error("Unexpected error in hot wallet worker {}: {}", targetUserId, e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    private static final class PendingCredit {
+        private final String sourceUserId;
+        private final Money amount;
+        private final String sourceDescription;
+        private final String targetDescription;
+        private final String referenceId;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CompletableFuture<Optional<TransferMutation>> result = new CompletableFuture<>();
+
+        private PendingCredit(String sourceUserId, Money amount, String sourceDescription, String targetDescription,
+                              String referenceId) {
+            this.sourceUserId = sourceUserId;
+            this.amount = amount;
+            this.sourceDescription = sourceDescription;
+            this.targetDescription = targetDescription;
+            this.referenceId = referenceId;
+        }
+
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.wallet.infrastructure.services;
+
+import com.wallet.application.ports.BalanceMutationEngine;
+import com.wallet.application.ports.EventOutbox;
+import com.wallet.domain.enums.TransactionType;
+import com.wallet.domain.events.DomainEvent;
+import com.wallet.domain.events.MoneyDepositedEvent;
+import com.wallet.domain.events.MoneyWithdrawnEvent;
+import com.wallet.domain.events.TransactionCreatedEvent;
+import com.wallet.domain.valueobjects.BalanceMutation;
+import com.wallet.domain.valueobjects.Money;
+import com.wallet.infrastructure.cache.WalletCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Caminho de depósito e saque, extraído do WalletController.
+ * Cada operação lê o relógio uma única vez e compartilha o instante entre a
+ * transação do livro-razão, os eventos e a auditoria; a descrição padrão só é
+ * montada quando a requisição não traz uma, e a operação vai para o campo
+ * action da auditoria em vez de ser concatenada ao motivo. O número de objetos
+ * alocados por operação fica limitado ao que os registros gravados exigem,
+ * verificado por MoneyOperationAllocationTest.
+ * A linha do livro-razão é gravada pelo BalanceMutationEngine na mesma CTE da
+ * alteração de saldo, sem a ida extra do batch do LedgerWriter. O id de
+ * transação devolvido ao cliente vai para essa linha e para os registros de
+ * auditoria; no modo por eventos, que não grava o livro-razão, só para a
+ * auditoria.
+ */
+@Service
+@Slf4j
+public class MoneyOperationService {
+
+    @Autowired
+    private BalanceMutationEngine balanceMutationEngine;
+
+    @Autowired
+    private EventOutbox eventOutbox;
+
+    @Autowired
+    private WalletCache walletCache;
+
+    @Autowired
+    private EventSourcedWalletService eventSourcedWalletService;
+
+    @Autowired
+    private AuditService auditService;
+
+    /**
+     * Retorna vazio quando a carteira não existe
+     */
+    @Transactional
+    public Optional<BalanceMutation> deposit(String userId, Money amount, String description, String correlationId,
+                                             String transactionId) {
+        return apply(TransactionType.DEPOSIT, userId, amount, description, correlationId, transactionId);
+    }
+
+    /**
+     * Retorna vazio quando a carteira não existe; lança
+     * InsufficientFundsException quando o saldo não cobre o saque
+     */
+    @Transactional
+    public Optional<BalanceMutation> withdraw(String userId, Money amount, String description, String correlationId,
+                                              String transactionId) {
+        return apply(TransactionType.WITHDRAW, userId, amount, description, correlationId, transactionId);
+    }
+
+    private Optional<BalanceMutation> apply(TransactionType type, String userId, Money amount,
+                                            String requestDescription, String correlationId, String transactionId) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean deposit = type == TransactionType.DEPOSIT;
+        auditService.logTransaction(type.name(), userId, amount, requestDescription, correlationId, transactionId, now);
+
+        String description = requestDescription != null
+                ? requestDescription
+                : (deposit ? "Depósito de " : "Saque de ") + amount.getAmount() + " " + amount.getCurrency();
+
+        // No modo por eventos o próprio fluxo da carteira é o registro da
+        // operação e o serviço já envia os eventos ao outbox
+        boolean eventSourced = eventSourcedWalletService.isEnabled();
+        Optional<BalanceMutation> result;
+        if (eventSourced) {
+            result = deposit
+                    ? eventSourcedWalletService.deposit(userId, amount, description)
+                    : eventSourcedWalletService.withdraw(userId, amount, description);
+        } else {
+            result = deposit
+                    ? balanceMutationEngine.depositAndRecord(userId, amount, description, transactionId, now)
+                    : balanceMutationEngine.withdrawAndRecord(userId, amount, description, transactionId, now);
+        }
+        if (result.isEmpty()) {
+            return result;
+        }
+
+        BalanceMutation mutation = result.get();
+        if (!eventSourced) {
+            DomainEvent moneyEvent = deposit
+                    ? new MoneyDepositedEvent(userId, amount, mutation.getOldBalance(), mutation.getNewBalance(), now)
+                    : new MoneyWithdrawnEvent(userId, amount, mutation.getOldBalance(), mutation.getNewBalance(), now);
+            eventOutbox.append(userId, moneyEvent);
+            eventOutbox.append(userId, new TransactionCreatedEvent(type, userId, amount, description, now));
+            walletCache.evictAfterCommit(userId);
+        }
+
+        auditService.logBalanceChange(userId, type.name(), mutation.getOldBalance(), mutation.getNewBalance(),
+                description, correlationId, transactionId, now);
+        log.debug("{} completed for wallet {}", type, mutation.getWalletId());
+        return result;
+    }
+}
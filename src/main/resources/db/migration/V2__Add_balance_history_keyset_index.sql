@@ -0,0 +1,6 @@
+-- Índice composto para paginação keyset do histórico de saldo por (recorded_at, id)
+CREATE INDEX idx_balance_history_wallet_recorded_id
+    ON balance_history (wallet_id, recorded_at DESC, id DESC);
+
+-- Coberto pelo índice composto acima
+DROP INDEX IF EXISTS idx_balance_history_wallet_id;
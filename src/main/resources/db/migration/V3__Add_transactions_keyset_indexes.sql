@@ -0,0 +1,19 @@
+-- Índices para a listagem paginada de transações por carteira.
+-- A consulta une (UNION ALL) os lançamentos da carteira e as transferências
+-- recebidas; cada ramo percorre o próprio índice em ordem (transaction_date, id).
+-- Tipo e status ficam no índice para que os filtros não precisem ler a tabela.
+CREATE INDEX idx_transactions_wallet_date_id
+    ON transactions (wallet_id, transaction_date DESC, id DESC)
+    INCLUDE (transaction_type, status);
+
+CREATE INDEX idx_transactions_target_date_id
+    ON transactions (target_wallet_id, transaction_date DESC, id DESC)
+    INCLUDE (transaction_type, status)
+    WHERE target_wallet_id IS NOT NULL;
+
+CREATE INDEX idx_transactions_source_wallet_id
+    ON transactions (source_wallet_id)
+    WHERE source_wallet_id IS NOT NULL;
+
+-- Coberto pelo índice composto por wallet_id
+DROP INDEX IF EXISTS idx_transactions_wallet_id;
@@ -0,0 +1,13 @@
+-- Os usuários passam a ser lidos da tabela users. O V1 gravou o mesmo hash
+-- para os três usuários de exemplo; alinha as senhas com as credenciais
+-- documentadas (admin123, user123, user456). Só altera quem ainda está com o
+-- hash original. Os hashes BCrypt (custo 10) são literais pré-calculados, sem
+-- depender de extensões que o papel da migração pode não poder criar.
+UPDATE users SET password = '$2a$10$IIdvAp6HQ4er7BZZ3yXBKOCmYSOO0ouAA8w5Ith3o3EvK3NyXBjtO'
+ WHERE username = 'admin' AND password = '$2a$10$N.zmdr9k7uOCQb376NoUnuTJ8iAt6Z5EHsM8lE9lBOsl7iKTVEFDa';
+
+UPDATE users SET password = '$2a$10$lXw7OeRUkXGPkvsUUW2u.OJuf/SvSD/0MMKD4Lp6GeVryPy0CqTk6'
+ WHERE username = 'user1' AND password = '$2a$10$N.zmdr9k7uOCQb376NoUnuTJ8iAt6Z5EHsM8lE9lBOsl7iKTVEFDa';
+
+UPDATE users SET password = '$2a$10$0eGuhP32yd8dL0TVYJMs7eJ0DR4Adam2BoL5qd91AqGBZKuRnjfFa'
+ WHERE username = 'user2' AND password = '$2a$10$N.zmdr9k7uOCQb376NoUnuTJ8iAt6Z5EHsM8lE9lBOsl7iKTVEFDa';
@@ -0,0 +1,23 @@
+-- Outbox transacional dos eventos de domínio.
+-- Os eventos são gravados na mesma transação da alteração de saldo e
+-- drenados em lotes pelo OutboxRelay. Cada carteira pertence a uma partição
+-- fixa; a ordem por carteira é a ordem do id dentro da partição.
+CREATE TABLE event_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_id VARCHAR(50) NOT NULL,
+    partition_id INT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload JSONB NOT NULL,
+    occurred_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_event_outbox_partition_id ON event_outbox (partition_id, id);
+
+-- Uma linha por partição; o relay bloqueia a linha (FOR UPDATE SKIP LOCKED)
+-- enquanto publica o lote, de modo que cada partição tem um único leitor
+-- por vez. As linhas são criadas pelo relay a partir de wallet.outbox.partitions.
+CREATE TABLE event_outbox_partitions (
+    partition_id INT PRIMARY KEY,
+    claimed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
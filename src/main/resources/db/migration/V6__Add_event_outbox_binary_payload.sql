@@ -0,0 +1,8 @@
+-- Payload binário opcional no outbox (wallet.outbox.payload-format=BINARY).
+-- Cada evento tem exatamente um dos dois payloads.
+ALTER TABLE event_outbox ALTER COLUMN payload DROP NOT NULL;
+
+ALTER TABLE event_outbox ADD COLUMN payload_binary BYTEA;
+
+ALTER TABLE event_outbox ADD CONSTRAINT chk_event_outbox_payload
+    CHECK ((payload IS NULL) <> (payload_binary IS NULL));
@@ -0,0 +1,27 @@
+-- Armazenamento das carteiras como fluxo de eventos (wallet.persistence.mode=EVENT_SOURCED).
+-- Cada evento é uma linha imutável; a unicidade de (user_id, sequence) é o
+-- controle de concorrência otimista: duas escritas a partir da mesma versão
+-- disputam a mesma sequência e apenas uma é gravada.
+-- O payload usa o codec binário de com.wallet.infrastructure.events.
+CREATE TABLE wallet_events (
+    id BIGSERIAL PRIMARY KEY,
+    user_id VARCHAR(50) NOT NULL,
+    sequence BIGINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload BYTEA NOT NULL,
+    recorded_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_wallet_events_user_sequence UNIQUE (user_id, sequence)
+);
+
+-- Último snapshot de cada carteira; a reidratação lê o snapshot e os eventos
+-- com sequência maior. wallet_id é o id do evento WalletCreated da carteira.
+CREATE TABLE wallet_snapshots (
+    user_id VARCHAR(50) PRIMARY KEY,
+    wallet_id BIGINT NOT NULL,
+    sequence BIGINT NOT NULL,
+    balance_amount DECIMAL(15,2) NOT NULL,
+    balance_currency VARCHAR(3) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,20 @@
+-- Trilha de auditoria gravada em lotes pelo escritor assíncrono do
+-- AuditService (wallet.audit.sink.type=JDBC). As colunas monetárias só são
+-- preenchidas nos tipos que as usam.
+CREATE TABLE audit_log (
+    id BIGSERIAL PRIMARY KEY,
+    kind VARCHAR(20) NOT NULL,
+    action VARCHAR(50) NOT NULL,
+    user_id VARCHAR(50),
+    details TEXT,
+    currency VARCHAR(3),
+    amount DECIMAL(15,2),
+    old_balance DECIMAL(15,2),
+    new_balance DECIMAL(15,2),
+    correlation_id VARCHAR(36),
+    occurred_at TIMESTAMP NOT NULL,
+    recorded_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_audit_log_user_occurred ON audit_log (user_id, occurred_at);
+CREATE INDEX idx_audit_log_correlation_id ON audit_log (correlation_id);
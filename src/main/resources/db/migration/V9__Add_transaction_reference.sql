@@ -0,0 +1,14 @@
+-- Id de transação devolvido ao cliente nas respostas de depósito, saque e
+-- transferência. Fica no lançamento do livro-razão e no registro de auditoria
+-- para que o cliente consiga localizar a operação pelo id recebido; uma
+-- transferência grava o mesmo id em todas as suas linhas.
+ALTER TABLE transactions ADD COLUMN reference_id VARCHAR(36);
+ALTER TABLE audit_log ADD COLUMN transaction_id VARCHAR(36);
+
+CREATE INDEX idx_transactions_reference_id
+    ON transactions (reference_id)
+    WHERE reference_id IS NOT NULL;
+
+CREATE INDEX idx_audit_log_transaction_id
+    ON audit_log (transaction_id)
+    WHERE transaction_id IS NOT NULL;
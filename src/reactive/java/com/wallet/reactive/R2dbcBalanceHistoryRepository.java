@@ -0,0 +1,81 @@
+package com.wallet.reactive;
+
+import com.wallet.domain.entities.BalanceHistory;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Acesso R2DBC à tabela balance_history: página keyset (mesma consulta do
+ * BalanceHistoryRepositoryImpl) e leitura completa em streaming, que busca
+ * as linhas em lotes do fetch size conforme o cliente consome.
+ */
+@Repository
+@Profile(ReactiveWalletApplication.PROFILE)
+public class R2dbcBalanceHistoryRepository {
+
+    private static final String COLUMNS = "id, wallet_id, balance_amount, balance_currency, description, recorded_at";
+
+    private static final String PAGE_SQL = "SELECT " + COLUMNS + " FROM balance_history " +
+            "WHERE wallet_id = :walletId AND recorded_at >= :startDate " +
+            "AND (recorded_at, id) < (:beforeRecordedAt, :beforeId) " +
+            "ORDER BY recorded_at DESC, id DESC LIMIT :limit";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Value("${wallet.balance-history.stream-fetch-size:500}")
+    private int fetchSize;
+
+    public Flux<BalanceHistory> findPageByWalletId(Long walletId, LocalDateTime startDate,
+                                                   LocalDateTime beforeRecordedAt, Long beforeId, int limit) {
+        return databaseClient.sql(PAGE_SQL)
+                .bind("walletId", walletId)
+                .bind("startDate", startDate)
+                .bind("beforeRecordedAt", beforeRecordedAt)
+                .bind("beforeId", beforeId)
+                .bind("limit", limit)
+                .map((row, metadata) -> toBalanceHistory(row))
+                .all();
+    }
+
+    public Flux<BalanceHistory> stream(Long walletId, LocalDateTime startDate, LocalDateTime endDate) {
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM balance_history WHERE wallet_id = :walletId");
+        if (startDate != null) {
+            sql.append(" AND recorded_at >= :startDate");
+        }
+        if (endDate != null) {
+            sql.append(" AND recorded_at <= :endDate");
+        }
+        sql.append(" ORDER BY recorded_at DESC, id DESC");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .filter((statement, next) -> next.execute(statement.fetchSize(fetchSize)))
+                .bind("walletId", walletId);
+        if (startDate != null) {
+            spec = spec.bind("startDate", startDate);
+        }
+        if (endDate != null) {
+            spec = spec.bind("endDate", endDate);
+        }
+        return spec.map((row, metadata) -> toBalanceHistory(row)).all();
+    }
+
+    private static BalanceHistory toBalanceHistory(Row row) {
+        return new BalanceHistory(
+                row.get("id", Long.class),
+                row.get("wallet_id", Long.class),
+                row.get("balance_amount", BigDecimal.class),
+                row.get("balance_currency", String.class),
+                row.get("description", String.class),
+                row.get("recorded_at", LocalDateTime.class)
+        );
+    }
+}
@@ -0,0 +1,125 @@
+package com.wallet.reactive;
+
+import com.wallet.domain.entities.Wallet;
+import com.wallet.domain.valueobjects.BalanceMutation;
+import com.wallet.domain.valueobjects.Money;
+import com.wallet.domain.valueobjects.TransferMutation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * Equivalente R2DBC do JdbcBalanceMutationEngine: o UPDATE condicional e o
+ * INSERT em balance_history vão em uma única CTE, e a carteira só é lida
+ * quando a guarda rejeita a operação, para reproduzir a exceção de domínio.
+ * Vazio quando a carteira não existe.
+ */
+@Repository
+@Profile(ReactiveWalletApplication.PROFILE)
+@Slf4j
+public class R2dbcBalanceMutationEngine {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final String MUTATE_BALANCE_SQL = """
+            WITH updated AS (
+                UPDATE wallets
+                   SET balance_amount = balance_amount + :delta,
+                       version = version + 1
+                 WHERE user_id = :userId
+                   AND status = 'ACTIVE'
+                   AND balance_currency = :currency
+                   AND balance_amount + :delta >= 0
+             RETURNING id, balance_amount, balance_currency
+            ), history AS (
+                INSERT INTO balance_history (wallet_id, balance_amount, balance_currency, description)
+                SELECT id, balance_amount, balance_currency, :description FROM updated
+             RETURNING id
+            )
+            SELECT u.id AS wallet_id, u.balance_amount, u.balance_currency, h.id AS history_id
+              FROM updated u CROSS JOIN history h
+            """;
+
+    private static final String LOCK_PAIR_SQL =
+            "SELECT user_id FROM wallets WHERE user_id IN (:sourceUserId, :targetUserId) ORDER BY id FOR UPDATE";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private R2dbcWalletRepository walletRepository;
+
+    public Mono<BalanceMutation> deposit(String userId, Money amount, String description) {
+        return mutate(userId, amount, amount.getAmount(), description, false, 1);
+    }
+
+    public Mono<BalanceMutation> withdraw(String userId, Money amount, String description) {
+        return mutate(userId, amount, amount.getAmount().negate(), description, true, 1);
+    }
+
+    /**
+     * Debita a origem e credita o destino na transação corrente. As duas
+     * linhas são travadas antes, em ordem de id, como no modo PESSIMISTIC do
+     * servlet stack, e as mutações seguem essa mesma ordem. Vazio quando uma
+     * das carteiras não existe. Deve rodar dentro de uma transação.
+     */
+    public Mono<TransferMutation> transfer(String sourceUserId, String targetUserId, Money amount,
+                                           String sourceDescription, String targetDescription) {
+        return databaseClient.sql(LOCK_PAIR_SQL)
+                .bind("sourceUserId", sourceUserId)
+                .bind("targetUserId", targetUserId)
+                .map((row, metadata) -> row.get("user_id", String.class))
+                .all()
+                .collectList()
+                .filter(locked -> locked.size() == 2)
+                .flatMap(locked -> {
+                    Mono<BalanceMutation> debit = withdraw(sourceUserId, amount, sourceDescription);
+                    Mono<BalanceMutation> credit = deposit(targetUserId, amount, targetDescription);
+                    if (locked.get(0).equals(sourceUserId)) {
+                        return debit.flatMap(source -> credit.map(target -> new TransferMutation(source, target)));
+                    }
+                    return credit.flatMap(target -> debit.map(source -> new TransferMutation(source, target)));
+                });
+    }
+
+    private Mono<BalanceMutation> mutate(String userId, Money amount, BigDecimal delta,
+                                         String description, boolean withdrawal, int attempt) {
+        return databaseClient.sql(MUTATE_BALANCE_SQL)
+                .bind("userId", userId)
+                .bind("delta", delta)
+                .bind("currency", amount.getCurrency())
+                .bind("description", description)
+                .map((row, metadata) -> {
+                    Money newBalance = new Money(row.get("balance_amount", BigDecimal.class), row.get("balance_currency", String.class));
+                    Money oldBalance = withdrawal ? newBalance.add(amount) : newBalance.subtract(amount);
+                    return new BalanceMutation(row.get("wallet_id", Long.class), userId, oldBalance, newBalance,
+                            row.get("history_id", Long.class));
+                })
+                .one()
+                .switchIfEmpty(Mono.defer(() -> walletRepository.findByUserId(userId)
+                        .flatMap(wallet -> rejected(wallet, userId, amount, delta, description, withdrawal, attempt))));
+    }
+
+    // A guarda SQL rejeitou a operação: aplica a regra de domínio em memória
+    // para lançar a mesma exceção que Wallet lançaria, ou tenta de novo
+    private Mono<BalanceMutation> rejected(Wallet wallet, String userId, Money amount, BigDecimal delta,
+                                           String description, boolean withdrawal, int attempt) {
+        if (withdrawal) {
+            wallet.withdraw(amount);
+        } else {
+            wallet.deposit(amount);
+        }
+        if (attempt >= MAX_ATTEMPTS) {
+            return Mono.error(new OptimisticLockingFailureException("Concurrent balance change, please retry"));
+        }
+        log.debug("Balance guard rejected mutation for user {} but wallet state allows it, retrying (attempt {})",
+                userId, attempt);
+        return mutate(userId, amount, delta, description, withdrawal, attempt + 1);
+    }
+}
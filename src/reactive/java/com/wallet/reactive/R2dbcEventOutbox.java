@@ -0,0 +1,67 @@
+package com.wallet.reactive;
+
+import com.wallet.domain.aggregates.WalletAggregate;
+import com.wallet.domain.events.DomainEvent;
+import com.wallet.infrastructure.outbox.OutboxEventSerializer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+
+/**
+ * Gravação R2DBC no outbox de eventos, na transação reativa corrente e com o
+ * mesmo payload e particionamento do JdbcEventOutbox. A publicação fica com o
+ * OutboxRelay das instâncias servlet.
+ */
+@Repository
+@Profile(ReactiveWalletApplication.PROFILE)
+public class R2dbcEventOutbox {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO event_outbox (aggregate_id, partition_id, event_type, payload, payload_binary, occurred_at, created_at)
+            VALUES (:aggregateId, :partitionId, :eventType, CAST(:payload AS jsonb), :payloadBinary, :occurredAt, :createdAt)
+            """;
+
+    @Value("${wallet.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private OutboxEventSerializer serializer;
+
+    public Mono<Void> append(String aggregateId, DomainEvent event) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+            DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(INSERT_SQL)
+                    .bind("aggregateId", aggregateId)
+                    .bind("partitionId", serializer.partitionOf(aggregateId))
+                    .bind("eventType", event.getEventType())
+                    .bind("occurredAt", event.getOccurredAt())
+                    .bind("createdAt", LocalDateTime.now());
+            if (serializer.isBinary(event)) {
+                spec = spec.bindNull("payload", String.class)
+                        .bind("payloadBinary", ByteBuffer.wrap(serializer.toBinary(event)));
+            } else {
+                spec = spec.bind("payload", serializer.toJson(event))
+                        .bindNull("payloadBinary", ByteBuffer.class);
+            }
+            return spec.then();
+        });
+    }
+
+    public Mono<Void> appendAll(WalletAggregate aggregate) {
+        return Flux.fromIterable(aggregate.getDomainEvents())
+                .concatMap(event -> append(aggregate.getUserId(), event))
+                .then(Mono.fromRunnable(aggregate::clearDomainEvents));
+    }
+}
@@ -0,0 +1,142 @@
+package com.wallet.reactive;
+
+import com.wallet.application.ports.TransactionHistoryQuery;
+import com.wallet.domain.entities.Transaction;
+import com.wallet.domain.enums.TransactionType;
+import com.wallet.domain.valueobjects.Money;
+import com.wallet.domain.valueobjects.PageCursor;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Acesso R2DBC ao livro-razão (tabela transactions): lançamento na transação
+ * corrente e a listagem keyset em UNION ALL do JdbcTransactionHistoryQuery.
+ */
+@Repository
+@Profile(ReactiveWalletApplication.PROFILE)
+public class R2dbcTransactionRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO transactions (wallet_id, transaction_type, amount, currency, description,
+                                      source_wallet_id, target_wallet_id, transaction_date, status, created_at,
+                                      reference_id)
+            VALUES (:walletId, :transactionType, :amount, :currency, :description,
+                    :sourceWalletId, :targetWalletId, :transactionDate, :status, :createdAt, :referenceId)
+            """;
+
+    private static final String COLUMNS = "id, wallet_id, transaction_type, amount, currency, description, " +
+            "source_wallet_id, target_wallet_id, transaction_date, status, created_at, reference_id";
+
+    @Value("${wallet.ledger.enabled:true}")
+    private boolean ledgerEnabled;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    public Mono<Void> append(Transaction transaction) {
+        if (!ledgerEnabled) {
+            return Mono.empty();
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(INSERT_SQL)
+                .bind("walletId", transaction.getWalletId())
+                .bind("transactionType", transaction.getTransactionType().name())
+                .bind("amount", transaction.getAmount().getAmount())
+                .bind("currency", transaction.getAmount().getCurrency())
+                .bind("transactionDate", transaction.getTransactionDate())
+                .bind("status", transaction.getStatus())
+                .bind("createdAt", transaction.getCreatedAt());
+        spec = bindNullable(spec, "description", transaction.getDescription(), String.class);
+        spec = bindNullable(spec, "sourceWalletId", transaction.getSourceWalletId(), Long.class);
+        spec = bindNullable(spec, "targetWalletId", transaction.getTargetWalletId(), Long.class);
+        spec = bindNullable(spec, "referenceId", transaction.getReferenceId(), String.class);
+        return spec.then();
+    }
+
+    /**
+     * Página keyset em ordem decrescente de (transaction_date, id), com os
+     * mesmos ramos e índices do JdbcTransactionHistoryQuery
+     */
+    public Flux<Transaction> findPage(Long walletId, TransactionHistoryQuery.Filter filter, PageCursor before, int limit) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("walletId", walletId);
+        params.put("limit", limit);
+        String filters = filterClause(filter, before, params);
+
+        String posted = "SELECT " + COLUMNS + " FROM transactions WHERE wallet_id = :walletId" + filters +
+                " ORDER BY transaction_date DESC, id DESC LIMIT :limit";
+        String sql = posted;
+        if (filter.includes(TransactionType.TRANSFER)) {
+            // Só transferências têm carteira de destino
+            String received = "SELECT " + COLUMNS + " FROM transactions WHERE target_wallet_id = :walletId" +
+                    " AND wallet_id <> :walletId" + filters +
+                    " ORDER BY transaction_date DESC, id DESC LIMIT :limit";
+            sql = "SELECT * FROM ((" + posted + ") UNION ALL (" + received + ")) t" +
+                    " ORDER BY transaction_date DESC, id DESC LIMIT :limit";
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql);
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            spec = spec.bind(param.getKey(), param.getValue());
+        }
+        return spec.map((row, metadata) -> toTransaction(row)).all();
+    }
+
+    private static String filterClause(TransactionHistoryQuery.Filter filter, PageCursor before, Map<String, Object> params) {
+        StringBuilder clause = new StringBuilder();
+        if (!filter.getTypes().isEmpty()) {
+            clause.append(" AND transaction_type IN (:types)");
+            params.put("types", filter.getTypes().stream().map(Enum::name).toList());
+        }
+        if (!filter.getStatuses().isEmpty()) {
+            clause.append(" AND status IN (:statuses)");
+            params.put("statuses", List.copyOf(filter.getStatuses()));
+        }
+        if (filter.getStartDate() != null) {
+            clause.append(" AND transaction_date >= :startDate");
+            params.put("startDate", filter.getStartDate());
+        }
+        if (filter.getEndDate() != null) {
+            clause.append(" AND transaction_date <= :endDate");
+            params.put("endDate", filter.getEndDate());
+        }
+        if (before != null) {
+            clause.append(" AND (transaction_date, id) < (:beforeDate, :beforeId)");
+            params.put("beforeDate", before.getTimestamp());
+            params.put("beforeId", before.getId());
+        }
+        return clause.toString();
+    }
+
+    private static <T> DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec,
+                                                                      String name, T value, Class<T> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+
+    private static Transaction toTransaction(Row row) {
+        return new Transaction(
+                row.get("id", Long.class),
+                row.get("wallet_id", Long.class),
+                TransactionType.valueOf(row.get("transaction_type", String.class)),
+                new Money(row.get("amount", BigDecimal.class), row.get("currency", String.class)),
+                row.get("description", String.class),
+                row.get("source_wallet_id", Long.class),
+                row.get("target_wallet_id", Long.class),
+                row.get("transaction_date", LocalDateTime.class),
+                row.get("status", String.class),
+                row.get("created_at", LocalDateTime.class),
+                row.get("reference_id", String.class)
+        );
+    }
+}
@@ -0,0 +1,74 @@
+package com.wallet.reactive;
+
+import com.wallet.domain.entities.Wallet;
+import com.wallet.domain.enums.WalletStatus;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Acesso R2DBC à tabela wallets
+ */
+@Repository
+@Profile(ReactiveWalletApplication.PROFILE)
+public class R2dbcWalletRepository {
+
+    private static final String SELECT_BY_USER_SQL =
+            "SELECT id, user_id, balance_amount, balance_currency, status, created_at, updated_at, version " +
+            "FROM wallets WHERE user_id = :userId";
+
+    private static final String INSERT_SQL = """
+            INSERT INTO wallets (user_id, balance_amount, balance_currency, status, created_at, updated_at, version)
+            VALUES (:userId, :balanceAmount, :balanceCurrency, :status, :createdAt, :updatedAt, :version)
+            RETURNING id
+            """;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    public Mono<Wallet> findByUserId(String userId) {
+        return databaseClient.sql(SELECT_BY_USER_SQL)
+                .bind("userId", userId)
+                .map((row, metadata) -> toWallet(row))
+                .one();
+    }
+
+    /**
+     * Insere a carteira e devolve a mesma instância com o id gerado
+     */
+    public Mono<Wallet> insert(Wallet wallet) {
+        return databaseClient.sql(INSERT_SQL)
+                .bind("userId", wallet.getUserId())
+                .bind("balanceAmount", wallet.getBalanceAmount())
+                .bind("balanceCurrency", wallet.getBalanceCurrency())
+                .bind("status", wallet.getStatus().name())
+                .bind("createdAt", wallet.getCreatedAt())
+                .bind("updatedAt", wallet.getUpdatedAt())
+                .bind("version", wallet.getVersion())
+                .map((row, metadata) -> row.get("id", Long.class))
+                .one()
+                .map(id -> {
+                    wallet.setId(id);
+                    return wallet;
+                });
+    }
+
+    private static Wallet toWallet(Row row) {
+        return new Wallet(
+                row.get("id", Long.class),
+                row.get("user_id", String.class),
+                row.get("balance_amount", BigDecimal.class),
+                row.get("balance_currency", String.class),
+                WalletStatus.valueOf(row.get("status", String.class)),
+                row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class),
+                row.get("version", Long.class)
+        );
+    }
+}
@@ -0,0 +1,49 @@
+package com.wallet.reactive;
+
+import com.wallet.adapters.rest.GlobalExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Mesmas respostas de erro do servlet stack; no WebFlux a falha de @Valid
+ * chega como WebExchangeBindException em vez de MethodArgumentNotValidException
+ */
+@RestControllerAdvice
+@Profile(ReactiveWalletApplication.PROFILE)
+public class ReactiveExceptionHandler extends GlobalExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveExceptionHandler.class);
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleWebExchangeBindException(WebExchangeBindException e) {
+        logger.error("Validation error: {}", e.getMessage());
+
+        Map<String, String> errors = new HashMap<>();
+        e.getBindingResult().getAllErrors().forEach((error) -> {
+            String fieldName = ((FieldError) error).getField();
+            String errorMessage = error.getDefaultMessage();
+            errors.put(fieldName, errorMessage);
+        });
+
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.BAD_REQUEST.value(),
+            "Validation Error",
+            "Invalid request parameters",
+            LocalDateTime.now(),
+            errors
+        );
+
+        return ResponseEntity.badRequest().body(error);
+    }
+}
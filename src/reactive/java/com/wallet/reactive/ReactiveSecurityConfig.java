@@ -0,0 +1,115 @@
+package com.wallet.reactive;
+
+import com.wallet.infrastructure.security.jwt.JwtService;
+import com.wallet.infrastructure.security.jwt.TokenDenyList;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.authentication.ServerAuthenticationConverter;
+import org.springframework.security.web.server.authentication.ServerAuthenticationEntryPointFailureHandler;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Segurança da edição reativa: o equivalente ao JwtAuthenticationFilter com
+ * o principal montado a partir das claims (jwt.stateless-principal), já que
+ * aqui não há UserDetailsService bloqueante para consultar. Tokens sem o
+ * claim "roles" são recusados.
+ */
+@Configuration
+@Profile(ReactiveWalletApplication.PROFILE)
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+public class ReactiveSecurityConfig {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private TokenDenyList tokenDenyList;
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         ReactiveAuthenticationManager jwtAuthenticationManager) {
+        HttpStatusServerEntryPoint entryPoint = new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED);
+
+        AuthenticationWebFilter jwtFilter = new AuthenticationWebFilter(jwtAuthenticationManager);
+        jwtFilter.setServerAuthenticationConverter(bearerTokenConverter());
+        jwtFilter.setAuthenticationFailureHandler(new ServerAuthenticationEntryPointFailureHandler(entryPoint));
+        jwtFilter.setSecurityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+
+        return http
+            .csrf(ServerHttpSecurity.CsrfSpec::disable)
+            .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+            .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+            .logout(ServerHttpSecurity.LogoutSpec::disable)
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+            .authorizeExchange(exchanges -> exchanges
+                .pathMatchers("/api/wallets/health").permitAll()
+                .pathMatchers("/actuator/**").permitAll()
+                .anyExchange().authenticated()
+            )
+            .exceptionHandling(ex -> ex.authenticationEntryPoint(entryPoint))
+            .addFilterAt(jwtFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+            .build();
+    }
+
+    /**
+     * Valida o token recebido como credencial. A verificação usa o cache de
+     * claims do JwtService, então só o primeiro uso de cada token paga o HMAC
+     */
+    @Bean
+    public ReactiveAuthenticationManager jwtAuthenticationManager() {
+        return authentication -> Mono.<Authentication>fromCallable(() -> {
+                    Claims claims = jwtService.extractAllClaims((String) authentication.getCredentials());
+                    if (tokenDenyList.isRevoked(claims)) {
+                        throw new BadCredentialsException("Token revogado");
+                    }
+                    UserDetails userDetails = jwtService.toUserDetails(claims)
+                            .orElseThrow(() -> new BadCredentialsException("Token sem o claim " + JwtService.ROLES_CLAIM));
+                    return UsernamePasswordAuthenticationToken.authenticated(userDetails, null, userDetails.getAuthorities());
+                })
+                .onErrorMap(e -> !(e instanceof AuthenticationException),
+                        e -> new BadCredentialsException("Token inválido", e));
+    }
+
+    // Usado pelo TokenDenyList para receber as revogações das outras instâncias
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    private static ServerAuthenticationConverter bearerTokenConverter() {
+        return exchange -> {
+            String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+            if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+                return Mono.empty();
+            }
+            String token = authHeader.substring(BEARER_PREFIX.length());
+            return Mono.just(UsernamePasswordAuthenticationToken.unauthenticated(token, token));
+        };
+    }
+}
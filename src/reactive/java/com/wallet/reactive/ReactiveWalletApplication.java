@@ -0,0 +1,47 @@
+package com.wallet.reactive;
+
+import com.wallet.infrastructure.audit.LogAuditSink;
+import com.wallet.infrastructure.events.BinaryEventCodecRegistry;
+import com.wallet.infrastructure.ids.TimeOrderedIdGenerator;
+import com.wallet.infrastructure.outbox.OutboxEventSerializer;
+import com.wallet.infrastructure.security.jwt.JwtService;
+import com.wallet.infrastructure.security.jwt.TokenDenyList;
+import com.wallet.infrastructure.services.AuditService;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Edição reativa (WebFlux + R2DBC) da API de carteiras, para comparação A/B
+ * com o servlet stack. Varre apenas com.wallet.reactive e reaproveita do
+ * servlet stack somente o domínio, os DTOs, a validação de JWT, a auditoria
+ * (com o sink de log, já que não há DataSource) e a serialização do outbox.
+ * Não emite tokens: usa os do /api/auth do servlet stack, assinados com o
+ * mesmo jwt.secret.
+ * O @Profile evita que a varredura de com.wallet do servlet stack carregue
+ * estas classes quando ambas estão no classpath (mvn -Preactive).
+ */
+@SpringBootApplication(scanBasePackages = "com.wallet.reactive")
+@Import({JwtService.class, TokenDenyList.class, AuditService.class, LogAuditSink.class,
+        OutboxEventSerializer.class, BinaryEventCodecRegistry.class, TimeOrderedIdGenerator.class})
+@Profile(ReactiveWalletApplication.PROFILE)
+public class ReactiveWalletApplication {
+
+    public static final String PROFILE = "reactive";
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveWalletApplication.class)
+                .profiles(PROFILE)
+                .run(args);
+    }
+
+    // O Tomcat do servlet stack também está no classpath e seria o servidor
+    // escolhido pelo Boot; a comparação precisa do Netty
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
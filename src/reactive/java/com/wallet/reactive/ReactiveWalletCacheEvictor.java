@@ -0,0 +1,76 @@
+package com.wallet.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.infrastructure.cache.CacheConfig;
+import com.wallet.infrastructure.cache.WalletCache;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.ReactiveStringCommands;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * A edição reativa lê as carteiras direto do banco, mas escreve nas mesmas
+ * tabelas que o servlet stack. Após o commit de cada alteração de saldo ela
+ * grava no cache Redis do WalletCache a mesma lápide, no mesmo formato e com
+ * o mesmo TTL, e publica a invalidação dos near caches, como o
+ * evictAfterCommit faz nas instâncias servlet.
+ * Falhas do Redis são apenas registradas.
+ */
+@Component
+@Profile(ReactiveWalletApplication.PROFILE)
+@Slf4j
+public class ReactiveWalletCacheEvictor {
+
+    // Prefixo padrão do RedisCacheManager: "<nome do cache>::"
+    private static final String KEY_PREFIX = WalletCache.CACHE_NAME + "::";
+
+    @Value("${wallet.cache.invalidation-channel:wallet-cache-invalidation}")
+    private String invalidationChannel;
+
+    @Value("${wallet.cache.serializer:BINARY}")
+    private CacheConfig.SerializerFormat serializerFormat;
+
+    @Value("${wallet.cache.tombstone-ttl:2s}")
+    private Duration tombstoneTtl;
+
+    @Autowired
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private RedisSerializer<? super WalletCache.CachedWallet> valueSerializer;
+
+    @PostConstruct
+    public void init() {
+        valueSerializer = CacheConfig.walletValueSerializer(serializerFormat, objectMapper);
+    }
+
+    public Mono<Void> evict(String... userIds) {
+        Flux<ReactiveStringCommands.SetCommand> tombstones = Flux.fromArray(userIds)
+                .map(userId -> ReactiveStringCommands.SetCommand
+                        .set(ByteBuffer.wrap((KEY_PREFIX + userId).getBytes(StandardCharsets.UTF_8)))
+                        .value(ByteBuffer.wrap(valueSerializer.serialize(WalletCache.CachedWallet.tombstone(userId))))
+                        .expiring(Expiration.from(tombstoneTtl)));
+        return redisTemplate.execute(connection -> connection.stringCommands().set(tombstones))
+                .then(redisTemplate.convertAndSend(invalidationChannel, String.join("\n", userIds)))
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("Wallet cache invalidation failed for {}: {}", List.of(userIds), e.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
@@ -0,0 +1,596 @@
+package com.wallet.reactive;
+
+import com.wallet.application.ports.TransactionHistoryQuery;
+import com.wallet.domain.aggregates.WalletAggregate;
+import com.wallet.domain.entities.BalanceHistory;
+import com.wallet.domain.entities.Transaction;
+import com.wallet.domain.entities.Wallet;
+import com.wallet.domain.enums.TransactionType;
+import com.wallet.domain.events.MoneyDepositedEvent;
+import com.wallet.domain.events.MoneyTransferredEvent;
+import com.wallet.domain.events.MoneyWithdrawnEvent;
+import com.wallet.domain.events.TransactionCreatedEvent;
+import com.wallet.domain.exceptions.InsufficientFundsException;
+import com.wallet.domain.valueobjects.Money;
+import com.wallet.domain.valueobjects.PageCursor;
+import com.wallet.infrastructure.dto.WalletDTOs;
+import com.wallet.infrastructure.ids.TimeOrderedIdGenerator;
+import com.wallet.infrastructure.services.AuditService;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Edição reativa do WalletController, com as mesmas rotas, DTOs e regras de
+ * acesso. Toda E/S é não bloqueante (R2DBC e Redis reativo), então poucas
+ * threads de event loop atendem milhares de conexões abertas.
+ * Fora do escopo desta edição: carteiras quentes, transferências em lote e o
+ * cache de carteiras (as leituras vão ao banco; as escritas invalidam o cache
+ * do servlet stack).
+ */
+@RestController
+@RequestMapping("/api/wallets")
+@Profile(ReactiveWalletApplication.PROFILE)
+@Slf4j
+public class ReactiveWalletController {
+
+    // Limites usados quando o filtro de datas não é informado; cabem no tipo timestamp do Postgres
+    private static final LocalDateTime HISTORY_LOWER_BOUND = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime HISTORY_UPPER_BOUND = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    @Autowired
+    private R2dbcWalletRepository walletRepository;
+
+    @Autowired
+    private R2dbcBalanceMutationEngine balanceMutationEngine;
+
+    @Autowired
+    private R2dbcBalanceHistoryRepository balanceHistoryRepository;
+
+    @Autowired
+    private R2dbcTransactionRepository transactionRepository;
+
+    @Autowired
+    private R2dbcEventOutbox eventOutbox;
+
+    @Autowired
+    private ReactiveWalletCacheEvictor walletCacheEvictor;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private TimeOrderedIdGenerator idGenerator;
+
+    @Value("${wallet.balance-history.default-page-size:50}")
+    private int historyDefaultPageSize;
+
+    @Value("${wallet.balance-history.max-page-size:500}")
+    private int historyMaxPageSize;
+
+    @Value("${wallet.transactions.default-page-size:20}")
+    private int transactionsDefaultPageSize;
+
+    @Value("${wallet.transactions.max-page-size:100}")
+    private int transactionsMaxPageSize;
+
+    @PostMapping
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Mono<ResponseEntity<WalletDTOs.CreateWalletResponse>> createWallet(
+            @Valid @RequestBody WalletDTOs.CreateWalletRequest request) {
+
+        String correlationId = auditService.generateCorrelationId();
+        log.info("Creating wallet for user: {}", request.getUserId());
+        auditService.logOperation("CREATE_WALLET", request.getUserId(),
+                "Creating wallet with currency: " + request.getCurrency(), correlationId);
+
+        return walletRepository.findByUserId(request.getUserId())
+                .flatMap(existing -> {
+                    auditService.logError("CREATE_WALLET", request.getUserId(),
+                            "Wallet already exists", correlationId);
+                    return Mono.<Wallet>error(new RuntimeException("Carteira já existe para este usuário"));
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    WalletAggregate aggregate = WalletAggregate.create(request.getUserId(), request.getCurrency());
+                    return walletRepository.insert(aggregate.getWallet())
+                            .flatMap(savedWallet -> eventOutbox.appendAll(aggregate).thenReturn(savedWallet))
+                            .as(transactionalOperator::transactional);
+                }))
+                .map(savedWallet -> {
+                    WalletDTOs.CreateWalletResponse response = new WalletDTOs.CreateWalletResponse(
+                        savedWallet.getId(),
+                        savedWallet.getUserId(),
+                        savedWallet.getBalance().getAmount(),
+                        savedWallet.getBalance().getCurrency(),
+                        savedWallet.getStatus().name(),
+                        "Carteira criada com sucesso",
+                        savedWallet.getCreatedAt()
+                    );
+
+                    auditService.logOperation("WALLET_CREATED", request.getUserId(),
+                            "Wallet created with ID: " + savedWallet.getId(), correlationId);
+                    log.info("Wallet created successfully: {}", savedWallet.getId());
+                    return ResponseEntity.status(201).body(response);
+                });
+    }
+
+    @GetMapping("/{userId}")
+    @PreAuthorize("hasRole('USER') and #userId == authentication.principal.username or hasRole('ADMIN')")
+    public Mono<ResponseEntity<WalletDTOs.WalletResponse>> getWallet(@PathVariable String userId) {
+
+        String correlationId = auditService.generateCorrelationId();
+        log.info("Consulting wallet for user: {}", userId);
+        auditService.logOperation("CONSULT_WALLET", userId, "Consulting wallet balance", correlationId);
+
+        return walletRepository.findByUserId(userId)
+                .map(wallet -> {
+                    WalletDTOs.WalletResponse response = new WalletDTOs.WalletResponse(
+                        wallet.getId(),
+                        wallet.getUserId(),
+                        wallet.getBalance().getAmount(),
+                        wallet.getBalance().getCurrency(),
+                        wallet.getStatus().name(),
+                        wallet.getCreatedAt(),
+                        wallet.getUpdatedAt()
+                    );
+                    auditService.logOperation("WALLET_CONSULTED", userId,
+                            "Wallet consulted successfully", correlationId);
+                    log.info("Wallet consulted successfully: {}", wallet.getId());
+                    return ResponseEntity.ok(response);
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{userId}/deposit")
+    @PreAuthorize("hasRole('USER') and #userId == authentication.principal.username or hasRole('ADMIN')")
+    public Mono<ResponseEntity<WalletDTOs.DepositResponse>> deposit(
+            @PathVariable String userId,
+            @Valid @RequestBody WalletDTOs.DepositRequest request) {
+
+        String correlationId = auditService.generateCorrelationId();
+        String transactionId = nextTransactionId();
+        log.info("Processing deposit for user: {}, amount: {} {}", userId, request.getAmount(), request.getCurrency());
+
+        return Mono.defer(() -> {
+                    Money money = new Money(request.getAmount(), request.getCurrency());
+
+                    auditService.logTransaction("DEPOSIT", userId, money,
+                            request.getDescription(), correlationId, transactionId);
+
+                    String description = request.getDescription() != null ?
+                        request.getDescription() :
+                        String.format("Depósito de %s %s", request.getAmount(), request.getCurrency());
+
+                    return balanceMutationEngine.deposit(userId, money, description)
+                            .flatMap(mutation -> {
+                                LocalDateTime occurredAt = LocalDateTime.now();
+                                Transaction ledger = new Transaction(mutation.getWalletId(), TransactionType.DEPOSIT, money, description, occurredAt);
+                                ledger.setReferenceId(transactionId);
+                                return transactionRepository
+                                        .append(ledger)
+                                        .then(eventOutbox.append(userId, new MoneyDepositedEvent(
+                                                userId, money, mutation.getOldBalance(), mutation.getNewBalance(), occurredAt)))
+                                        .then(eventOutbox.append(userId, new TransactionCreatedEvent(
+                                                TransactionType.DEPOSIT, userId, money, description, occurredAt)))
+                                        .thenReturn(mutation);
+                            })
+                            .as(transactionalOperator::transactional)
+                            .flatMap(mutation -> walletCacheEvictor.evict(userId).thenReturn(mutation))
+                            .map(mutation -> {
+                                WalletDTOs.DepositResponse response = new WalletDTOs.DepositResponse(
+                                    "Depósito realizado com sucesso",
+                                    request.getAmount(),
+                                    request.getCurrency(),
+                                    mutation.getNewBalance().getAmount(),
+                                    transactionId
+                                );
+
+                                auditService.logBalanceChange(userId, mutation.getOldBalance(), mutation.getNewBalance(),
+                                        "Deposit: " + description, correlationId, transactionId);
+
+                                log.info("Deposit completed successfully: {}, new balance: {}",
+                                        response.getTransactionId(), mutation.getNewBalance().getAmount());
+                                return ResponseEntity.ok(response);
+                            });
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorMap(e -> {
+                    if (e instanceof ConcurrencyFailureException) {
+                        // Conflito de versão após as tentativas: 409 para o cliente repetir
+                        auditService.logError("DEPOSIT", userId, e.getMessage(), correlationId);
+                        return e;
+                    }
+                    if (e instanceof IllegalArgumentException) {
+                        // Quantia com mais casas que a moeda admite ou moeda desconhecida: 400
+                        auditService.logError("DEPOSIT", userId, e.getMessage(), correlationId);
+                        return e;
+                    }
+                    auditService.logError("DEPOSIT", userId, e.getMessage(), correlationId);
+                    log.error("Error processing deposit for user {}: {}", userId, e.getMessage());
+                    return new RuntimeException("Erro ao realizar depósito: " + e.getMessage());
+                });
+    }
+
+    @PostMapping("/{userId}/withdraw")
+    @PreAuthorize("hasRole('USER') and #userId == authentication.principal.username or hasRole('ADMIN')")
+    public Mono<ResponseEntity<WalletDTOs.WithdrawResponse>> withdraw(
+            @PathVariable String userId,
+            @Valid @RequestBody WalletDTOs.WithdrawRequest request) {
+
+        String correlationId = auditService.generateCorrelationId();
+        String transactionId = nextTransactionId();
+        log.info("Processing withdrawal for user: {}, amount: {} {}", userId, request.getAmount(), request.getCurrency());
+
+        return Mono.defer(() -> {
+                    Money money = new Money(request.getAmount(), request.getCurrency());
+
+                    auditService.logTransaction("WITHDRAW", userId, money,
+                            request.getDescription(), correlationId, transactionId);
+
+                    String description = request.getDescription() != null ?
+                        request.getDescription() :
+                        String.format("Saque de %s %s", request.getAmount(), request.getCurrency());
+
+                    return balanceMutationEngine.withdraw(userId, money, description)
+                            .flatMap(mutation -> {
+                                LocalDateTime occurredAt = LocalDateTime.now();
+                                Transaction ledger = new Transaction(mutation.getWalletId(), TransactionType.WITHDRAW, money, description, occurredAt);
+                                ledger.setReferenceId(transactionId);
+                                return transactionRepository
+                                        .append(ledger)
+                                        .then(eventOutbox.append(userId, new MoneyWithdrawnEvent(
+                                                userId, money, mutation.getOldBalance(), mutation.getNewBalance(), occurredAt)))
+                                        .then(eventOutbox.append(userId, new TransactionCreatedEvent(
+                                                TransactionType.WITHDRAW, userId, money, description, occurredAt)))
+                                        .thenReturn(mutation);
+                            })
+                            .as(transactionalOperator::transactional)
+                            .flatMap(mutation -> walletCacheEvictor.evict(userId).thenReturn(mutation))
+                            .map(mutation -> {
+                                WalletDTOs.WithdrawResponse response = new WalletDTOs.WithdrawResponse(
+                                    "Saque realizado com sucesso",
+                                    request.getAmount(),
+                                    request.getCurrency(),
+                                    mutation.getNewBalance().getAmount(),
+                                    transactionId
+                                );
+
+                                auditService.logBalanceChange(userId, mutation.getOldBalance(), mutation.getNewBalance(),
+                                        "Withdrawal: " + description, correlationId, transactionId);
+
+                                log.info("Withdrawal completed successfully: {}, new balance: {}",
+                                        response.getTransactionId(), mutation.getNewBalance().getAmount());
+                                return ResponseEntity.ok(response);
+                            });
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorMap(e -> {
+                    if (e instanceof InsufficientFundsException) {
+                        auditService.logSecurityEvent("INSUFFICIENT_FUNDS", userId,
+                                "Attempted withdrawal: " + request.getAmount() + " " + request.getCurrency(), correlationId);
+                        log.warn("Insufficient funds for withdrawal: user {}, requested: {}", userId, request.getAmount());
+                        auditService.logError("WITHDRAW", userId, "Saldo insuficiente", correlationId);
+                        return new RuntimeException("Erro ao realizar saque: Saldo insuficiente");
+                    }
+                    if (e instanceof ConcurrencyFailureException) {
+                        auditService.logError("WITHDRAW", userId, e.getMessage(), correlationId);
+                        return e;
+                    }
+                    if (e instanceof IllegalArgumentException) {
+                        auditService.logError("WITHDRAW", userId, e.getMessage(), correlationId);
+                        return e;
+                    }
+                    auditService.logError("WITHDRAW", userId, e.getMessage(), correlationId);
+                    log.error("Error processing withdrawal for user {}: {}", userId, e.getMessage());
+                    return new RuntimeException("Erro ao realizar saque: " + e.getMessage());
+                });
+    }
+
+    @PostMapping("/{userId}/transfer")
+    @PreAuthorize("hasRole('USER') and #userId == authentication.principal.username or hasRole('ADMIN')")
+    public Mono<ResponseEntity<WalletDTOs.TransferResponse>> transfer(
+            @PathVariable String userId,
+            @Valid @RequestBody WalletDTOs.TransferRequest request) {
+
+        String correlationId = auditService.generateCorrelationId();
+        String transactionId = nextTransactionId();
+        log.info("Processing transfer from user: {} to user: {}, amount: {} {}",
+                userId, request.getTargetUserId(), request.getAmount(), request.getCurrency());
+
+        if (userId.equals(request.getTargetUserId())) {
+            auditService.logSecurityEvent("SELF_TRANSFER_ATTEMPT", userId,
+                    "Attempted self-transfer", correlationId);
+            log.warn("Attempted self-transfer: user {}", userId);
+            return Mono.error(new RuntimeException("Não é possível transferir para a mesma carteira"));
+        }
+
+        // As duas carteiras precisam existir antes de qualquer escrita, como no WalletPairLoader
+        return Mono.zip(walletRepository.findByUserId(userId), walletRepository.findByUserId(request.getTargetUserId()))
+                .flatMap(pair -> {
+                    Money money = new Money(request.getAmount(), request.getCurrency());
+
+                    auditService.logTransaction("TRANSFER", userId, money,
+                            "Transfer to " + request.getTargetUserId() + ": " + request.getDescription(), correlationId, transactionId);
+
+                    String sourceDescription = request.getDescription() != null ?
+                        request.getDescription() :
+                        String.format("Transferência enviada de %s %s para %s", request.getAmount(), request.getCurrency(), request.getTargetUserId());
+                    String targetDescription = String.format("Transferência recebida de %s %s de %s", request.getAmount(), request.getCurrency(), userId);
+
+                    return balanceMutationEngine.transfer(userId, request.getTargetUserId(), money, sourceDescription, targetDescription)
+                            .flatMap(transfer -> {
+                                LocalDateTime occurredAt = LocalDateTime.now();
+                                Transaction ledger = Transaction.createTransfer(transfer.getSource().getWalletId(), transfer.getTarget().getWalletId(), money, sourceDescription);
+                                ledger.setReferenceId(transactionId);
+                                return transactionRepository
+                                        .append(ledger)
+                                        .then(eventOutbox.append(userId, new MoneyTransferredEvent(userId, request.getTargetUserId(), money,
+                                                transfer.getSource().getOldBalance(), transfer.getSource().getNewBalance(), occurredAt)))
+                                        .then(eventOutbox.append(request.getTargetUserId(), new MoneyTransferredEvent(userId, request.getTargetUserId(), money,
+                                                transfer.getTarget().getOldBalance(), transfer.getTarget().getNewBalance(), occurredAt)))
+                                        .thenReturn(transfer);
+                            })
+                            .as(transactionalOperator::transactional)
+                            .flatMap(transfer -> walletCacheEvictor.evict(userId, request.getTargetUserId()).thenReturn(transfer))
+                            .map(transfer -> {
+                                WalletDTOs.TransferResponse response = new WalletDTOs.TransferResponse(
+                                    "Transferência realizada com sucesso",
+                                    request.getAmount(),
+                                    request.getCurrency(),
+                                    userId,
+                                    request.getTargetUserId(),
+                                    transfer.getSource().getNewBalance().getAmount(),
+                                    transfer.getTarget().getNewBalance().getAmount(),
+                                    transactionId
+                                );
+
+                                auditService.logBalanceChange(userId, transfer.getSource().getOldBalance(), transfer.getSource().getNewBalance(),
+                                        "Transfer sent: " + sourceDescription, correlationId, transactionId);
+                                auditService.logBalanceChange(request.getTargetUserId(), transfer.getTarget().getOldBalance(), transfer.getTarget().getNewBalance(),
+                                        "Transfer received: " + targetDescription, correlationId, transactionId);
+
+                                log.info("Transfer completed successfully: {}, source balance: {}, target balance: {}",
+                                        response.getTransactionId(), transfer.getSource().getNewBalance().getAmount(), transfer.getTarget().getNewBalance().getAmount());
+                                return ResponseEntity.ok(response);
+                            });
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorMap(e -> {
+                    if (e instanceof InsufficientFundsException) {
+                        auditService.logSecurityEvent("INSUFFICIENT_FUNDS_TRANSFER", userId,
+                                "Attempted transfer: " + request.getAmount() + " " + request.getCurrency(), correlationId);
+                        log.warn("Insufficient funds for transfer: user {}, requested: {}", userId, request.getAmount());
+                        auditService.logError("TRANSFER", userId, "Saldo insuficiente", correlationId);
+                        return new RuntimeException("Erro ao realizar transferência: Saldo insuficiente");
+                    }
+                    if (e instanceof ConcurrencyFailureException) {
+                        auditService.logError("TRANSFER", userId, e.getMessage(), correlationId);
+                        return e;
+                    }
+                    if (e instanceof IllegalArgumentException) {
+                        auditService.logError("TRANSFER", userId, e.getMessage(), correlationId);
+                        return e;
+                    }
+                    auditService.logError("TRANSFER", userId, e.getMessage(), correlationId);
+                    log.error("Error processing transfer from user {} to user {}: {}", userId, request.getTargetUserId(), e.getMessage());
+                    return new RuntimeException("Erro ao realizar transferência: " + e.getMessage());
+                });
+    }
+
+    @GetMapping("/{userId}/balance-history")
+    @PreAuthorize("hasRole('USER') and #userId == authentication.principal.username or hasRole('ADMIN')")
+    public Mono<ResponseEntity<WalletDTOs.BalanceHistoryResponse>> getBalanceHistory(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+
+        String correlationId = auditService.generateCorrelationId();
+        log.info("Consulting balance history for user: {}", userId);
+        auditService.logOperation("CONSULT_BALANCE_HISTORY", userId, "Consulting balance history", correlationId);
+
+        int pageSize = limit != null ? limit : historyDefaultPageSize;
+        if (pageSize < 1 || pageSize > historyMaxPageSize) {
+            throw new IllegalArgumentException("limit deve estar entre 1 e " + historyMaxPageSize);
+        }
+        validateHistoryRange(startDate, endDate);
+
+        PageCursor before = cursor != null ? PageCursor.decode(cursor)
+                : PageCursor.endingAt(endDate != null ? endDate : HISTORY_UPPER_BOUND);
+        if (endDate != null && before.getTimestamp().isAfter(endDate)) {
+            before = PageCursor.endingAt(endDate);
+        }
+        PageCursor from = before;
+
+        return walletRepository.findByUserId(userId)
+                .flatMap(wallet -> balanceHistoryRepository.findPageByWalletId(
+                                wallet.getId(),
+                                startDate != null ? startDate : HISTORY_LOWER_BOUND,
+                                from.getTimestamp(),
+                                from.getId(),
+                                // Busca um registro a mais para saber se existe próxima página
+                                pageSize + 1)
+                        .collectList()
+                        .map(records -> {
+                            String nextCursor = null;
+                            if (records.size() > pageSize) {
+                                records = records.subList(0, pageSize);
+                                BalanceHistory last = records.get(pageSize - 1);
+                                nextCursor = new PageCursor(last.getRecordedAt(), last.getId()).encode();
+                            }
+
+                            List<WalletDTOs.BalanceHistoryEntry> history = records.stream()
+                                    .map(this::toHistoryEntry)
+                                    .toList();
+
+                            WalletDTOs.BalanceHistoryResponse response = new WalletDTOs.BalanceHistoryResponse(
+                                userId,
+                                wallet.getBalance().getAmount(),
+                                wallet.getBalance().getCurrency(),
+                                history,
+                                nextCursor
+                            );
+
+                            auditService.logOperation("BALANCE_HISTORY_CONSULTED", userId,
+                                    "Balance history consulted: " + history.size() + " records", correlationId);
+                            log.info("Balance history consulted successfully: {} records found", history.size());
+                            return ResponseEntity.ok(response);
+                        }))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Histórico completo em NDJSON. O Flux segue a demanda do cliente: o
+     * R2DBC só busca o próximo lote quando o anterior foi escrito na conexão
+     */
+    @GetMapping(value = "/{userId}/balance-history", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('USER') and #userId == authentication.principal.username or hasRole('ADMIN')")
+    public Mono<ResponseEntity<Flux<WalletDTOs.BalanceHistoryEntry>>> streamBalanceHistory(
+            @PathVariable String userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+
+        String correlationId = auditService.generateCorrelationId();
+        log.info("Streaming balance history for user: {}", userId);
+        auditService.logOperation("STREAM_BALANCE_HISTORY", userId, "Streaming balance history", correlationId);
+
+        validateHistoryRange(startDate, endDate);
+
+        return walletRepository.findByUserId(userId)
+                .map(wallet -> {
+                    long[] count = {0};
+                    Flux<WalletDTOs.BalanceHistoryEntry> body = balanceHistoryRepository.stream(wallet.getId(), startDate, endDate)
+                            .map(record -> {
+                                count[0]++;
+                                return toHistoryEntry(record);
+                            })
+                            .doOnComplete(() -> {
+                                auditService.logOperation("BALANCE_HISTORY_STREAMED", userId,
+                                        "Balance history streamed: " + count[0] + " records", correlationId);
+                                log.info("Balance history streamed successfully: {} records", count[0]);
+                            });
+                    return ResponseEntity.ok()
+                            .contentType(MediaType.APPLICATION_NDJSON)
+                            .body(body);
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{userId}/transactions")
+    @PreAuthorize("hasRole('USER') and #userId == authentication.principal.username or hasRole('ADMIN')")
+    public Mono<ResponseEntity<WalletDTOs.TransactionListResponse>> getTransactions(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Set<TransactionType> type,
+            @RequestParam(required = false) Set<String> status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+
+        String correlationId = auditService.generateCorrelationId();
+        log.info("Listing transactions for user: {}", userId);
+        auditService.logOperation("LIST_TRANSACTIONS", userId, "Listing transactions", correlationId);
+
+        int pageSize = limit != null ? limit : transactionsDefaultPageSize;
+        if (pageSize < 1 || pageSize > transactionsMaxPageSize) {
+            throw new IllegalArgumentException("limit deve estar entre 1 e " + transactionsMaxPageSize);
+        }
+        validateHistoryRange(startDate, endDate);
+
+        PageCursor before = cursor != null ? PageCursor.decode(cursor) : null;
+        Set<String> statuses = status != null
+                ? status.stream().map(value -> value.toUpperCase(Locale.ROOT)).collect(Collectors.toSet())
+                : null;
+        TransactionHistoryQuery.Filter filter = new TransactionHistoryQuery.Filter(type, statuses, startDate, endDate);
+
+        return walletRepository.findByUserId(userId)
+                // Busca um registro a mais para saber se existe próxima página
+                .flatMap(wallet -> transactionRepository.findPage(wallet.getId(), filter, before, pageSize + 1)
+                        .collectList()
+                        .map(records -> {
+                            String nextCursor = null;
+                            if (records.size() > pageSize) {
+                                records = records.subList(0, pageSize);
+                                Transaction last = records.get(pageSize - 1);
+                                nextCursor = new PageCursor(last.getTransactionDate(), last.getId()).encode();
+                            }
+
+                            List<WalletDTOs.TransactionEntry> transactions = records.stream()
+                                    .map(record -> new WalletDTOs.TransactionEntry(
+                                        record.getId(),
+                                        record.getTransactionType().name(),
+                                        record.getTransactionType() == TransactionType.DEPOSIT
+                                                || !wallet.getId().equals(record.getWalletId()) ? "CREDIT" : "DEBIT",
+                                        record.getAmount().getAmount(),
+                                        record.getAmount().getCurrency(),
+                                        record.getDescription(),
+                                        record.getStatus(),
+                                        record.getTransactionDate()
+                                    ))
+                                    .toList();
+
+                            auditService.logOperation("TRANSACTIONS_LISTED", userId,
+                                    "Transactions listed: " + transactions.size() + " records", correlationId);
+                            log.info("Transactions listed successfully: {} records found", transactions.size());
+                            return ResponseEntity.ok(new WalletDTOs.TransactionListResponse(userId, transactions, nextCursor));
+                        }))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Id da operação devolvido ao cliente, distinto do correlation id (que
+     * pode vir do próprio cliente em X-Correlation-Id e se repetir). Gerado
+     * antes da operação e gravado em transactions.reference_id e em
+     * audit_log.transaction_id, para que o id recebido localize a operação.
+     */
+    private String nextTransactionId() {
+        return idGenerator.nextUuid().toString();
+    }
+
+    private void validateHistoryRange(LocalDateTime startDate, LocalDateTime endDate) {
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("startDate deve ser anterior a endDate");
+        }
+    }
+
+    private WalletDTOs.BalanceHistoryEntry toHistoryEntry(BalanceHistory record) {
+        return new WalletDTOs.BalanceHistoryEntry(
+            record.getBalance().getAmount(),
+            record.getBalance().getCurrency(),
+            record.getDescription(),
+            record.getRecordedAt()
+        );
+    }
+
+    @GetMapping("/health")
+    public ResponseEntity<WalletDTOs.HealthResponse> health() {
+        WalletDTOs.HealthResponse response = new WalletDTOs.HealthResponse(
+            "UP",
+            "wallet-service-reactive",
+            "1.0.0",
+            System.currentTimeMillis()
+        );
+        return ResponseEntity.ok(response);
+    }
+}
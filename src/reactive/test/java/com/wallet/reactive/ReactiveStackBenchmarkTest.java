@@ -0,0 +1,235 @@
+package com.wallet.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.WalletServiceApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comparação A/B entre o servlet stack (Tomcat + JDBC) e a edição reativa
+ * (Netty + R2DBC) com 5.000 conexões simultâneas lendo a listagem de
+ * transações. As duas aplicações sobem em sequência sobre os mesmos
+ * containers, com 50 conexões de banco cada. Além de req/s e latência,
+ * mede a memória por conexão: heap ocupado após GC e threads de plataforma
+ * durante a carga, menos o mesmo valor com a aplicação ociosa, dividido pelo
+ * número de conexões. O cliente roda na mesma JVM em virtual threads e pesa
+ * igual nas duas medições.
+ * Executar com: mvn test -Preactive -Dbenchmarks=true -Dtest=ReactiveStackBenchmarkTest
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@DisplayName("Reactive Stack Benchmark Test")
+class ReactiveStackBenchmarkTest {
+
+    private static final int CLIENTS = 5_000;
+    private static final int DB_POOL_SIZE = 50;
+    private static final long WARMUP_MILLIS = 5_000;
+    private static final long DURATION_MILLIS = 15_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+    @Test
+    @DisplayName("Should compare servlet and reactive stacks at 5k concurrent connections")
+    void shouldCompareServletAndReactiveStacks() throws Exception {
+        Result servlet;
+        String token;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(WalletServiceApplication.class)
+                .properties(commonProperties())
+                .properties(
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.datasource.hikari.maximum-pool-size=" + DB_POOL_SIZE)
+                .run()) {
+            String baseUrl = baseUrl(context);
+            // A edição reativa não emite tokens: o mesmo token do servlet stack vale para as duas
+            token = login(baseUrl);
+            client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/wallets"))
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", "Bearer " + token)
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"userId\":\"user1\",\"currency\":\"BRL\"}"))
+                    .build(), HttpResponse.BodyHandlers.discarding());
+            servlet = load(transactionsRequest(baseUrl, token));
+        }
+
+        Result reactive;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ReactiveWalletApplication.class)
+                .profiles(ReactiveWalletApplication.PROFILE)
+                .properties(commonProperties())
+                .properties(
+                        "spring.r2dbc.url=r2dbc:postgresql://" + postgres.getHost() + ":" + postgres.getMappedPort(5432)
+                                + "/" + postgres.getDatabaseName(),
+                        "spring.r2dbc.username=" + postgres.getUsername(),
+                        "spring.r2dbc.password=" + postgres.getPassword(),
+                        "spring.r2dbc.pool.initial-size=" + DB_POOL_SIZE,
+                        "spring.r2dbc.pool.max-size=" + DB_POOL_SIZE)
+                .run()) {
+            reactive = load(transactionsRequest(baseUrl(context), token));
+        }
+
+        System.out.printf("%-10s %10s %10s %10s %10s %14s %10s%n",
+                "stack", "req/s", "p50 ms", "p99 ms", "errors", "heap KB/conn", "threads");
+        servlet.print("servlet");
+        reactive.print("reactive");
+
+        assertTrue(reactive.errors <= servlet.errors + CLIENTS / 100,
+                "The reactive stack must not fail more requests than the servlet stack");
+        assertTrue(reactive.threadDelta < servlet.threadDelta,
+                "The reactive stack must serve the load with fewer platform threads");
+    }
+
+    private String[] commonProperties() {
+        return new String[] {
+                "server.port=0",
+                "spring.flyway.url=" + postgres.getJdbcUrl(),
+                "spring.flyway.user=" + postgres.getUsername(),
+                "spring.flyway.password=" + postgres.getPassword(),
+                "spring.data.redis.host=" + redis.getHost(),
+                "spring.data.redis.port=" + redis.getMappedPort(6379),
+                "rate-limit.enabled=false",
+                "logging.level.com.wallet=WARN"
+        };
+    }
+
+    private Result load(HttpRequest request) throws InterruptedException {
+        Footprint idle = Footprint.sample();
+        List<Long> samples = Collections.synchronizedList(new ArrayList<>());
+        LongAdder errors = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        long measureFrom = System.currentTimeMillis() + WARMUP_MILLIS;
+        long deadline = measureFrom + DURATION_MILLIS;
+        Footprint[] underLoad = new Footprint[1];
+
+        Thread sampler = Thread.ofPlatform().start(() -> {
+            try {
+                Thread.sleep(Math.max(measureFrom + DURATION_MILLIS / 2 - System.currentTimeMillis(), 0));
+                underLoad[0] = Footprint.sample();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.submit(() -> {
+                    start.await();
+                    while (System.currentTimeMillis() < deadline) {
+                        long t0 = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                        } catch (IOException e) {
+                            ok = false;
+                        }
+                        if (System.currentTimeMillis() < measureFrom) {
+                            continue;
+                        }
+                        if (ok) {
+                            samples.add(System.nanoTime() - t0);
+                        } else {
+                            errors.increment();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+        sampler.join();
+        return new Result(samples, errors.sum(), DURATION_MILLIS, idle, underLoad[0]);
+    }
+
+    private HttpRequest transactionsRequest(String baseUrl, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/wallets/user1/transactions?limit=20"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private String login(String baseUrl) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"user1\",\"password\":\"user123\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), response.body());
+        return objectMapper.readTree(response.body()).get("accessToken").asText();
+    }
+
+    private static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    private record Footprint(long heapBytes, int platformThreads) {
+        private static Footprint sample() {
+            System.gc();
+            return new Footprint(
+                    ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(),
+                    ManagementFactory.getThreadMXBean().getThreadCount());
+        }
+    }
+
+    private static final class Result {
+        private final long[] sortedNanos;
+        private final long errors;
+        private final long durationMillis;
+        private final double heapKbPerConnection;
+        private final int threadDelta;
+
+        private Result(List<Long> samples, long errors, long durationMillis, Footprint idle, Footprint underLoad) {
+            this.sortedNanos = samples.stream().mapToLong(Long::longValue).sorted().toArray();
+            this.errors = errors;
+            this.durationMillis = durationMillis;
+            this.heapKbPerConnection = (underLoad.heapBytes() - idle.heapBytes()) / 1024.0 / CLIENTS;
+            this.threadDelta = underLoad.platformThreads() - idle.platformThreads();
+        }
+
+        private double throughput() {
+            return sortedNanos.length * 1000.0 / durationMillis;
+        }
+
+        private double percentile(int p) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p / 100.0 * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(index, 0)] / 1e6;
+        }
+
+        private void print(String stack) {
+            System.out.printf("%-10s %10.0f %10.2f %10.2f %10d %14.1f %10d%n",
+                    stack, throughput(), percentile(50), percentile(99), errors, heapKbPerConnection, threadDelta);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.wallet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste de carga comparando o servlet stack em threads de plataforma (pool
+ * do Tomcat) e em virtual threads com 2.000 clientes simultâneos lendo a
+ * listagem de transações, que consulta o banco a cada requisição.
+ * As duas aplicações sobem em sequência sobre os mesmos containers e com o
+ * mesmo pool do Hikari.
+ * Executar com: mvn test -Dbenchmarks=true -Dtest=VirtualThreadsLoadTest
+ * Para rastrear pinning: -DargLine=-Djdk.tracePinnedThreads=short
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@DisplayName("Virtual Threads Load Test")
+class VirtualThreadsLoadTest {
+
+    private static final int CLIENTS = 2_000;
+    private static final int DB_POOL_SIZE = 50;
+    private static final long WARMUP_MILLIS = 5_000;
+    private static final long DURATION_MILLIS = 15_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should compare platform and virtual threads at 2k concurrent clients")
+    void shouldComparePlatformAndVirtualThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("%-10s %10s %10s %10s %10s%n", "threads", "req/s", "p50 ms", "p99 ms", "errors");
+        platform.print("platform");
+        virtual.print("virtual");
+
+        assertTrue(virtual.throughput() >= platform.throughput() * 0.9,
+                "Virtual threads must not serve fewer requests than the platform pool");
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(WalletServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.datasource.hikari.maximum-pool-size=" + DB_POOL_SIZE,
+                        "spring.flyway.url=" + postgres.getJdbcUrl(),
+                        "spring.flyway.user=" + postgres.getUsername(),
+                        "spring.flyway.password=" + postgres.getPassword(),
+                        "spring.data.redis.host=" + redis.getHost(),
+                        "spring.data.redis.port=" + redis.getMappedPort(6379),
+                        "rate-limit.enabled=false")
+                .run()) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+            String token = login(client, baseUrl);
+            client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/wallets"))
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", "Bearer " + token)
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"userId\":\"user1\",\"currency\":\"BRL\"}"))
+                    .build(), HttpResponse.BodyHandlers.discarding());
+
+            return load(client, HttpRequest.newBuilder(URI.create(baseUrl + "/api/wallets/user1/transactions?limit=20"))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build());
+        }
+    }
+
+    private Result load(HttpClient client, HttpRequest request) throws InterruptedException {
+        List<Long> samples = Collections.synchronizedList(new ArrayList<>());
+        LongAdder errors = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        long measureFrom = System.currentTimeMillis() + WARMUP_MILLIS;
+        long deadline = measureFrom + DURATION_MILLIS;
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.submit(() -> {
+                    start.await();
+                    while (System.currentTimeMillis() < deadline) {
+                        long t0 = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                        } catch (IOException e) {
+                            ok = false;
+                        }
+                        if (System.currentTimeMillis() < measureFrom) {
+                            continue;
+                        }
+                        if (ok) {
+                            samples.add(System.nanoTime() - t0);
+                        } else {
+                            errors.increment();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+        return new Result(samples, errors.sum(), DURATION_MILLIS);
+    }
+
+    private String login(HttpClient client, String baseUrl) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"user1\",\"password\":\"user123\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), response.body());
+        return objectMapper.readTree(response.body()).get("accessToken").asText();
+    }
+
+    private static final class Result {
+        private final long[] sortedNanos;
+        private final long errors;
+        private final long durationMillis;
+
+        private Result(List<Long> samples, long errors, long durationMillis) {
+            this.sortedNanos = samples.stream().mapToLong(Long::longValue).sorted().toArray();
+            this.errors = errors;
+            this.durationMillis = durationMillis;
+        }
+
+        private double throughput() {
+            return sortedNanos.length * 1000.0 / durationMillis;
+        }
+
+        private double percentile(int p) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p / 100.0 * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(index, 0)] / 1e6;
+        }
+
+        private void print(String mode) {
+            System.out.printf("%-10s %10.0f %10.2f %10.2f %10d%n",
+                    mode, throughput(), percentile(50), percentile(99), errors);
+        }
+    }
+}
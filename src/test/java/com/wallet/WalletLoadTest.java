@@ -0,0 +1,431 @@
+package com.wallet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste de carga ponta a ponta da API de carteiras com gerador em malha
+ * aberta: as requisições saem em intervalos fixos para a taxa alvo,
+ * independentemente das respostas, e a latência é medida a partir do instante
+ * planejado de envio, de modo que uma pausa do servidor aparece nos percentis
+ * (sem omissão coordenada).
+ * A aplicação sobe contra Postgres e Redis em containers, N carteiras são
+ * criadas pela própria API e cada requisição sorteia a operação pelo mix e as
+ * carteiras por uma distribuição Zipf (as primeiras concentram o tráfego,
+ * como carteiras quentes). Latências vão para HdrHistograms por operação; 409
+ * (conflito de versão) é contado à parte dos demais erros.
+ * O relatório JSON fica em load.report (padrão target/load-test-report.json).
+ * Parâmetros (-D): load.wallets, load.rate (req/s), load.warmup-seconds,
+ * load.duration-seconds, load.zipf, load.mix (ex.: deposit=35,withdraw=15,
+ * transfer=25,history=15,balance=10), load.max-in-flight, load.max-error-rate.
+ * Propriedades wallet.* passadas com -D chegam à aplicação (ex.:
+ * -Dwallet.transfer.mode=PESSIMISTIC) para comparar configurações.
+ * Executar com: mvn test -Dbenchmarks=true -Dtest=WalletLoadTest
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@DisplayName("Wallet Load Test")
+class WalletLoadTest {
+
+    private static final int WALLETS = Integer.getInteger("load.wallets", 1_000);
+    private static final int RATE = Integer.getInteger("load.rate", 500);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmup-seconds", 10);
+    private static final int DURATION_SECONDS = Integer.getInteger("load.duration-seconds", 30);
+    private static final double ZIPF_EXPONENT = Double.parseDouble(System.getProperty("load.zipf", "1.1"));
+    private static final String MIX = System.getProperty("load.mix", "deposit=35,withdraw=15,transfer=25,history=15,balance=10");
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("load.max-in-flight", 5_000);
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"));
+    private static final Path REPORT = Path.of(System.getProperty("load.report", "target/load-test-report.json"));
+
+    private static final int DB_POOL_SIZE = 50;
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private HttpClient client;
+    private String baseUrl;
+    private String token;
+
+    enum Operation {
+        DEPOSIT, WITHDRAW, TRANSFER, HISTORY, BALANCE
+    }
+
+    @Test
+    @DisplayName("Should drive the operation mix at the target rate and write the report")
+    void shouldDriveMixedLoad() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(WalletServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=true",
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.datasource.hikari.maximum-pool-size=" + DB_POOL_SIZE,
+                        "spring.flyway.url=" + postgres.getJdbcUrl(),
+                        "spring.flyway.user=" + postgres.getUsername(),
+                        "spring.flyway.password=" + postgres.getPassword(),
+                        "spring.data.redis.host=" + redis.getHost(),
+                        "spring.data.redis.port=" + redis.getMappedPort(6379),
+                        "rate-limit.enabled=false")
+                .run()) {
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            token = login();
+            seedWallets();
+
+            Map<Operation, Stats> stats = run(new OperationMix(MIX), new ZipfSampler(WALLETS, ZIPF_EXPONENT));
+            Map<String, Object> report = report(context, stats);
+
+            Files.createDirectories(REPORT.toAbsolutePath().getParent());
+            objectMapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(REPORT.toFile(), report);
+            print(stats);
+            System.out.println("Report written to " + REPORT.toAbsolutePath());
+
+            long requests = stats.values().stream().mapToLong(Stats::requests).sum();
+            long errors = stats.values().stream().mapToLong(s -> s.errors.sum()).sum();
+            assertTrue(requests > 0, "No request completed in the measurement window");
+            assertTrue(errors <= requests * MAX_ERROR_RATE,
+                    errors + " errors in " + requests + " requests exceed load.max-error-rate=" + MAX_ERROR_RATE);
+        }
+    }
+
+    private Map<Operation, Stats> run(OperationMix mix, ZipfSampler wallets) throws InterruptedException {
+        Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+        Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / RATE;
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(WARMUP_SECONDS);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long intended = start + i * intervalNanos;
+                if (intended >= end) {
+                    break;
+                }
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = mix.next();
+                Stats operationStats = intended >= measureFrom ? stats.get(operation) : null;
+                if (!inFlight.tryAcquire()) {
+                    // Cliente saturado: a requisição planejada não sai e conta como erro
+                    if (operationStats != null) {
+                        operationStats.dropped.increment();
+                        operationStats.errors.increment();
+                    }
+                    continue;
+                }
+                HttpRequest request = request(operation, wallets);
+                executor.submit(() -> {
+                    try {
+                        int status = send(request);
+                        if (operationStats != null) {
+                            operationStats.record(status, System.nanoTime() - intended);
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return stats;
+    }
+
+    private HttpRequest request(Operation operation, ZipfSampler wallets) {
+        int rank = wallets.nextRank();
+        String userId = ZipfSampler.userId(rank);
+        return switch (operation) {
+            case DEPOSIT -> post("/api/wallets/" + userId + "/deposit",
+                    "{\"amount\":10.00,\"currency\":\"BRL\",\"description\":\"Carga\"}");
+            case WITHDRAW -> post("/api/wallets/" + userId + "/withdraw",
+                    "{\"amount\":5.00,\"currency\":\"BRL\",\"description\":\"Carga\"}");
+            case TRANSFER -> post("/api/wallets/" + userId + "/transfer",
+                    "{\"targetUserId\":\"" + ZipfSampler.userId(wallets.nextRankOtherThan(rank))
+                            + "\",\"amount\":1.00,\"currency\":\"BRL\",\"description\":\"Carga\"}");
+            case HISTORY -> get("/api/wallets/" + userId + "/transactions?limit=20");
+            case BALANCE -> get("/api/wallets/" + userId);
+        };
+    }
+
+    private int send(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private void seedWallets() throws InterruptedException {
+        LongAdder failures = new LongAdder();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Semaphore permits = new Semaphore(DB_POOL_SIZE);
+            for (int rank = 0; rank < WALLETS; rank++) {
+                String userId = ZipfSampler.userId(rank);
+                permits.acquire();
+                executor.submit(() -> {
+                    try {
+                        boolean created = send(post("/api/wallets",
+                                "{\"userId\":\"" + userId + "\",\"currency\":\"BRL\"}")) == 201
+                                && send(post("/api/wallets/" + userId + "/deposit",
+                                "{\"amount\":1000000.00,\"currency\":\"BRL\",\"description\":\"Saldo inicial\"}")) == 200;
+                        if (!created) {
+                            failures.increment();
+                        }
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        assertEquals(0, failures.sum(), "Failed to seed " + failures.sum() + " of " + WALLETS + " wallets");
+    }
+
+    private String login() throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"admin\",\"password\":\"admin123\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), response.body());
+        return objectMapper.readTree(response.body()).get("accessToken").asText();
+    }
+
+    private Map<String, Object> report(ConfigurableApplicationContext context, Map<Operation, Stats> stats) {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("wallets", WALLETS);
+        config.put("targetRate", RATE);
+        config.put("warmupSeconds", WARMUP_SECONDS);
+        config.put("durationSeconds", DURATION_SECONDS);
+        config.put("zipfExponent", ZIPF_EXPONENT);
+        config.put("mix", MIX);
+        config.put("maxInFlight", MAX_IN_FLIGHT);
+        config.put("transferMode", context.getEnvironment().getProperty("wallet.transfer.mode", "OPTIMISTIC"));
+        config.put("persistenceMode", context.getEnvironment().getProperty("wallet.persistence.mode", "STATE"));
+
+        Stats overall = new Stats();
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            operations.put(entry.getKey().name().toLowerCase(), entry.getValue().toReport());
+            overall.add(entry.getValue());
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config);
+        report.put("total", overall.toReport());
+        report.put("operations", operations);
+        return report;
+    }
+
+    private static void print(Map<Operation, Stats> stats) {
+        System.out.printf("%-10s %10s %10s %10s %10s %10s %10s%n",
+                "operation", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "conflicts", "errors");
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            Stats s = entry.getValue();
+            System.out.printf("%-10s %10.0f %10.2f %10.2f %10.2f %10d %10d%n",
+                    entry.getKey().name().toLowerCase(), s.throughput(),
+                    s.percentileMillis(50), s.percentileMillis(99), s.percentileMillis(99.9),
+                    s.conflicts.sum(), s.errors.sum());
+        }
+    }
+
+    /**
+     * Contadores e histograma de uma operação na janela de medição
+     */
+    private static final class Stats {
+        private final Histogram latency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        private final LongAdder ok = new LongAdder();
+        private final LongAdder conflicts = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+
+        private void record(int status, long latencyNanos) {
+            latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+            if (status == 200) {
+                ok.increment();
+            } else if (status == 409) {
+                conflicts.increment();
+            } else {
+                errors.increment();
+            }
+        }
+
+        private void add(Stats other) {
+            latency.add(other.latency);
+            ok.add(other.ok.sum());
+            conflicts.add(other.conflicts.sum());
+            errors.add(other.errors.sum());
+            dropped.add(other.dropped.sum());
+        }
+
+        private long requests() {
+            return ok.sum() + conflicts.sum() + errors.sum();
+        }
+
+        private double throughput() {
+            return ok.sum() / (double) DURATION_SECONDS;
+        }
+
+        private double percentileMillis(double percentile) {
+            return latency.getTotalCount() == 0 ? 0 : latency.getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        private Map<String, Object> toReport() {
+            long requests = requests();
+            Map<String, Object> latencyMillis = new LinkedHashMap<>();
+            latencyMillis.put("mean", latency.getTotalCount() == 0 ? 0 : latency.getMean() / 1000.0);
+            latencyMillis.put("p50", percentileMillis(50));
+            latencyMillis.put("p90", percentileMillis(90));
+            latencyMillis.put("p99", percentileMillis(99));
+            latencyMillis.put("p99.9", percentileMillis(99.9));
+            latencyMillis.put("max", latency.getMaxValue() / 1000.0);
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("requests", requests);
+            report.put("ok", ok.sum());
+            report.put("conflicts", conflicts.sum());
+            report.put("errors", errors.sum());
+            report.put("dropped", dropped.sum());
+            report.put("throughput", throughput());
+            report.put("conflictRate", requests == 0 ? 0 : conflicts.sum() / (double) requests);
+            report.put("errorRate", requests == 0 ? 0 : errors.sum() / (double) requests);
+            report.put("latencyMillis", latencyMillis);
+            return report;
+        }
+    }
+
+    /**
+     * Sorteio de operações pelos pesos de load.mix
+     */
+    private static final class OperationMix {
+        private final Operation[] operations;
+        private final int[] cumulativeWeights;
+
+        private OperationMix(String mix) {
+            Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+            for (String part : mix.split(",")) {
+                String[] entry = part.trim().split("=");
+                weights.put(Operation.valueOf(entry[0].trim().toUpperCase()), Integer.parseInt(entry[1].trim()));
+            }
+            operations = weights.keySet().toArray(new Operation[0]);
+            cumulativeWeights = new int[operations.length];
+            int sum = 0;
+            for (int i = 0; i < operations.length; i++) {
+                sum += weights.get(operations[i]);
+                cumulativeWeights[i] = sum;
+            }
+            if (sum <= 0) {
+                throw new IllegalArgumentException("load.mix needs at least one positive weight: " + mix);
+            }
+        }
+
+        private Operation next() {
+            int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (pick < cumulativeWeights[i]) {
+                    return operations[i];
+                }
+            }
+            throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * Distribuição Zipf sobre as carteiras: a de posto k recebe tráfego
+     * proporcional a 1/(k+1)^s, com a CDF pré-calculada e busca binária
+     */
+    private static final class ZipfSampler {
+        private final double[] cdf;
+
+        private ZipfSampler(int size, double exponent) {
+            cdf = new double[size];
+            double sum = 0;
+            for (int rank = 0; rank < size; rank++) {
+                sum += 1.0 / Math.pow(rank + 1, exponent);
+                cdf[rank] = sum;
+            }
+            for (int rank = 0; rank < size; rank++) {
+                cdf[rank] /= sum;
+            }
+        }
+
+        private static String userId(int rank) {
+            return "load-" + (rank + 1);
+        }
+
+        private int nextRank() {
+            int index = Arrays.binarySearch(cdf, ThreadLocalRandom.current().nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, cdf.length - 1);
+        }
+
+        private int nextRankOtherThan(int rank) {
+            int other = nextRank();
+            return other != rank ? other : (rank + 1) % cdf.length;
+        }
+    }
+}
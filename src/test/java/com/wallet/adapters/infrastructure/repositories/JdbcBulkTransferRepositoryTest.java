@@ -0,0 +1,123 @@
+package com.wallet.adapters.infrastructure.repositories;
+
+import com.wallet.application.ports.BulkTransferRepository;
+import com.wallet.domain.entities.BalanceHistory;
+import com.wallet.domain.entities.Wallet;
+import com.wallet.domain.valueobjects.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do adaptador de transferências em lote contra um Postgres real:
+ * travamento em ordem de id, crédito set-based e histórico multi-linha.
+ */
+@SpringBootTest(properties = {
+        "wallet.outbox.relay.enabled=false",
+        "rate-limit.enabled=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("JDBC Bulk Transfer Repository Tests")
+class JdbcBulkTransferRepositoryTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", () -> redis.getMappedPort(6379));
+    }
+
+    @Autowired
+    private BulkTransferRepository bulkTransferRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should lock wallets in id order regardless of the requested order")
+    void shouldLockInIdOrder() {
+        long first = insertWallet("bulk-lock-a", "10.00", "BRL", "ACTIVE");
+        long second = insertWallet("bulk-lock-b", "10.00", "BRL", "ACTIVE");
+        long third = insertWallet("bulk-lock-c", "10.00", "BRL", "ACTIVE");
+
+        List<Long> ids = transactionTemplate.execute(status -> bulkTransferRepository
+                .lockAllByUserIds(List.of("bulk-lock-c", "bulk-lock-a", "bulk-lock-b", "bulk-lock-missing"))
+                .stream().map(Wallet::getId).toList());
+
+        assertEquals(List.of(first, second, third), ids);
+    }
+
+    @Test
+    @DisplayName("Should credit only active wallets in the batch currency and return their final balances")
+    void shouldCreditEligibleWallets() {
+        long active = insertWallet("bulk-credit-a", "50.00", "BRL", "ACTIVE");
+        long otherCurrency = insertWallet("bulk-credit-b", "50.00", "USD", "ACTIVE");
+        long suspended = insertWallet("bulk-credit-c", "50.00", "BRL", "SUSPENDED");
+
+        Map<Long, BigDecimal> credits = new LinkedHashMap<>();
+        credits.put(active, new BigDecimal("15.00"));
+        credits.put(otherCurrency, new BigDecimal("1.00"));
+        credits.put(suspended, new BigDecimal("1.00"));
+        Map<Long, BigDecimal> balances = transactionTemplate.execute(status ->
+                bulkTransferRepository.creditAll(credits, "BRL"));
+
+        assertEquals(1, balances.size());
+        assertEquals(0, new BigDecimal("65.00").compareTo(balances.get(active)));
+        assertEquals(0, new BigDecimal("50.00").compareTo(balance(otherCurrency)));
+        assertEquals(0, new BigDecimal("50.00").compareTo(balance(suspended)));
+    }
+
+    @Test
+    @DisplayName("Should insert every history row with a single statement")
+    void shouldInsertHistory() {
+        long walletId = insertWallet("bulk-history", "0.00", "BRL", "ACTIVE");
+
+        transactionTemplate.executeWithoutResult(status -> bulkTransferRepository.insertHistory(List.of(
+                BalanceHistory.create(walletId, new Money(new BigDecimal("10.00"), "BRL"), "primeira"),
+                BalanceHistory.create(walletId, new Money(new BigDecimal("15.00"), "BRL"), "segunda"))));
+
+        List<BigDecimal> recorded = jdbcTemplate.queryForList(
+                "SELECT balance_amount FROM balance_history WHERE wallet_id = ? ORDER BY id", BigDecimal.class, walletId);
+        assertEquals(List.of(new BigDecimal("10.00"), new BigDecimal("15.00")), recorded);
+    }
+
+    private long insertWallet(String userId, String balance, String currency, String status) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO wallets (user_id, balance_amount, balance_currency, status) VALUES (?, ?, ?, ?) RETURNING id",
+                Long.class, userId, new BigDecimal(balance), currency, status);
+    }
+
+    private BigDecimal balance(long walletId) {
+        return jdbcTemplate.queryForObject("SELECT balance_amount FROM wallets WHERE id = ?", BigDecimal.class, walletId);
+    }
+}
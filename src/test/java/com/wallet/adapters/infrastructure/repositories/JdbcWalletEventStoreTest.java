@@ -0,0 +1,130 @@
+package com.wallet.adapters.infrastructure.repositories;
+
+import com.wallet.application.ports.WalletEventStore;
+import com.wallet.domain.aggregates.WalletAggregate;
+import com.wallet.domain.enums.WalletStatus;
+import com.wallet.domain.valueobjects.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do armazenamento por eventos contra um Postgres real: reidratação a
+ * partir de snapshot + cauda, e conflito de versão entre escritas concorrentes.
+ */
+@SpringBootTest(properties = {
+        "wallet.persistence.mode=EVENT_SOURCED",
+        "wallet.event-store.snapshot-interval=10",
+        "wallet.outbox.relay.enabled=false",
+        "rate-limit.enabled=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("JDBC Wallet Event Store Tests")
+class JdbcWalletEventStoreTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", () -> redis.getMappedPort(6379));
+    }
+
+    @Autowired
+    private WalletEventStore eventStore;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should rebuild wallet from snapshot and bounded tail")
+    void shouldRebuildFromSnapshotAndTail() {
+        String userId = "es-snapshot";
+        WalletAggregate created = WalletAggregate.create(userId, "BRL");
+        append(created);
+        Long walletId = created.getWallet().getId();
+        assertNotNull(walletId);
+
+        // 1 evento de criação + 2 eventos por depósito: 25 eventos no fluxo
+        for (int i = 1; i <= 12; i++) {
+            WalletAggregate aggregate = eventStore.load(userId).orElseThrow();
+            aggregate.deposit(new Money(BigDecimal.TEN, "BRL"), "Depósito " + i);
+            append(aggregate);
+        }
+
+        Long snapshotSequence = jdbcTemplate.queryForObject(
+                "SELECT sequence FROM wallet_snapshots WHERE user_id = ?", Long.class, userId);
+        assertEquals(20L, snapshotSequence);
+
+        WalletAggregate loaded = eventStore.load(userId).orElseThrow();
+        assertEquals(walletId, loaded.getWallet().getId());
+        assertEquals(25L, loaded.getWallet().getVersion());
+        assertEquals(0, new BigDecimal("120.00").compareTo(loaded.getBalance().getAmount()));
+        assertEquals(WalletStatus.ACTIVE, loaded.getWallet().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should reject append from a stale version")
+    void shouldRejectStaleAppend() {
+        String userId = "es-conflict";
+        append(WalletAggregate.create(userId, "BRL"));
+
+        WalletAggregate first = eventStore.load(userId).orElseThrow();
+        WalletAggregate second = eventStore.load(userId).orElseThrow();
+        first.deposit(new Money(BigDecimal.ONE, "BRL"), "Primeiro");
+        second.deposit(new Money(BigDecimal.TEN, "BRL"), "Segundo");
+
+        append(first);
+        assertThrows(OptimisticLockingFailureException.class, () -> append(second));
+
+        WalletAggregate loaded = eventStore.load(userId).orElseThrow();
+        assertEquals(0, new BigDecimal("1.00").compareTo(loaded.getBalance().getAmount()));
+        assertEquals(3L, loaded.getWallet().getVersion());
+    }
+
+    @Test
+    @DisplayName("Should reject creating an existing wallet")
+    void shouldRejectDuplicateCreation() {
+        String userId = "es-duplicate";
+        append(WalletAggregate.create(userId, "BRL"));
+
+        assertThrows(OptimisticLockingFailureException.class, () -> append(WalletAggregate.create(userId, "BRL")));
+    }
+
+    @Test
+    @DisplayName("Should return empty for unknown wallet")
+    void shouldReturnEmptyForUnknownWallet() {
+        assertTrue(eventStore.load("es-unknown").isEmpty());
+    }
+
+    private void append(WalletAggregate aggregate) {
+        transactionTemplate.executeWithoutResult(status -> eventStore.append(aggregate));
+    }
+}
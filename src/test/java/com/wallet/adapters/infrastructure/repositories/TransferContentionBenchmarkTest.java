@@ -0,0 +1,150 @@
+package com.wallet.adapters.infrastructure.repositories;
+
+import com.wallet.application.ports.WalletPairLoader;
+import com.wallet.domain.valueobjects.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark de contenção "ping-pong": metade das threads transfere A→B e a
+ * outra metade B→A, comparando os modos otimista e pessimista.
+ * Executar com: mvn test -Dbenchmarks=true -Dtest=TransferContentionBenchmarkTest
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@DisplayName("Transfer Contention Benchmark")
+class TransferContentionBenchmarkTest {
+
+    private static final int THREADS = 16;
+    private static final long DURATION_MILLIS = 10_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS + 2);
+    }
+
+    @Autowired
+    private WalletRepositoryImpl walletRepository;
+
+    @Autowired
+    private OptimisticWalletPairLoader optimisticLoader;
+
+    @Autowired
+    private PessimisticWalletPairLoader pessimisticLoader;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should compare ping-pong transfer throughput for both modes")
+    void shouldComparePingPongThroughput() throws InterruptedException {
+        Result optimistic = run(optimisticLoader, "opt-a", "opt-b");
+        Result pessimistic = run(pessimisticLoader, "pes-a", "pes-b");
+
+        System.out.printf("%-12s %10s %10s %12s%n", "mode", "committed", "failed", "tx/s");
+        optimistic.print("OPTIMISTIC");
+        pessimistic.print("PESSIMISTIC");
+
+        assertEquals(0, pessimistic.failed, "Ordered locking must not abort transfers");
+        assertTrue(pessimistic.committed > 0);
+    }
+
+    private Result run(WalletPairLoader loader, String userA, String userB) throws InterruptedException {
+        seed(userA);
+        seed(userB);
+
+        Money amount = new Money(new BigDecimal("1.00"), "BRL");
+        LongAdder committed = new LongAdder();
+        LongAdder failed = new LongAdder();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.currentTimeMillis() + DURATION_MILLIS;
+
+        for (int i = 0; i < THREADS; i++) {
+            String source = i % 2 == 0 ? userA : userB;
+            String target = i % 2 == 0 ? userB : userA;
+            executor.submit(() -> {
+                start.await();
+                while (System.currentTimeMillis() < deadline) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> {
+                            WalletPairLoader.WalletPair pair = loader.load(source, target).orElseThrow();
+                            pair.getSource().transferTo(pair.getTarget(), amount);
+                            walletRepository.save(pair.getSource());
+                            walletRepository.save(pair.getTarget());
+                        });
+                        committed.increment();
+                    } catch (RuntimeException e) {
+                        failed.increment();
+                    }
+                }
+                return null;
+            });
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(DURATION_MILLIS * 3, TimeUnit.MILLISECONDS));
+        double seconds = (System.nanoTime() - began) / 1_000_000_000.0;
+
+        BigDecimal total = walletRepository.findByUserId(userA).orElseThrow().getBalanceAmount()
+                .add(walletRepository.findByUserId(userB).orElseThrow().getBalanceAmount());
+        assertEquals(0, new BigDecimal("2000000.00").compareTo(total), "Money must be conserved");
+
+        return new Result(committed.sum(), failed.sum(), committed.sum() / seconds);
+    }
+
+    private void seed(String userId) {
+        jdbcTemplate.update("INSERT INTO wallets (user_id, balance_amount, balance_currency) VALUES (?, ?, 'BRL')",
+                userId, new BigDecimal("1000000.00"));
+    }
+
+    private static class Result {
+        private final long committed;
+        private final long failed;
+        private final double throughput;
+
+        private Result(long committed, long failed, double throughput) {
+            this.committed = committed;
+            this.failed = failed;
+            this.throughput = throughput;
+        }
+
+        private void print(String mode) {
+            System.out.printf("%-12s %10d %10d %12.1f%n", mode, committed, failed, throughput);
+        }
+    }
+}
@@ -21,7 +21,7 @@ class WalletTest {
     @Test
     void shouldCreateWalletWithZeroBalance() {
         assertEquals("user123", wallet.getUserId());
-        assertEquals(BigDecimal.ZERO, wallet.getBalance().getAmount());
+        assertEquals(new BigDecimal("0.00"), wallet.getBalance().getAmount());
         assertEquals("BRL", wallet.getBalance().getCurrency());
         assertEquals(WalletStatus.ACTIVE, wallet.getStatus());
         assertTrue(wallet.isActive());
@@ -0,0 +1,99 @@
+package com.wallet.domain.valueobjects;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH do Money em ponto fixo contra a representação anterior
+ * (BigDecimal + código da moeda em String): soma, comparação de saldo e
+ * conversão na fronteira. O profiler gc mostra a alocação por operação.
+ * Executar com: mvn test -Dbenchmarks=true -Dtest=MoneyBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@DisplayName("Money Benchmark")
+public class MoneyBenchmark {
+
+    private Money balance;
+    private Money amount;
+    private BigDecimal decimalBalance;
+    private BigDecimal decimalAmount;
+    private String balanceCurrency;
+    private String amountCurrency;
+
+    @Setup
+    public void setUp() {
+        balance = new Money(new BigDecimal("1234567.89"), "BRL");
+        amount = new Money(new BigDecimal("150.25"), "BRL");
+        decimalBalance = new BigDecimal("1234567.89");
+        decimalAmount = new BigDecimal("150.25");
+        // Instâncias distintas, como chegam do banco e da requisição
+        balanceCurrency = new String("BRL");
+        amountCurrency = new String("BRL");
+    }
+
+    @Benchmark
+    public Money fixedPointAdd() {
+        return balance.add(amount);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalAdd() {
+        if (!balanceCurrency.equals(amountCurrency)) {
+            throw new IllegalArgumentException("Currency mismatch");
+        }
+        return decimalBalance.add(decimalAmount);
+    }
+
+    @Benchmark
+    public boolean fixedPointCompare() {
+        return balance.compareTo(amount) >= 0;
+    }
+
+    @Benchmark
+    public boolean bigDecimalCompare() {
+        return decimalBalance.compareTo(decimalAmount) >= 0;
+    }
+
+    @Benchmark
+    public Money fromBigDecimal() {
+        return new Money(decimalAmount, amountCurrency);
+    }
+
+    @Benchmark
+    public BigDecimal toBigDecimal() {
+        return balance.getAmount();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    @DisplayName("Should compare fixed-point and BigDecimal money")
+    void shouldCompareRepresentations() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MoneyBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build())
+                .run();
+    }
+}
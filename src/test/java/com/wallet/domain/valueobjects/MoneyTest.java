@@ -28,9 +28,9 @@ class MoneyTest {
         Money zeroBRL = Money.zero("BRL");
         Money zeroUSD = Money.zero("USD");
         
-        assertEquals(BigDecimal.ZERO, zeroBRL.getAmount());
+        assertEquals(new BigDecimal("0.00"), zeroBRL.getAmount());
         assertEquals("BRL", zeroBRL.getCurrency());
-        assertEquals(BigDecimal.ZERO, zeroUSD.getAmount());
+        assertEquals(new BigDecimal("0.00"), zeroUSD.getAmount());
         assertEquals("USD", zeroUSD.getCurrency());
     }
 
@@ -127,7 +127,7 @@ class MoneyTest {
         
         Money result = money1.add(money2);
         
-        assertEquals(new BigDecimal(String.valueOf(expectedResult)), result.getAmount());
+        assertEquals(new BigDecimal(String.valueOf(expectedResult)).setScale(2), result.getAmount());
         assertEquals(currency1, result.getCurrency());
     }
 
@@ -199,6 +199,66 @@ class MoneyTest {
         
         Money result = money1.add(money2);
         
-        assertEquals(new BigDecimal("0.3"), result.getAmount());
+        assertEquals(new BigDecimal("0.30"), result.getAmount());
+    }
+
+    @Test
+    @DisplayName("Should use the currency scale")
+    void shouldUseCurrencyScale() {
+        assertEquals(new BigDecimal("100.50"), new Money(new BigDecimal("100.5"), "BRL").getAmount());
+        assertEquals(10050L, new Money(new BigDecimal("100.5"), "BRL").getMinorUnits());
+        assertEquals(new BigDecimal("100"), new Money(new BigDecimal("100.00"), "JPY").getAmount());
+        assertEquals(new Money(100.5, "BRL"), new Money(new BigDecimal("100.50"), "BRL"));
+    }
+
+    @Test
+    @DisplayName("Should reject amounts with more decimals than the currency allows")
+    void shouldRejectExcessScale() {
+        assertThrows(IllegalArgumentException.class, () -> new Money(new BigDecimal("10.001"), "BRL"));
+        assertThrows(IllegalArgumentException.class, () -> new Money(new BigDecimal("10.5"), "JPY"));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown currencies")
+    void shouldRejectUnknownCurrency() {
+        assertThrows(IllegalArgumentException.class, () -> Money.zero("ABC"));
+    }
+
+    @Test
+    @DisplayName("Should reject currencies with more decimals than the balance columns store")
+    void shouldRejectCurrencyBeyondStoredScale() {
+        assertThrows(IllegalArgumentException.class, () -> Money.zero("KWD"));
+        assertThrows(IllegalArgumentException.class, () -> new Money(new BigDecimal("1.000"), "BHD"));
+    }
+
+    @Test
+    @DisplayName("Should fail on overflow instead of wrapping around")
+    void shouldFailOnOverflow() {
+        Money max = Money.ofMinor(Long.MAX_VALUE, CurrencyUnit.of("BRL"));
+        Money min = Money.ofMinor(Long.MIN_VALUE, CurrencyUnit.of("BRL"));
+
+        assertThrows(ArithmeticException.class, () -> max.add(new Money(0.01, "BRL")));
+        assertThrows(ArithmeticException.class, () -> min.subtract(new Money(0.01, "BRL")));
+        assertThrows(IllegalArgumentException.class, () -> new Money(new BigDecimal("92233720368547758.08"), "BRL"));
+    }
+
+    @Test
+    @DisplayName("Should compare amounts of the same currency")
+    void shouldCompareAmounts() {
+        Money smaller = new Money(10.00, "BRL");
+        Money larger = new Money(10.01, "BRL");
+
+        assertTrue(smaller.compareTo(larger) < 0);
+        assertTrue(larger.compareTo(smaller) > 0);
+        assertEquals(0, smaller.compareTo(new Money(new BigDecimal("10"), "BRL")));
+        assertThrows(IllegalArgumentException.class, () -> smaller.compareTo(new Money(10.00, "USD")));
+    }
+
+    @Test
+    @DisplayName("Should intern currency units")
+    void shouldInternCurrencyUnits() {
+        assertSame(CurrencyUnit.of("BRL"), new Money(1.00, "BRL").getCurrencyUnit());
+        assertEquals(2, CurrencyUnit.of("BRL").getScale());
+        assertEquals(0, CurrencyUnit.of("JPY").getScale());
     }
 } 
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.wallet.domain.valueobjects;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PageCursor Value Object Tests")
+class PageCursorTest {
+
+    @Test
+    @DisplayName("Should round-trip cursor through its token with microsecond precision")
+    void shouldRoundTripCursorThroughToken() {
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2024, 3, 15, 10, 30, 45, 123456000), 42L);
+
+        PageCursor decoded = PageCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+        assertEquals(42L, decoded.getId());
+    }
+
+    @Test
+    @DisplayName("Should produce URL-safe tokens")
+    void shouldProduceUrlSafeTokens() {
+        String token = PageCursor.endingAt(LocalDateTime.of(9999, 12, 31, 23, 59, 59)).encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    @DisplayName("Should include the given instant when ending at it")
+    void shouldIncludeInstantWhenEndingAt() {
+        LocalDateTime end = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        PageCursor cursor = PageCursor.endingAt(end);
+
+        assertEquals(end, cursor.getTimestamp());
+        assertEquals(Long.MAX_VALUE, cursor.getId());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "not-base64!", "djE6YWJjOjE", "djI6MDox", "djE6MA"})
+    @DisplayName("Should reject malformed tokens")
+    void shouldRejectMalformedTokens(String token) {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(token));
+    }
+}
@@ -0,0 +1,96 @@
+package com.wallet.infrastructure.audit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AuditRingBuffer Tests")
+class AuditRingBufferTest {
+
+    @Test
+    @DisplayName("Should round capacity up to a power of two")
+    void shouldRoundCapacity() {
+        assertEquals(8, new AuditRingBuffer<String>(5).capacity());
+        assertEquals(1024, new AuditRingBuffer<String>(1024).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new AuditRingBuffer<String>(1));
+    }
+
+    @Test
+    @DisplayName("Should reject offers when full and accept again after draining")
+    void shouldRejectWhenFull() {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(3, buffer.drainTo(drained, 3));
+        assertEquals(List.of(0, 1, 2), drained);
+
+        assertTrue(buffer.offer(4));
+        assertTrue(buffer.offer(5));
+        assertTrue(buffer.offer(6));
+        assertFalse(buffer.offer(7));
+
+        drained.clear();
+        assertEquals(4, buffer.drainTo(drained, 10));
+        assertEquals(List.of(3, 4, 5, 6), drained);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    @DisplayName("Should deliver every element once and in order per producer")
+    void shouldDeliverConcurrentOffers() throws Exception {
+        int producers = 8;
+        int perProducer = 50_000;
+        AuditRingBuffer<long[]> buffer = new AuditRingBuffer<>(1024);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(producers)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                long producer = p;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (long i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(new long[]{producer, i})) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            long[] next = new long[producers];
+            List<long[]> batch = new ArrayList<>();
+            int received = 0;
+            while (received < producers * perProducer) {
+                batch.clear();
+                received += buffer.drainTo(batch, 256);
+                for (long[] element : batch) {
+                    int producer = (int) element[0];
+                    assertEquals(next[producer], element[1], "Out of order element for producer " + producer);
+                    next[producer]++;
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            for (long last : next) {
+                assertEquals(perProducer, last);
+            }
+        }
+        assertEquals(0, buffer.size());
+    }
+}
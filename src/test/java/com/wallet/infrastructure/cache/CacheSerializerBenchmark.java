@@ -0,0 +1,100 @@
+package com.wallet.infrastructure.cache;
+
+import com.wallet.domain.enums.WalletStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH do serializador binário contra o JSON com default typing
+ * usado antes no cache de carteiras: tamanho do payload e tempo de
+ * codificação/decodificação.
+ * Executar com: mvn test -Dbenchmarks=true -Dtest=CacheSerializerBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@DisplayName("Cache Serializer Benchmark")
+public class CacheSerializerBenchmark {
+
+    private WalletBinaryRedisSerializer binary;
+    private GenericJackson2JsonRedisSerializer json;
+    private WalletCache.CachedWallet wallet;
+    private byte[] binaryPayload;
+    private byte[] jsonPayload;
+
+    @Setup
+    public void setUp() {
+        binary = new WalletBinaryRedisSerializer();
+        json = CacheConfig.createJsonSerializer(new ObjectMapper().findAndRegisterModules());
+        wallet = new WalletCache.CachedWallet(
+            1_024L,
+            "merchant-settlement-0001",
+            new BigDecimal("1234567.89"),
+            "BRL",
+            WalletStatus.ACTIVE,
+            LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123456000),
+            LocalDateTime.of(2024, 3, 1, 8, 0, 59, 999999000),
+            42L
+        );
+        binaryPayload = binary.serialize(wallet);
+        jsonPayload = json.serialize(wallet);
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() {
+        return binary.serialize(wallet);
+    }
+
+    @Benchmark
+    public Object binaryDecode() {
+        return binary.deserialize(binaryPayload);
+    }
+
+    @Benchmark
+    public byte[] jsonEncode() {
+        return json.serialize(wallet);
+    }
+
+    @Benchmark
+    public Object jsonDecode() {
+        return json.deserialize(jsonPayload);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    @DisplayName("Should compare binary and JSON cache serialization")
+    void shouldCompareSerializers() throws RunnerException {
+        setUp();
+        System.out.printf("%-8s %8s%n", "format", "bytes");
+        System.out.printf("%-8s %8d%n", "binary", binaryPayload.length);
+        System.out.printf("%-8s %8d%n", "json", jsonPayload.length);
+
+        new Runner(new OptionsBuilder()
+                .include(CacheSerializerBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
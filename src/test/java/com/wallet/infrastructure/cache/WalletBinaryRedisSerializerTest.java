@@ -0,0 +1,110 @@
+package com.wallet.infrastructure.cache;
+
+import com.wallet.domain.enums.WalletStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("WalletBinaryRedisSerializer Tests")
+class WalletBinaryRedisSerializerTest {
+
+    private final WalletBinaryRedisSerializer serializer = new WalletBinaryRedisSerializer();
+
+    @Test
+    @DisplayName("Should round-trip every wallet field")
+    void shouldRoundTripWallet() {
+        WalletCache.CachedWallet wallet = wallet("1234567.89");
+
+        WalletCache.CachedWallet decoded = serializer.deserialize(serializer.serialize(wallet));
+
+        assertEquals(wallet, decoded);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0.00", "-0.01", "9999999999999.99", "123456789012345678901234567890.123", "1E+200"})
+    @DisplayName("Should keep amount value and scale")
+    void shouldKeepAmountValueAndScale(String amount) {
+        WalletCache.CachedWallet decoded = serializer.deserialize(serializer.serialize(wallet(amount)));
+
+        assertEquals(new BigDecimal(amount), decoded.getBalanceAmount());
+        assertEquals(new BigDecimal(amount).scale(), decoded.getBalanceAmount().scale());
+    }
+
+    @Test
+    @DisplayName("Should keep optional fields absent")
+    void shouldKeepOptionalFieldsAbsent() {
+        WalletCache.CachedWallet wallet = new WalletCache.CachedWallet(null, "user1", null, "BRL", null, null, null, 0L);
+
+        assertEquals(wallet, serializer.deserialize(serializer.serialize(wallet)));
+    }
+
+    @Test
+    @DisplayName("Should round-trip a tombstone without balance fields")
+    void shouldRoundTripTombstone() {
+        WalletCache.CachedWallet decoded = serializer.deserialize(
+                serializer.serialize(WalletCache.CachedWallet.tombstone("user1")));
+
+        assertTrue(decoded.isTombstone());
+        assertEquals("user1", decoded.getUserId());
+        assertNull(decoded.getBalanceAmount());
+    }
+
+    @Test
+    @DisplayName("Should be smaller than the default-typed JSON payload")
+    void shouldBeSmallerThanJson() {
+        WalletCache.CachedWallet wallet = wallet("1234567.89");
+        byte[] json = CacheConfig.createJsonSerializer(new ObjectMapper().findAndRegisterModules()).serialize(wallet);
+
+        byte[] binary = serializer.serialize(wallet);
+
+        assertTrue(binary.length * 3 < json.length, binary.length + " bytes vs " + json.length + " bytes of JSON");
+    }
+
+    @Test
+    @DisplayName("Should treat entries in another format as absent")
+    void shouldTreatOtherFormatsAsAbsent() {
+        assertNull(serializer.deserialize("{\"@class\":\"com.wallet.infrastructure.cache.WalletCache$CachedWallet\"}".getBytes()));
+        assertNull(serializer.deserialize(new byte[0]));
+        assertNull(serializer.deserialize(null));
+    }
+
+    @Test
+    @DisplayName("Should reject truncated payloads")
+    void shouldRejectTruncatedPayloads() {
+        byte[] bytes = serializer.serialize(wallet("10.00"));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 3);
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(truncated));
+    }
+
+    @Test
+    @DisplayName("Should reject currencies that are not 3-letter codes")
+    void shouldRejectInvalidCurrency() {
+        WalletCache.CachedWallet wallet = wallet("10.00");
+        wallet.setBalanceCurrency("REAL");
+
+        assertThrows(SerializationException.class, () -> serializer.serialize(wallet));
+    }
+
+    private static WalletCache.CachedWallet wallet(String amount) {
+        return new WalletCache.CachedWallet(
+            42L,
+            "user-ção",
+            new BigDecimal(amount),
+            "BRL",
+            WalletStatus.SUSPENDED,
+            LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123456000),
+            LocalDateTime.of(2024, 3, 1, 8, 0, 59, 999999000),
+            17L
+        );
+    }
+}
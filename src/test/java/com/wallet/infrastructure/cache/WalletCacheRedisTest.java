@@ -0,0 +1,208 @@
+package com.wallet.infrastructure.cache;
+
+import com.wallet.adapters.infrastructure.repositories.WalletRepositoryImpl;
+import com.wallet.domain.entities.Wallet;
+import com.wallet.domain.enums.WalletStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes do cache de carteiras em dois níveis contra um Redis real.
+ * Cada "nó" é uma instância de WalletCache com near cache e listener próprios,
+ * compartilhando o Redis como faria um deployment com várias réplicas.
+ * O benchmark de latência L1 x L2 roda com:
+ * mvn test -Dbenchmarks=true -Dtest=WalletCacheRedisTest
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("WalletCache Redis Tests")
+class WalletCacheRedisTest {
+
+    private static final String CHANNEL = "wallet-cache-invalidation-test";
+    private static final int BENCHMARK_ITERATIONS = 200_000;
+    private static final Duration TOMBSTONE_TTL = Duration.ofSeconds(2);
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private final List<RedisMessageListenerContainer> listenerContainers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        flushRedis();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (RedisMessageListenerContainer container : listenerContainers) {
+            container.destroy();
+        }
+        listenerContainers.clear();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("Should serve near cache hits without Redis or the database")
+    void shouldServeNearCacheHits() {
+        WalletRepositoryImpl repository = mock(WalletRepositoryImpl.class);
+        when(repository.findByUserId("user1")).thenReturn(Optional.of(wallet("100.00", 1L)));
+        WalletCache node = node(repository, true);
+
+        node.findByUserId("user1");
+        flushRedis();
+
+        assertEquals(new BigDecimal("100.00"), node.findByUserId("user1").get().getBalanceAmount());
+        verify(repository, times(1)).findByUserId("user1");
+    }
+
+    @Test
+    @DisplayName("Should fill Redis so another node reads without the database")
+    void shouldShareRedisTierBetweenNodes() {
+        WalletRepositoryImpl repository = mock(WalletRepositoryImpl.class);
+        when(repository.findByUserId("user1")).thenReturn(Optional.of(wallet("100.00", 1L)));
+        WalletCache nodeA = node(repository, true);
+        WalletCache nodeB = node(repository, true);
+
+        nodeA.findByUserId("user1");
+        Wallet fromB = nodeB.findByUserId("user1").get();
+
+        assertEquals(new BigDecimal("100.00"), fromB.getBalanceAmount());
+        assertEquals(1L, fromB.getVersion());
+        verify(repository, times(1)).findByUserId("user1");
+    }
+
+    @Test
+    @DisplayName("Should drop near cache entries on other nodes when a wallet changes")
+    void shouldInvalidateOtherNodes() throws InterruptedException {
+        WalletRepositoryImpl repository = mock(WalletRepositoryImpl.class);
+        when(repository.findByUserId("user1")).thenReturn(Optional.of(wallet("100.00", 1L)));
+        WalletCache nodeA = node(repository, true);
+        WalletCache nodeB = node(repository, true);
+
+        assertEquals(new BigDecimal("100.00"), nodeA.findByUserId("user1").get().getBalanceAmount());
+        when(repository.findByUserId("user1")).thenReturn(Optional.of(wallet("250.00", 2L)));
+
+        // A inscrição no canal é assíncrona: repete a invalidação até o nó A recebê-la
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        BigDecimal seenByA;
+        do {
+            nodeB.evictAfterCommit("user1");
+            Thread.sleep(50);
+            seenByA = nodeA.findByUserId("user1").get().getBalanceAmount();
+        } while (!seenByA.equals(new BigDecimal("250.00")) && System.nanoTime() < deadline);
+
+        assertEquals(new BigDecimal("250.00"), seenByA);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    @DisplayName("Should compare near cache hit latency with Redis hit latency")
+    void shouldCompareTierLatency() {
+        WalletRepositoryImpl repository = mock(WalletRepositoryImpl.class);
+        when(repository.findByUserId("user1")).thenReturn(Optional.of(wallet("100.00", 1L)));
+        WalletCache twoTier = node(repository, true);
+        WalletCache redisOnly = node(repository, false);
+
+        double nearNanos = measure(twoTier, BENCHMARK_ITERATIONS);
+        double redisNanos = measure(redisOnly, BENCHMARK_ITERATIONS / 20);
+
+        System.out.printf("%-10s %12s%n", "tier", "ns/read");
+        System.out.printf("%-10s %12.0f%n", "L1", nearNanos);
+        System.out.printf("%-10s %12.0f%n", "L2", redisNanos);
+
+        assertTrue(nearNanos < redisNanos, "Near cache hits must be cheaper than Redis hits");
+    }
+
+    private void flushRedis() {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+    }
+
+    private static double measure(WalletCache cache, int iterations) {
+        for (int i = 0; i < iterations / 10; i++) {
+            cache.findByUserId("user1");
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            cache.findByUserId("user1");
+        }
+        return (System.nanoTime() - start) / (double) iterations;
+    }
+
+    private WalletCache node(WalletRepositoryImpl repository, boolean nearEnabled) {
+        RedisMessageListenerContainer listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+        listenerContainers.add(listenerContainer);
+
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        RedisCacheManager cacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig()
+                        .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                                CacheConfig.createJsonSerializer(objectMapper))))
+                .withCacheConfiguration(WalletCache.CACHE_NAME, RedisCacheConfiguration.defaultCacheConfig()
+                        .entryTtl(CacheConfig.walletTtl(Duration.ofMinutes(15), TOMBSTONE_TTL))
+                        .disableCachingNullValues()
+                        .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new WalletBinaryRedisSerializer())))
+                .build();
+        cacheManager.afterPropertiesSet();
+
+        WalletCache cache = new WalletCache();
+        ReflectionTestUtils.setField(cache, "nearEnabled", nearEnabled);
+        ReflectionTestUtils.setField(cache, "nearMaxSize", 1_000L);
+        ReflectionTestUtils.setField(cache, "nearTtl", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(cache, "invalidationChannel", CHANNEL);
+        ReflectionTestUtils.setField(cache, "tombstoneTtl", TOMBSTONE_TTL);
+        ReflectionTestUtils.setField(cache, "cacheManager", cacheManager);
+        ReflectionTestUtils.setField(cache, "walletRepository", repository);
+        ReflectionTestUtils.setField(cache, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(cache, "listenerContainer", listenerContainer);
+        ReflectionTestUtils.setField(cache, "meterRegistry", new SimpleMeterRegistry());
+        cache.init();
+        return cache;
+    }
+
+    private static Wallet wallet(String balance, long version) {
+        LocalDateTime now = LocalDateTime.now();
+        return new Wallet(1L, "user1", new BigDecimal(balance), "BRL", WalletStatus.ACTIVE, now, now, version);
+    }
+}
@@ -0,0 +1,191 @@
+package com.wallet.infrastructure.cache;
+
+import com.wallet.adapters.infrastructure.repositories.WalletRepositoryImpl;
+import com.wallet.domain.entities.Wallet;
+import com.wallet.domain.enums.WalletStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("WalletCache Tests")
+class WalletCacheTest {
+
+    private WalletRepositoryImpl walletRepository;
+    private Cache cache;
+    private WalletCache walletCache;
+
+    @BeforeEach
+    void setUp() {
+        walletRepository = mock(WalletRepositoryImpl.class);
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(WalletCache.CACHE_NAME);
+        cache = cacheManager.getCache(WalletCache.CACHE_NAME);
+        walletCache = new WalletCache();
+        ReflectionTestUtils.setField(walletCache, "tombstoneTtl", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(walletCache, "cacheManager", cacheManager);
+        ReflectionTestUtils.setField(walletCache, "walletRepository", walletRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should load from the database once and serve later reads from the cache")
+    void shouldReadThrough() {
+        when(walletRepository.findByUserId("user1")).thenReturn(Optional.of(wallet("user1", "100.00", 3L)));
+
+        Optional<Wallet> first = walletCache.findByUserId("user1");
+        Optional<Wallet> second = walletCache.findByUserId("user1");
+
+        assertTrue(first.isPresent());
+        assertEquals(new BigDecimal("100.00"), second.get().getBalanceAmount());
+        assertEquals(3L, second.get().getVersion());
+        verify(walletRepository, times(1)).findByUserId("user1");
+    }
+
+    @Test
+    @DisplayName("Should not cache missing wallets")
+    void shouldNotCacheMissingWallets() {
+        when(walletRepository.findByUserId("ghost")).thenReturn(Optional.empty());
+
+        assertTrue(walletCache.findByUserId("ghost").isEmpty());
+        assertTrue(walletCache.findByUserId("ghost").isEmpty());
+
+        verify(walletRepository, times(2)).findByUserId("ghost");
+    }
+
+    @Test
+    @DisplayName("Should evict only after the transaction commits")
+    void shouldEvictAfterCommit() {
+        cache.put("user1", WalletCache.CachedWallet.from(wallet("user1", "100.00", 3L)));
+        TransactionSynchronizationManager.initSynchronization();
+
+        walletCache.evictAfterCommit("user1");
+        assertNotNull(cache.get("user1"));
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        assertTrue(cached("user1").isTombstone());
+    }
+
+    @Test
+    @DisplayName("Should keep the cached entry when the transaction rolls back")
+    void shouldNotEvictOnRollback() {
+        cache.put("user1", WalletCache.CachedWallet.from(wallet("user1", "100.00", 3L)));
+        TransactionSynchronizationManager.initSynchronization();
+
+        walletCache.evictAfterCommit("user1");
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        assertFalse(cached("user1").isTombstone());
+    }
+
+    @Test
+    @DisplayName("Should evict immediately without an active transaction")
+    void shouldEvictImmediatelyWithoutTransaction() {
+        cache.put("user1", WalletCache.CachedWallet.from(wallet("user1", "100.00", 3L)));
+
+        walletCache.evictAfterCommit("user1");
+
+        assertTrue(cached("user1").isTombstone());
+    }
+
+    @Test
+    @DisplayName("Should serve a copy so callers cannot change the cached wallet")
+    void shouldServeDetachedCopies() {
+        when(walletRepository.findByUserId("user1")).thenReturn(Optional.of(wallet("user1", "100.00", 3L)));
+        walletCache.findByUserId("user1").get().setBalanceAmount(new BigDecimal("1.00"));
+
+        assertEquals(new BigDecimal("100.00"), walletCache.findByUserId("user1").get().getBalanceAmount());
+    }
+
+    @Test
+    @DisplayName("Should not fill a row loaded before a commit that was evicted during the load")
+    void shouldNotFillStaleRowAfterEviction() {
+        // load -> commit -> evict -> fill: a mutação confirma e invalida
+        // enquanto o leitor ainda está com a versão antiga em mãos
+        when(walletRepository.findByUserId("user1"))
+                .thenAnswer(invocation -> {
+                    walletCache.evictAfterCommit("user1");
+                    return Optional.of(wallet("user1", "100.00", 3L));
+                })
+                .thenReturn(Optional.of(wallet("user1", "250.00", 4L)));
+
+        assertEquals(3L, walletCache.findByUserId("user1").get().getVersion());
+
+        assertTrue(cached("user1").isTombstone());
+        Wallet next = walletCache.findByUserId("user1").get();
+        assertEquals(new BigDecimal("250.00"), next.getBalanceAmount());
+        assertEquals(4L, next.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should keep the near cache free of a row loaded before an eviction")
+    void shouldNotFillNearCacheWithStaleRow() {
+        ReflectionTestUtils.setField(walletCache, "nearEnabled", true);
+        ReflectionTestUtils.setField(walletCache, "nearMaxSize", 100L);
+        ReflectionTestUtils.setField(walletCache, "nearTtl", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(walletCache, "invalidationChannel", "wallet-cache-invalidation");
+        ReflectionTestUtils.setField(walletCache, "redisTemplate", mock(StringRedisTemplate.class));
+        ReflectionTestUtils.setField(walletCache, "listenerContainer", mock(RedisMessageListenerContainer.class));
+        ReflectionTestUtils.setField(walletCache, "meterRegistry", new SimpleMeterRegistry());
+        walletCache.init();
+        when(walletRepository.findByUserId("user1"))
+                .thenAnswer(invocation -> {
+                    // Outro nó confirma a mutação: grava a lápide no Redis e publica a invalidação
+                    cache.put("user1", WalletCache.CachedWallet.tombstone("user1"));
+                    walletCache.onInvalidation("user1");
+                    return Optional.of(wallet("user1", "100.00", 3L));
+                })
+                .thenReturn(Optional.of(wallet("user1", "250.00", 4L)));
+
+        walletCache.findByUserId("user1");
+
+        assertEquals(4L, walletCache.findByUserId("user1").get().getVersion());
+        verify(walletRepository, times(2)).findByUserId("user1");
+    }
+
+    @Test
+    @DisplayName("Should not fill when the load took longer than half the tombstone TTL")
+    void shouldNotFillAfterSlowLoad() {
+        ReflectionTestUtils.setField(walletCache, "tombstoneTtl", Duration.ZERO);
+        when(walletRepository.findByUserId("user1")).thenReturn(Optional.of(wallet("user1", "100.00", 3L)));
+
+        assertTrue(walletCache.findByUserId("user1").isPresent());
+
+        assertNull(cache.get("user1"));
+    }
+
+    private WalletCache.CachedWallet cached(String userId) {
+        return (WalletCache.CachedWallet) cache.get(userId).get();
+    }
+
+    private static Wallet wallet(String userId, String balance, long version) {
+        LocalDateTime now = LocalDateTime.now();
+        return new Wallet(1L, userId, new BigDecimal(balance), "BRL", WalletStatus.ACTIVE, now, now, version);
+    }
+}
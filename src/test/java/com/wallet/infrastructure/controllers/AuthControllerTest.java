@@ -0,0 +1,105 @@
+package com.wallet.infrastructure.controllers;
+
+import com.wallet.infrastructure.security.CustomUserDetailsService;
+import com.wallet.infrastructure.security.jwt.JwtService;
+import com.wallet.infrastructure.security.jwt.TokenDenyList;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("AuthController Tests")
+class AuthControllerTest {
+
+    private JwtService jwtService;
+    private TokenDenyList tokenDenyList;
+    private CustomUserDetailsService userDetailsService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secret", "testSecretKeyForUnitTestsOnlyWithEnoughBits");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 60_000L);
+        ReflectionTestUtils.setField(jwtService, "refreshExpiration", 600_000L);
+        ReflectionTestUtils.setField(jwtService, "claimsCacheMaxSize", 1_000L);
+        ReflectionTestUtils.setField(jwtService, "meterRegistry", new SimpleMeterRegistry());
+        jwtService.init();
+
+        tokenDenyList = mock(TokenDenyList.class);
+        when(tokenDenyList.revoke(any())).thenReturn(true);
+        userDetailsService = mock(CustomUserDetailsService.class);
+
+        AuthController controller = new AuthController();
+        ReflectionTestUtils.setField(controller, "jwtService", jwtService);
+        ReflectionTestUtils.setField(controller, "tokenDenyList", tokenDenyList);
+        ReflectionTestUtils.setField(controller, "userDetailsService", userDetailsService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    @DisplayName("Should refresh with the user's current roles and keep the session id")
+    void shouldRefreshFromUserStore() throws Exception {
+        UserDetails stale = User.withUsername("user1").password("").roles("ADMIN").build();
+        String refreshToken = jwtService.generateRefreshToken(stale, "session-1");
+        when(userDetailsService.loadUserByUsername("user1"))
+                .thenReturn(User.withUsername("user1").password("").roles("USER").build());
+
+        MvcResult result = mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\": \"" + refreshToken + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String accessToken = result.getResponse().getContentAsString().replaceAll(".*\"accessToken\":\"([^\"]+)\".*", "$1");
+        Claims claims = jwtService.extractAllClaims(accessToken);
+        assertEquals("session-1", claims.get(JwtService.SESSION_CLAIM, String.class));
+        assertEquals("ROLE_USER", jwtService.toUserDetails(claims).orElseThrow()
+                .getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    @DisplayName("Should refuse to refresh for a disabled user")
+    void shouldRejectRefreshForDisabledUser() throws Exception {
+        UserDetails user = User.withUsername("user1").password("").roles("USER").build();
+        String refreshToken = jwtService.generateRefreshToken(user, "session-1");
+        when(userDetailsService.loadUserByUsername("user1"))
+                .thenReturn(User.withUsername("user1").password("").roles("USER").disabled(true).build());
+
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\": \"" + refreshToken + "\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should revoke the whole session on logout")
+    void shouldRevokeSessionOnLogout() throws Exception {
+        UserDetails user = User.withUsername("user1").password("").roles("USER").build();
+        String accessToken = jwtService.generateToken(user, "session-1");
+
+        mockMvc.perform(post("/api/auth/logout").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        Date sessionEnd = jwtService.sessionExpiration(jwtService.extractAllClaims(accessToken));
+        verify(tokenDenyList).revoke(any());
+        verify(tokenDenyList).revokeSession(eq("session-1"), eq(sessionEnd));
+    }
+}
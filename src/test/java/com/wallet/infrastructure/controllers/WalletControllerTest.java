@@ -0,0 +1,104 @@
+package com.wallet.infrastructure.controllers;
+
+import com.wallet.adapters.rest.GlobalExceptionHandler;
+import com.wallet.domain.valueobjects.BalanceMutation;
+import com.wallet.domain.valueobjects.Money;
+import com.wallet.infrastructure.ids.TimeOrderedIdGenerator;
+import com.wallet.infrastructure.services.AuditService;
+import com.wallet.infrastructure.services.MoneyOperationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.hasLength;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("WalletController Tests")
+class WalletControllerTest {
+
+    private MoneyOperationService moneyOperationService;
+    private AuditService auditService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        moneyOperationService = mock(MoneyOperationService.class);
+        auditService = mock(AuditService.class);
+        when(auditService.generateCorrelationId()).thenReturn("corr-1");
+
+        TimeOrderedIdGenerator idGenerator = new TimeOrderedIdGenerator();
+        ReflectionTestUtils.setField(idGenerator, "primaryKeyStrategy", TimeOrderedIdGenerator.PrimaryKeyStrategy.SEQUENCE);
+        idGenerator.init();
+
+        WalletController controller = new WalletController();
+        ReflectionTestUtils.setField(controller, "moneyOperationService", moneyOperationService);
+        ReflectionTestUtils.setField(controller, "auditService", auditService);
+        ReflectionTestUtils.setField(controller, "idGenerator", idGenerator);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should answer 400 for a deposit in an unknown currency")
+    void shouldRejectDepositInUnknownCurrency() throws Exception {
+        mockMvc.perform(post("/api/wallets/user1/deposit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 10.00, \"currency\": \"ABC\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+
+        verifyNoInteractions(moneyOperationService);
+        verify(auditService).logError(eq("DEPOSIT"), eq("user1"), any(), eq("corr-1"));
+    }
+
+    @Test
+    @DisplayName("Should answer 400 for a withdrawal with more decimals than the currency allows")
+    void shouldRejectWithdrawBeyondCurrencyScale() throws Exception {
+        mockMvc.perform(post("/api/wallets/user1/withdraw")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 10.50, \"currency\": \"JPY\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+
+        verifyNoInteractions(moneyOperationService);
+    }
+
+    @Test
+    @DisplayName("Should deposit a valid amount and return the recorded transaction id, distinct from the correlation id")
+    void shouldDepositValidAmount() throws Exception {
+        Money balance = new Money(new BigDecimal("100.00"), "BRL");
+        Money amount = new Money(new BigDecimal("10.5"), "BRL");
+        when(moneyOperationService.deposit(eq("user1"), eq(amount), any(), eq("corr-1"), any()))
+                .thenReturn(Optional.of(new BalanceMutation(1L, "user1", balance, balance.add(amount), 2L)));
+
+        MvcResult result = mockMvc.perform(post("/api/wallets/user1/deposit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 10.5, \"currency\": \"BRL\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.newBalance").value(110.5))
+                .andExpect(jsonPath("$.transactionId").value(not("corr-1")))
+                .andExpect(jsonPath("$.transactionId").value(hasLength(36)))
+                .andReturn();
+
+        ArgumentCaptor<String> recorded = ArgumentCaptor.forClass(String.class);
+        verify(moneyOperationService).deposit(eq("user1"), eq(amount), any(), eq("corr-1"), recorded.capture());
+        assertTrue(result.getResponse().getContentAsString().contains("\"transactionId\":\"" + recorded.getValue() + "\""));
+    }
+}
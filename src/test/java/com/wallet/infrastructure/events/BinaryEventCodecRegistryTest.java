@@ -0,0 +1,134 @@
+package com.wallet.infrastructure.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.domain.enums.TransactionType;
+import com.wallet.domain.events.DomainEvent;
+import com.wallet.domain.events.MoneyDepositedEvent;
+import com.wallet.domain.events.MoneyTransferredEvent;
+import com.wallet.domain.events.MoneyWithdrawnEvent;
+import com.wallet.domain.events.TransactionCreatedEvent;
+import com.wallet.domain.events.WalletActivatedEvent;
+import com.wallet.domain.events.WalletClosedEvent;
+import com.wallet.domain.events.WalletCreatedEvent;
+import com.wallet.domain.events.WalletSuspendedEvent;
+import com.wallet.domain.valueobjects.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BinaryEventCodecRegistry Tests")
+class BinaryEventCodecRegistryTest {
+
+    private static final LocalDateTime OCCURRED_AT = LocalDateTime.of(2024, 3, 1, 8, 0, 59, 123456000);
+
+    private final BinaryEventCodecRegistry registry = new BinaryEventCodecRegistry();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    static List<DomainEvent> events() {
+        Money amount = new Money(new BigDecimal("150.25"), "BRL");
+        Money oldBalance = new Money(new BigDecimal("1000.00"), "BRL");
+        return List.of(
+            new WalletCreatedEvent("user1", "BRL", OCCURRED_AT),
+            new WalletActivatedEvent("user1", OCCURRED_AT),
+            new WalletSuspendedEvent("user1", OCCURRED_AT),
+            new WalletClosedEvent("user1", OCCURRED_AT),
+            new MoneyDepositedEvent("user1", amount, oldBalance, oldBalance.add(amount), OCCURRED_AT),
+            new MoneyWithdrawnEvent("user1", amount, oldBalance, oldBalance.subtract(amount), OCCURRED_AT),
+            new MoneyTransferredEvent("user1", "usuário-2", amount, oldBalance, oldBalance.subtract(amount), OCCURRED_AT),
+            new TransactionCreatedEvent(TransactionType.TRANSFER_OUT, "user1", amount, "Pagamento ✓", OCCURRED_AT)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("events")
+    @DisplayName("Should round-trip every domain event")
+    void shouldRoundTripEvent(DomainEvent event) throws Exception {
+        DomainEvent decoded = registry.decode(registry.encode(event));
+
+        assertSame(event.getClass(), decoded.getClass());
+        assertEquals(event.getEventType(), decoded.getEventType());
+        assertEquals(event.getOccurredAt(), decoded.getOccurredAt());
+        assertEquals(objectMapper.writeValueAsString(event), objectMapper.writeValueAsString(decoded));
+    }
+
+    @Test
+    @DisplayName("Should have a codec for every class in com.wallet.domain.events")
+    void shouldCoverEveryEventType() {
+        Set<String> eventTypes = events().stream().map(DomainEvent::getEventType).collect(Collectors.toSet());
+
+        assertEquals(eventTypes, registry.getEventTypes());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0.00", "-0.01", "9999999999999.99", "92233720368547758.07", "-92233720368547758.08"})
+    @DisplayName("Should keep amount value and scale")
+    void shouldKeepAmountValueAndScale(String amount) {
+        Money money = new Money(new BigDecimal(amount), "USD");
+        MoneyDepositedEvent event = new MoneyDepositedEvent("user1", money, money, money, OCCURRED_AT);
+
+        MoneyDepositedEvent decoded = (MoneyDepositedEvent) registry.decode(registry.encode(event));
+
+        assertEquals(money, decoded.getAmount());
+        assertEquals(money.getAmount().scale(), decoded.getAmount().getAmount().scale());
+    }
+
+    @Test
+    @DisplayName("Should keep null description and money absent")
+    void shouldKeepNullFields() {
+        TransactionCreatedEvent event = new TransactionCreatedEvent(TransactionType.DEPOSIT, "user1", null, null, OCCURRED_AT);
+
+        TransactionCreatedEvent decoded = (TransactionCreatedEvent) registry.decode(registry.encode(event));
+
+        assertNull(decoded.getAmount());
+        assertNull(decoded.getDescription());
+        assertEquals(TransactionType.DEPOSIT, decoded.getTransactionType());
+    }
+
+    @Test
+    @DisplayName("Should be smaller than the JSON payload")
+    void shouldBeSmallerThanJson() throws Exception {
+        for (DomainEvent event : events()) {
+            byte[] binary = registry.encode(event);
+            byte[] json = objectMapper.writeValueAsBytes(event);
+
+            assertTrue(binary.length * 2 < json.length,
+                    event.getEventType() + ": " + binary.length + " bytes vs " + json.length + " bytes of JSON");
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject unknown types, newer versions and truncated payloads")
+    void shouldRejectInvalidPayloads() {
+        byte[] payload = registry.encode(events().get(6));
+
+        byte[] unknownType = payload.clone();
+        unknownType[1] = (byte) 200;
+        byte[] newerVersion = payload.clone();
+        newerVersion[2] = 2;
+        byte[] truncated = Arrays.copyOf(payload, payload.length - 4);
+        byte[] trailing = Arrays.copyOf(payload, payload.length + 1);
+
+        assertThrows(IllegalArgumentException.class, () -> registry.decode(unknownType));
+        assertThrows(IllegalArgumentException.class, () -> registry.decode(newerVersion));
+        assertThrows(IllegalArgumentException.class, () -> registry.decode(truncated));
+        assertThrows(IllegalArgumentException.class, () -> registry.decode(trailing));
+        assertThrows(IllegalArgumentException.class, () -> registry.decode(new byte[0]));
+    }
+
+    @Test
+    @DisplayName("Should reject a second codec for the same event type")
+    void shouldRejectDuplicateCodec() {
+        assertThrows(IllegalStateException.class, () -> registry.register(DomainEventCodecs.all().get(0)));
+    }
+}
@@ -0,0 +1,102 @@
+package com.wallet.infrastructure.events;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.domain.events.DomainEvent;
+import com.wallet.domain.events.MoneyTransferredEvent;
+import com.wallet.domain.valueobjects.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH do codec binário de eventos contra o Jackson por reflexão,
+ * com um MoneyTransferredEvent: tamanho do payload, tempo e alocação de
+ * codificação/decodificação. Os eventos não têm construtor para o Jackson,
+ * então a decodificação JSON é medida até a árvore (readTree).
+ * Executar com: mvn test -Dbenchmarks=true -Dtest=EventCodecBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@DisplayName("Event Codec Benchmark")
+public class EventCodecBenchmark {
+
+    private BinaryEventCodecRegistry registry;
+    private ObjectMapper objectMapper;
+    private DomainEvent event;
+    private byte[] binaryPayload;
+    private byte[] jsonPayload;
+
+    @Setup
+    public void setUp() throws Exception {
+        registry = new BinaryEventCodecRegistry();
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        event = new MoneyTransferredEvent(
+            "merchant-settlement-0001",
+            "customer-000042",
+            new Money(new BigDecimal("150.25"), "BRL"),
+            new Money(new BigDecimal("1234567.89"), "BRL"),
+            new Money(new BigDecimal("1234417.64"), "BRL"),
+            LocalDateTime.of(2024, 3, 1, 8, 0, 59, 123456000)
+        );
+        binaryPayload = registry.encode(event);
+        jsonPayload = objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() {
+        return registry.encode(event);
+    }
+
+    @Benchmark
+    public DomainEvent binaryDecode() {
+        return registry.decode(binaryPayload);
+    }
+
+    @Benchmark
+    public byte[] jsonEncode() throws Exception {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public JsonNode jsonDecode() throws Exception {
+        return objectMapper.readTree(jsonPayload);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    @DisplayName("Should compare binary and JSON event encoding")
+    void shouldCompareCodecs() throws Exception {
+        setUp();
+        System.out.printf("%-8s %8s%n", "format", "bytes");
+        System.out.printf("%-8s %8d%n", "binary", binaryPayload.length);
+        System.out.printf("%-8s %8d%n", "json", jsonPayload.length);
+
+        new Runner(new OptionsBuilder()
+                .include(EventCodecBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,66 @@
+package com.wallet.infrastructure.ids;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH de vazão dos geradores de id com 4 threads disputando o mesmo
+ * gerador: UUID.randomUUID (SecureRandom compartilhado) contra o UUIDv7 e o
+ * id de 64 bits do TimeOrderedIdGenerator.
+ * Executar com: mvn test -Dbenchmarks=true -Dtest=CorrelationIdBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@DisplayName("Correlation Id Benchmark")
+public class CorrelationIdBenchmark {
+
+    private final TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator();
+
+    @Benchmark
+    public String randomUuid() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String timeOrderedUuid() {
+        return generator.nextCorrelationId();
+    }
+
+    @Benchmark
+    public long timeOrderedLong() {
+        return generator.nextLong();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    @DisplayName("Should compare correlation id generators")
+    void shouldCompareGenerators() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CorrelationIdBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,140 @@
+package com.wallet.infrastructure.ids;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TimeOrderedIdGenerator Tests")
+class TimeOrderedIdGeneratorTest {
+
+    private TimeOrderedIdGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        generator = new TimeOrderedIdGenerator();
+        ReflectionTestUtils.setField(generator, "nodeId", 7L);
+        ReflectionTestUtils.setField(generator, "primaryKeyStrategy", TimeOrderedIdGenerator.PrimaryKeyStrategy.TIME_ORDERED);
+        generator.init();
+    }
+
+    @Test
+    @DisplayName("Should generate version 7 UUIDs with the RFC variant and current timestamp")
+    void shouldGenerateUuidV7() {
+        long before = System.currentTimeMillis();
+        UUID id = generator.nextUuid();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        long millis = id.getMostSignificantBits() >>> 16;
+        assertTrue(millis >= before && millis <= System.currentTimeMillis() + 1000);
+    }
+
+    @Test
+    @DisplayName("Should generate strictly increasing ids within a burst")
+    void shouldBeMonotonic() {
+        // Mais de 4096 ids por milissegundo força a sequência a transbordar
+        long previousLong = generator.nextLong();
+        String previousUuid = generator.nextCorrelationId();
+        for (int i = 0; i < 100_000; i++) {
+            long nextLong = generator.nextLong();
+            String nextUuid = generator.nextCorrelationId();
+            assertTrue(nextLong > previousLong);
+            assertTrue(nextUuid.compareTo(previousUuid) > 0, nextUuid + " <= " + previousUuid);
+            previousLong = nextLong;
+            previousUuid = nextUuid;
+        }
+    }
+
+    @Test
+    @DisplayName("Should encode timestamp and node in 64-bit ids")
+    void shouldEncodeSnowflakeLayout() {
+        long before = System.currentTimeMillis();
+        long id = generator.nextLong();
+
+        assertTrue(id > 0);
+        assertEquals(7L, (id >>> TimeOrderedIdGenerator.SEQUENCE_BITS) & TimeOrderedIdGenerator.MAX_NODE_ID);
+        long millis = (id >>> (TimeOrderedIdGenerator.NODE_BITS + TimeOrderedIdGenerator.SEQUENCE_BITS))
+                + TimeOrderedIdGenerator.EPOCH_MILLIS;
+        assertTrue(millis >= before && millis <= System.currentTimeMillis() + 1000);
+        assertNotNull(generator.nextPrimaryKey());
+    }
+
+    @Test
+    @DisplayName("Should leave primary keys to the sequence by default and reject invalid node ids")
+    void shouldHonourConfiguration() {
+        ReflectionTestUtils.setField(generator, "primaryKeyStrategy", TimeOrderedIdGenerator.PrimaryKeyStrategy.SEQUENCE);
+        assertNull(generator.nextPrimaryKey());
+
+        ReflectionTestUtils.setField(generator, "nodeId", 1024L);
+        assertThrows(IllegalStateException.class, generator::init);
+    }
+
+    @Test
+    @DisplayName("Should require an explicit node id only for time-ordered primary keys")
+    void shouldRequireNodeIdForTimeOrderedKeys() {
+        TimeOrderedIdGenerator unconfigured = new TimeOrderedIdGenerator();
+        ReflectionTestUtils.setField(unconfigured, "primaryKeyStrategy", TimeOrderedIdGenerator.PrimaryKeyStrategy.TIME_ORDERED);
+        assertThrows(IllegalStateException.class, unconfigured::init);
+
+        ReflectionTestUtils.setField(unconfigured, "primaryKeyStrategy", TimeOrderedIdGenerator.PrimaryKeyStrategy.SEQUENCE);
+        unconfigured.init();
+        assertEquals(0L, (unconfigured.nextLong() >>> TimeOrderedIdGenerator.SEQUENCE_BITS) & TimeOrderedIdGenerator.MAX_NODE_ID);
+    }
+
+    @Test
+    @DisplayName("Should not repeat ids across threads")
+    void shouldBeUniqueAcrossThreads() throws Exception {
+        int threads = 8;
+        int perThread = 50_000;
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<List<Object>>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    List<Object> ids = new ArrayList<>(perThread * 2);
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(generator.nextLong());
+                        ids.add(generator.nextUuid());
+                    }
+                    return ids;
+                }));
+            }
+            start.countDown();
+
+            Set<Object> seen = new HashSet<>(threads * perThread * 2);
+            for (Future<List<Object>> future : futures) {
+                for (Object id : future.get()) {
+                    assertTrue(seen.add(id), "Duplicate id " + id);
+                }
+            }
+            assertEquals(threads * perThread * 2, seen.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Should accept only short, safe inbound correlation ids")
+    void shouldValidateInboundCorrelationId() {
+        assertTrue(CorrelationIdFilter.isAcceptable("0190f5a2-7c3e-7a1b-9f00-0123456789ab"));
+        assertTrue(CorrelationIdFilter.isAcceptable("req_42.retry-1"));
+        assertFalse(CorrelationIdFilter.isAcceptable(null));
+        assertFalse(CorrelationIdFilter.isAcceptable(""));
+        assertFalse(CorrelationIdFilter.isAcceptable("a".repeat(37)));
+        assertFalse(CorrelationIdFilter.isAcceptable("abc\r\nX-Injected: 1"));
+        assertFalse(CorrelationIdFilter.isAcceptable("id with spaces"));
+    }
+}
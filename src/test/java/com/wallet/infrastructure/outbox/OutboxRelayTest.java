@@ -0,0 +1,178 @@
+package com.wallet.infrastructure.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.application.ports.EventOutbox;
+import com.wallet.application.ports.EventSink;
+import com.wallet.domain.events.MoneyDepositedEvent;
+import com.wallet.domain.valueobjects.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do outbox transacional contra um Postgres real, com vários workers
+ * do relay drenando as partições em paralelo para o sink em memória.
+ */
+@SpringBootTest(properties = {
+        "wallet.outbox.sink.type=MEMORY",
+        "wallet.outbox.partitions=8",
+        "wallet.outbox.relay.workers=4",
+        "wallet.outbox.relay.batch-size=25",
+        "wallet.outbox.relay.poll-interval=20ms",
+        "rate-limit.enabled=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Outbox Relay Tests")
+class OutboxRelayTest {
+
+    private static final int WALLETS = 20;
+    private static final int EVENTS_PER_WALLET = 50;
+    private static final long TIMEOUT_MILLIS = 30_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", () -> redis.getMappedPort(6379));
+    }
+
+    @Autowired
+    private EventOutbox eventOutbox;
+
+    @Autowired
+    private InMemoryEventSink sink;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        awaitEmptyOutbox();
+        sink.clear();
+    }
+
+    @Test
+    @DisplayName("Should publish every committed event once and in order per wallet")
+    void shouldPublishInOrderPerWallet() throws Exception {
+        try (ExecutorService writers = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < WALLETS; w++) {
+                String userId = "outbox-user-" + w;
+                futures.add(writers.submit(() -> {
+                    for (int i = 1; i <= EVENTS_PER_WALLET; i++) {
+                        int sequence = i;
+                        transactionTemplate.executeWithoutResult(status -> eventOutbox.append(userId, deposit(userId, sequence)));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        List<EventSink.OutboxEvent> published = awaitPublished(WALLETS * EVENTS_PER_WALLET);
+
+        Map<String, Integer> lastSequence = new HashMap<>();
+        Set<Long> ids = new HashSet<>();
+        for (EventSink.OutboxEvent event : published) {
+            assertTrue(ids.add(event.getId()), "Event " + event.getId() + " was published twice");
+            assertEquals("MoneyDeposited", event.getEventType());
+            int sequence = sequenceOf(event);
+            int previous = lastSequence.getOrDefault(event.getAggregateId(), 0);
+            assertEquals(previous + 1, sequence, "Out of order event for " + event.getAggregateId());
+            lastSequence.put(event.getAggregateId(), sequence);
+        }
+        assertEquals(WALLETS, lastSequence.size());
+        assertTrue(lastSequence.values().stream().allMatch(last -> last == EVENTS_PER_WALLET));
+    }
+
+    @Test
+    @DisplayName("Should not publish events of rolled back transactions")
+    void shouldNotPublishRolledBackEvents() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            eventOutbox.append("outbox-rollback", deposit("outbox-rollback", 1));
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status -> eventOutbox.append("outbox-commit", deposit("outbox-commit", 1)));
+
+        List<EventSink.OutboxEvent> published = awaitPublished(1);
+
+        assertEquals(1, published.size());
+        assertEquals("outbox-commit", published.get(0).getAggregateId());
+        awaitEmptyOutbox();
+    }
+
+    private static MoneyDepositedEvent deposit(String userId, int sequence) {
+        Money amount = new Money(new BigDecimal(sequence), "BRL");
+        return new MoneyDepositedEvent(userId, amount, Money.zero("BRL"), amount, LocalDateTime.now());
+    }
+
+    private int sequenceOf(EventSink.OutboxEvent event) throws Exception {
+        JsonNode payload = objectMapper.readTree(event.getPayload());
+        return payload.get("amount").get("amount").intValue();
+    }
+
+    private List<EventSink.OutboxEvent> awaitPublished(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (sink.getEvents().size() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        List<EventSink.OutboxEvent> published = sink.getEvents();
+        assertEquals(expected, published.size(), "Relay did not publish all events in time");
+        return published;
+    }
+
+    private void awaitEmptyOutbox() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (count() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(0, count(), "Outbox was not drained in time");
+    }
+
+    private long count() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM event_outbox", Long.class);
+    }
+}
@@ -0,0 +1,118 @@
+package com.wallet.infrastructure.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RateLimitFilter Tests")
+class RateLimitFilterTest {
+
+    private RateLimiter rateLimiter;
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = mock(RateLimiter.class);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter();
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "rateLimiter", rateLimiter);
+        ReflectionTestUtils.setField(filter, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(filter, "meterRegistry", meterRegistry);
+        filter.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should let requests through while tokens remain")
+    void shouldAllowWithinLimit() throws Exception {
+        when(rateLimiter.tryConsume(any(), any())).thenReturn(ConsumptionProbe.consumed(7, 0));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("GET", "/api/wallets/user1"), response, chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals("7", response.getHeader("X-Rate-Limit-Remaining"));
+    }
+
+    @Test
+    @DisplayName("Should answer 429 with Retry-After and count the rejection")
+    void shouldRejectOverLimit() throws Exception {
+        when(rateLimiter.tryConsume(any(), any()))
+                .thenReturn(ConsumptionProbe.rejected(0, TimeUnit.MILLISECONDS.toNanos(2_500), 0));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("POST", "/api/wallets/user1/deposit"), response, chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(429, response.getStatus());
+        assertEquals("3", response.getHeader("Retry-After"));
+        assertEquals(1.0, meterRegistry.get("wallet.ratelimit.rejected").tag("route", "transactions").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should key authenticated requests by user and auth routes by IP")
+    void shouldResolveIdentity() throws Exception {
+        when(rateLimiter.tryConsume(any(), any())).thenReturn(ConsumptionProbe.consumed(1, 0));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "user1", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+
+        filter.doFilter(request("GET", "/api/wallets/user1"), new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(request("POST", "/api/auth/login"), new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(rateLimiter).tryConsume(RateLimitRoute.DEFAULT, "user:user1");
+        verify(rateLimiter).tryConsume(RateLimitRoute.AUTH, "ip:10.0.0.1");
+    }
+
+    @Test
+    @DisplayName("Should not limit health checks")
+    void shouldSkipHealthChecks() throws Exception {
+        filter.doFilter(request("GET", "/api/wallets/health"), new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(request("GET", "/actuator/prometheus"), new MockHttpServletResponse(), new MockFilterChain());
+
+        verifyNoInteractions(rateLimiter);
+    }
+
+    @Test
+    @DisplayName("Should fail open when Redis is unavailable")
+    void shouldFailOpen() throws Exception {
+        when(rateLimiter.tryConsume(any(), any())).thenThrow(new IllegalStateException("Redis down"));
+
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("GET", "/api/wallets/user1"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals(1.0, meterRegistry.get("wallet.ratelimit.errors").counter().count());
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+}
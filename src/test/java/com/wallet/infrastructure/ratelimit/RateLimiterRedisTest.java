@@ -0,0 +1,108 @@
+package com.wallet.infrastructure.ratelimit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do rate limiter contra um Redis real, com duas instâncias de
+ * RateLimiter simulando réplicas que compartilham os buckets.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("RateLimiter Redis Tests")
+class RateLimiterRedisTest {
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private LettuceConnectionFactory connectionFactory;
+    private final List<RateLimiter> limiters = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        limiters.forEach(RateLimiter::shutdown);
+        limiters.clear();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("Should enforce one limit across instances")
+    void shouldShareLimitAcrossInstances() {
+        RateLimiter nodeA = node();
+        RateLimiter nodeB = node();
+
+        int consumed = 0;
+        for (int i = 0; i < 10; i++) {
+            RateLimiter node = i % 2 == 0 ? nodeA : nodeB;
+            if (node.tryConsume(RateLimitRoute.AUTH, "ip:shared").isConsumed()) {
+                consumed++;
+            }
+        }
+
+        assertEquals(5, consumed);
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per identity and route")
+    void shouldIsolateBuckets() {
+        RateLimiter node = node();
+        for (int i = 0; i < 5; i++) {
+            node.tryConsume(RateLimitRoute.AUTH, "ip:noisy");
+        }
+
+        assertFalse(node.tryConsume(RateLimitRoute.AUTH, "ip:noisy").isConsumed());
+        assertTrue(node.tryConsume(RateLimitRoute.AUTH, "ip:quiet").isConsumed());
+        assertTrue(node.tryConsume(RateLimitRoute.DEFAULT, "ip:noisy").isConsumed());
+    }
+
+    @Test
+    @DisplayName("Should report the wait until the next token")
+    void shouldReportRetryAfter() {
+        RateLimiter node = node();
+        for (int i = 0; i < 5; i++) {
+            node.tryConsume(RateLimitRoute.AUTH, "ip:wait");
+        }
+
+        long waitNanos = node.tryConsume(RateLimitRoute.AUTH, "ip:wait").getNanosToWaitForRefill();
+
+        assertTrue(waitNanos > 0 && waitNanos <= Duration.ofSeconds(12).toNanos());
+    }
+
+    private RateLimiter node() {
+        RateLimiter limiter = new RateLimiter();
+        ReflectionTestUtils.setField(limiter, "authCapacity", 5L);
+        ReflectionTestUtils.setField(limiter, "authPeriod", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(limiter, "transactionsCapacity", 10L);
+        ReflectionTestUtils.setField(limiter, "transactionsPeriod", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(limiter, "defaultCapacity", 100L);
+        ReflectionTestUtils.setField(limiter, "defaultPeriod", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(limiter, "maxUnsynchronizedTokens", 10L);
+        ReflectionTestUtils.setField(limiter, "maxUnsynchronizedTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(limiter, "localBucketsMaxSize", 1_000L);
+        ReflectionTestUtils.setField(limiter, "connectionFactory", connectionFactory);
+        limiter.init();
+        limiters.add(limiter);
+        return limiter;
+    }
+}
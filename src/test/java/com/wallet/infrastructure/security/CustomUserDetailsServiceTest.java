@@ -0,0 +1,86 @@
+package com.wallet.infrastructure.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("CustomUserDetailsService Tests")
+class CustomUserDetailsServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private CustomUserDetailsService service;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        service = new CustomUserDetailsService();
+        ReflectionTestUtils.setField(service, "cacheMaxSize", 100L);
+        ReflectionTestUtils.setField(service, "cacheTtl", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "passwordEncoder", new BCryptPasswordEncoder(4));
+        ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+        service.init();
+    }
+
+    @Test
+    @DisplayName("Should query the users table once and serve later lookups from the cache")
+    void shouldCacheLoadedUsers() {
+        stubUser("user1", "{noop}user123");
+
+        service.loadUserByUsername("user1");
+        UserDetails user = service.loadUserByUsername("user1");
+
+        assertEquals("user1", user.getUsername());
+        assertEquals("{noop}user123", user.getPassword());
+        verify(jdbcTemplate, times(1)).query(anyString(), any(ResultSetExtractor.class), eq("user1"));
+    }
+
+    @Test
+    @DisplayName("Should keep the cached password when the caller erases credentials")
+    void shouldServeCopies() {
+        stubUser("user1", "{noop}user123");
+
+        ((CredentialsContainer) service.loadUserByUsername("user1")).eraseCredentials();
+
+        assertEquals("{noop}user123", service.loadUserByUsername("user1").getPassword());
+    }
+
+    @Test
+    @DisplayName("Should throw for unknown users without caching the miss")
+    void shouldNotCacheUnknownUsers() {
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("ghost"));
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("ghost"));
+
+        verify(jdbcTemplate, times(2)).query(anyString(), any(ResultSetExtractor.class), eq("ghost"));
+    }
+
+    @Test
+    @DisplayName("Should store new users with an encoded password and drop the cached entry")
+    void shouldCreateUsers() {
+        service.createNewUser("user3", "secret", "USER");
+
+        verify(jdbcTemplate).update(anyString(), eq("user3"),
+                argThat((String hash) -> hash.startsWith("$2a$")), eq("USER"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubUser(String username, String password) {
+        UserDetails user = User.withUsername(username).password(password).roles("USER").build();
+        when(jdbcTemplate.query(anyString(), any(ResultSetExtractor.class), eq(username))).thenReturn(user);
+    }
+}
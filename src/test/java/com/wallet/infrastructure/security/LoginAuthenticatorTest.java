@@ -0,0 +1,116 @@
+package com.wallet.infrastructure.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("LoginAuthenticator Tests")
+class LoginAuthenticatorTest {
+
+    private AuthenticationManager authenticationManager;
+    private LoginAuthenticator loginAuthenticator;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        authenticationManager = mock(AuthenticationManager.class);
+        release = new CountDownLatch(1);
+
+        loginAuthenticator = new LoginAuthenticator();
+        ReflectionTestUtils.setField(loginAuthenticator, "threads", 1);
+        ReflectionTestUtils.setField(loginAuthenticator, "queueCapacity", 1);
+        ReflectionTestUtils.setField(loginAuthenticator, "timeout", Duration.ofMillis(100));
+        ReflectionTestUtils.setField(loginAuthenticator, "authenticationManager", authenticationManager);
+        ReflectionTestUtils.setField(loginAuthenticator, "meterRegistry", new SimpleMeterRegistry());
+        loginAuthenticator.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        loginAuthenticator.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should drop a queued attempt once it has timed out")
+    void shouldDropTimedOutQueuedAttempt() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        when(authenticationManager.authenticate(argThat(token -> "slow".equals(token.getName())))).thenAnswer(invocation -> {
+            started.countDown();
+            // Simula o BCrypt, que não responde à interrupção
+            awaitUninterruptibly(release);
+            return invocation.getArgument(0);
+        });
+
+        CompletableFuture<Authentication> running = loginAuthenticator.authenticate(token("slow"));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        CompletableFuture<Authentication> queued = loginAuthenticator.authenticate(token("queued"));
+
+        assertTimedOut(running);
+        assertTimedOut(queued);
+
+        // O pool tem uma thread: quando a próxima tentativa termina, a
+        // expirada já passou pelo worker
+        release.countDown();
+        assertNull(loginAuthenticator.authenticate(token("fresh")).get(1, TimeUnit.SECONDS));
+        verify(authenticationManager, never()).authenticate(argThat(token -> "queued".equals(token.getName())));
+    }
+
+    @Test
+    @DisplayName("Should refuse immediately when the queue is full")
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        when(authenticationManager.authenticate(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return invocation.getArgument(0);
+        });
+
+        loginAuthenticator.authenticate(token("running"));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        loginAuthenticator.authenticate(token("queued"));
+
+        ExecutionException rejected = assertThrows(ExecutionException.class,
+                () -> loginAuthenticator.authenticate(token("overflow")).get(1, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, rejected.getCause());
+    }
+
+    private static void assertTimedOut(CompletableFuture<Authentication> future) {
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, failure.getCause());
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        while (true) {
+            try {
+                latch.await();
+                return;
+            } catch (InterruptedException ignored) {
+                // continua esperando, como um hash em andamento
+            }
+        }
+    }
+
+    private static Authentication token(String username) {
+        return new UsernamePasswordAuthenticationToken(username, "password");
+    }
+}
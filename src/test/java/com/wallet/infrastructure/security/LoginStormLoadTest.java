@@ -0,0 +1,209 @@
+package com.wallet.infrastructure.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste de carga do login: mede a latência de GET /api/wallets/{userId} sem
+ * carga e durante uma rajada de logins, e a vazão de logins aceitos e
+ * recusados (503) pelo pool de hashing. O Tomcat roda com poucas threads
+ * para que o BCrypt na thread da requisição ficasse visível na latência.
+ * Executar com: mvn test -Dbenchmarks=true -Dtest=LoginStormLoadTest
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@DisplayName("Login Storm Load Test")
+class LoginStormLoadTest {
+
+    private static final int TOMCAT_THREADS = 16;
+    private static final int STORM_THREADS = 64;
+    private static final int READER_THREADS = 4;
+    private static final long DURATION_MILLIS = 10_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", () -> redis.getMappedPort(6379));
+        registry.add("server.tomcat.threads.max", () -> TOMCAT_THREADS);
+        // Mede o pool de hashing, não o rate limit de login
+        registry.add("rate-limit.enabled", () -> false);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    @DisplayName("Should keep wallet read latency flat during a login storm")
+    void shouldKeepWalletLatencyFlatDuringLoginStorm() throws Exception {
+        String token = login("user1", "user123").get("accessToken").asText();
+        send(post("/api/wallets", "{\"userId\":\"user1\",\"currency\":\"BRL\"}", token));
+
+        Latencies baseline = readWallet(token, null);
+
+        AtomicBoolean storming = new AtomicBoolean(true);
+        LongAdder accepted = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        ExecutorService storm = Executors.newFixedThreadPool(STORM_THREADS);
+        for (int i = 0; i < STORM_THREADS; i++) {
+            storm.submit(() -> {
+                while (storming.get()) {
+                    int status = send(post("/api/auth/login",
+                            "{\"username\":\"user2\",\"password\":\"user456\"}", null)).statusCode();
+                    if (status == 200) {
+                        accepted.increment();
+                    } else if (status == 503) {
+                        rejected.increment();
+                    }
+                }
+                return null;
+            });
+        }
+
+        long began = System.nanoTime();
+        Latencies duringStorm = readWallet(token, storming);
+        double seconds = (System.nanoTime() - began) / 1e9;
+        storm.shutdown();
+        assertTrue(storm.awaitTermination(30, TimeUnit.SECONDS));
+
+        System.out.printf("%-14s %10s %10s %10s%n", "phase", "p50 ms", "p99 ms", "reads");
+        baseline.print("baseline");
+        duringStorm.print("login storm");
+        System.out.printf("logins/s: %.1f accepted, %.1f rejected (503)%n",
+                accepted.sum() / seconds, rejected.sum() / seconds);
+
+        assertTrue(accepted.sum() > 0, "The storm must still get logins through");
+        assertTrue(duringStorm.percentile(99) < baseline.percentile(99) * 3 + 25,
+                "Wallet reads must not queue behind password hashing");
+    }
+
+    private Latencies readWallet(String token, AtomicBoolean stopWhenDone) throws InterruptedException {
+        List<Long> samples = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService readers = Executors.newFixedThreadPool(READER_THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.currentTimeMillis() + DURATION_MILLIS;
+        for (int i = 0; i < READER_THREADS; i++) {
+            readers.submit(() -> {
+                start.await();
+                while (System.currentTimeMillis() < deadline) {
+                    long t0 = System.nanoTime();
+                    HttpResponse<String> response = send(get("/api/wallets/user1", token));
+                    samples.add(System.nanoTime() - t0);
+                    assertEquals(200, response.statusCode());
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        readers.shutdown();
+        assertTrue(readers.awaitTermination(DURATION_MILLIS * 3, TimeUnit.MILLISECONDS));
+        if (stopWhenDone != null) {
+            stopWhenDone.set(false);
+        }
+        return new Latencies(samples);
+    }
+
+    private JsonNode login(String username, String password) throws IOException {
+        HttpResponse<String> response = send(post("/api/auth/login",
+                "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}", null));
+        assertEquals(200, response.statusCode(), response.body());
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpResponse<String> send(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest post(String path, String body, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private static final class Latencies {
+        private final long[] sortedNanos;
+
+        private Latencies(List<Long> samples) {
+            sortedNanos = samples.stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+
+        private double percentile(int p) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p / 100.0 * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(index, 0)] / 1e6;
+        }
+
+        private void print(String phase) {
+            System.out.printf("%-14s %10.2f %10.2f %10d%n", phase, percentile(50), percentile(99), sortedNanos.length);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.wallet.infrastructure.security.jwt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("JwtAuthenticationFilter Tests")
+class JwtAuthenticationFilterTest {
+
+    private JwtService jwtService;
+    private UserDetailsService userDetailsService;
+    private TokenDenyList tokenDenyList;
+    private JwtAuthenticationFilter filter;
+    private UserDetails admin;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secret", "testSecretKeyForUnitTestsOnlyWithEnoughBits");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtService, "refreshExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtService, "claimsCacheMaxSize", 1_000L);
+        ReflectionTestUtils.setField(jwtService, "meterRegistry", new SimpleMeterRegistry());
+        jwtService.init();
+
+        userDetailsService = mock(UserDetailsService.class);
+        tokenDenyList = mock(TokenDenyList.class);
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "statelessPrincipal", true);
+        ReflectionTestUtils.setField(filter, "jwtService", jwtService);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "tokenDenyList", tokenDenyList);
+
+        admin = User.withUsername("admin").password("secret").roles("ADMIN").build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should build the principal from token claims without loading the user")
+    void shouldAuthenticateFromClaims() throws Exception {
+        Authentication authentication = filter(jwtService.generateToken(admin));
+
+        assertNotNull(authentication);
+        assertEquals("admin", ((UserDetails) authentication.getPrincipal()).getUsername());
+        assertEquals(Set.of("ROLE_ADMIN"), AuthorityUtils.authorityListToSet(authentication.getAuthorities()));
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    @DisplayName("Should load the user when stateless principals are disabled")
+    void shouldLoadUserWhenDisabled() throws Exception {
+        ReflectionTestUtils.setField(filter, "statelessPrincipal", false);
+        when(userDetailsService.loadUserByUsername("admin")).thenReturn(admin);
+
+        assertNotNull(filter(jwtService.generateToken(admin)));
+        verify(userDetailsService).loadUserByUsername("admin");
+    }
+
+    @Test
+    @DisplayName("Should load the user when the token carries no role list")
+    void shouldLoadUserWithoutRoleList() throws Exception {
+        when(userDetailsService.loadUserByUsername("admin")).thenReturn(admin);
+        String token = jwtService.generateToken(Map.of(JwtService.ROLES_CLAIM, "legacy"), admin);
+
+        Authentication authentication = filter(token);
+
+        assertEquals(Set.of("ROLE_ADMIN"), AuthorityUtils.authorityListToSet(authentication.getAuthorities()));
+        verify(userDetailsService).loadUserByUsername("admin");
+    }
+
+    @Test
+    @DisplayName("Should not authenticate revoked tokens")
+    void shouldRejectRevokedTokens() throws Exception {
+        when(tokenDenyList.isRevoked(any())).thenReturn(true);
+
+        assertNull(filter(jwtService.generateToken(admin)));
+        verifyNoInteractions(userDetailsService);
+    }
+
+    private Authentication filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,109 @@
+package com.wallet.infrastructure.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH do trabalho de JWT feito pelo JwtAuthenticationFilter a cada
+ * requisição com o mesmo token:
+ * legacy recria chave e parser e verifica o token três vezes (username,
+ * username de novo e expiração); singleParser verifica uma vez com o parser
+ * pré-construído; cached usa o JwtService com o cache de claims verificadas.
+ * Executar com: mvn test -Dbenchmarks=true -Dtest=JwtFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@DisplayName("JWT Filter Benchmark")
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyWithEnoughBitsForHs256";
+
+    private JwtService jwtService;
+    private JwtParser parser;
+    private UserDetails user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtService, "refreshExpiration", 604_800_000L);
+        ReflectionTestUtils.setField(jwtService, "claimsCacheMaxSize", 10_000L);
+        ReflectionTestUtils.setField(jwtService, "meterRegistry", new SimpleMeterRegistry());
+        jwtService.init();
+
+        parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build();
+        user = User.withUsername("user1").password("secret").roles("USER").build();
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean legacy() {
+        String username = legacyClaims().getSubject();
+        return username.equals(user.getUsername())
+                && legacyClaims().getSubject().equals(user.getUsername())
+                && !legacyClaims().getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean singleParser() {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        return jwtService.isTokenValid(claims, user);
+    }
+
+    @Benchmark
+    public boolean cached() {
+        Claims claims = jwtService.extractAllClaims(token);
+        return jwtService.isTokenValid(claims, user);
+    }
+
+    private Claims legacyClaims() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    @DisplayName("Should compare legacy, single parser and cached JWT verification")
+    void shouldCompareVerificationPaths() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtFilterBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
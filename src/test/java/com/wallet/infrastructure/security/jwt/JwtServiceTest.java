@@ -0,0 +1,126 @@
+package com.wallet.infrastructure.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JwtService Tests")
+class JwtServiceTest {
+
+    private static final String SECRET = "testSecretKeyForUnitTestsOnlyWithEnoughBits";
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtService jwtService;
+    private UserDetails user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jwtService = jwtService(SECRET, 86_400_000L);
+        user = User.withUsername("user1").password("secret").roles("USER").build();
+    }
+
+    @Test
+    @DisplayName("Should validate a freshly generated token")
+    void shouldValidateGeneratedToken() {
+        String token = jwtService.generateToken(user);
+
+        Claims claims = jwtService.extractAllClaims(token);
+
+        assertEquals("user1", claims.getSubject());
+        assertTrue(jwtService.isTokenValid(claims, user));
+        assertTrue(jwtService.isTokenValid(token, user));
+        assertFalse(jwtService.isTokenExpired(token));
+    }
+
+    @Test
+    @DisplayName("Should verify a token once and serve later lookups from the cache")
+    void shouldServeRepeatedTokenFromCache() {
+        String token = jwtService.generateToken(user);
+
+        Claims first = jwtService.extractAllClaims(token);
+        Claims second = jwtService.extractAllClaims(token);
+
+        assertSame(first, second);
+        assertEquals(1.0, cacheGets("hit"));
+        assertEquals(1.0, cacheGets("miss"));
+    }
+
+    @Test
+    @DisplayName("Should reject a tampered token even after the original was cached")
+    void shouldRejectTamperedToken() {
+        String token = jwtService.generateToken(user);
+        jwtService.extractAllClaims(token);
+
+        int signature = token.lastIndexOf('.') + 1;
+        String tampered = token.substring(0, signature)
+                + (token.charAt(signature) == 'A' ? 'B' : 'A')
+                + token.substring(signature + 1);
+
+        assertThrows(JwtException.class, () -> jwtService.extractAllClaims(tampered));
+    }
+
+    @Test
+    @DisplayName("Should reject tokens signed with another key")
+    void shouldRejectTokenFromAnotherKey() {
+        String token = jwtService("anotherSecretKeyThatIsLongEnoughForHs256", 86_400_000L).generateToken(user);
+
+        assertThrows(JwtException.class, () -> jwtService.extractAllClaims(token));
+    }
+
+    @Test
+    @DisplayName("Should reject expired tokens")
+    void shouldRejectExpiredToken() {
+        String token = jwtService(SECRET, -1_000L).generateToken(user);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.extractAllClaims(token));
+        assertTrue(jwtService.isTokenExpired(token));
+    }
+
+    @Test
+    @DisplayName("Should embed the user's roles and a token id")
+    void shouldEmbedRolesAndTokenId() {
+        Claims claims = jwtService.extractAllClaims(jwtService.generateToken(user));
+
+        assertNotNull(claims.getId());
+        UserDetails principal = jwtService.toUserDetails(claims).orElseThrow();
+        assertEquals("user1", principal.getUsername());
+        assertEquals(user.getAuthorities(), principal.getAuthorities());
+    }
+
+    @Test
+    @DisplayName("Should not accept a token for another user")
+    void shouldNotAcceptTokenForAnotherUser() {
+        String token = jwtService.generateToken(user);
+        UserDetails other = User.withUsername("user2").password("secret").roles("USER").build();
+
+        assertFalse(jwtService.isTokenValid(token, other));
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tags("cache", JwtService.CLAIMS_CACHE_NAME, "result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private JwtService jwtService(String secret, long expiration) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secret", secret);
+        ReflectionTestUtils.setField(service, "jwtExpiration", expiration);
+        ReflectionTestUtils.setField(service, "refreshExpiration", expiration);
+        ReflectionTestUtils.setField(service, "claimsCacheMaxSize", 1_000L);
+        ReflectionTestUtils.setField(service, "meterRegistry", meterRegistry);
+        service.init();
+        return service;
+    }
+}
@@ -0,0 +1,159 @@
+package com.wallet.infrastructure.services;
+
+import com.wallet.adapters.infrastructure.repositories.WalletRepositoryImpl;
+import com.wallet.application.ports.BulkTransferRepository;
+import com.wallet.application.ports.EventOutbox;
+import com.wallet.application.ports.LedgerWriter;
+import com.wallet.domain.entities.BalanceHistory;
+import com.wallet.domain.entities.Transaction;
+import com.wallet.domain.entities.Wallet;
+import com.wallet.domain.enums.WalletStatus;
+import com.wallet.infrastructure.cache.WalletCache;
+import com.wallet.infrastructure.dto.WalletDTOs;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("BulkTransferService Tests")
+class BulkTransferServiceTest {
+
+    private BulkTransferRepository bulkTransferRepository;
+    private LedgerWriter ledgerWriter;
+    private BulkTransferService service;
+
+    @BeforeEach
+    void setUp() {
+        bulkTransferRepository = mock(BulkTransferRepository.class);
+        ledgerWriter = mock(LedgerWriter.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+
+        service = new BulkTransferService();
+        ReflectionTestUtils.setField(service, "maxItems", 100);
+        ReflectionTestUtils.setField(service, "walletRepository", mock(WalletRepositoryImpl.class));
+        ReflectionTestUtils.setField(service, "bulkTransferRepository", bulkTransferRepository);
+        ReflectionTestUtils.setField(service, "ledgerWriter", ledgerWriter);
+        ReflectionTestUtils.setField(service, "eventOutbox", mock(EventOutbox.class));
+        ReflectionTestUtils.setField(service, "walletCache", mock(WalletCache.class));
+        ReflectionTestUtils.setField(service, "transactionTemplate", new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(service, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+
+        when(bulkTransferRepository.lockAllByUserIds(any())).thenReturn(List.of(
+                wallet(1L, "payer", "100.00", "BRL", WalletStatus.ACTIVE),
+                wallet(2L, "alice", "50.00", "BRL", WalletStatus.ACTIVE),
+                wallet(3L, "bob", "0.00", "USD", WalletStatus.ACTIVE),
+                wallet(4L, "carol", "0.00", "BRL", WalletStatus.SUSPENDED)));
+        // Simula o UPDATE: saldo final = saldo travado + crédito agregado
+        Map<Long, BigDecimal> lockedBalances = Map.of(2L, new BigDecimal("50.00"));
+        when(bulkTransferRepository.creditAll(anyMap(), eq("BRL"))).thenAnswer(invocation -> {
+            Map<Long, BigDecimal> credits = invocation.getArgument(0);
+            Map<Long, BigDecimal> balances = new HashMap<>();
+            credits.forEach((walletId, amount) -> balances.put(walletId, lockedBalances.get(walletId).add(amount)));
+            return balances;
+        });
+    }
+
+    @Test
+    @DisplayName("Should reject invalid items individually and apply the rest")
+    void shouldRejectItemsIndividually() {
+        WalletDTOs.BulkTransferResponse response = service.execute("payer", List.of(
+                item("alice", "10.00"),
+                item("bob", "5.00"),
+                item("carol", "1.00"),
+                item("ghost", "1.00"),
+                item("payer", "1.00"),
+                item("alice", "0.00"),
+                item("alice", "5.00")), "tx-1").orElseThrow();
+
+        List<String> statuses = response.getResults().stream().map(WalletDTOs.BulkTransferItemResult::getStatus).toList();
+        assertEquals(List.of(BulkTransferService.STATUS_COMPLETED, BulkTransferService.STATUS_REJECTED,
+                BulkTransferService.STATUS_REJECTED, BulkTransferService.STATUS_REJECTED,
+                BulkTransferService.STATUS_REJECTED, BulkTransferService.STATUS_REJECTED,
+                BulkTransferService.STATUS_COMPLETED), statuses);
+        assertEquals("Carteira de destino não encontrada", response.getResults().get(3).getError());
+        assertEquals(2, response.getSucceeded());
+        assertEquals(5, response.getFailed());
+        assertEquals(0, new BigDecimal("15.00").compareTo(response.getTotalDebited()));
+        assertEquals(0, new BigDecimal("85.00").compareTo(response.getSourceNewBalance()));
+        assertEquals("tx-1", response.getTransactionId());
+
+        ArgumentCaptor<Transaction> ledger = ArgumentCaptor.forClass(Transaction.class);
+        verify(ledgerWriter, times(2)).append(ledger.capture());
+        assertTrue(ledger.getAllValues().stream().allMatch(transaction -> "tx-1".equals(transaction.getReferenceId())));
+    }
+
+    @Test
+    @DisplayName("Should lock source and targets together and credit each target once with the aggregated amount")
+    @SuppressWarnings("unchecked")
+    void shouldAggregateCreditsPerTarget() {
+        service.execute("payer", List.of(item("alice", "10.00"), item("alice", "5.00")), "tx-1");
+
+        ArgumentCaptor<Collection<String>> locked = ArgumentCaptor.forClass(Collection.class);
+        verify(bulkTransferRepository).lockAllByUserIds(locked.capture());
+        assertEquals(List.of("payer", "alice"), List.copyOf(locked.getValue()));
+
+        ArgumentCaptor<Map<Long, BigDecimal>> credits = ArgumentCaptor.forClass(Map.class);
+        verify(bulkTransferRepository).creditAll(credits.capture(), eq("BRL"));
+        assertEquals(1, credits.getValue().size());
+        assertEquals(0, new BigDecimal("15.00").compareTo(credits.getValue().get(2L)));
+    }
+
+    @Test
+    @DisplayName("Should record running balances for source and target in item order")
+    @SuppressWarnings("unchecked")
+    void shouldRecordRunningBalanceHistory() {
+        WalletDTOs.BulkTransferResponse response = service.execute("payer",
+                List.of(item("alice", "10.00"), item("alice", "5.00")), "tx-1").orElseThrow();
+
+        ArgumentCaptor<List<BalanceHistory>> history = ArgumentCaptor.forClass(List.class);
+        verify(bulkTransferRepository).insertHistory(history.capture());
+        List<String> rows = history.getValue().stream()
+                .map(entry -> entry.getWalletId() + ":" + entry.getBalanceAmount().setScale(2))
+                .toList();
+        assertEquals(List.of("1:90.00", "2:60.00", "1:85.00", "2:65.00"), rows);
+        assertEquals(0, new BigDecimal("60.00").compareTo(response.getResults().get(0).getTargetNewBalance()));
+        assertEquals(0, new BigDecimal("65.00").compareTo(response.getResults().get(1).getTargetNewBalance()));
+    }
+
+    @Test
+    @DisplayName("Should return empty without writing when the source wallet does not exist")
+    void shouldReturnEmptyForMissingSource() {
+        when(bulkTransferRepository.lockAllByUserIds(any())).thenReturn(List.of(
+                wallet(2L, "alice", "50.00", "BRL", WalletStatus.ACTIVE)));
+
+        Optional<WalletDTOs.BulkTransferResponse> response = service.execute("payer", List.of(item("alice", "10.00")), "tx-1");
+
+        assertTrue(response.isEmpty());
+        verify(bulkTransferRepository, never()).creditAll(anyMap(), any());
+        verify(bulkTransferRepository, never()).insertHistory(any());
+    }
+
+    private static WalletDTOs.BulkTransferItem item(String targetUserId, String amount) {
+        return new WalletDTOs.BulkTransferItem(targetUserId, new BigDecimal(amount), "BRL", null);
+    }
+
+    private static Wallet wallet(Long id, String userId, String balance, String currency, WalletStatus status) {
+        return new Wallet(id, userId, new BigDecimal(balance), currency, status,
+                LocalDateTime.now(), LocalDateTime.now(), 0L);
+    }
+}
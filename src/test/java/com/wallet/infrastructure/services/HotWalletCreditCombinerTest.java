@@ -0,0 +1,214 @@
+package com.wallet.infrastructure.services;
+
+import com.wallet.adapters.infrastructure.repositories.WalletRepositoryImpl;
+import com.wallet.application.ports.BalanceMutationEngine;
+import com.wallet.application.ports.EventOutbox;
+import com.wallet.application.ports.LedgerWriter;
+import com.wallet.domain.entities.Wallet;
+import com.wallet.domain.enums.WalletStatus;
+import com.wallet.domain.valueobjects.BalanceMutation;
+import com.wallet.domain.valueobjects.Money;
+import com.wallet.domain.valueobjects.TransferMutation;
+import com.wallet.infrastructure.cache.WalletCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("HotWalletCreditCombiner Tests")
+class HotWalletCreditCombinerTest {
+
+    private static final String HOT = "merchant";
+
+    private BalanceMutationEngine balanceMutationEngine;
+    private WalletRepositoryImpl walletRepository;
+    private HotWalletCreditCombiner combiner;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        balanceMutationEngine = mock(BalanceMutationEngine.class);
+        walletRepository = mock(WalletRepositoryImpl.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+
+        combiner = new HotWalletCreditCombiner();
+        ReflectionTestUtils.setField(combiner, "enabled", true);
+        ReflectionTestUtils.setField(combiner, "hotUserIds", Set.of(HOT));
+        ReflectionTestUtils.setField(combiner, "batchSize", 3);
+        // Janela longa o bastante para os três chamadores caírem no mesmo lote
+        ReflectionTestUtils.setField(combiner, "linger", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(combiner, "ackTimeout", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(combiner, "balanceMutationEngine", balanceMutationEngine);
+        ReflectionTestUtils.setField(combiner, "walletRepository", walletRepository);
+        ReflectionTestUtils.setField(combiner, "ledgerWriter", mock(LedgerWriter.class));
+        ReflectionTestUtils.setField(combiner, "eventOutbox", mock(EventOutbox.class));
+        ReflectionTestUtils.setField(combiner, "walletCache", mock(WalletCache.class));
+        ReflectionTestUtils.setField(combiner, "transactionTemplate", new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(combiner, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(combiner, "meterRegistry", new SimpleMeterRegistry());
+        combiner.init();
+
+        callers = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        combiner.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should apply concurrent credits as a single batch locked in id order")
+    void shouldBatchConcurrentCredits() throws Exception {
+        lockWallets(wallet(3L, HOT, "BRL", WalletStatus.ACTIVE), wallet(1L, "a", "BRL", WalletStatus.ACTIVE),
+                wallet(2L, "b", "BRL", WalletStatus.ACTIVE), wallet(4L, "c", "BRL", WalletStatus.ACTIVE));
+        stubDebits();
+        stubCredits();
+
+        List<Future<Optional<TransferMutation>>> results = submit(
+                credit("a", "BRL"), credit("b", "BRL"), credit("c", "BRL"));
+
+        for (Future<Optional<TransferMutation>> result : results) {
+            TransferMutation mutation = result.get().orElseThrow();
+            assertEquals(3L, mutation.getTarget().getWalletId());
+        }
+        verify(walletRepository, times(1)).lockAllByUserIdsOrderedById(any());
+        verify(balanceMutationEngine, times(1)).depositAll(eq(HOT), argThat(amounts -> amounts.size() == 3), anyList());
+    }
+
+    @Test
+    @DisplayName("Should reject only the credit whose currency differs from the hot wallet")
+    void shouldRejectMismatchedCurrencyAlone() throws Exception {
+        lockWallets(wallet(3L, HOT, "BRL", WalletStatus.ACTIVE), wallet(1L, "a", "BRL", WalletStatus.ACTIVE),
+                wallet(2L, "b", "USD", WalletStatus.ACTIVE), wallet(4L, "c", "BRL", WalletStatus.ACTIVE));
+        stubDebits();
+        stubCredits();
+
+        List<Future<Optional<TransferMutation>>> results = submit(
+                credit("a", "BRL"), credit("b", "USD"), credit("c", "BRL"));
+
+        int applied = 0;
+        int rejected = 0;
+        for (Future<Optional<TransferMutation>> result : results) {
+            try {
+                assertTrue(result.get().isPresent());
+                applied++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(IllegalArgumentException.class, e.getCause());
+                rejected++;
+            }
+        }
+        assertEquals(2, applied);
+        assertEquals(1, rejected);
+        verify(balanceMutationEngine, never()).withdraw(eq("b"), any(), anyString());
+        verify(balanceMutationEngine).depositAll(eq(HOT), argThat(amounts -> amounts.size() == 2), anyList());
+    }
+
+    @Test
+    @DisplayName("Should answer empty only to the caller whose source wallet does not exist")
+    void shouldAnswerEmptyForMissingSourceAlone() throws Exception {
+        lockWallets(wallet(3L, HOT, "BRL", WalletStatus.ACTIVE), wallet(1L, "a", "BRL", WalletStatus.ACTIVE),
+                wallet(4L, "c", "BRL", WalletStatus.ACTIVE));
+        stubDebits();
+        when(balanceMutationEngine.withdraw(eq("ghost"), any(), anyString())).thenReturn(Optional.empty());
+        stubCredits();
+
+        List<Future<Optional<TransferMutation>>> results = submit(
+                credit("a", "BRL"), credit("ghost", "BRL"), credit("c", "BRL"));
+
+        long present = 0;
+        for (Future<Optional<TransferMutation>> result : results) {
+            present += result.get().isPresent() ? 1 : 0;
+        }
+        assertEquals(2, present);
+    }
+
+    @Test
+    @DisplayName("Should reject every credit without debiting when the hot wallet is missing or inactive")
+    void shouldRejectWhenTargetUnavailable() throws Exception {
+        lockWallets(wallet(1L, "a", "BRL", WalletStatus.ACTIVE));
+        assertTrue(combiner.transfer("a", HOT, money("10.00", "BRL"), "out", "in", "tx-1").isEmpty());
+
+        lockWallets(wallet(3L, HOT, "BRL", WalletStatus.SUSPENDED), wallet(1L, "a", "BRL", WalletStatus.ACTIVE));
+        assertThrows(IllegalStateException.class,
+                () -> combiner.transfer("a", HOT, money("10.00", "BRL"), "out", "in", "tx-1"));
+
+        verify(balanceMutationEngine, never()).withdraw(anyString(), any(), anyString());
+        verify(balanceMutationEngine, never()).depositAll(anyString(), anyList(), anyList());
+    }
+
+    private List<Future<Optional<TransferMutation>>> submit(Credit... credits) {
+        List<Future<Optional<TransferMutation>>> results = new ArrayList<>(credits.length);
+        for (Credit credit : credits) {
+            results.add(callers.submit(() -> combiner.transfer(credit.source(), HOT, credit.amount(), "out", "in", "tx-1")));
+        }
+        return results;
+    }
+
+    private static Credit credit(String source, String currency) {
+        return new Credit(source, money("10.00", currency));
+    }
+
+    private void lockWallets(Wallet... wallets) {
+        when(walletRepository.lockAllByUserIdsOrderedById(any())).thenReturn(List.of(wallets));
+    }
+
+    private void stubDebits() {
+        when(balanceMutationEngine.withdraw(anyString(), any(), anyString())).thenAnswer(invocation -> {
+            Money amount = invocation.getArgument(1);
+            Money balance = money("100.00", amount.getCurrency());
+            return Optional.of(new BalanceMutation(1L, invocation.getArgument(0), balance, balance.subtract(amount), null));
+        });
+    }
+
+    private void stubCredits() {
+        when(balanceMutationEngine.depositAll(eq(HOT), anyList(), anyList())).thenAnswer(invocation -> {
+            List<Money> amounts = invocation.getArgument(1);
+            List<BalanceMutation> mutations = new ArrayList<>(amounts.size());
+            Money running = money("0.00", "BRL");
+            for (Money amount : amounts) {
+                Money previous = running;
+                running = running.add(amount);
+                mutations.add(new BalanceMutation(3L, HOT, previous, running, null));
+            }
+            return Optional.of(mutations);
+        });
+    }
+
+    private static Wallet wallet(Long id, String userId, String currency, WalletStatus status) {
+        return new Wallet(id, userId, new BigDecimal("100.00"), currency, status,
+                LocalDateTime.now(), LocalDateTime.now(), 0L);
+    }
+
+    private static Money money(String amount, String currency) {
+        return new Money(new BigDecimal(amount), currency);
+    }
+
+    private record Credit(String source, Money amount) {
+    }
+}
@@ -0,0 +1,198 @@
+package com.wallet.infrastructure.services;
+
+import com.wallet.application.ports.BalanceMutationEngine;
+import com.wallet.application.ports.LedgerWriter;
+import com.wallet.domain.entities.Transaction;
+import com.wallet.domain.enums.TransactionType;
+import com.wallet.domain.valueobjects.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Vazão de depósitos e saques com o livro-razão desligado, gravado pela CTE
+ * do BalanceMutationEngine e gravado pelo batch do LedgerWriter no
+ * beforeCommit (uma ida extra ao banco por operação isolada).
+ * Cada thread opera sobre a própria carteira, para medir o custo do
+ * livro-razão sem contenção de linha.
+ * Executar com: mvn test -Dbenchmarks=true -Dtest=LedgerThroughputBenchmarkTest
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@DisplayName("Ledger Throughput Benchmark")
+class LedgerThroughputBenchmarkTest {
+
+    private static final int THREADS = 16;
+    private static final long DURATION_MILLIS = 10_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS + 2);
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", () -> redis.getMappedPort(6379));
+    }
+
+    @Autowired
+    private MoneyOperationService moneyOperationService;
+
+    @Autowired
+    private BalanceMutationEngine balanceMutationEngine;
+
+    @Autowired
+    private LedgerWriter ledgerWriter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    interface Operation {
+        void apply(String userId, Money amount, boolean deposit);
+    }
+
+    @Test
+    @DisplayName("Should compare deposit/withdraw throughput with the ledger off, in the CTE and in the batch writer")
+    void shouldCompareLedgerThroughput() throws InterruptedException {
+        Object engine = AopTestUtils.getUltimateTargetObject(balanceMutationEngine);
+
+        ReflectionTestUtils.setField(engine, "ledgerEnabled", false);
+        Result off = run("off", (userId, amount, deposit) -> {
+            if (deposit) {
+                moneyOperationService.deposit(userId, amount, "Depósito", null, null);
+            } else {
+                moneyOperationService.withdraw(userId, amount, "Saque", null, null);
+            }
+        });
+
+        ReflectionTestUtils.setField(engine, "ledgerEnabled", true);
+        Result cte = run("cte", (userId, amount, deposit) -> {
+            if (deposit) {
+                moneyOperationService.deposit(userId, amount, "Depósito", null, null);
+            } else {
+                moneyOperationService.withdraw(userId, amount, "Saque", null, null);
+            }
+        });
+
+        Result writer = run("writer", (userId, amount, deposit) -> transactionTemplate.executeWithoutResult(status -> {
+            String description = deposit ? "Depósito" : "Saque";
+            Long walletId = (deposit
+                    ? balanceMutationEngine.deposit(userId, amount, description)
+                    : balanceMutationEngine.withdraw(userId, amount, description)).orElseThrow().getWalletId();
+            ledgerWriter.append(new Transaction(walletId,
+                    deposit ? TransactionType.DEPOSIT : TransactionType.WITHDRAW, amount, description, LocalDateTime.now()));
+        }));
+
+        System.out.printf("%-8s %10s %10s %12s %14s%n", "ledger", "committed", "failed", "ops/s", "vs off");
+        off.print(off);
+        cte.print(off);
+        writer.print(off);
+
+        assertEquals(0, off.ledgerRows, "Ledger off must not write transactions");
+        assertEquals(cte.committed, cte.ledgerRows, "Every committed operation must have its ledger row");
+        assertEquals(writer.committed, writer.ledgerRows, "Every committed operation must have its ledger row");
+    }
+
+    private Result run(String mode, Operation operation) throws InterruptedException {
+        for (int i = 0; i < THREADS; i++) {
+            jdbcTemplate.update("INSERT INTO wallets (user_id, balance_amount, balance_currency) VALUES (?, ?, 'BRL')",
+                    userId(mode, i), new BigDecimal("1000000.00"));
+        }
+
+        Money amount = new Money(new BigDecimal("1.00"), "BRL");
+        LongAdder committed = new LongAdder();
+        LongAdder failed = new LongAdder();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.currentTimeMillis() + DURATION_MILLIS;
+
+        for (int i = 0; i < THREADS; i++) {
+            String userId = userId(mode, i);
+            executor.submit(() -> {
+                start.await();
+                boolean deposit = true;
+                while (System.currentTimeMillis() < deadline) {
+                    try {
+                        operation.apply(userId, amount, deposit);
+                        committed.increment();
+                    } catch (RuntimeException e) {
+                        failed.increment();
+                    }
+                    deposit = !deposit;
+                }
+                return null;
+            });
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(DURATION_MILLIS * 3, TimeUnit.MILLISECONDS));
+        double seconds = (System.nanoTime() - began) / 1_000_000_000.0;
+
+        Long ledgerRows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions t JOIN wallets w ON w.id = t.wallet_id WHERE w.user_id LIKE ?",
+                Long.class, "ledger-" + mode + "-%");
+        return new Result(mode, committed.sum(), failed.sum(), committed.sum() / seconds, ledgerRows);
+    }
+
+    private static String userId(String mode, int thread) {
+        return "ledger-" + mode + "-" + thread;
+    }
+
+    private static class Result {
+        private final String mode;
+        private final long committed;
+        private final long failed;
+        private final double throughput;
+        private final long ledgerRows;
+
+        private Result(String mode, long committed, long failed, double throughput, long ledgerRows) {
+            this.mode = mode;
+            this.committed = committed;
+            this.failed = failed;
+            this.throughput = throughput;
+            this.ledgerRows = ledgerRows;
+        }
+
+        private void print(Result baseline) {
+            System.out.printf("%-8s %10d %10d %12.1f %+13.1f%%%n", mode, committed, failed, throughput,
+                    (throughput / baseline.throughput - 1) * 100);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.wallet.infrastructure.services;
+
+import com.wallet.application.ports.AuditSink;
+import com.wallet.application.ports.BalanceMutationEngine;
+import com.wallet.application.ports.EventOutbox;
+import com.wallet.domain.valueobjects.BalanceMutation;
+import com.wallet.domain.valueobjects.Money;
+import com.wallet.infrastructure.cache.WalletCache;
+import com.wallet.infrastructure.ids.TimeOrderedIdGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Orçamento de alocação do caminho de depósito e saque do
+ * MoneyOperationService, com as portas de banco substituídas por stubs que
+ * não alocam: o que sobra é o custo do próprio serviço (relógio, registros de
+ * auditoria e eventos).
+ * O teste padrão mede os bytes alocados pela thread com o ThreadMXBean e
+ * falha o build acima de MAX_BYTES_PER_OPERATION; o benchmark JMH confirma o
+ * mesmo limite pelo gc.alloc.rate.norm do profiler gc.
+ * Executar o benchmark com: mvn test -Dbenchmarks=true -Dtest=MoneyOperationAllocationTest
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@DisplayName("MoneyOperationService Allocation Tests")
+public class MoneyOperationAllocationTest {
+
+    // Depósito + saque medidos juntos no JDK 21: ~680 bytes com o teste
+    // isolado e até ~930 na suíte completa, onde o perfil de JIT depende dos
+    // testes que rodaram antes. O teto fica em ~2x o pior caso porque a
+    // medição por thread oscila com o escape analysis, a versão da JVM e o
+    // GC; o teste deve pegar regressões estruturais (voltar a montar
+    // descrições, eventos ou registros que a operação não grava), não ruído
+    private static final long MAX_BYTES_PER_OPERATION = 2048;
+
+    private static final int WARMUP_OPERATIONS = 20_000;
+    private static final int MEASURED_OPERATIONS = 100_000;
+
+    private MoneyOperationService service;
+    private AuditService auditService;
+    private Money amount;
+
+    @Setup
+    @BeforeEach
+    public void setUp() {
+        amount = new Money(new BigDecimal("10.00"), "BRL");
+        Money balance = new Money(new BigDecimal("1000.00"), "BRL");
+        Optional<BalanceMutation> mutation = Optional.of(
+                new BalanceMutation(1L, "user-1", balance, balance.add(amount), 1L));
+
+        BalanceMutationEngine engine = new BalanceMutationEngine() {
+            @Override
+            public Optional<BalanceMutation> deposit(String userId, Money money, String description) {
+                return mutation;
+            }
+
+            @Override
+            public Optional<BalanceMutation> withdraw(String userId, Money money, String description) {
+                return mutation;
+            }
+
+            @Override
+            public Optional<BalanceMutation> depositAndRecord(String userId, Money money, String description,
+                                                              String referenceId, LocalDateTime at) {
+                return mutation;
+            }
+
+            @Override
+            public Optional<BalanceMutation> withdrawAndRecord(String userId, Money money, String description,
+                                                               String referenceId, LocalDateTime at) {
+                return mutation;
+            }
+
+            @Override
+            public Optional<List<BalanceMutation>> depositAll(String userId, List<Money> amounts, List<String> descriptions) {
+                return Optional.empty();
+            }
+        };
+        WalletCache walletCache = new WalletCache() {
+            @Override
+            public void evictAfterCommit(String userId) {
+            }
+
+            @Override
+            public void evictAfterCommit(Collection<String> userIds) {
+            }
+        };
+        AuditSink discardingSink = new AuditSink() {
+            @Override
+            public Type getType() {
+                return Type.LOG;
+            }
+
+            @Override
+            public void write(List<AuditRecord> records) {
+            }
+        };
+
+        auditService = new AuditService();
+        ReflectionTestUtils.setField(auditService, "sinkType", AuditSink.Type.LOG);
+        ReflectionTestUtils.setField(auditService, "bufferSize", 65536);
+        ReflectionTestUtils.setField(auditService, "batchSize", 500);
+        ReflectionTestUtils.setField(auditService, "flushInterval", Duration.ofMillis(1));
+        ReflectionTestUtils.setField(auditService, "offerTimeout", Duration.ZERO);
+        ReflectionTestUtils.setField(auditService, "shutdownTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(auditService, "sinks", List.of(discardingSink));
+        ReflectionTestUtils.setField(auditService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(auditService, "idGenerator", new TimeOrderedIdGenerator());
+        auditService.init();
+
+        service = new MoneyOperationService();
+        ReflectionTestUtils.setField(service, "balanceMutationEngine", engine);
+        ReflectionTestUtils.setField(service, "eventOutbox", (EventOutbox) (aggregateId, event) -> { });
+        ReflectionTestUtils.setField(service, "walletCache", walletCache);
+        ReflectionTestUtils.setField(service, "eventSourcedWalletService", new EventSourcedWalletService());
+        ReflectionTestUtils.setField(service, "auditService", auditService);
+    }
+
+    @TearDown
+    @AfterEach
+    public void tearDown() {
+        auditService.shutdown();
+    }
+
+    @Benchmark
+    public Optional<BalanceMutation> depositAndWithdraw() {
+        String correlationId = auditService.generateCorrelationId();
+        service.deposit("user-1", amount, "Recarga", correlationId, correlationId);
+        return service.withdraw("user-1", amount, "Pagamento", correlationId, correlationId);
+    }
+
+    @Test
+    @DisplayName("Should keep deposit and withdraw within the allocation budget")
+    void shouldStayWithinAllocationBudget() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue(threads.isThreadAllocatedMemorySupported(), "JVM does not report per-thread allocation");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        for (int i = 0; i < WARMUP_OPERATIONS; i++) {
+            depositAndWithdraw();
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_OPERATIONS; i++) {
+            depositAndWithdraw();
+        }
+        long bytesPerOperation = (threads.getCurrentThreadAllocatedBytes() - before) / MEASURED_OPERATIONS;
+
+        assertTrue(bytesPerOperation <= MAX_BYTES_PER_OPERATION,
+                "Deposit + withdraw allocated " + bytesPerOperation + " bytes/op, budget is " + MAX_BYTES_PER_OPERATION);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    @DisplayName("Should keep gc.alloc.rate.norm within the allocation budget")
+    void shouldBenchmarkAllocationRate() throws RunnerException {
+        Runner runner = new Runner(new OptionsBuilder()
+                .include(MoneyOperationAllocationTest.class.getSimpleName())
+                .addProfiler("gc")
+                .build());
+
+        for (RunResult result : runner.run()) {
+            double bytesPerOperation = allocationRateNorm(result.getSecondaryResults());
+            assertTrue(bytesPerOperation <= MAX_BYTES_PER_OPERATION,
+                    "gc.alloc.rate.norm " + bytesPerOperation + " B/op, budget is " + MAX_BYTES_PER_OPERATION);
+        }
+    }
+
+    // O nome do resultado secundário mudou de prefixo entre versões do JMH
+    private static double allocationRateNorm(Map<String, Result> secondaryResults) {
+        return secondaryResults.entrySet().stream()
+                .filter(entry -> entry.getKey().endsWith("gc.alloc.rate.norm"))
+                .mapToDouble(entry -> entry.getValue().getScore())
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("gc profiler did not report gc.alloc.rate.norm"));
+    }
+}